@@ -0,0 +1,139 @@
+package net.tokensmith.authorization.benchmark;
+
+
+import net.tokensmith.authorization.oauth2.grant.token.builder.TokenResponseBuilder;
+import net.tokensmith.authorization.oauth2.grant.token.entity.Extension;
+import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
+import net.tokensmith.authorization.oauth2.grant.token.entity.TokenType;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.jwt.entity.jwk.Use;
+import net.tokensmith.repository.entity.Address;
+import net.tokensmith.repository.entity.Gender;
+import net.tokensmith.repository.entity.Name;
+import net.tokensmith.repository.entity.Profile;
+import net.tokensmith.repository.entity.ResourceOwner;
+import net.tokensmith.repository.entity.Scope;
+import net.tokensmith.repository.entity.Token;
+import net.tokensmith.repository.entity.TokenScope;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Inputs for the benchmarks, they stand in for what the repositories would return.
+ */
+public class BenchmarkFixtures {
+    public static String ISSUER = "https://sso.tokensmith.net";
+    public static String ACCESS_TOKEN = "B7HJLLMczJEwpGeRuxoHvD0CMHbm4x7bUuwOtPP2hBQ";
+    public static String REFRESH_TOKEN = "cE5zR8KJmXGUqS2vWlq0tH9oNw7yFbD3aPiYeVrTgL4";
+    public static List<String> SCOPES = List.of("openid", "profile", "email", "address");
+
+    public static RSAKeyPair makeRSAKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        RSAPrivateCrtKey key = (RSAPrivateCrtKey) generator.generateKeyPair().getPrivate();
+
+        return new RSAKeyPair(
+                Optional.of(UUID.randomUUID().toString()),
+                Use.SIGNATURE,
+                key.getModulus(),
+                key.getPublicExponent(),
+                key.getPrivateExponent(),
+                key.getPrimeP(),
+                key.getPrimeQ(),
+                key.getPrimeExponentP(),
+                key.getPrimeExponentQ(),
+                key.getCrtCoefficient()
+        );
+    }
+
+    public static TokenResponse makeTokenResponse(Extension extension) {
+        long now = OffsetDateTime.now().toEpochSecond();
+        return new TokenResponseBuilder()
+                .setAccessToken(ACCESS_TOKEN)
+                .setRefreshAccessToken(REFRESH_TOKEN)
+                .setExpiresIn(3600L)
+                .setTokenType(TokenType.BEARER)
+                .setExtension(extension)
+                .setIssuer(ISSUER)
+                .setAudience(List.of(UUID.randomUUID().toString()))
+                .setIssuedAt(now)
+                .setExpirationTime(now + 3600L)
+                .setAuthTime(now)
+                .build();
+    }
+
+    public static ResourceOwner makeResourceOwnerWithProfileAndTokens() throws URISyntaxException {
+        ResourceOwner ro = new ResourceOwner();
+        ro.setId(UUID.randomUUID());
+        ro.setEmail("obi-wan@tokensmith.net");
+        ro.setEmailVerified(true);
+        ro.setCreatedAt(OffsetDateTime.now());
+
+        Profile profile = new Profile();
+        profile.setId(UUID.randomUUID());
+        profile.setResourceOwnerId(ro.getId());
+        profile.setName(Optional.of("Obi-Wan Kenobi"));
+        profile.setMiddleName(Optional.empty());
+        profile.setNickName(Optional.of("Ben"));
+        profile.setPreferredUserName(Optional.of("Ben Kenobi"));
+        profile.setProfile(Optional.of(new URI("http://starwars.wikia.com/wiki/Obi-Wan_Kenobi")));
+        profile.setPicture(Optional.empty());
+        profile.setWebsite(Optional.of(new URI("http://starwars.wikia.com")));
+        profile.setGender(Optional.of(Gender.MALE));
+        profile.setBirthDate(Optional.empty());
+        profile.setZoneInfo(Optional.empty());
+        profile.setLocale(Optional.empty());
+        profile.setPhoneNumber(Optional.empty());
+        profile.setPhoneNumberVerified(false);
+
+        Address address = new Address();
+        address.setId(UUID.randomUUID());
+        address.setProfileId(profile.getId());
+        address.setStreetAddress("123 Jedi High Council Rd.");
+        address.setStreetAddress2(Optional.empty());
+        address.setLocality("Coruscant");
+        address.setPostalCode("12345");
+        address.setRegion("Coruscant");
+        address.setCountry("Old Republic");
+        profile.setAddresses(new ArrayList<>(List.of(address)));
+
+        profile.setGivenNames(new ArrayList<>(List.of(makeName(profile.getId(), "Obi-Wan"))));
+        profile.setFamilyNames(new ArrayList<>(List.of(makeName(profile.getId(), "Kenobi"))));
+        ro.setProfile(profile);
+
+        Token token = new Token();
+        token.setId(UUID.randomUUID());
+        List<TokenScope> tokenScopes = new ArrayList<>();
+        for (String name : SCOPES) {
+            Scope scope = new Scope();
+            scope.setId(UUID.randomUUID());
+            scope.setName(name);
+            TokenScope tokenScope = new TokenScope();
+            tokenScope.setId(UUID.randomUUID());
+            tokenScope.setTokenId(token.getId());
+            tokenScope.setScope(scope);
+            tokenScopes.add(tokenScope);
+        }
+        token.setTokenScopes(tokenScopes);
+        ro.setTokens(new ArrayList<>(List.of(token)));
+
+        return ro;
+    }
+
+    protected static Name makeName(UUID profileId, String value) {
+        Name name = new Name();
+        name.setId(UUID.randomUUID());
+        name.setResourceOwnerProfileId(profileId);
+        name.setName(value);
+        return name;
+    }
+}
@@ -0,0 +1,62 @@
+package net.tokensmith.authorization.benchmark.http;
+
+
+import net.tokensmith.authorization.benchmark.BenchmarkFixtures;
+import net.tokensmith.authorization.http.factory.MakeOAuthToken;
+import net.tokensmith.authorization.http.response.Error;
+import net.tokensmith.authorization.http.response.Token;
+import net.tokensmith.authorization.oauth2.grant.token.entity.Extension;
+import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
+import net.tokensmith.otter.translator.JsonTranslator;
+import net.tokensmith.otter.translator.config.TranslatorAppFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * What TokenResource does after a grant succeeds or fails, building the token
+ * response and writing it as json with the same translators HttpAppConfig makes.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class TokenResponseBenchmark {
+    private JsonTranslator<Token> tokenTranslator;
+    private JsonTranslator<Error> errorTranslator;
+    private MakeOAuthToken makeOAuthToken;
+    private Token token;
+    private Error error;
+
+    @Setup
+    public void setUp() throws Exception {
+        TranslatorAppFactory translatorAppFactory = new TranslatorAppFactory();
+        tokenTranslator = translatorAppFactory.jsonTranslator(Token.class);
+        errorTranslator = translatorAppFactory.jsonTranslator(Error.class);
+        makeOAuthToken = new MakeOAuthToken();
+
+        token = makeOAuthToken.make(BenchmarkFixtures.makeTokenResponse(Extension.NONE));
+        error = new Error("invalid_grant", null);
+    }
+
+    @Benchmark
+    public TokenResponse tokenResponseBuilder() {
+        return BenchmarkFixtures.makeTokenResponse(Extension.NONE);
+    }
+
+    @Benchmark
+    public byte[] tokenToJson() throws Exception {
+        return tokenTranslator.to(token);
+    }
+
+    @Benchmark
+    public byte[] errorToJson() throws Exception {
+        return errorTranslator.to(error);
+    }
+
+    @Benchmark
+    public byte[] tokenResponseToJson() throws Exception {
+        TokenResponse tokenResponse = BenchmarkFixtures.makeTokenResponse(Extension.NONE);
+        return tokenTranslator.to(makeOAuthToken.make(tokenResponse));
+    }
+}
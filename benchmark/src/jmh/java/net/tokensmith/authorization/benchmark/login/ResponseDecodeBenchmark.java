@@ -0,0 +1,196 @@
+package net.tokensmith.authorization.benchmark.login;
+
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.toknsmith.login.HttpUtils;
+import net.toknsmith.login.config.LoginFactory;
+import net.toknsmith.login.endpoint.entity.response.api.key.KeyUse;
+import net.toknsmith.login.endpoint.entity.response.openid.OpenIdToken;
+import net.toknsmith.login.endpoint.entity.response.openid.TokenType;
+import net.toknsmith.login.translator.JwtRSAPublicKeyTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.net.ssl.SSLSession;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decoding gzip responses from the id server the way the login sdk does. The char at a time
+ * benchmarks are what HttpUtils.to and the token endpoint did before bodies were read in blocks
+ * and handed to an ObjectReader as a stream.
+ *
+ * Allocations per login are reported with the gc profiler,
+ * ./gradlew :benchmark:jmh -PjmhInclude=ResponseDecodeBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class ResponseDecodeBenchmark {
+    private HttpUtils httpUtils;
+    private ObjectReader openIdTokenReader;
+    private JwtRSAPublicKeyTranslator keyTranslator;
+
+    private HttpResponse<InputStream> tokenResponse;
+    private HttpResponse<InputStream> userInfoResponse;
+    private HttpResponse<InputStream> keyResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        LoginFactory loginFactory = new LoginFactory();
+        loginFactory.setSecrets(Map.of(LoginFactory.CORRELATION_ID_FIELD, "correlation-id"));
+        httpUtils = loginFactory.httpUtils();
+        openIdTokenReader = loginFactory.openIdTokenReader();
+        keyTranslator = loginFactory.jwtRSAPublicKeyTranslator();
+
+        String idToken = makeIdToken();
+        OpenIdToken openIdToken = new OpenIdToken(
+                "o416b7kscflhcmfig6jg6kqvp0na7u0u", "epgmgqi754lsaqfvbakqi26b32hk2i4r", 3600L, TokenType.BEARER, idToken
+        );
+        tokenResponse = new GzipResponse(loginFactory.objectMapper().writeValueAsBytes(openIdToken));
+        userInfoResponse = new GzipResponse(idToken.getBytes(StandardCharsets.UTF_8));
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        java.security.interfaces.RSAPublicKey publicKey = (java.security.interfaces.RSAPublicKey) keyPairGenerator.generateKeyPair().getPublic();
+        net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey key = new net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey(
+                UUID.randomUUID(), KeyUse.SIGNATURE, publicKey.getModulus(), publicKey.getPublicExponent()
+        );
+        keyResponse = new GzipResponse(loginFactory.objectMapper().writeValueAsBytes(key));
+    }
+
+    @Benchmark
+    public OpenIdToken tokenCharAtATime() throws Exception {
+        return openIdTokenReader.readValue(charAtATime(httpUtils.processResponse(tokenResponse)));
+    }
+
+    @Benchmark
+    public OpenIdToken tokenStreaming() throws Exception {
+        return openIdTokenReader.readValue(httpUtils.processResponse(tokenResponse));
+    }
+
+    @Benchmark
+    public String userInfoCharAtATime() {
+        return charAtATime(httpUtils.processResponse(userInfoResponse));
+    }
+
+    @Benchmark
+    public String userInfo() {
+        return httpUtils.to(httpUtils.processResponse(userInfoResponse));
+    }
+
+    @Benchmark
+    public RSAPublicKey keyStreaming() throws Exception {
+        return keyTranslator.toSingle(httpUtils.processResponse(keyResponse));
+    }
+
+    protected String charAtATime(InputStream from) {
+        StringBuilder toBuilder = new StringBuilder();
+        try (Reader reader = new BufferedReader(new InputStreamReader(from, StandardCharsets.UTF_8))) {
+            int c = 0;
+            while ((c = reader.read()) != -1) {
+                toBuilder.append((char) c);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return toBuilder.toString();
+    }
+
+    /**
+     * An id token about the size of one with profile, email and address claims signed with RS256.
+     */
+    protected String makeIdToken() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Random random = new Random(42);
+
+        String header = "{\"typ\":\"JWT\",\"alg\":\"RS256\",\"kid\":\"" + UUID.randomUUID() + "\"}";
+        byte[] claims = new byte[900];
+        byte[] signature = new byte[256];
+        random.nextBytes(claims);
+        random.nextBytes(signature);
+
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "." +
+                encoder.encodeToString(claims) + "." +
+                encoder.encodeToString(signature);
+    }
+
+    /**
+     * A gzip response, each call to body starts at the beginning.
+     */
+    protected static class GzipResponse implements HttpResponse<InputStream> {
+        private byte[] compressed;
+        private HttpHeaders headers;
+
+        public GzipResponse(byte[] body) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            this.compressed = out.toByteArray();
+            this.headers = HttpHeaders.of(Map.of("Content-Encoding", List.of("gzip")), (name, value) -> true);
+        }
+
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return null;
+        }
+
+        @Override
+        public Optional<HttpResponse<InputStream>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(compressed);
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return null;
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_2;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package net.tokensmith.authorization.benchmark.openid;
+
+
+import net.tokensmith.authorization.benchmark.BenchmarkFixtures;
+import net.tokensmith.authorization.oauth2.grant.token.entity.Extension;
+import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
+import net.tokensmith.authorization.openId.identity.MakeCodeGrantIdentityToken;
+import net.tokensmith.authorization.openId.identity.entity.IdToken;
+import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
+import net.tokensmith.authorization.openId.identity.translator.AddrToAddrClaims;
+import net.tokensmith.authorization.openId.identity.translator.ProfileToIdToken;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
+import net.tokensmith.authorization.security.ciphers.HashTokenImpl;
+import net.tokensmith.jwt.builder.compact.SecureCompactBuilder;
+import net.tokensmith.jwt.config.JwtAppFactory;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.jwt.entity.jwt.header.Algorithm;
+import net.tokensmith.repository.entity.ResourceOwner;
+import net.tokensmith.repository.repo.ResourceOwnerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Making and signing the id token of the code grant. The repositories are mocks so
+ * only the claims and the RS256 signature are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdentityTokenBenchmark {
+    private IdTokenFactory idTokenFactory;
+    private MakeCodeGrantIdentityToken makeCodeGrantIdentityToken;
+    private RSAKeyPair keyPair;
+    private ResourceOwner resourceOwner;
+    private TokenResponse tokenResponse;
+    private IdToken idToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        keyPair = BenchmarkFixtures.makeRSAKeyPair();
+        resourceOwner = BenchmarkFixtures.makeResourceOwnerWithProfileAndTokens();
+        tokenResponse = BenchmarkFixtures.makeTokenResponse(Extension.IDENTITY);
+
+        idTokenFactory = new IdTokenFactory(new ProfileToIdToken(), new AddrToAddrClaims());
+        idToken = idTokenFactory.make(tokenResponse.getTokenClaims(), BenchmarkFixtures.SCOPES, resourceOwner);
+
+        ResourceOwnerRepository resourceOwnerRepository = mock(ResourceOwnerRepository.class);
+        when(resourceOwnerRepository.getByAccessTokenWithProfileAndTokens(anyString())).thenReturn(resourceOwner);
+        CachedRsaPrivateKeyRepo rsaPrivateKeyRepository = mock(CachedRsaPrivateKeyRepo.class);
+        when(rsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning()).thenReturn(keyPair);
+
+        makeCodeGrantIdentityToken = new MakeCodeGrantIdentityToken(
+                new HashTokenImpl(), resourceOwnerRepository, rsaPrivateKeyRepository, new JwtAppFactory(), idTokenFactory
+        );
+    }
+
+    @Benchmark
+    public IdToken idTokenFactoryMake() {
+        return idTokenFactory.make(tokenResponse.getTokenClaims(), BenchmarkFixtures.SCOPES, resourceOwner);
+    }
+
+    @Benchmark
+    public String signRS256() throws Exception {
+        return new SecureCompactBuilder()
+                .alg(Algorithm.RS256)
+                .key(keyPair)
+                .claims(idToken)
+                .build().toString();
+    }
+
+    @Benchmark
+    public String makeCodeGrantIdentityToken() throws Exception {
+        return makeCodeGrantIdentityToken.make(tokenResponse.getAccessToken(), tokenResponse.getTokenClaims());
+    }
+}
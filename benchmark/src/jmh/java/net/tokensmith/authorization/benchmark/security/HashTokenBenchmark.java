@@ -0,0 +1,59 @@
+package net.tokensmith.authorization.benchmark.security;
+
+
+import net.tokensmith.authorization.security.ciphers.HashTokenImpl;
+import org.apache.commons.codec.binary.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Compares HashTokenImpl to a new MessageDigest per call, which is what it did before
+ * digests were reused per thread.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class HashTokenBenchmark {
+    private static String ALG_SHA3_512 = "SHA3-512";
+
+    private HashTokenImpl hashToken;
+    private String plainText;
+    private byte[] plainTextBytes;
+
+    @Setup
+    public void setUp() {
+        hashToken = new HashTokenImpl();
+        // the size of a local token made by RandomString.
+        plainText = "B7HJLLMczJEwpGeRuxoHvD0CMHbm4x7bUuwOtPP2hBQ";
+        plainTextBytes = plainText.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String newDigestPerCall() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(ALG_SHA3_512);
+        byte[] hashed = digest.digest(plainText.getBytes(StandardCharsets.UTF_8));
+        return Hex.encodeHexString(hashed);
+    }
+
+    @Benchmark
+    public String runString() {
+        return hashToken.run(plainText);
+    }
+
+    @Benchmark
+    public String runBytes() {
+        return hashToken.run(plainTextBytes);
+    }
+
+    @Benchmark
+    public String runByteBuffer() {
+        return hashToken.run(ByteBuffer.wrap(plainTextBytes));
+    }
+}
@@ -0,0 +1,54 @@
+package net.tokensmith.authorization.benchmark.security;
+
+
+import net.tokensmith.authorization.security.ciphers.IsTextEqualToHashImpl;
+import net.tokensmith.authorization.security.ciphers.PasswordCheckPool;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bcrypt verification of a password or client secret, with the default cost used by
+ * HashTextRandomSaltImpl. Compares the pooled check to calling BCrypt directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordCheckBenchmark {
+    private static String PASSWORD = "password";
+
+    private PasswordCheckPool passwordCheckPool;
+    private IsTextEqualToHashImpl isTextEqualToHash;
+    private String hashed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordCheckPool = new PasswordCheckPool(1, 64, 10000L);
+        isTextEqualToHash = new IsTextEqualToHashImpl(passwordCheckPool);
+        hashed = BCrypt.hashpw(PASSWORD, BCrypt.gensalt());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordCheckPool.destroy();
+    }
+
+    @Benchmark
+    public boolean checkpw() {
+        return BCrypt.checkpw(PASSWORD, hashed);
+    }
+
+    @Benchmark
+    public boolean isTextEqualToHash() {
+        return isTextEqualToHash.run(PASSWORD, hashed);
+    }
+}
@@ -0,0 +1,33 @@
+package net.tokensmith.authorization.benchmark.security;
+
+
+import net.tokensmith.authorization.security.RandomString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * RandomString makes every access, refresh, auth code and local token.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class RandomStringBenchmark {
+    private RandomString randomString;
+
+    @Setup
+    public void setUp() {
+        randomString = new RandomString();
+    }
+
+    @Benchmark
+    public String run() {
+        return randomString.run();
+    }
+
+    @Benchmark
+    public String runWithLength() {
+        return randomString.run(43);
+    }
+}
@@ -0,0 +1,179 @@
+package net.tokensmith.authorization.authenticate;
+
+
+import net.tokensmith.authorization.authenticate.exception.UnauthorizedException;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches confidential clients whose secret was verified, keyed by the client id
+ * and a HMAC of the presented secret.
+ *
+ * The HMAC key is random and lives only in memory, so the plain text secret is never
+ * kept and a different secret for the same client never hits. Only a successful
+ * verification is cached. Entries live for the ttl, the least recently used entries
+ * are dropped once the cache is full and every entry of a client is dropped when it
+ * is invalidated, see ClientRegistry.invalidate. Callers get copies, the cached
+ * clients are never handed out.
+ */
+@Component
+public class ConfidentialClientCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfidentialClientCache.class);
+    private static String ALG_HMAC_SHA256 = "HmacSHA256";
+    private static int KEY_SIZE = 32;
+
+    private Long clientCacheTtlInSeconds;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    private final Map<String, CachedClient> clients;
+    private long generation = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public ConfidentialClientCache(@Qualifier("clientCacheTtlInSeconds") Long clientCacheTtlInSeconds, @Qualifier("clientCacheMaxSize") Integer clientCacheMaxSize) {
+        this.clientCacheTtlInSeconds = clientCacheTtlInSeconds;
+
+        byte[] secret = new byte[KEY_SIZE];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALG_HMAC_SHA256);
+        this.mac = ThreadLocal.withInitial(this::makeMac);
+
+        this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClient> eldest) {
+                return size() > clientCacheMaxSize;
+            }
+        };
+    }
+
+    protected Mac makeMac() {
+        try {
+            Mac mac = Mac.getInstance(ALG_HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            LOGGER.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the confidential client if the secret was verified within the ttl,
+     * otherwise verifies it with the verifier and caches the result when it succeeds.
+     *
+     * @param clientId the client id
+     * @param plainTextPassword the secret presented by the client
+     * @param verifier looks up the confidential client and checks the secret
+     * @return the confidential client
+     * @throws UnauthorizedException if the verifier rejects the client
+     */
+    public ConfidentialClient get(UUID clientId, String plainTextPassword, Verifier verifier) throws UnauthorizedException {
+        String cacheKey = cacheKey(clientId, plainTextPassword);
+
+        CachedClient cached;
+        long loadedAt;
+        synchronized (clients) {
+            cached = clients.get(cacheKey);
+            loadedAt = generation;
+        }
+
+        if (cached != null && cached.getExpiresAt().isAfter(OffsetDateTime.now())) {
+            hits.incrementAndGet();
+            return ClientRegistry.copy(cached.getConfidentialClient());
+        }
+        misses.incrementAndGet();
+
+        ConfidentialClient confidentialClient = verifier.run();
+        cached = new CachedClient(ClientRegistry.copy(confidentialClient), OffsetDateTime.now().plusSeconds(clientCacheTtlInSeconds));
+        synchronized (clients) {
+            // a secret that changed while verifying may not be visible in what was verified.
+            if (loadedAt == generation) {
+                clients.put(cacheKey, cached);
+            }
+        }
+        return confidentialClient;
+    }
+
+    /**
+     * Drops every verified secret of a client, call it when its secret changes.
+     *
+     * @param clientId the client whose secrets to drop
+     */
+    public void invalidate(UUID clientId) {
+        String prefix = clientId.toString() + ":";
+        synchronized (clients) {
+            generation++;
+            clients.keySet().removeIf(k -> k.startsWith(prefix));
+        }
+        LOGGER.debug("invalidated verified secrets of client: {}", clientId);
+    }
+
+    public void invalidateAll() {
+        synchronized (clients) {
+            generation++;
+            clients.clear();
+        }
+    }
+
+    public Integer size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    protected String cacheKey(UUID clientId, String plainTextPassword) {
+        byte[] hmac = mac.get().doFinal(plainTextPassword.getBytes(StandardCharsets.UTF_8));
+        return clientId.toString() + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(hmac);
+    }
+
+    @FunctionalInterface
+    public interface Verifier {
+        ConfidentialClient run() throws UnauthorizedException;
+    }
+
+    protected static class CachedClient {
+        private final ConfidentialClient confidentialClient;
+        private final OffsetDateTime expiresAt;
+
+        public CachedClient(ConfidentialClient confidentialClient, OffsetDateTime expiresAt) {
+            this.confidentialClient = confidentialClient;
+            this.expiresAt = expiresAt;
+        }
+
+        public ConfidentialClient getConfidentialClient() {
+            return confidentialClient;
+        }
+
+        public OffsetDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
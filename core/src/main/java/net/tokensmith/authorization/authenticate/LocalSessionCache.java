@@ -0,0 +1,157 @@
+package net.tokensmith.authorization.authenticate;
+
+
+import net.tokensmith.repository.entity.LocalToken;
+import net.tokensmith.repository.entity.ResourceOwner;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import net.tokensmith.repository.repo.ResourceOwnerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the resource owner of a local session, keyed by the hashed local token.
+ *
+ * Only the fields the web site needs are kept, the password is not. Entries live
+ * for the ttl or until the local token expires, whichever is first, and the least
+ * recently used entries are dropped once the cache is full. Sessions of a resource
+ * owner are dropped when its local tokens are revoked.
+ */
+@Component
+public class LocalSessionCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalSessionCache.class);
+
+    private ResourceOwnerRepository resourceOwnerRepository;
+    private Long sessionCacheTtlInSeconds;
+
+    private final Map<String, CachedSession> sessions;
+    private long generation = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public LocalSessionCache(ResourceOwnerRepository resourceOwnerRepository, @Qualifier("sessionCacheTtlInSeconds") Long sessionCacheTtlInSeconds, @Qualifier("sessionCacheMaxSize") Integer sessionCacheMaxSize) {
+        this.resourceOwnerRepository = resourceOwnerRepository;
+        this.sessionCacheTtlInSeconds = sessionCacheTtlInSeconds;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest) {
+                return size() > sessionCacheMaxSize;
+            }
+        };
+    }
+
+    /**
+     * @param hashedToken the hashed local token
+     * @return the resource owner of the session without its password
+     * @throws RecordNotFoundException if the local token is not active
+     */
+    public ResourceOwner getByLocalToken(String hashedToken) throws RecordNotFoundException {
+        CachedSession cached;
+        long loadedAt;
+        synchronized (sessions) {
+            cached = sessions.get(hashedToken);
+            loadedAt = generation;
+        }
+
+        if (cached != null && cached.getExpiresAt().isAfter(OffsetDateTime.now())) {
+            hits.incrementAndGet();
+            return copy(cached.getResourceOwner());
+        }
+        misses.incrementAndGet();
+
+        ResourceOwner from = resourceOwnerRepository.getByLocalToken(hashedToken);
+        ResourceOwner resourceOwner = copy(from);
+        cached = new CachedSession(resourceOwner, expiresAt(from));
+        synchronized (sessions) {
+            // a revoke that happened while reading may not be visible in what was read.
+            if (loadedAt == generation) {
+                sessions.put(hashedToken, cached);
+            }
+        }
+        return copy(resourceOwner);
+    }
+
+    /**
+     * Drops every cached session of a resource owner.
+     *
+     * @param resourceOwnerId the resource owner whose sessions to drop
+     */
+    public void invalidate(UUID resourceOwnerId) {
+        synchronized (sessions) {
+            generation++;
+            sessions.values().removeIf(s -> resourceOwnerId.equals(s.getResourceOwner().getId()));
+        }
+        LOGGER.debug("invalidated sessions of resource owner: {}", resourceOwnerId);
+    }
+
+    public void invalidateAll() {
+        synchronized (sessions) {
+            generation++;
+            sessions.clear();
+        }
+    }
+
+    public Integer size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @param resourceOwner the resource owner with the local token it was read by
+     * @return when the cached session expires, the ttl or the local token's expires_at if it is sooner.
+     */
+    protected OffsetDateTime expiresAt(ResourceOwner resourceOwner) {
+        OffsetDateTime expiresAt = OffsetDateTime.now().plusSeconds(sessionCacheTtlInSeconds);
+        for (LocalToken localToken: resourceOwner.getLocalTokens()) {
+            if (localToken.getExpiresAt() != null && localToken.getExpiresAt().isBefore(expiresAt)) {
+                expiresAt = localToken.getExpiresAt();
+            }
+        }
+        return expiresAt;
+    }
+
+    protected ResourceOwner copy(ResourceOwner from) {
+        ResourceOwner to = new ResourceOwner();
+        to.setId(from.getId());
+        to.setEmail(from.getEmail());
+        to.setEmailVerified(from.isEmailVerified());
+        to.setCreatedAt(from.getCreatedAt());
+        return to;
+    }
+
+    protected static class CachedSession {
+        private final ResourceOwner resourceOwner;
+        private final OffsetDateTime expiresAt;
+
+        public CachedSession(ResourceOwner resourceOwner, OffsetDateTime expiresAt) {
+            this.resourceOwner = resourceOwner;
+            this.expiresAt = expiresAt;
+        }
+
+        public ResourceOwner getResourceOwner() {
+            return resourceOwner;
+        }
+
+        public OffsetDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -18,15 +18,29 @@ public class LoginConfidentialClient {
 
     private MatchPasswords matchPasswords;
     private ConfidentialClientRepository confidentialClientRepository;
+    private ConfidentialClientCache confidentialClientCache;
 
     @Autowired
-    public LoginConfidentialClient(MatchPasswords matchPasswords, ConfidentialClientRepository confidentialClientRepository) {
+    public LoginConfidentialClient(MatchPasswords matchPasswords, ConfidentialClientRepository confidentialClientRepository, ConfidentialClientCache confidentialClientCache) {
         this.matchPasswords = matchPasswords;
         this.confidentialClientRepository = confidentialClientRepository;
-
+        this.confidentialClientCache = confidentialClientCache;
     }
 
+    /**
+     * Authenticates a confidential client. A secret that was verified recently is
+     * trusted from the cache instead of looking up the client and checking the hash again.
+     *
+     * @param clientUUID the client id
+     * @param plainTextPassword the client secret
+     * @return the confidential client
+     * @throws UnauthorizedException if the client is not found or the secret does not match
+     */
     public ConfidentialClient run(UUID clientUUID, String plainTextPassword) throws UnauthorizedException {
+        return confidentialClientCache.get(clientUUID, plainTextPassword, () -> verify(clientUUID, plainTextPassword));
+    }
+
+    protected ConfidentialClient verify(UUID clientUUID, String plainTextPassword) throws UnauthorizedException {
         ConfidentialClient confidentialClient = null;
         try {
             confidentialClient = confidentialClientRepository.getByClientId(clientUUID);
@@ -0,0 +1,15 @@
+package net.tokensmith.authorization.exception;
+
+/**
+ * Thrown when work is shed because a bounded resource is saturated. It is unchecked
+ * so it can pass through the use cases and be answered with a 503 at the edge.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
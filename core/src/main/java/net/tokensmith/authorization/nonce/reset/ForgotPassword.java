@@ -8,6 +8,7 @@ import net.tokensmith.authorization.nonce.exception.JwtException;
 import net.tokensmith.authorization.nonce.message.MessageKey;
 import net.tokensmith.authorization.nonce.message.MessageType;
 import net.tokensmith.authorization.register.exception.NonceException;
+import net.tokensmith.authorization.revocation.RevokeCredentials;
 import net.tokensmith.authorization.security.ciphers.HashTextRandomSalt;
 import net.tokensmith.authorization.security.entity.NonceClaim;
 import net.tokensmith.jwt.config.JwtAppFactory;
@@ -18,9 +19,7 @@ import net.tokensmith.jwt.serialization.exception.JsonToJwtException;
 import net.tokensmith.pelican.Publish;
 import net.tokensmith.repository.entity.Nonce;
 import net.tokensmith.repository.entity.NonceName;
-import net.tokensmith.repository.repo.RefreshTokenRepository;
 import net.tokensmith.repository.repo.ResourceOwnerRepository;
-import net.tokensmith.repository.repo.TokenRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -37,19 +36,17 @@ public class ForgotPassword {
     private SpendNonce spendNonce;
     private HashTextRandomSalt hashTextRandomSalt;
     private ResourceOwnerRepository resourceOwnerRepository;
-    private TokenRepository tokenRepository;
-    private RefreshTokenRepository refreshTokenRepository;
+    private RevokeCredentials revokeCredentials;
 
     private static String EMPTY = "";
 
-    public ForgotPassword(InsertNonce insertNonce, Publish publish, SpendNonce spendNonce, HashTextRandomSalt hashTextRandomSalt, ResourceOwnerRepository resourceOwnerRepository, TokenRepository tokenRepository, RefreshTokenRepository refreshTokenRepository) {
+    public ForgotPassword(InsertNonce insertNonce, Publish publish, SpendNonce spendNonce, HashTextRandomSalt hashTextRandomSalt, ResourceOwnerRepository resourceOwnerRepository, RevokeCredentials revokeCredentials) {
         this.insertNonce = insertNonce;
         this.publish = publish;
         this.spendNonce = spendNonce;
         this.hashTextRandomSalt = hashTextRandomSalt;
         this.resourceOwnerRepository = resourceOwnerRepository;
-        this.tokenRepository = tokenRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokeCredentials = revokeCredentials;
     }
 
     public void sendMessage(String email, String baseURI) throws NonceException, BadRequestException {
@@ -101,8 +98,8 @@ public class ForgotPassword {
         String hashedPassword = hashTextRandomSalt.run(password);
         resourceOwnerRepository.updatePassword(resourceOwnerId, hashedPassword);
 
-        tokenRepository.revokeActive(resourceOwnerId);
-        refreshTokenRepository.revokeActive(resourceOwnerId);
+        // ends the sessions and revokes every other credential of the resource owner.
+        revokeCredentials.forResourceOwner(resourceOwnerId);
 
         Map<String, String> msg = new HashMap<>();
         msg.put(MessageKey.TYPE.toString(), MessageType.PASSWORD_WAS_RESET.toString());
@@ -11,6 +11,7 @@ import net.tokensmith.repository.entity.ResourceOwnerToken;
 import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.repo.ResourceOwnerTokenRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -34,8 +35,9 @@ public class IssueTokenPasswordGrant {
         this.issuer = issuer;
     }
 
+    @Transactional(rollbackFor = ServerException.class)
     public TokenResponse run(UUID clientId, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience, Optional<String> nonce) throws ServerException {
-        TokenGraph tokenGraph = insertTokenGraphPasswordGrant.insertTokenGraph(clientId, scopes, audience, nonce);
+        TokenGraph tokenGraph = insertTokenGraphPasswordGrant.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, nonce);
 
         ResourceOwner resourceOwner = new ResourceOwner();
         resourceOwner.setId(resourceOwnerId);
@@ -15,6 +15,9 @@ import net.tokensmith.authorization.oauth2.grant.token.exception.BadRequestExcep
 import net.tokensmith.authorization.oauth2.grant.token.exception.InvalidValueException;
 import net.tokensmith.authorization.oauth2.grant.token.exception.MissingKeyException;
 import net.tokensmith.authorization.oauth2.grant.token.exception.UnknownKeyException;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import net.tokensmith.authorization.persistence.repository.ScopeRegistry;
+import net.tokensmith.authorization.persistence.repository.ScopeRegistry.ScopeSet;
 import net.tokensmith.authorization.security.RandomString;
 import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.ConfidentialClient;
@@ -37,14 +40,18 @@ public class RequestTokenPasswordGrant implements RequestTokenGrant {
     private LoginResourceOwner loginResourceOwner;
     private RandomString randomString;
     private IssueTokenPasswordGrant issueTokenPasswordGrant;
+    private ScopeRegistry scopeRegistry;
+    private ClientRegistry clientRegistry;
 
     @Autowired
-    public RequestTokenPasswordGrant(LoginConfidentialClient loginConfidentialClient, TokenInputPasswordGrantFactory tokenInputPasswordGrantFactory, LoginResourceOwner loginResourceOwner, RandomString randomString, IssueTokenPasswordGrant issueTokenPasswordGrant) {
+    public RequestTokenPasswordGrant(LoginConfidentialClient loginConfidentialClient, TokenInputPasswordGrantFactory tokenInputPasswordGrantFactory, LoginResourceOwner loginResourceOwner, RandomString randomString, IssueTokenPasswordGrant issueTokenPasswordGrant, ScopeRegistry scopeRegistry, ClientRegistry clientRegistry) {
         this.loginConfidentialClient = loginConfidentialClient;
         this.tokenInputPasswordGrantFactory = tokenInputPasswordGrantFactory;
         this.loginResourceOwner = loginResourceOwner;
         this.randomString = randomString;
         this.issueTokenPasswordGrant = issueTokenPasswordGrant;
+        this.scopeRegistry = scopeRegistry;
+        this.clientRegistry = clientRegistry;
     }
 
     @Override
@@ -65,7 +72,7 @@ public class RequestTokenPasswordGrant implements RequestTokenGrant {
 
         ResourceOwner resourceOwner = loginResourceOwner.run(input.getUserName(), input.getPassword());
 
-        List<Scope> scopes = matchScopes(cc.getClient().getScopes(), input.getScopes());
+        List<Scope> scopes = matchScopes(cc.getClient(), input.getScopes());
 
         List<Client> audience = new ArrayList<>();
         audience.add(cc.getClient());
@@ -80,26 +87,32 @@ public class RequestTokenPasswordGrant implements RequestTokenGrant {
     }
 
     /**
-     * Checks if each item in input scopes is in the scopes list. If a item in the input scopes is not
-     * in the scopes list, then a BadRequestException is thrown.
+     * Checks if each item in input scopes is in the client's scopes. If a item in the input scopes is not
+     * in the client's scopes, then a BadRequestException is thrown.
      *
-     * @param scopes
+     * @param client
      * @param inputScope
      * @return a list of the matches
      * @throws BadRequestException
      */
-    protected List<Scope> matchScopes(List<Scope> scopes, List<String> inputScope) throws BadRequestException {
+    protected List<Scope> matchScopes(Client client, List<String> inputScope) throws BadRequestException {
 
-        List<Scope> matches = new ArrayList<>();
+        ScopeSet available = clientRegistry.getScopeSet(client);
         for(String scope: inputScope) {
-            Optional<Scope> match = scopes.stream()
-                    .filter(o -> o.getName().equals(scope))
-                    .findFirst();
-
-            if (!match.isPresent()) {
+            if (!available.contains(scopeRegistry.indexOf(scope))) {
                 throw new BadRequestExceptionBuilder().InvalidScope(ErrorCode.SCOPES_NOT_SUPPORTED.getCode()).build();
             }
-            matches.add(match.get());
+        }
+
+        // every name is one of the client's, the matches are its scopes in the order they were asked for.
+        List<Scope> matches = new ArrayList<>(inputScope.size());
+        for(String scope: inputScope) {
+            for(Scope clientScope: client.getScopes()) {
+                if (clientScope.getName().equals(scope)) {
+                    matches.add(clientScope);
+                    break;
+                }
+            }
         }
         return matches;
     }
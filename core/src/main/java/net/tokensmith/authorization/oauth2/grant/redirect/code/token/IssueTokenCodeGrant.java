@@ -1,12 +1,15 @@
 package net.tokensmith.authorization.oauth2.grant.redirect.code.token;
 
 import net.tokensmith.authorization.constant.ErrorCode;
+import net.tokensmith.authorization.exception.BadRequestException;
 import net.tokensmith.authorization.exception.ServerException;
 import net.tokensmith.authorization.oauth2.grant.redirect.code.token.exception.CompromisedCodeException;
 import net.tokensmith.authorization.oauth2.grant.token.builder.TokenResponseBuilder;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenGraph;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenType;
+import net.tokensmith.authorization.oauth2.grant.token.exception.NotFoundException;
+import net.tokensmith.repository.entity.AuthCode;
 import net.tokensmith.repository.entity.AuthCodeToken;
 import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.ResourceOwner;
@@ -20,6 +23,7 @@ import net.tokensmith.repository.repo.RefreshTokenRepository;
 import net.tokensmith.repository.repo.ResourceOwnerTokenRepository;
 import net.tokensmith.repository.repo.TokenRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -51,9 +55,31 @@ public class IssueTokenCodeGrant {
         this.issuer = issuer;
     }
 
+    /**
+     * Redeems the auth code and issues its tokens in one transaction. The auth code row that
+     * redeem updates stays locked until the tokens commit, so a replay of the code waits for
+     * them, finds the code redeemed and revokes them. A ServerException rolls back the redeem
+     * too, so the code may be used again.
+     */
+    @Transactional(rollbackFor = ServerException.class)
+    public TokenResponse run(UUID clientId, Redeem redeem, List<Client> audience) throws NotFoundException, BadRequestException, CompromisedCodeException, ServerException {
+        AuthCode authCode = redeem.run();
+
+        UUID resourceOwnerId = authCode.getAccessRequest().getResourceOwnerId();
+        List<Scope> scopes = authCode.getAccessRequest().getAccessRequestScopes().stream()
+                .map(i -> i.getScope()).collect(Collectors.toList());
+
+        return run(clientId, authCode.getId(), resourceOwnerId, scopes, audience, authCode.getAccessRequest().getNonce());
+    }
+
+    /**
+     * Inserts the token graph and relates it to the auth code in one transaction. A
+     * CompromisedCodeException commits so the revocations in handleDuplicateAuthCodeToken stick.
+     */
+    @Transactional(rollbackFor = ServerException.class)
     public TokenResponse run(UUID clientId, UUID authCodeId, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience, Optional<String> nonce) throws CompromisedCodeException, ServerException {
 
-        TokenGraph tokenGraph = insertTokenGraph.insertTokenGraph(clientId, scopes, audience, nonce);
+        TokenGraph tokenGraph = insertTokenGraph.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, nonce);
         relateTokenGraphToAuthCode(tokenGraph.getToken(), authCodeId, resourceOwnerId, clientId);
 
         List<String> responseAudience = tokenGraph.getToken().getAudience()
@@ -111,6 +137,23 @@ public class IssueTokenCodeGrant {
         return resourceOwnerToken;
     }
 
+    /**
+     * Revokes the tokens that were issued for an auth code that was redeemed and is being
+     * replayed. The auth code was revoked when the replay was found.
+     */
+    @Transactional
+    public void handleRedeemedAuthCode(UUID authCodeId) throws CompromisedCodeException {
+        tokenRepository.revokeByAuthCodeId(authCodeId);
+        refreshTokenRepository.revokeByAuthCodeId(authCodeId);
+
+        throw new CompromisedCodeException(
+            ErrorCode.COMPROMISED_AUTH_CODE.getDescription(),
+            "invalid_grant",
+            null,
+            ErrorCode.COMPROMISED_AUTH_CODE.getCode()
+        );
+    }
+
     protected void handleDuplicateAuthCodeToken(DuplicateRecordException e, UUID authCodeId, UUID tokenId) throws CompromisedCodeException {
         tokenRepository.revokeByAuthCodeId(authCodeId);
         authCodeRepository.revokeById(authCodeId);
@@ -126,4 +169,9 @@ public class IssueTokenCodeGrant {
             ErrorCode.COMPROMISED_AUTH_CODE.getCode()
         );
     }
+
+    @FunctionalInterface
+    public interface Redeem {
+        AuthCode run() throws NotFoundException, BadRequestException;
+    }
 }
@@ -19,7 +19,6 @@ import net.tokensmith.authorization.security.ciphers.HashToken;
 import net.tokensmith.repository.entity.AuthCode;
 import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.ConfidentialClient;
-import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.AuthCodeRepository;
 import org.slf4j.Logger;
@@ -33,7 +32,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Created by tommackenzie on 5/24/15.
@@ -72,26 +70,18 @@ public class RequestTokenCodeGrant implements RequestTokenGrant {
             throw new BadRequestExceptionBuilder().MissingKey(e.getKey(), e).build();
         }
 
-        // fetch auth code
         String hashedCode = hashToken.run(input.getCode());
-        AuthCode authCode = fetchAndVerifyAuthCode(clientId, hashedCode, input.getRedirectUri());
-
-        UUID resourceOwnerId = authCode.getAccessRequest().getResourceOwnerId();
-        List<Scope> scopes = authCode.getAccessRequest().getAccessRequestScopes().stream()
-                .map(i -> i.getScope()).collect(Collectors.toList());
 
         List<Client> audience = new ArrayList<>();
         audience.add(cc.getClient());
 
         TokenResponse tokenResponse;
         try {
+            // the auth code is redeemed in the transaction that issues its tokens.
             tokenResponse = issueTokenCodeGrant.run(
                     cc.getClient().getId(),
-                    authCode.getId(),
-                    resourceOwnerId,
-                    scopes,
-                    audience,
-                    authCode.getAccessRequest().getNonce()
+                    () -> redeemAndVerifyAuthCode(clientId, hashedCode, input.getRedirectUri()),
+                    audience
             );
         } catch (CompromisedCodeException e) {
             throw new BadRequestExceptionBuilder().CompromisedCode(e.getCode(), e).build();
@@ -102,13 +92,20 @@ public class RequestTokenCodeGrant implements RequestTokenGrant {
         return tokenResponse;
     }
 
-    protected AuthCode fetchAndVerifyAuthCode(UUID clientUUID, String hashedCode, Optional<URI> tokenRequestRedirectUri) throws NotFoundException {
+    /**
+     * Redeems the auth code, it is marked redeemed and read in one statement. A code that was
+     * already redeemed is a replay, it is rejected before any token is issued. It runs in the
+     * transaction of IssueTokenCodeGrant, a replay waits on the row lock of the first redeem and
+     * revokes the tokens it committed.
+     */
+    protected AuthCode redeemAndVerifyAuthCode(UUID clientUUID, String hashedCode, Optional<URI> tokenRequestRedirectUri) throws NotFoundException, BadRequestException {
         AuthCode authCode;
         try {
-            authCode = authCodeRepository.getByClientIdAndAuthCode(clientUUID, hashedCode);
+            authCode = authCodeRepository.redeem(clientUUID, hashedCode);
         } catch (RecordNotFoundException e) {
             // TODO: security - could a client be phishing for other client's auth codes?
             LOGGER.debug(e.getMessage(), e);
+            handleRedeemedAuthCode(clientUUID, hashedCode);
             throw new NotFoundException(
                     "Access Request was not found",
                     "invalid_grant",
@@ -131,6 +128,22 @@ public class RequestTokenCodeGrant implements RequestTokenGrant {
         return authCode;
     }
 
+    protected void handleRedeemedAuthCode(UUID clientUUID, String hashedCode) throws BadRequestException {
+        AuthCode redeemed;
+        try {
+            redeemed = authCodeRepository.revokeRedeemed(clientUUID, hashedCode);
+        } catch (RecordNotFoundException e) {
+            // it was never redeemed.
+            return;
+        }
+
+        try {
+            issueTokenCodeGrant.handleRedeemedAuthCode(redeemed.getId());
+        } catch (CompromisedCodeException e) {
+            throw new BadRequestExceptionBuilder().CompromisedCode(e.getCode(), e).build();
+        }
+    }
+
     protected Boolean doRedirectUrisMatch(Optional<URI> redirectUriA, Optional<URI> redirectUriB) {
         Boolean matches = true;
         if ( redirectUriA.isPresent() && ! redirectUriB.isPresent()) {
@@ -54,16 +54,16 @@ public class InsertTokenGraphImplicitGrant extends InsertTokenGraph {
     }
 
     @Override
-    public TokenGraph insertTokenGraph(UUID clientId, List<Scope> scopes, List<Client> audience, Optional<String> nonce) throws ServerException {
+    public TokenGraph insertTokenGraph(UUID clientId, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience, Optional<String> nonce) throws ServerException {
         Configuration config = configurationRepository.get();
 
-        TokenGraph tokenGraph = insertToken(
-                1,
+        TokenGraph tokenGraph = insertAccessToken(
                 clientId,
+                resourceOwnerId,
+                scopes,
+                audience,
                 nonce,
-                config.getId(),
-                config.getAccessTokenSize(),
-                getSecondsToExpiration(config),
+                config,
                 OffsetDateTime.now()
         );
 
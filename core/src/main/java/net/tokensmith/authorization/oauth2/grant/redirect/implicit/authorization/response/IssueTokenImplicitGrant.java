@@ -12,6 +12,7 @@ import net.tokensmith.repository.repo.ResourceOwnerTokenRepository;
 import net.tokensmith.repository.repo.ScopeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,10 +34,11 @@ public class IssueTokenImplicitGrant {
         this.resourceOwnerTokenRepository = resourceOwnerTokenRepository;
     }
 
+    @Transactional(rollbackFor = ServerException.class)
     public TokenGraph run(UUID clientId, ResourceOwner resourceOwner, List<String> scopeNames, List<Client> audience, Optional<String> nonce) throws ServerException {
 
         List<Scope> scopes = scopeRepository.findByNames(scopeNames);
-        TokenGraph tokenGraph = insertTokenGraphImplicitGrant.insertTokenGraph(clientId, scopes, audience, nonce);
+        TokenGraph tokenGraph = insertTokenGraphImplicitGrant.insertTokenGraph(clientId, resourceOwner.getId(), scopes, audience, nonce);
 
         ResourceOwnerToken resourceOwnerToken = new ResourceOwnerToken();
         resourceOwnerToken.setId(UUID.randomUUID());
@@ -56,16 +56,16 @@ public class InsertTokenGraphRefreshGrant extends InsertTokenGraph {
         return configuration.getAccessTokenRefreshSecondsToExpiry();
     }
 
-    public TokenGraph insertTokenGraph(UUID clientId, List<Scope> scopes, Token leadToken, List<Client> audience) throws ServerException {
+    public TokenGraph insertTokenGraph(UUID clientId, UUID resourceOwnerId, List<Scope> scopes, Token leadToken, List<Client> audience) throws ServerException {
         Configuration config = configurationRepository.get();
 
-        TokenGraph tokenGraph = insertToken(
-                1,
+        TokenGraph tokenGraph = insertAccessToken(
                 clientId,
+                resourceOwnerId,
+                scopes,
+                audience,
                 leadToken.getNonce(),
-                config.getId(),
-                config.getAccessTokenSize(),
-                getSecondsToExpiration(config),
+                config,
                 leadToken.getLeadAuthTime()
         );
 
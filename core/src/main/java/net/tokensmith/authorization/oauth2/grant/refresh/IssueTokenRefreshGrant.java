@@ -14,10 +14,12 @@ import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.entity.Token;
 import net.tokensmith.repository.entity.TokenChain;
 import net.tokensmith.repository.exceptions.DuplicateRecordException;
+import net.tokensmith.repository.repo.RefreshTokenRepository;
 import net.tokensmith.repository.repo.ResourceOwnerTokenRepository;
 import net.tokensmith.repository.repo.TokenChainRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -28,6 +30,7 @@ import java.util.stream.Collectors;
 @Component
 public class IssueTokenRefreshGrant {
     private InsertTokenGraphRefreshGrant insertTokenGraphRefreshGrant;
+    private RefreshTokenRepository refreshTokenRepository;
     private TokenChainRepository tokenChainRepository;
     private ResourceOwnerTokenRepository resourceOwnerTokenRepository;
 
@@ -35,15 +38,26 @@ public class IssueTokenRefreshGrant {
     private static String COMPROMISED_MESSAGE = "refresh token was already used";
 
     @Autowired
-    public IssueTokenRefreshGrant(InsertTokenGraphRefreshGrant insertTokenGraphRefreshGrant, TokenChainRepository tokenChainRepository, ResourceOwnerTokenRepository resourceOwnerTokenRepository, String issuer) {
+    public IssueTokenRefreshGrant(InsertTokenGraphRefreshGrant insertTokenGraphRefreshGrant, RefreshTokenRepository refreshTokenRepository, TokenChainRepository tokenChainRepository, ResourceOwnerTokenRepository resourceOwnerTokenRepository, String issuer) {
         this.insertTokenGraphRefreshGrant = insertTokenGraphRefreshGrant;
+        this.refreshTokenRepository = refreshTokenRepository;
         this.tokenChainRepository = tokenChainRepository;
         this.resourceOwnerTokenRepository = resourceOwnerTokenRepository;
         this.issuer = issuer;
     }
 
+    /**
+     * Rotates the refresh token and inserts the next token graph in one transaction. The rotate
+     * is the first statement, it locks the refresh token so a concurrent or later use of it fails
+     * before anything is inserted.
+     */
+    @Transactional(rollbackFor = {ServerException.class, CompromisedRefreshTokenException.class})
     public TokenResponse run(UUID clientId, UUID resourceOwnerId, UUID previousTokenId, UUID refreshTokenId, Token leadToken, List<Scope> scopes, List<Client> audience) throws CompromisedRefreshTokenException, ServerException {
-        TokenGraph tokenGraph = insertTokenGraphRefreshGrant.insertTokenGraph(clientId, scopes, leadToken, audience);
+        if (!refreshTokenRepository.rotate(refreshTokenId)) {
+            throw new CompromisedRefreshTokenException(COMPROMISED_MESSAGE, null);
+        }
+
+        TokenGraph tokenGraph = insertTokenGraphRefreshGrant.insertTokenGraph(clientId, resourceOwnerId, scopes, leadToken, audience);
 
         // make relationships to the token graph.
         TokenChain tokenChain = makeTokenChain(tokenGraph.getToken(), previousTokenId, refreshTokenId);
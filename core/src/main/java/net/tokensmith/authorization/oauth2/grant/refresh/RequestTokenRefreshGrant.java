@@ -19,22 +19,20 @@ import net.tokensmith.authorization.security.ciphers.HashToken;
 import net.tokensmith.repository.entity.ConfidentialClient;
 import net.tokensmith.repository.entity.GrantType;
 import net.tokensmith.repository.entity.RefreshToken;
-import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.entity.Token;
 import net.tokensmith.repository.entity.TokenScope;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.RefreshTokenRepository;
-import net.tokensmith.repository.repo.ResourceOwnerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Created by tommackenzie on 10/8/16.
@@ -47,7 +45,6 @@ public class RequestTokenRefreshGrant implements RequestTokenGrant {
     private TokenInputRefreshGrantFactory tokenInputRefreshGrantFactory;
     private HashToken hashToken;
     private RefreshTokenRepository refreshTokenRepository;
-    private ResourceOwnerRepository resourceOwnerRepository;
     private IssueTokenRefreshGrant issueTokenRefreshGrant;
 
     private static String INVALID_GRANT = "invalid_grant";
@@ -55,12 +52,11 @@ public class RequestTokenRefreshGrant implements RequestTokenGrant {
     private static String RESOURCE_OWNER_NOT_FOUND = "no resource owner was associated to refresh token";
 
     @Autowired
-    public RequestTokenRefreshGrant(LoginConfidentialClient loginConfidentialClient, TokenInputRefreshGrantFactory tokenInputRefreshGrantFactory, HashToken hashToken, RefreshTokenRepository refreshTokenRepository, ResourceOwnerRepository resourceOwnerRepository, IssueTokenRefreshGrant issueTokenRefreshGrant) {
+    public RequestTokenRefreshGrant(LoginConfidentialClient loginConfidentialClient, TokenInputRefreshGrantFactory tokenInputRefreshGrantFactory, HashToken hashToken, RefreshTokenRepository refreshTokenRepository, IssueTokenRefreshGrant issueTokenRefreshGrant) {
         this.loginConfidentialClient = loginConfidentialClient;
         this.tokenInputRefreshGrantFactory = tokenInputRefreshGrantFactory;
         this.hashToken = hashToken;
         this.refreshTokenRepository = refreshTokenRepository;
-        this.resourceOwnerRepository = resourceOwnerRepository;
         this.issueTokenRefreshGrant = issueTokenRefreshGrant;
     }
 
@@ -84,8 +80,7 @@ public class RequestTokenRefreshGrant implements RequestTokenGrant {
         RefreshToken refreshToken = getRefreshToken(cc.getClient().getId(), hashedRefreshToken);
         List<Scope> scopes = matchScopes(input.getScopes(), refreshToken.getToken().getTokenScopes());
 
-        String accessToken = refreshToken.getToken().getToken();
-        UUID resourceOwnerId = getResourceOwnerId(accessToken);
+        UUID resourceOwnerId = getResourceOwnerId(refreshToken);
 
         Token leadToken;
         if (GrantType.REFRESSH.equals(refreshToken.getToken().getGrantType())) {
@@ -139,42 +134,39 @@ public class RequestTokenRefreshGrant implements RequestTokenGrant {
         return refreshToken;
     }
 
+    /**
+     * The scopes of a token are not shared like the scopes of a client, so there is no set to keep.
+     * A token has a few scopes, they are compared by name and only the matches are allocated.
+     */
     protected List<Scope> matchScopes(List<String> inputScopes, List<TokenScope> tokenScopes) throws BadRequestException {
 
-        List<Scope> matchedScopes;
-
-        if (inputScopes.size() > 0) {
-            matchedScopes = tokenScopes.stream()
-                    .map(item -> item.getScope())
-                    .filter(item -> inputScopes.contains(item.getName()))
-                    .collect(Collectors.toList());
-
-            // matched scopes should be the same size as inputScopes.
-            if (matchedScopes.size() != inputScopes.size()) {
-                throw new BadRequestExceptionBuilder().InvalidScope(ErrorCode.SCOPES_NOT_SUPPORTED.getCode()).build();
+        List<Scope> matchedScopes = new ArrayList<>(inputScopes.size() == 0 ? tokenScopes.size() : inputScopes.size());
+        for (TokenScope tokenScope: tokenScopes) {
+            if (inputScopes.size() == 0 || inputScopes.contains(tokenScope.getScope().getName())) {
+                matchedScopes.add(tokenScope.getScope());
             }
-        } else {
-            matchedScopes = tokenScopes.stream()
-                    .map(item -> item.getScope())
-                    .collect(Collectors.toList());
         }
 
+        // a name that is unknown, repeated or not granted makes the matches fewer than inputScopes.
+        if (inputScopes.size() > 0 && matchedScopes.size() != inputScopes.size()) {
+            throw new BadRequestExceptionBuilder().InvalidScope(ErrorCode.SCOPES_NOT_SUPPORTED.getCode()).build();
+        }
         return matchedScopes;
     }
 
-    protected UUID getResourceOwnerId(String accessToken) throws NotFoundException {
-        ResourceOwner resourceOwner;
-        try {
-            resourceOwner = resourceOwnerRepository.getByAccessToken(accessToken);
-        } catch (RecordNotFoundException e) {
+    /**
+     * The resource owner is read with the refresh token, it is not read again.
+     */
+    protected UUID getResourceOwnerId(RefreshToken refreshToken) throws NotFoundException {
+        if (refreshToken.getResourceOwnerId() == null) {
             throw new NotFoundException(
                 RESOURCE_OWNER_NOT_FOUND,
                 INVALID_GRANT,
                 ErrorCode.REFRESH_TOKEN_NOT_FOUND.getDescription(),
                 ErrorCode.REFRESH_TOKEN_NOT_FOUND.getCode(),
-                e
+                new RecordNotFoundException("resource owner not found.")
             );
         }
-        return resourceOwner.getId();
+        return refreshToken.getResourceOwnerId();
     }
 }
@@ -0,0 +1,35 @@
+package net.tokensmith.authorization.oauth2.grant.token;
+
+import net.tokensmith.authorization.oauth2.grant.token.entity.DeniedToken;
+import net.tokensmith.repository.entity.Token;
+import net.tokensmith.repository.repo.TokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The deny list of jwt access tokens. It is every token that was revoked and has not expired
+ * yet, access tokens are short lived so it stays short. It is not paged, a resource server
+ * that misses a revoked token would accept it.
+ */
+@Component
+public class GetDeniedTokens {
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    public GetDeniedTokens(TokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    public List<DeniedToken> run() {
+        List<Token> tokens = tokenRepository.getDenied();
+
+        List<DeniedToken> denied = new ArrayList<>(tokens.size());
+        for (Token token: tokens) {
+            denied.add(new DeniedToken(token.getId().toString(), token.getExpiresAt().toEpochSecond()));
+        }
+        return denied;
+    }
+}
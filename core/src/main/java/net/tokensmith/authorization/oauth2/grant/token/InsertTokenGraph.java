@@ -21,6 +21,7 @@ import net.tokensmith.repository.repo.TokenScopeRepository;
 import org.slf4j.Logger;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -61,16 +62,16 @@ public abstract class InsertTokenGraph {
     protected abstract Logger getLogger();
     protected abstract Long getSecondsToExpiration(Configuration configuration);
 
-    public TokenGraph insertTokenGraph(UUID clientId, List<Scope> scopes, List<Client> audience, Optional<String> nonce) throws ServerException {
+    public TokenGraph insertTokenGraph(UUID clientId, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience, Optional<String> nonce) throws ServerException {
         Configuration config = configurationRepository.get();
 
-        TokenGraph tokenGraph = insertToken(
-                1,
+        TokenGraph tokenGraph = insertAccessToken(
                 clientId,
+                resourceOwnerId,
+                scopes,
+                audience,
                 nonce,
-                config.getId(),
-                config.getAccessTokenSize(),
-                getSecondsToExpiration(config),
+                config,
                 OffsetDateTime.now()
         );
 
@@ -90,6 +91,24 @@ public abstract class InsertTokenGraph {
         return tokenGraph;
     }
 
+    /**
+     * Inserts an opaque access token or a signed jwt access token, see access.token.jwt.
+     */
+    protected TokenGraph insertAccessToken(UUID clientId, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience, Optional<String> nonce, Configuration config, OffsetDateTime leadAuthTime) throws ServerException {
+        if (!makeBearerToken.isJwt()) {
+            return insertToken(
+                    1,
+                    clientId,
+                    nonce,
+                    config.getId(),
+                    config.getAccessTokenSize(),
+                    getSecondsToExpiration(config),
+                    leadAuthTime
+            );
+        }
+        return insertJwtToken(clientId, resourceOwnerId, scopes, audience, nonce, getSecondsToExpiration(config), leadAuthTime);
+    }
+
     public TokenGraph insertToken(Integer attempt, UUID clientId, Optional<String> nonce, UUID configId, Integer atSize, Long secondsToExpiration, OffsetDateTime leadAuthTime) throws ServerException {
 
         String plainTextToken = randomString.run(atSize);
@@ -104,6 +123,33 @@ public abstract class InsertTokenGraph {
             return handleDuplicateToken(e, attempt, clientId, nonce, configId, atSize, secondsToExpiration, leadAuthTime);
         }
 
+        return makeTokenGraph(token, plainTextToken);
+    }
+
+    /**
+     * The jwt's jti is a new token id and its iat is now so it can not be a duplicate
+     * of another token's jwt, a duplicate is not retried.
+     */
+    public TokenGraph insertJwtToken(UUID clientId, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience, Optional<String> nonce, Long secondsToExpiration, OffsetDateTime leadAuthTime) throws ServerException {
+
+        Token token = makeBearerToken.make(clientId, secondsToExpiration);
+        token.setGrantType(getGrantType());
+        token.setNonce(nonce);
+        token.setLeadAuthTime(leadAuthTime);
+        String plainTextToken = makeBearerToken.sign(token, resourceOwnerId, scopes, audience);
+
+        try {
+            tokenRepository.insert(token);
+        } catch (DuplicateRecordException e) {
+            String msg = String.format(KEY_UNKNOWN_FAILED_MSG, TOKEN_SCHEMA, e.getKey().orElse(UNKNOWN_KEY), 1, plainTextToken.length());
+            getLogger().error(msg, e);
+            throw new ServerException(msg, e);
+        }
+
+        return makeTokenGraph(token, plainTextToken);
+    }
+
+    protected TokenGraph makeTokenGraph(Token token, String plainTextToken) {
         TokenGraph tokenGraph = new TokenGraph();
         tokenGraph.setToken(token);
         tokenGraph.setPlainTextAccessToken(plainTextToken);
@@ -131,6 +177,7 @@ public abstract class InsertTokenGraph {
     public void insertTokenScope(List<Scope> scopes, TokenGraph tokenGraph) {
 
         Extension extension = Extension.NONE;
+        List<TokenScope> tokenScopes = new ArrayList<>();
         for(Scope scope: scopes) {
             TokenScope ts = new TokenScope();
             ts.setId(UUID.randomUUID());
@@ -140,9 +187,10 @@ public abstract class InsertTokenGraph {
             if (OPENID_SCOPE.equalsIgnoreCase(ts.getScope().getName())) {
                 extension = Extension.IDENTITY;
             }
-            tokenScopeRepository.insert(ts);
-            tokenGraph.getToken().getTokenScopes().add(ts);
+            tokenScopes.add(ts);
         }
+        tokenScopeRepository.insertAll(tokenScopes);
+        tokenGraph.getToken().getTokenScopes().addAll(tokenScopes);
         tokenGraph.setExtension(extension);
     }
 
@@ -155,10 +203,11 @@ public abstract class InsertTokenGraph {
     }
 
     public void insertTokenAudience(UUID tokenId, List<Client> audience) {
+        List<TokenAudience> clientTokens = new ArrayList<>();
         for(Client client: audience) {
-            TokenAudience clientToken = makeTokenAudience(client.getId(), tokenId);
-            tokenAudienceRepository.insert(clientToken);
+            clientTokens.add(makeTokenAudience(client.getId(), tokenId));
         }
+        tokenAudienceRepository.insertAll(clientTokens);
     }
 
     public TokenGraph handleDuplicateToken(DuplicateRecordException e, Integer attempt, UUID clientId, Optional<String> nonce, UUID configId, Integer atSize, Long secondsToExpiration, OffsetDateTime leadAuthTime) throws ServerException {
@@ -1,15 +1,29 @@
 package net.tokensmith.authorization.oauth2.grant.token;
 
+import net.tokensmith.authorization.exception.ServerException;
+import net.tokensmith.authorization.oauth2.grant.token.entity.AccessTokenClaims;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenType;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.authorization.security.ciphers.HashToken;
+import net.tokensmith.jwt.builder.compact.SecureCompactBuilder;
+import net.tokensmith.jwt.builder.exception.CompactException;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.jwt.entity.jwt.header.Algorithm;
+import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.GrantType;
+import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.entity.Token;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Created by tommackenzie on 6/2/15.
@@ -18,21 +32,41 @@ import java.util.UUID;
 public class MakeBearerToken {
 
     private static final TokenType TOKEN_TYPE = TokenType.BEARER;
+    private static String KEY_NOT_FOUND = "No key available to sign access token";
+    private static String ACCESS_TOKEN_ERROR_MSG = "Could not create access token";
+
     private HashToken hashToken;
+    private CachedRsaPrivateKeyRepo rsaPrivateKeyRepository;
+    private Boolean jwtAccessTokens;
+    private String issuer;
 
     @Autowired
-    public MakeBearerToken(HashToken hashToken) {
+    public MakeBearerToken(HashToken hashToken, CachedRsaPrivateKeyRepo rsaPrivateKeyRepository, @Qualifier("jwtAccessTokens") Boolean jwtAccessTokens, String issuer) {
         this.hashToken = hashToken;
+        this.rsaPrivateKeyRepository = rsaPrivateKeyRepository;
+        this.jwtAccessTokens = jwtAccessTokens;
+        this.issuer = issuer;
     }
 
 
     public Token run(UUID clientId, String plainTextToken, Long secondsToExpiration) {
-
-        Token token = new Token();
-        token.setId(UUID.randomUUID());
+        Token token = make(clientId, secondsToExpiration);
 
         String hashedToken = hashToken.run(plainTextToken);
         token.setToken(hashedToken);
+
+        return token;
+    }
+
+    /**
+     * @param clientId the client the token is issued to
+     * @param secondsToExpiration seconds the token is active
+     * @return a token without its hashed value, see sign
+     */
+    public Token make(UUID clientId, Long secondsToExpiration) {
+
+        Token token = new Token();
+        token.setId(UUID.randomUUID());
         token.setExpiresAt(OffsetDateTime.now().plusSeconds(secondsToExpiration));
         token.setSecondsToExpiration(secondsToExpiration);
         token.setGrantType(GrantType.AUTHORIZATION_CODE);
@@ -43,6 +77,73 @@ public class MakeBearerToken {
         return token;
     }
 
+    /**
+     * Makes the plain text of the token a jwt signed with the most recent signing key. The hash
+     * of the jwt is kept on the token so it is looked up like any other access token, userinfo
+     * and revocation do not need to know which format it is. Its jti is the token id which is
+     * what the deny list, /api/public/v1/token/denied, is made of.
+     *
+     * @param token a token from make
+     * @param resourceOwnerId the subject of the token
+     * @param scopes the scopes of the token
+     * @param audience the audience of the token
+     * @return the compact jwt
+     * @throws ServerException if there is no signing key or the jwt could not be made
+     */
+    public String sign(Token token, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience) throws ServerException {
+        RSAKeyPair rsaKeyPair;
+        try {
+            rsaKeyPair = rsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning();
+        } catch (RecordNotFoundException e) {
+            throw new ServerException(KEY_NOT_FOUND, e);
+        }
+
+        AccessTokenClaims claims = makeClaims(token, resourceOwnerId, scopes, audience);
+
+        String jwt;
+        SecureCompactBuilder compactBuilder = new SecureCompactBuilder();
+        try {
+            jwt = compactBuilder.alg(Algorithm.RS256)
+                    .key(rsaKeyPair)
+                    .claims(claims)
+                    .build()
+                    .toString();
+        } catch (CompactException e) {
+            throw new ServerException(ACCESS_TOKEN_ERROR_MSG, e);
+        }
+
+        token.setToken(hashToken.run(jwt));
+        return jwt;
+    }
+
+    protected AccessTokenClaims makeClaims(Token token, UUID resourceOwnerId, List<Scope> scopes, List<Client> audience) {
+        String scope = scopes.stream()
+                .map(Scope::getName)
+                .collect(Collectors.joining(" "));
+
+        List<String> aud = audience.stream()
+                .map(i->i.getId().toString())
+                .collect(Collectors.toList());
+
+        AccessTokenClaims claims = new AccessTokenClaims();
+        claims.setIssuer(Optional.of(issuer));
+        claims.setSubject(Optional.of(resourceOwnerId.toString()));
+        claims.setAudience(aud);
+        claims.setScope(Optional.of(scope));
+        claims.setIssuedAt(Optional.of(OffsetDateTime.now().toEpochSecond()));
+        claims.setExpirationTime(Optional.of(token.getExpiresAt().toEpochSecond()));
+        claims.setJwtId(Optional.of(token.getId().toString()));
+
+        return claims;
+    }
+
+    /**
+     * @return true if access tokens are signed jwts, see access.token.jwt.
+     */
+    public Boolean isJwt() {
+        return jwtAccessTokens;
+    }
+
     public TokenType getTokenType() {
         return TOKEN_TYPE;
     }
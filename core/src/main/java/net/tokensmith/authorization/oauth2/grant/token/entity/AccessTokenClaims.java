@@ -0,0 +1,25 @@
+package net.tokensmith.authorization.oauth2.grant.token.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import net.tokensmith.jwt.entity.jwt.Claims;
+
+import java.util.Optional;
+
+/**
+ * The claims of an access token that is a signed jwt, see access.token.jwt.
+ * https://tools.ietf.org/html/rfc9068#section-2.2
+ */
+public class AccessTokenClaims extends Claims {
+
+    // space delimited scope names, https://tools.ietf.org/html/rfc8693#section-4.2
+    @JsonProperty(value="scope")
+    private Optional<String> scope = Optional.empty();
+
+    public Optional<String> getScope() {
+        return scope;
+    }
+
+    public void setScope(Optional<String> scope) {
+        this.scope = scope;
+    }
+}
@@ -0,0 +1,36 @@
+package net.tokensmith.authorization.oauth2.grant.token.entity;
+
+import net.tokensmith.otter.translatable.Translatable;
+
+/**
+ * An access token that was revoked before it expired. Resource servers that verify jwt
+ * access tokens deny a jwt with this jti until its exp.
+ */
+public class DeniedToken implements Translatable {
+    private String jti;
+    private Long exp;
+
+    public DeniedToken() {
+    }
+
+    public DeniedToken(String jti, Long exp) {
+        this.jti = jti;
+        this.exp = exp;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Long getExp() {
+        return exp;
+    }
+
+    public void setExp(Long exp) {
+        this.exp = exp;
+    }
+}
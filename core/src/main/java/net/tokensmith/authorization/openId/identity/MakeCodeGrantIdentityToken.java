@@ -7,18 +7,16 @@ import net.tokensmith.authorization.openId.identity.exception.KeyNotFoundExcepti
 import net.tokensmith.authorization.openId.identity.exception.ProfileNotFoundException;
 import net.tokensmith.authorization.openId.identity.exception.ResourceOwnerNotFoundException;
 import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
-import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.authorization.security.ciphers.HashToken;
 import net.tokensmith.jwt.builder.compact.SecureCompactBuilder;
 import net.tokensmith.jwt.builder.exception.CompactException;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
 import net.tokensmith.jwt.entity.jwt.header.Algorithm;
-import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.ResourceOwnerRepository;
-import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -34,8 +32,7 @@ import java.util.stream.Collectors;
 public class MakeCodeGrantIdentityToken {
     private HashToken hashToken;
     private ResourceOwnerRepository resourceOwnerRepository;
-    private RsaPrivateKeyRepository rsaPrivateKeyRepository;
-    private PrivateKeyTranslator privateKeyTranslator;
+    private CachedRsaPrivateKeyRepo rsaPrivateKeyRepository;
     private JwtAppFactory jwtAppFactory;
     private IdTokenFactory idTokenFactory;
 
@@ -45,11 +42,10 @@ public class MakeCodeGrantIdentityToken {
     private static String ID_TOKEN_ERROR_MSG = "Could not create id token";
 
     @Autowired
-    public MakeCodeGrantIdentityToken(HashToken hashToken, ResourceOwnerRepository resourceOwnerRepository, RsaPrivateKeyRepository rsaPrivateKeyRepository, PrivateKeyTranslator privateKeyTranslator, JwtAppFactory jwtAppFactory, IdTokenFactory idTokenFactory) {
+    public MakeCodeGrantIdentityToken(HashToken hashToken, ResourceOwnerRepository resourceOwnerRepository, CachedRsaPrivateKeyRepo rsaPrivateKeyRepository, JwtAppFactory jwtAppFactory, IdTokenFactory idTokenFactory) {
         this.hashToken = hashToken;
         this.resourceOwnerRepository = resourceOwnerRepository;
         this.rsaPrivateKeyRepository = rsaPrivateKeyRepository;
-        this.privateKeyTranslator = privateKeyTranslator;
         this.jwtAppFactory = jwtAppFactory;
         this.idTokenFactory = idTokenFactory;
     }
@@ -69,15 +65,13 @@ public class MakeCodeGrantIdentityToken {
             throw new ProfileNotFoundException(PROFILE_NOT_FOUND);
         }
 
-        RSAPrivateKey key;
+        RSAKeyPair rsaKeyPair;
         try {
-            key = rsaPrivateKeyRepository.getMostRecentAndActiveForSigning();
+            rsaKeyPair = rsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning();
         } catch (RecordNotFoundException e) {
             throw new KeyNotFoundException(KEY_NOT_FOUND, e);
         }
 
-        RSAKeyPair rsaKeyPair = privateKeyTranslator.from(key);
-
         // NPE - for ro.getTokens()
         List<String> scopesForIdToken = ro.getTokens().get(0).getTokenScopes().stream()
                 .map(item -> item.getScope().getName())
@@ -6,18 +6,16 @@ import net.tokensmith.authorization.openId.identity.exception.IdTokenException;
 import net.tokensmith.authorization.openId.identity.exception.KeyNotFoundException;
 import net.tokensmith.authorization.openId.identity.exception.ProfileNotFoundException;
 import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
-import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.jwt.builder.compact.SecureCompactBuilder;
 import net.tokensmith.jwt.builder.exception.CompactException;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
 import net.tokensmith.jwt.entity.jwt.header.Algorithm;
 import net.tokensmith.repository.entity.Profile;
-import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.ProfileRepository;
-import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -36,17 +34,15 @@ public class MakeImplicitIdentityToken {
     private ProfileRepository profileRepository;
     private MakeAccessTokenHash makeAccessTokenHash;
     private IdTokenFactory idTokenFactory;
-    private RsaPrivateKeyRepository rsaPrivateKeyRepository;
-    private PrivateKeyTranslator privateKeyTranslator;
+    private CachedRsaPrivateKeyRepo rsaPrivateKeyRepository;
     private JwtAppFactory jwtAppFactory;
 
     @Autowired
-    public MakeImplicitIdentityToken(ProfileRepository profileRepository, MakeAccessTokenHash makeAccessTokenHash, IdTokenFactory idTokenFactory, RsaPrivateKeyRepository rsaPrivateKeyRepository, PrivateKeyTranslator privateKeyTranslator, JwtAppFactory jwtAppFactory) {
+    public MakeImplicitIdentityToken(ProfileRepository profileRepository, MakeAccessTokenHash makeAccessTokenHash, IdTokenFactory idTokenFactory, CachedRsaPrivateKeyRepo rsaPrivateKeyRepository, JwtAppFactory jwtAppFactory) {
         this.profileRepository = profileRepository;
         this.makeAccessTokenHash = makeAccessTokenHash;
         this.idTokenFactory = idTokenFactory;
         this.rsaPrivateKeyRepository = rsaPrivateKeyRepository;
-        this.privateKeyTranslator = privateKeyTranslator;
         this.jwtAppFactory = jwtAppFactory;
     }
 
@@ -67,14 +63,13 @@ public class MakeImplicitIdentityToken {
         String accessTokenHash = makeAccessTokenHash.makeEncodedHash(plainTextAccessToken);
         IdToken idToken = idTokenFactory.make(accessTokenHash, nonce, tokenClaims, scopesForIdToken, resourceOwner);
 
-        RSAPrivateKey key = null;
+        RSAKeyPair rsaKeyPair = null;
         try {
-            key = rsaPrivateKeyRepository.getMostRecentAndActiveForSigning();
+            rsaKeyPair = rsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning();
         } catch (RecordNotFoundException e) {
             throw new KeyNotFoundException(KEY_ERROR_MESSAGE, e);
         }
 
-        RSAKeyPair rsaKeyPair = privateKeyTranslator.from(key);
         String encodedJwt = translateIdTokenToEncodedJwt(rsaKeyPair, idToken);
 
         return encodedJwt;
@@ -95,14 +90,13 @@ public class MakeImplicitIdentityToken {
         resourceOwner.setProfile(profile);
         IdToken idToken = idTokenFactory.make(nonce, tokenClaim, scopes, resourceOwner);
 
-        RSAPrivateKey key = null;
+        RSAKeyPair rsaKeyPair = null;
         try {
-            key = rsaPrivateKeyRepository.getMostRecentAndActiveForSigning();
+            rsaKeyPair = rsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning();
         } catch (RecordNotFoundException e) {
             throw new KeyNotFoundException(KEY_ERROR_MESSAGE, e);
         }
 
-        RSAKeyPair rsaKeyPair = privateKeyTranslator.from(key);
         String encodedJwt = translateIdTokenToEncodedJwt(rsaKeyPair, idToken);
 
         return encodedJwt;
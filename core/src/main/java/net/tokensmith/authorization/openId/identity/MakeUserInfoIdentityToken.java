@@ -6,19 +6,17 @@ import net.tokensmith.authorization.openId.identity.exception.IdTokenException;
 import net.tokensmith.authorization.openId.identity.exception.KeyNotFoundException;
 import net.tokensmith.authorization.openId.identity.exception.ResourceOwnerNotFoundException;
 import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
-import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.authorization.security.ciphers.HashToken;
 import net.tokensmith.jwt.builder.compact.SecureCompactBuilder;
 import net.tokensmith.jwt.builder.exception.CompactException;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
 import net.tokensmith.jwt.entity.jwt.header.Algorithm;
-import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.entity.Token;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.ResourceOwnerRepository;
-import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,8 +35,7 @@ public class MakeUserInfoIdentityToken {
 
     private HashToken hashToken;
     private ResourceOwnerRepository resourceOwnerRepository;
-    private RsaPrivateKeyRepository rsaPrivateKeyRepository;
-    private PrivateKeyTranslator privateKeyTranslator;
+    private CachedRsaPrivateKeyRepo rsaPrivateKeyRepository;
     private JwtAppFactory jwtAppFactory;
     private IdTokenFactory idTokenFactory;
     private String issuer;
@@ -48,11 +45,10 @@ public class MakeUserInfoIdentityToken {
     private static String ID_TOKEN_ERROR_MSG = "Could not create id token";
 
     @Autowired
-    public MakeUserInfoIdentityToken(HashToken hashToken, ResourceOwnerRepository resourceOwnerRepository, RsaPrivateKeyRepository rsaPrivateKeyRepository, PrivateKeyTranslator privateKeyTranslator, JwtAppFactory jwtAppFactory, IdTokenFactory idTokenFactory, String issuer) {
+    public MakeUserInfoIdentityToken(HashToken hashToken, ResourceOwnerRepository resourceOwnerRepository, CachedRsaPrivateKeyRepo rsaPrivateKeyRepository, JwtAppFactory jwtAppFactory, IdTokenFactory idTokenFactory, String issuer) {
         this.hashToken = hashToken;
         this.resourceOwnerRepository = resourceOwnerRepository;
         this.rsaPrivateKeyRepository = rsaPrivateKeyRepository;
-        this.privateKeyTranslator = privateKeyTranslator;
         this.jwtAppFactory = jwtAppFactory;
         this.idTokenFactory = idTokenFactory;
         this.issuer = issuer;
@@ -69,15 +65,13 @@ public class MakeUserInfoIdentityToken {
             throw new ResourceOwnerNotFoundException(RESOURCE_OWNER_NOT_FOUND, e);
         }
 
-        RSAPrivateKey key;
+        RSAKeyPair rsaKeyPair;
         try {
-            key = rsaPrivateKeyRepository.getMostRecentAndActiveForSigning();
+            rsaKeyPair = rsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning();
         } catch (RecordNotFoundException e) {
             throw new KeyNotFoundException(KEY_NOT_FOUND, e);
         }
 
-        RSAKeyPair rsaKeyPair = privateKeyTranslator.from(key);
-
         TokenClaims tc = makeTokenClaims(ro.getTokens().get(0));
 
         /**
@@ -3,7 +3,7 @@ package net.tokensmith.authorization.openId.jwk;
 import net.tokensmith.authorization.exception.NotFoundException;
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.authorization.openId.jwk.translator.RSAPublicKeyTranslator;
-import net.tokensmith.repository.entity.RSAPrivateKey;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,22 +31,22 @@ public class GetKeys {
     }
 
     public RSAPublicKey getPublicKeyById(UUID id) throws NotFoundException {
-        RSAPrivateKey rsaPrivateKey = null;
+        RSAPublicKeyBytes rsaPublicKeyBytes = null;
         try {
-            rsaPrivateKey = rsaPrivateKeyRepository.getByIdActiveSign(id);
+            rsaPublicKeyBytes = rsaPrivateKeyRepository.getPublicKeyByIdActiveSign(id);
         } catch (RecordNotFoundException e) {
             throw new NotFoundException(KEY_NOT_FOUND, e);
         }
-        return rsaPublicKeyTranslator.to(rsaPrivateKey);
+        return rsaPublicKeyTranslator.to(rsaPublicKeyBytes);
     }
 
     public List<RSAPublicKey> getPublicKeys(Integer page) {
         Integer offset = calculateOffset(page);
-        List<RSAPrivateKey> rsaPrivateKeys = rsaPrivateKeyRepository.getWhereActiveAndUseIsSign(LIMIT, offset);
+        List<RSAPublicKeyBytes> rsaPublicKeysBytes = rsaPrivateKeyRepository.getPublicKeysWhereActiveAndUseIsSign(LIMIT, offset);
 
         List<RSAPublicKey> rsaPublicKeys = new ArrayList<>();
-        for(RSAPrivateKey rsaPrivateKey: rsaPrivateKeys) {
-            rsaPublicKeys.add(rsaPublicKeyTranslator.to(rsaPrivateKey));
+        for(RSAPublicKeyBytes rsaPublicKeyBytes: rsaPublicKeysBytes) {
+            rsaPublicKeys.add(rsaPublicKeyTranslator.to(rsaPublicKeyBytes));
         }
 
         return rsaPublicKeys;
@@ -2,8 +2,11 @@ package net.tokensmith.authorization.openId.jwk.translator;
 
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.repository.entity.RSAPrivateKey;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import org.springframework.stereotype.Component;
 
+import java.math.BigInteger;
+
 
 /**
  * Created by tommackenzie on 1/1/17.
@@ -21,4 +24,13 @@ public class RSAPublicKeyTranslator {
         return rsaPublicKey;
     }
 
+    public RSAPublicKey to(RSAPublicKeyBytes rsaPublicKeyBytes) {
+        RSAPublicKey rsaPublicKey = new RSAPublicKey(
+                rsaPublicKeyBytes.getId(),
+                rsaPublicKeyBytes.getUse(),
+                new BigInteger(rsaPublicKeyBytes.getModulus()),
+                new BigInteger(rsaPublicKeyBytes.getPublicExponent())
+        );
+        return rsaPublicKey;
+    }
 }
@@ -0,0 +1,78 @@
+package net.tokensmith.authorization.persistence.datasource;
+
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A BasicDataSource that exposes how the pool is doing.
+ *
+ * Active and idle connections come from BasicDataSource, waiters and borrow wait times
+ * from the pool underneath it. When a connection can not be borrowed, for example because
+ * every connection is in use for longer than maxWaitMillis, it is counted and logged
+ * with the state of the pool so starvation shows up in the logs.
+ *
+ * The same values are published over JMX when a jmx name is set.
+ */
+public class PooledDataSource extends BasicDataSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledDataSource.class);
+    private static String BORROW_FAILED_MSG = "could not get a connection, active: {}, idle: {}, waiters: {}, max total: {}";
+
+    private final AtomicLong borrowFailures = new AtomicLong();
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            borrowFailures.incrementAndGet();
+            LOGGER.warn(BORROW_FAILED_MSG, getNumActive(), getNumIdle(), getNumWaiters(), getMaxTotal());
+            throw e;
+        }
+    }
+
+    /**
+     * @return threads waiting for a connection
+     */
+    public Integer getNumWaiters() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getNumWaiters();
+    }
+
+    /**
+     * @return mean time the last borrows waited for a connection, in milliseconds
+     */
+    public Long getMeanBorrowWaitTimeMillis() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0L : pool.getMeanBorrowWaitTimeMillis();
+    }
+
+    /**
+     * @return longest time a borrow waited for a connection, in milliseconds
+     */
+    public Long getMaxBorrowWaitTimeMillis() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0L : pool.getMaxBorrowWaitTimeMillis();
+    }
+
+    public Long getBorrowedCount() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0L : pool.getBorrowedCount();
+    }
+
+    public Long getCreatedCount() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        return pool == null ? 0L : pool.getCreatedCount();
+    }
+
+    public Long getBorrowFailures() {
+        return borrowFailures.get();
+    }
+}
@@ -13,7 +13,8 @@ import java.util.regex.Pattern;
  */
 @Component
 public class DuplicateRecordExceptionFactory {
-    private static Pattern psqlPattern = Pattern.compile(".*Detail: Key \\((\\w+)\\).*", Pattern.DOTALL);
+    // the key is the first column, a unique constraint on a partitioned table also has the partition column.
+    private static Pattern psqlPattern = Pattern.compile(".*Detail: Key \\((\\w+)(, \\w+)*\\).*", Pattern.DOTALL);
     private static String DUPLICATE_RECORD_MSG = "Could not insert %s record. %s";
     private static String KEY_FOUND_MSG = "The key, %s, would have caused a duplicate record.";
     private static String KEY_NOT_FOUND_MSG = "Unable to determine the key that would have caused the duplicate record.";
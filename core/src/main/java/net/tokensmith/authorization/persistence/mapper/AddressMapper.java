@@ -3,6 +3,7 @@ package net.tokensmith.authorization.persistence.mapper;
 import net.tokensmith.repository.entity.Address;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,6 +12,7 @@ import java.util.UUID;
 public interface AddressMapper {
     void insert(@Param("address") Address address);
     Address getByIdAndResourceOwnerId(@Param("id") UUID id, @Param("resourceOwnerId") UUID resourceOwnerId);
+    List<Address> getByProfileId(@Param("profileId") UUID profileId);
     void update(@Param("resourceOwnerId") UUID resourceOwnerId, @Param("address") Address address);
     void delete(@Param("id") UUID id, @Param("resourceOwnerId") UUID resourceOwnerId);
 }
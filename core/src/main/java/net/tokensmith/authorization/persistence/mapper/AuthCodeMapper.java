@@ -14,5 +14,7 @@ public interface AuthCodeMapper {
     void insert(@Param("authCode") AuthCode authCode);
     AuthCode getById(@Param("id") UUID id);
     AuthCode getByClientIdAndAuthCode(@Param("clientId") UUID clientId, @Param("code") String code);
+    AuthCode redeem(@Param("clientId") UUID clientId, @Param("code") String code);
+    AuthCode revokeRedeemed(@Param("clientId") UUID clientId, @Param("code") String code);
     void revokeById(@Param("id") UUID id);
 }
@@ -4,6 +4,7 @@ import net.tokensmith.repository.entity.Client;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -12,6 +13,8 @@ import java.util.UUID;
 @Repository
 public interface ClientMapper {
     Client getById(@Param("id") UUID id);
+    List<Client> getAudienceByTokenId(@Param("tokenId") UUID tokenId);
+    Long getVersion();
     void insert(@Param("client") Client client);
 }
 
@@ -10,6 +10,7 @@ import java.util.UUID;
  */
 public interface ConfigurationMapper {
     Configuration get();
+    Integer getVersion();
     void updateAccessTokenSize(@Param("id") UUID id, @Param("size") Integer size);
     void updateAuthorizationCodeSize(@Param("id") UUID id, @Param("size") Integer size);
     void updateRefreshTokenSize(@Param("id") UUID id, @Param("size") Integer size);
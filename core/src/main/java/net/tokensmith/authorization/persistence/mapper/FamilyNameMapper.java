@@ -3,6 +3,7 @@ package net.tokensmith.authorization.persistence.mapper;
 import net.tokensmith.repository.entity.Name;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,6 +12,7 @@ import java.util.UUID;
 public interface FamilyNameMapper {
     void insert(@Param("familyName") Name familyName);
     Name findById(@Param("id") UUID id);
+    List<Name> getByProfileId(@Param("profileId") UUID profileId);
     void update(@Param("resourceOwnerId") UUID resourceOwnerId, @Param("familyName") Name familyName);
     void delete(@Param("resourceOwnerId") UUID resourceOwnerId, @Param("familyName") Name familyName);
 }
@@ -3,6 +3,7 @@ package net.tokensmith.authorization.persistence.mapper;
 import net.tokensmith.repository.entity.Name;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,6 +12,7 @@ import java.util.UUID;
 public interface GivenNameMapper {
     void insert(@Param("givenName") Name givenName);
     Name findById(@Param("id") UUID id);
+    List<Name> getByProfileId(@Param("profileId") UUID profileId);
     void update(@Param("resourceOwnerId") UUID resourceOwnerId, @Param("givenName") Name givenName);
     void delete(@Param("resourceOwnerId") UUID resourceOwnerId, @Param("givenName") Name givenName);
 }
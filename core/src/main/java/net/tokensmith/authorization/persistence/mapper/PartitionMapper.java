@@ -0,0 +1,22 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+
+@Repository
+public interface PartitionMapper {
+    List<String> getPartitions(@Param("table") String table);
+    String getUpperBound(@Param("partition") String partition);
+    UUID deleteTokenReferences(@Param("partition") String partition, @Param("after") UUID after, @Param("limit") Integer limit);
+    UUID deleteRefreshTokenReferences(@Param("partition") String partition, @Param("after") UUID after, @Param("limit") Integer limit);
+    List<String> getDefaultMonths(@Param("partition") String partition);
+    void createTable(@Param("table") String table, @Param("partition") String partition);
+    Integer moveRows(@Param("source") String source, @Param("partition") String partition, @Param("from") String from, @Param("to") String to);
+    void attachPartition(@Param("table") String table, @Param("partition") String partition, @Param("from") String from, @Param("to") String to);
+    void detachPartition(@Param("table") String table, @Param("partition") String partition);
+    void dropTable(@Param("table") String table);
+}
@@ -3,6 +3,7 @@ package net.tokensmith.authorization.persistence.mapper;
 import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,7 +14,10 @@ public interface RSAPrivateKeyMapper {
     void insert(@Param("rsaPrivateKey") RSAPrivateKeyBytes rsaPrivateKey);
     void insertWithDateTimeValues(@Param("rsaPrivateKey") RSAPrivateKeyBytes rsaPrivateKey);
     RSAPrivateKeyBytes getMostRecentAndActiveForSigning();
+    RSAPrivateKeyBytes getMostRecentAndActive();
+    Boolean tryLockForRotation();
     RSAPrivateKeyBytes getById(@Param("id") UUID id);
     List<RSAPrivateKeyBytes> getWhereActiveAndUseIsSign(@Param("limit") Integer limit, @Param("offset") Integer offset);
     RSAPrivateKeyBytes getByIdActiveSign(@Param("id") UUID id);
+    Integer retireWhereSupersededBefore(@Param("signedBefore") OffsetDateTime signedBefore);
 }
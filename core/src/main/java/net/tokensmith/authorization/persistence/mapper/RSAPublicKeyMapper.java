@@ -0,0 +1,19 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The public part of the rsa private keys, it is not encrypted.
+ *
+ * Keys that do not have a public part yet are returned with a null modulus
+ * and public exponent.
+ */
+public interface RSAPublicKeyMapper {
+    void insert(@Param("rsaPublicKey") RSAPublicKeyBytes rsaPublicKey);
+    List<RSAPublicKeyBytes> getWhereActiveAndUseIsSign(@Param("limit") Integer limit, @Param("offset") Integer offset);
+    RSAPublicKeyBytes getByIdActiveSign(@Param("id") UUID id);
+}
@@ -0,0 +1,14 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+
+
+@Repository
+public interface ReaperMapper {
+    Integer deleteAuthCodes(@Param("before") OffsetDateTime before, @Param("limit") Integer limit);
+    Integer deleteLocalTokens(@Param("before") OffsetDateTime before, @Param("limit") Integer limit);
+    Integer deleteNonces(@Param("before") OffsetDateTime before, @Param("limit") Integer limit);
+}
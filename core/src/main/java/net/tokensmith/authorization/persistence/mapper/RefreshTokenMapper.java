@@ -15,6 +15,7 @@ public interface RefreshTokenMapper {
     RefreshToken getByClientIdAndAccessToken(@Param("clientId") UUID clientId, @Param("accessToken") String accessToken);
     List<RefreshToken> getByResourceOwner(@Param("resourceOwnerId") UUID resourceOwnerId);
     void revokeByAuthCodeId(@Param("authCodeId") UUID authCodeId);
+    Integer rotate(@Param("id") UUID id);
     void revokeByTokenId(@Param("tokenId") UUID tokenId);
     void revokeActive(@Param("resourceOwnerId") UUID resourceOwnerId);
 
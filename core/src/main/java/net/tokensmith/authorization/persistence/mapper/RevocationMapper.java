@@ -0,0 +1,14 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import net.tokensmith.repository.entity.Revocation;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+
+@Repository
+public interface RevocationMapper {
+    Revocation revokeByResourceOwnerId(@Param("resourceOwnerId") UUID resourceOwnerId);
+    Revocation revokeByClientId(@Param("clientId") UUID clientId);
+}
@@ -14,4 +14,5 @@ public interface ScopeMapper {
     void insert(@Param("scope") Scope scope);
     List<Scope> findByNames(@Param("names") List<String> names);
     Scope findByName(@Param("name") String name);
+    List<Scope> findAll();
 }
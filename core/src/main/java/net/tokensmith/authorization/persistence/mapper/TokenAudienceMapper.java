@@ -4,6 +4,7 @@ import net.tokensmith.repository.entity.TokenAudience;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -12,5 +13,6 @@ import java.util.UUID;
 @Repository
 public interface TokenAudienceMapper {
     void insert(@Param("tokenAudience") TokenAudience tokenAudience);
+    void insertAll(@Param("tokenAudiences") List<TokenAudience> tokenAudiences);
     TokenAudience getByTokenId(@Param("tokenId") UUID tokenId);
 }
@@ -5,6 +5,7 @@ import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -17,4 +18,5 @@ public interface TokenMapper {
     void revokeById(@Param("id") UUID id);
     void updateExpiresAtByAccessToken(@Param("expiresAt") OffsetDateTime expiresAt, @Param("accessToken") String accessToken);
     void revokeActive(@Param("resourceOwnerId") UUID resourceOwnerId);
+    List<Token> getDenied();
 }
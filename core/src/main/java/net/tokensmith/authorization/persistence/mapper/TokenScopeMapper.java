@@ -3,9 +3,14 @@ package net.tokensmith.authorization.persistence.mapper;
 import net.tokensmith.repository.entity.TokenScope;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Created by tommackenzie on 4/17/16.
  */
 public interface TokenScopeMapper {
     void insert(@Param("tokenScope") TokenScope tokenScope);
+    void insertAll(@Param("tokenScopes") List<TokenScope> tokenScopes);
+    List<TokenScope> getByTokenId(@Param("tokenId") UUID tokenId);
 }
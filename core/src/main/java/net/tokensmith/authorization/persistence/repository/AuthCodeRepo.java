@@ -49,6 +49,45 @@ public class AuthCodeRepo implements AuthCodeRepository {
         return authCode;
     }
 
+    /**
+     * Marks the code redeemed and reads it in one statement. A code is redeemed once, so a
+     * code that was already redeemed is not found.
+     *
+     * @param clientUUID the client the code was issued to
+     * @param code the hashed code
+     * @return the auth code with its access request and scopes
+     * @throws RecordNotFoundException if the code was not found, expired, revoked or redeemed
+     */
+    @Override
+    public AuthCode redeem(UUID clientUUID, String code) throws RecordNotFoundException {
+        AuthCode authCode = authCodeMapper.redeem(clientUUID, code);
+
+        if (authCode == null) {
+            throw new RecordNotFoundException(RECORD_NOT_FOUND_MSG);
+        }
+
+        return authCode;
+    }
+
+    /**
+     * Revokes a code that was redeemed, it is being replayed.
+     *
+     * @param clientUUID the client the code was issued to
+     * @param code the hashed code
+     * @return the revoked auth code
+     * @throws RecordNotFoundException if the code was never redeemed
+     */
+    @Override
+    public AuthCode revokeRedeemed(UUID clientUUID, String code) throws RecordNotFoundException {
+        AuthCode authCode = authCodeMapper.revokeRedeemed(clientUUID, code);
+
+        if (authCode == null) {
+            throw new RecordNotFoundException(RECORD_NOT_FOUND_MSG);
+        }
+
+        return authCode;
+    }
+
     @Override
     public AuthCode getById(UUID id) throws RecordNotFoundException {
         AuthCode authCode = authCodeMapper.getById(id);
@@ -9,6 +9,8 @@ import net.tokensmith.repository.repo.AuthCodeTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -27,6 +29,7 @@ public class AuthCodeTokenRepo implements AuthCodeTokenRepository {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NESTED, rollbackFor = DuplicateRecordException.class)
     public void insert(AuthCodeToken authCodeToken) throws DuplicateRecordException {
         try {
             authCodeTokenMapper.insert(authCodeToken);
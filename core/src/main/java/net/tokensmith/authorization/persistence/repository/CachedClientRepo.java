@@ -0,0 +1,43 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.repository.entity.Client;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import net.tokensmith.repository.repo.ClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Decorates ClientRepo so clients are read through the ClientRegistry.
+ */
+@Primary
+@Component
+public class CachedClientRepo implements ClientRepository {
+    private ClientRepo clientRepo;
+    private ClientRegistry clientRegistry;
+
+    @Autowired
+    public CachedClientRepo(ClientRepo clientRepo, ClientRegistry clientRegistry) {
+        this.clientRepo = clientRepo;
+        this.clientRegistry = clientRegistry;
+    }
+
+    @Override
+    public Client getById(UUID id) throws RecordNotFoundException {
+        return clientRegistry.getClient(id, () -> clientRepo.getById(id));
+    }
+
+    @Override
+    public void insert(Client client) {
+        clientRepo.insert(client);
+        clientRegistry.invalidate(client.getId());
+    }
+
+    @Override
+    public Long getVersion() {
+        return clientRepo.getVersion();
+    }
+}
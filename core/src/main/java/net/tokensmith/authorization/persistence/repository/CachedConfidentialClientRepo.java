@@ -0,0 +1,39 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.repository.entity.ConfidentialClient;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import net.tokensmith.repository.repo.ConfidentialClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Decorates ConfidentialClientRepo so confidential clients are read through the ClientRegistry.
+ */
+@Primary
+@Component
+public class CachedConfidentialClientRepo implements ConfidentialClientRepository {
+    private ConfidentialClientRepo confidentialClientRepo;
+    private ClientRegistry clientRegistry;
+
+    @Autowired
+    public CachedConfidentialClientRepo(ConfidentialClientRepo confidentialClientRepo, ClientRegistry clientRegistry) {
+        this.confidentialClientRepo = confidentialClientRepo;
+        this.clientRegistry = clientRegistry;
+    }
+
+    @Override
+    public void insert(ConfidentialClient confidentialClient) {
+        confidentialClientRepo.insert(confidentialClient);
+        // a new secret must not be shadowed by the cached one.
+        clientRegistry.invalidate(confidentialClient.getClient().getId());
+    }
+
+    @Override
+    public ConfidentialClient getByClientId(UUID clientId) throws RecordNotFoundException {
+        return clientRegistry.getConfidentialClient(clientId, () -> confidentialClientRepo.getByClientId(clientId));
+    }
+}
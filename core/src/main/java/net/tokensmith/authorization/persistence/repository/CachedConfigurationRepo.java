@@ -0,0 +1,142 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.repository.entity.Configuration;
+import net.tokensmith.repository.repo.ConfigurationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Decorates ConfigurationRepo so the configuration is served from memory.
+ *
+ * Every update bumps the version column. Updates through this repo drop the
+ * cache right away. Updates from other nodes are picked up by comparing the
+ * version in the db to the cached one, at most once per poll interval.
+ */
+@Primary
+@Component
+public class CachedConfigurationRepo implements ConfigurationRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedConfigurationRepo.class);
+
+    private ConfigurationRepo configurationRepo;
+    private Long configurationPollInSeconds;
+
+    private volatile Snapshot snapshot;
+    private final Object lock = new Object();
+
+    @Autowired
+    public CachedConfigurationRepo(ConfigurationRepo configurationRepo, @Qualifier("configurationPollInSeconds") Long configurationPollInSeconds) {
+        this.configurationRepo = configurationRepo;
+        this.configurationPollInSeconds = configurationPollInSeconds;
+    }
+
+    /**
+     * @return a copy of the cached configuration, callers may not change the cached one.
+     */
+    @Override
+    public Configuration get() {
+        Snapshot current = snapshot;
+        if (current != null && current.getCheckAt().isAfter(OffsetDateTime.now())) {
+            return copy(current.getConfiguration());
+        }
+
+        synchronized (lock) {
+            current = snapshot;
+            OffsetDateTime now = OffsetDateTime.now();
+            if (current != null && current.getCheckAt().isAfter(now)) {
+                return copy(current.getConfiguration());
+            }
+
+            OffsetDateTime checkAt = now.plusSeconds(configurationPollInSeconds);
+            if (current != null && Objects.equals(current.getConfiguration().getVersion(), configurationRepo.getVersion())) {
+                snapshot = new Snapshot(current.getConfiguration(), checkAt);
+                return copy(current.getConfiguration());
+            }
+
+            Configuration configuration = configurationRepo.get();
+            if (configuration == null) {
+                return null;
+            }
+            LOGGER.debug("cached configuration version: {}", configuration.getVersion());
+            snapshot = new Snapshot(configuration, checkAt);
+            return copy(configuration);
+        }
+    }
+
+    @Override
+    public Integer getVersion() {
+        return configurationRepo.getVersion();
+    }
+
+    @Override
+    public void updateAccessTokenSize(UUID id, Integer size) {
+        configurationRepo.updateAccessTokenSize(id, size);
+        invalidate();
+    }
+
+    @Override
+    public void updateAuthorizationCodeSize(UUID id, Integer size) {
+        configurationRepo.updateAuthorizationCodeSize(id, size);
+        invalidate();
+    }
+
+    @Override
+    public void updateRefreshTokenSize(UUID id, Integer size) {
+        configurationRepo.updateRefreshTokenSize(id, size);
+        invalidate();
+    }
+
+    /**
+     * Drops the cached configuration. The next request will read it from the db.
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            snapshot = null;
+        }
+    }
+
+    protected Configuration copy(Configuration from) {
+        Configuration to = new Configuration();
+        to.setId(from.getId());
+        to.setAccessTokenSize(from.getAccessTokenSize());
+        to.setAuthorizationCodeSize(from.getAuthorizationCodeSize());
+        to.setRefreshTokenSize(from.getRefreshTokenSize());
+        to.setAccessTokenCodeSecondsToExpiry(from.getAccessTokenCodeSecondsToExpiry());
+        to.setAccessTokenTokenSecondsToExpiry(from.getAccessTokenTokenSecondsToExpiry());
+        to.setAccessTokenPasswordSecondsToExpiry(from.getAccessTokenPasswordSecondsToExpiry());
+        to.setAccessTokenRefreshSecondsToExpiry(from.getAccessTokenRefreshSecondsToExpiry());
+        to.setAccessTokenClientSecondsToExpiry(from.getAccessTokenClientSecondsToExpiry());
+        to.setAuthorizationCodeSecondsToExpiry(from.getAuthorizationCodeSecondsToExpiry());
+        to.setRefreshTokenSecondsToExpiry(from.getRefreshTokenSecondsToExpiry());
+        to.setVersion(from.getVersion());
+        to.setCreatedAt(from.getCreatedAt());
+        to.setUpdatedAt(from.getUpdatedAt());
+        return to;
+    }
+
+    protected static class Snapshot {
+        private final Configuration configuration;
+        private final OffsetDateTime checkAt;
+
+        public Snapshot(Configuration configuration, OffsetDateTime checkAt) {
+            this.configuration = configuration;
+            this.checkAt = checkAt;
+        }
+
+        public Configuration getConfiguration() {
+            return configuration;
+        }
+
+        public OffsetDateTime getCheckAt() {
+            return checkAt;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.repository.entity.RSAPrivateKey;
+import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Decorates RsaPrivateKeyRepo so the active signing key is only read from the db
+ * and decrypted once per ttl. Everything else is delegated.
+ *
+ * The cache is dropped when a key is inserted through this repo or when
+ * invalidate() is called, which is the rotation signal.
+ */
+@Primary
+@Component
+public class CachedRsaPrivateKeyRepo implements RsaPrivateKeyRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedRsaPrivateKeyRepo.class);
+
+    private RsaPrivateKeyRepo rsaPrivateKeyRepo;
+    private PrivateKeyTranslator privateKeyTranslator;
+    private Long signingKeyTtlInSeconds;
+
+    private volatile SigningKey signingKey;
+    private final Object lock = new Object();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public CachedRsaPrivateKeyRepo(RsaPrivateKeyRepo rsaPrivateKeyRepo, PrivateKeyTranslator privateKeyTranslator, @Qualifier("signingKeyTtlInSeconds") Long signingKeyTtlInSeconds) {
+        this.rsaPrivateKeyRepo = rsaPrivateKeyRepo;
+        this.privateKeyTranslator = privateKeyTranslator;
+        this.signingKeyTtlInSeconds = signingKeyTtlInSeconds;
+    }
+
+    @Override
+    public void insert(RSAPrivateKey rsaPrivateKey) {
+        rsaPrivateKeyRepo.insert(rsaPrivateKey);
+        invalidate();
+    }
+
+    @Override
+    public Boolean insertWhenNoneCreatedAfter(OffsetDateTime createdAfter, Supplier<RSAPrivateKey> next) {
+        Boolean inserted = rsaPrivateKeyRepo.insertWhenNoneCreatedAfter(createdAfter, next);
+        if (inserted) {
+            invalidate();
+        }
+        return inserted;
+    }
+
+    @Override
+    public RSAPrivateKey getMostRecentAndActiveForSigning() throws RecordNotFoundException {
+        return getSigningKey().getPrivateKey();
+    }
+
+    /**
+     * The translated key pair of the most recent and active signing key. Use this
+     * to sign to avoid translating the private key on every request.
+     *
+     * @return the key pair of the current signing key
+     * @throws RecordNotFoundException if there is no active signing key
+     */
+    public RSAKeyPair getMostRecentAndActiveKeyPairForSigning() throws RecordNotFoundException {
+        return getSigningKey().getKeyPair();
+    }
+
+    @Override
+    public List<RSAPrivateKey> getWhereActiveAndUseIsSign(Integer limit, Integer offset) {
+        return rsaPrivateKeyRepo.getWhereActiveAndUseIsSign(limit, offset);
+    }
+
+    @Override
+    public RSAPrivateKey getByIdActiveSign(UUID id) throws RecordNotFoundException {
+        return rsaPrivateKeyRepo.getByIdActiveSign(id);
+    }
+
+    @Override
+    public RSAPrivateKeyBytes encrypt(RSAPrivateKey from) {
+        return rsaPrivateKeyRepo.encrypt(from);
+    }
+
+    @Override
+    public List<RSAPublicKeyBytes> getPublicKeysWhereActiveAndUseIsSign(Integer limit, Integer offset) {
+        return rsaPrivateKeyRepo.getPublicKeysWhereActiveAndUseIsSign(limit, offset);
+    }
+
+    @Override
+    public RSAPublicKeyBytes getPublicKeyByIdActiveSign(UUID id) throws RecordNotFoundException {
+        return rsaPrivateKeyRepo.getPublicKeyByIdActiveSign(id);
+    }
+
+    @Override
+    public Integer retireWhereSupersededBefore(OffsetDateTime signedBefore) {
+        Integer retired = rsaPrivateKeyRepo.retireWhereSupersededBefore(signedBefore);
+        invalidate();
+        return retired;
+    }
+
+    /**
+     * Drops the cached signing key. The next request will read it from the db.
+     * Call this when the signing key is rotated.
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            signingKey = null;
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return a number that changes every time the keys change through this repo, caches
+     * of the public keys compare it to know when to rebuild.
+     */
+    public Long getGeneration() {
+        return generation.get();
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    protected SigningKey getSigningKey() throws RecordNotFoundException {
+        SigningKey current = signingKey;
+        if (isFresh(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        // only one thread should read and decrypt the key, the others wait for it.
+        synchronized (lock) {
+            current = signingKey;
+            if (isFresh(current)) {
+                hits.incrementAndGet();
+                return current;
+            }
+            misses.incrementAndGet();
+
+            RSAPrivateKey privateKey = rsaPrivateKeyRepo.getMostRecentAndActiveForSigning();
+            RSAKeyPair keyPair = privateKeyTranslator.from(privateKey);
+            current = new SigningKey(
+                    privateKey, keyPair, OffsetDateTime.now().plusSeconds(signingKeyTtlInSeconds)
+            );
+            signingKey = current;
+            LOGGER.debug("cached signing key: {}", privateKey.getId());
+        }
+        return current;
+    }
+
+    protected Boolean isFresh(SigningKey signingKey) {
+        return signingKey != null && signingKey.getExpiresAt().isAfter(OffsetDateTime.now());
+    }
+
+    protected static class SigningKey {
+        private final RSAPrivateKey privateKey;
+        private final RSAKeyPair keyPair;
+        private final OffsetDateTime expiresAt;
+
+        public SigningKey(RSAPrivateKey privateKey, RSAKeyPair keyPair, OffsetDateTime expiresAt) {
+            this.privateKey = privateKey;
+            this.keyPair = keyPair;
+            this.expiresAt = expiresAt;
+        }
+
+        public RSAPrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        public RSAKeyPair getKeyPair() {
+            return keyPair;
+        }
+
+        public OffsetDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
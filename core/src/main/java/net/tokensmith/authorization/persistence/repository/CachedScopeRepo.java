@@ -0,0 +1,48 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.repository.entity.Scope;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import net.tokensmith.repository.repo.ScopeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Decorates ScopeRepo so scopes are found by name through the ScopeRegistry.
+ */
+@Primary
+@Component
+public class CachedScopeRepo implements ScopeRepository {
+    private ScopeRepo scopeRepo;
+    private ScopeRegistry scopeRegistry;
+
+    @Autowired
+    public CachedScopeRepo(ScopeRepo scopeRepo, ScopeRegistry scopeRegistry) {
+        this.scopeRepo = scopeRepo;
+        this.scopeRegistry = scopeRegistry;
+    }
+
+    @Override
+    public void insert(Scope scope) {
+        // the registry reads a name it does not have, so it does not need to be told.
+        scopeRepo.insert(scope);
+    }
+
+    @Override
+    public List<Scope> findByNames(List<String> names) {
+        return scopeRegistry.findByNames(names);
+    }
+
+    @Override
+    public Scope findByName(String name) throws RecordNotFoundException {
+        return scopeRepo.findByName(name);
+    }
+
+    @Override
+    public List<Scope> findAll() {
+        return scopeRepo.findAll();
+    }
+}
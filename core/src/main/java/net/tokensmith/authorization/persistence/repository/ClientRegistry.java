@@ -0,0 +1,287 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.authorization.authenticate.ConfidentialClientCache;
+import net.tokensmith.authorization.persistence.repository.ScopeRegistry.ScopeSet;
+import net.tokensmith.repository.entity.Client;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import net.tokensmith.repository.entity.Scope;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps clients and confidential clients by client id so a request does not join client,
+ * client_scopes, client_response_type and scope to resolve its client.
+ *
+ * Entries live for the ttl and the least recently used are dropped once the registry is full.
+ * Inserts through CachedClientRepo and CachedConfidentialClientRepo drop the client right away.
+ * Clients are only inserted, so changes from other nodes are picked up by comparing the
+ * version, the number of client rows, to the last one read, at most once per poll interval.
+ * A changed version drops every client. Dropping a client also drops its verified secrets
+ * from the ConfidentialClientCache, so neither serves a client the other let go of.
+ *
+ * Callers get copies, the cached clients are never handed out. Each kept client also keeps the
+ * ScopeSet of its scopes, it is made once when the client is read and shared since it does not
+ * change.
+ */
+@Component
+public class ClientRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientRegistry.class);
+
+    private ClientRepo clientRepo;
+    private ConfidentialClientCache confidentialClientCache;
+    private ScopeRegistry scopeRegistry;
+    private Long ttlInSeconds;
+    private Long pollInSeconds;
+
+    private final Map<UUID, Entry<Client>> clients;
+    private final Map<UUID, Entry<ConfidentialClient>> confidentialClients;
+    private final Object lock = new Object();
+    private long generation = 0;
+
+    private final Object versionLock = new Object();
+    private Long version;
+    private volatile OffsetDateTime checkAt;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong busts = new AtomicLong();
+
+    @Autowired
+    public ClientRegistry(ClientRepo clientRepo, ConfidentialClientCache confidentialClientCache, ScopeRegistry scopeRegistry, @Qualifier("clientRegistryTtlInSeconds") Long ttlInSeconds, @Qualifier("clientRegistryPollInSeconds") Long pollInSeconds, @Qualifier("clientRegistryMaxSize") Integer maxSize) {
+        this.clientRepo = clientRepo;
+        this.confidentialClientCache = confidentialClientCache;
+        this.scopeRegistry = scopeRegistry;
+        this.ttlInSeconds = ttlInSeconds;
+        this.pollInSeconds = pollInSeconds;
+        this.clients = makeMap(maxSize);
+        this.confidentialClients = makeMap(maxSize);
+    }
+
+    protected <T> Map<UUID, Entry<T>> makeMap(Integer maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param clientId the client id
+     * @param loader reads the client from the db when it is not in the registry
+     * @return a copy of the client
+     * @throws RecordNotFoundException if the loader did not find the client, it is not kept.
+     */
+    public Client getClient(UUID clientId, Loader<Client> loader) throws RecordNotFoundException {
+        return get(clients, clientId, loader, ClientRegistry::copy, ClientRegistry::scopes);
+    }
+
+    /**
+     * @param clientId the client id
+     * @param loader reads the confidential client from the db when it is not in the registry
+     * @return a copy of the confidential client
+     * @throws RecordNotFoundException if the loader did not find the client, it is not kept.
+     */
+    public ConfidentialClient getConfidentialClient(UUID clientId, Loader<ConfidentialClient> loader) throws RecordNotFoundException {
+        return get(confidentialClients, clientId, loader, ClientRegistry::copy, cc -> scopes(cc.getClient()));
+    }
+
+    /**
+     * @param client a client from this registry
+     * @return the kept set of the client's scopes, or a new one if the client is not kept.
+     */
+    public ScopeSet getScopeSet(Client client) {
+        Entry<ConfidentialClient> confidentialClient;
+        Entry<Client> cached;
+        synchronized (lock) {
+            confidentialClient = confidentialClients.get(client.getId());
+            cached = clients.get(client.getId());
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        if (confidentialClient != null && confidentialClient.getExpiresAt().isAfter(now)) {
+            return confidentialClient.getScopes();
+        }
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return cached.getScopes();
+        }
+        return scopeRegistry.toSet(scopes(client));
+    }
+
+    protected <T> T get(Map<UUID, Entry<T>> entries, UUID clientId, Loader<T> loader, UnaryOperator<T> copier, Function<T, List<Scope>> scopesOf) throws RecordNotFoundException {
+        checkVersion();
+
+        Entry<T> cached;
+        long loadedAt;
+        synchronized (lock) {
+            cached = entries.get(clientId);
+            loadedAt = generation;
+        }
+
+        if (cached != null && cached.getExpiresAt().isAfter(OffsetDateTime.now())) {
+            hits.incrementAndGet();
+            return copier.apply(cached.getValue());
+        }
+        misses.incrementAndGet();
+
+        T value = loader.load();
+        ScopeSet scopes = scopeRegistry.toSet(scopesOf.apply(value));
+        cached = new Entry<>(copier.apply(value), scopes, OffsetDateTime.now().plusSeconds(ttlInSeconds));
+        synchronized (lock) {
+            // a client invalidated while it was read may be stale.
+            if (loadedAt == generation) {
+                entries.put(clientId, cached);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads the version once the poll interval passed and drops every client if another
+     * node changed one.
+     */
+    protected void checkVersion() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime current = checkAt;
+        if (current != null && current.isAfter(now)) {
+            return;
+        }
+
+        synchronized (versionLock) {
+            current = checkAt;
+            if (current != null && current.isAfter(now)) {
+                return;
+            }
+
+            Long latest = clientRepo.getVersion();
+            if (version != null && !version.equals(latest)) {
+                busts.incrementAndGet();
+                LOGGER.debug("client version changed from {} to {}, dropping every client", version, latest);
+                invalidateAll();
+            }
+            version = latest;
+            checkAt = now.plusSeconds(pollInSeconds);
+        }
+    }
+
+    /**
+     * Drops the client and its confidential client, call it when either changes.
+     *
+     * @param clientId the client to drop
+     */
+    public void invalidate(UUID clientId) {
+        synchronized (lock) {
+            generation++;
+            clients.remove(clientId);
+            confidentialClients.remove(clientId);
+        }
+        confidentialClientCache.invalidate(clientId);
+        LOGGER.debug("invalidated client: {}", clientId);
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation++;
+            clients.clear();
+            confidentialClients.clear();
+        }
+        confidentialClientCache.invalidateAll();
+    }
+
+    public Integer size() {
+        synchronized (lock) {
+            return clients.size() + confidentialClients.size();
+        }
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return times a change from another node dropped every client
+     */
+    public Long getBusts() {
+        return busts.get();
+    }
+
+    protected static List<Scope> scopes(Client client) {
+        if (client == null || client.getScopes() == null) {
+            return List.of();
+        }
+        return client.getScopes();
+    }
+
+    public static Client copy(Client from) {
+        Client to = new Client();
+        to.setId(from.getId());
+        to.setRedirectURI(from.getRedirectURI());
+        to.setCreatedAt(from.getCreatedAt());
+        if (from.getScopes() != null) {
+            to.setScopes(new ArrayList<>(from.getScopes()));
+        }
+        if (from.getResponseTypes() != null) {
+            to.setResponseTypes(new ArrayList<>(from.getResponseTypes()));
+        }
+        return to;
+    }
+
+    public static ConfidentialClient copy(ConfidentialClient from) {
+        ConfidentialClient to = new ConfidentialClient();
+        to.setId(from.getId());
+        to.setPassword(from.getPassword());
+        to.setCreatedAt(from.getCreatedAt());
+        if (from.getClient() != null) {
+            to.setClient(copy(from.getClient()));
+        }
+        return to;
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws RecordNotFoundException;
+    }
+
+    protected static class Entry<T> {
+        private final T value;
+        private final ScopeSet scopes;
+        private final OffsetDateTime expiresAt;
+
+        public Entry(T value, ScopeSet scopes, OffsetDateTime expiresAt) {
+            this.value = value;
+            this.scopes = scopes;
+            this.expiresAt = expiresAt;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public ScopeSet getScopes() {
+            return scopes;
+        }
+
+        public OffsetDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -38,4 +38,9 @@ public class ClientRepo implements ClientRepository {
     public void insert(Client client) {
         clientMapper.insert(client);
     }
+
+    @Override
+    public Long getVersion() {
+        return clientMapper.getVersion();
+    }
 }
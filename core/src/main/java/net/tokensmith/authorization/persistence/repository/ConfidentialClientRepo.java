@@ -1,5 +1,6 @@
 package net.tokensmith.authorization.persistence.repository;
 
+import net.tokensmith.authorization.authenticate.ConfidentialClientCache;
 import net.tokensmith.authorization.persistence.mapper.ConfidentialClientMapper;
 import net.tokensmith.repository.entity.ConfidentialClient;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
@@ -15,15 +16,19 @@ import java.util.UUID;
 @Component
 public class ConfidentialClientRepo implements ConfidentialClientRepository {
     private ConfidentialClientMapper confidentialClientMapper;
+    private ConfidentialClientCache confidentialClientCache;
 
     @Autowired
-    public ConfidentialClientRepo(ConfidentialClientMapper confidentialClientMapper) {
+    public ConfidentialClientRepo(ConfidentialClientMapper confidentialClientMapper, ConfidentialClientCache confidentialClientCache) {
         this.confidentialClientMapper = confidentialClientMapper;
+        this.confidentialClientCache = confidentialClientCache;
     }
 
     @Override
     public void insert(ConfidentialClient confidentialClient) {
         confidentialClientMapper.insert(confidentialClient);
+        // a new secret for a client must not be shadowed by a verified old one.
+        confidentialClientCache.invalidate(confidentialClient.getClient().getId());
     }
 
     @Override
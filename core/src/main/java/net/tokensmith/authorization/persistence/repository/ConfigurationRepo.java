@@ -25,6 +25,11 @@ public class ConfigurationRepo implements ConfigurationRepository {
         return configurationMapper.get();
     }
 
+    @Override
+    public Integer getVersion() {
+        return configurationMapper.getVersion();
+    }
+
     @Override
     public void updateAccessTokenSize(UUID id, Integer size) {
         configurationMapper.updateAccessTokenSize(id, size);
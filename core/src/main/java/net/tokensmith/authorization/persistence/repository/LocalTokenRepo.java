@@ -1,5 +1,6 @@
 package net.tokensmith.authorization.persistence.repository;
 
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
 import net.tokensmith.authorization.persistence.factory.DuplicateRecordExceptionFactory;
 import net.tokensmith.authorization.persistence.mapper.LocalTokenMapper;
 import net.tokensmith.repository.entity.LocalToken;
@@ -19,11 +20,13 @@ public class LocalTokenRepo implements LocalTokenRepository {
     private static String SCHEMA = "local_token";
     private LocalTokenMapper localTokenMapper;
     private DuplicateRecordExceptionFactory duplicateRecordExceptionFactory;
+    private LocalSessionCache localSessionCache;
 
     @Autowired
-    public LocalTokenRepo(LocalTokenMapper localTokenMapper, DuplicateRecordExceptionFactory duplicateRecordExceptionFactory) {
+    public LocalTokenRepo(LocalTokenMapper localTokenMapper, DuplicateRecordExceptionFactory duplicateRecordExceptionFactory, LocalSessionCache localSessionCache) {
         this.localTokenMapper = localTokenMapper;
         this.duplicateRecordExceptionFactory = duplicateRecordExceptionFactory;
+        this.localSessionCache = localSessionCache;
     }
 
     @Override
@@ -48,5 +51,6 @@ public class LocalTokenRepo implements LocalTokenRepository {
     @Override
     public void revokeActive(UUID resourceOwnerId) {
         localTokenMapper.revokeActive(resourceOwnerId);
+        localSessionCache.invalidate(resourceOwnerId);
     }
 }
@@ -0,0 +1,116 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import net.tokensmith.authorization.persistence.mapper.PartitionMapper;
+import net.tokensmith.repository.repo.PartitionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+
+
+@Component
+public class PartitionRepo implements PartitionRepository {
+    private static Pattern NAME = Pattern.compile("[a-z][a-z0-9_]*");
+    private static DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ssx");
+    private static String TOKEN = "token";
+    private static String REFRESH_TOKEN = "refresh_token";
+    private static String DEFAULT_FORMAT = "%s_default";
+
+    private PartitionMapper partitionMapper;
+
+    @Autowired
+    public PartitionRepo(PartitionMapper partitionMapper) {
+        this.partitionMapper = partitionMapper;
+    }
+
+    @Override
+    public List<String> getPartitions(String table) {
+        return partitionMapper.getPartitions(table);
+    }
+
+    /**
+     * @param partition a partition
+     * @return the upper bound of the partition, null if it is not a partition or has no upper bound
+     */
+    @Override
+    public OffsetDateTime getUpperBound(String partition) {
+        String bound = partitionMapper.getUpperBound(name(partition));
+        if (bound == null) {
+            return null;
+        }
+        return OffsetDateTime.parse(bound, BOUND);
+    }
+
+    /**
+     * Deletes the rows of the tables that are not partitioned which reference a batch of the rows of
+     * a partition of token or refresh_token. The other tables are not referenced.
+     *
+     * @param after the id the previous batch returned, null for the first batch
+     * @param limit the max rows of the partition in a batch
+     * @return the last id of the batch, null once there are no more rows
+     */
+    @Override
+    public UUID deleteReferences(String table, String partition, UUID after, Integer limit) {
+        if (TOKEN.equals(table)) {
+            return partitionMapper.deleteTokenReferences(name(partition), after, limit);
+        }
+        if (REFRESH_TOKEN.equals(table)) {
+            return partitionMapper.deleteRefreshTokenReferences(name(partition), after, limit);
+        }
+        return null;
+    }
+
+    /**
+     * @param table a partitioned table
+     * @return the first of each month that has rows in the default partition of the table, in utc
+     */
+    @Override
+    public List<OffsetDateTime> getDefaultMonths(String table) {
+        return partitionMapper.getDefaultMonths(name(String.format(DEFAULT_FORMAT, table))).stream()
+                .map(month -> OffsetDateTime.parse(month, BOUND))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Makes the partition, moves the rows of its bounds from the default partition into it then
+     * attaches it. The rows are expected to be few, they are there only while a month had no partition.
+     *
+     * @return the number of rows moved from the default partition
+     */
+    @Override
+    @Transactional
+    public Integer createPartition(String table, String partition, OffsetDateTime from, OffsetDateTime to) {
+        partitionMapper.createTable(name(table), name(partition));
+        Integer moved = partitionMapper.moveRows(name(String.format(DEFAULT_FORMAT, table)), name(partition), bound(from), bound(to));
+        partitionMapper.attachPartition(name(table), name(partition), bound(from), bound(to));
+        return moved;
+    }
+
+    /**
+     * Detaches the partition then drops it. They are not in one transaction so the table is
+     * only locked while the partition is detached, not while it is dropped.
+     */
+    @Override
+    public void dropPartition(String table, String partition) {
+        partitionMapper.detachPartition(name(table), name(partition));
+        partitionMapper.dropTable(name(partition));
+    }
+
+    protected String name(String name) {
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("not a table name: " + name);
+        }
+        return name;
+    }
+
+    protected String bound(OffsetDateTime bound) {
+        return bound.withOffsetSameInstant(ZoneOffset.UTC).format(BOUND);
+    }
+}
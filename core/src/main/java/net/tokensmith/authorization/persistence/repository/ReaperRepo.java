@@ -0,0 +1,34 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import net.tokensmith.authorization.persistence.mapper.ReaperMapper;
+import net.tokensmith.repository.repo.ReaperRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+
+@Component
+public class ReaperRepo implements ReaperRepository {
+    private ReaperMapper reaperMapper;
+
+    @Autowired
+    public ReaperRepo(ReaperMapper reaperMapper) {
+        this.reaperMapper = reaperMapper;
+    }
+
+    @Override
+    public Integer deleteAuthCodes(OffsetDateTime before, Integer limit) {
+        return reaperMapper.deleteAuthCodes(before, limit);
+    }
+
+    @Override
+    public Integer deleteLocalTokens(OffsetDateTime before, Integer limit) {
+        return reaperMapper.deleteLocalTokens(before, limit);
+    }
+
+    @Override
+    public Integer deleteNonces(OffsetDateTime before, Integer limit) {
+        return reaperMapper.deleteNonces(before, limit);
+    }
+}
@@ -9,6 +9,8 @@ import net.tokensmith.repository.repo.RefreshTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -27,6 +29,7 @@ public class RefreshTokenRepo implements RefreshTokenRepository {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NESTED, rollbackFor = DuplicateRecordException.class)
     public void insert(RefreshToken refreshToken) throws DuplicateRecordException {
         try {
             refreshTokenMapper.insert(refreshToken);
@@ -58,6 +61,15 @@ public class RefreshTokenRepo implements RefreshTokenRepository {
         refreshTokenMapper.revokeByAuthCodeId(authCodeId);
     }
 
+    /**
+     * @param id the refresh token id
+     * @return true if this call rotated it, false if it was already rotated or revoked.
+     */
+    @Override
+    public Boolean rotate(UUID id) {
+        return refreshTokenMapper.rotate(id) > 0;
+    }
+
     @Override
     public void revokeByTokenId(UUID tokenId) {
         refreshTokenMapper.revokeByTokenId(tokenId);
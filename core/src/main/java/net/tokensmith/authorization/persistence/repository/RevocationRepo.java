@@ -0,0 +1,30 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import net.tokensmith.authorization.persistence.mapper.RevocationMapper;
+import net.tokensmith.repository.entity.Revocation;
+import net.tokensmith.repository.repo.RevocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+
+@Component
+public class RevocationRepo implements RevocationRepository {
+    private RevocationMapper revocationMapper;
+
+    @Autowired
+    public RevocationRepo(RevocationMapper revocationMapper) {
+        this.revocationMapper = revocationMapper;
+    }
+
+    @Override
+    public Revocation revokeByResourceOwnerId(UUID resourceOwnerId) {
+        return revocationMapper.revokeByResourceOwnerId(resourceOwnerId);
+    }
+
+    @Override
+    public Revocation revokeByClientId(UUID clientId) {
+        return revocationMapper.revokeByClientId(clientId);
+    }
+}
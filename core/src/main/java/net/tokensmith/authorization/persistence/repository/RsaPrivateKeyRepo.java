@@ -2,11 +2,13 @@ package net.tokensmith.authorization.persistence.repository;
 
 
 import net.tokensmith.authorization.persistence.mapper.RSAPrivateKeyMapper;
+import net.tokensmith.authorization.persistence.mapper.RSAPublicKeyMapper;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.SymmetricKey;
 import net.tokensmith.jwt.jwe.serialization.JweDeserializer;
 import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.CipherRepository;
 import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
@@ -14,10 +16,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigInteger;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -28,20 +33,56 @@ public class RsaPrivateKeyRepo implements RsaPrivateKeyRepository, CipherReposit
     private static final Logger LOGGER = LoggerFactory.getLogger(RsaPrivateKeyRepo.class);
 
     private RSAPrivateKeyMapper rsaPrivateKeyMapper;
+    private RSAPublicKeyMapper rsaPublicKeyMapper;
     private JwtAppFactory jwtAppFactory;
     private SymmetricKey dbKey;
 
     @Autowired
-    public RsaPrivateKeyRepo(RSAPrivateKeyMapper rsaPrivateKeyMapper, JwtAppFactory jwtAppFactory, SymmetricKey dbKey) {
+    public RsaPrivateKeyRepo(RSAPrivateKeyMapper rsaPrivateKeyMapper, RSAPublicKeyMapper rsaPublicKeyMapper, JwtAppFactory jwtAppFactory, SymmetricKey dbKey) {
         this.rsaPrivateKeyMapper = rsaPrivateKeyMapper;
+        this.rsaPublicKeyMapper = rsaPublicKeyMapper;
         this.jwtAppFactory = jwtAppFactory;
         this.dbKey = dbKey;
     }
 
+    /**
+     * Inserts the encrypted private key and its public part, which is not encrypted.
+     *
+     * @param rsaPrivateKey the key to insert
+     */
     @Override
+    @Transactional
     public void insert(RSAPrivateKey rsaPrivateKey) {
+        RSAPublicKeyBytes publicKey = toPublicKey(rsaPrivateKey);
         RSAPrivateKeyBytes encryptedKey = encrypt(rsaPrivateKey);
         rsaPrivateKeyMapper.insert(encryptedKey);
+        rsaPublicKeyMapper.insert(publicKey);
+    }
+
+    /**
+     * Inserts the key from next when no signing key, signing or not yet, was made after createdAfter.
+     * The check and the insert hold a transaction level advisory lock so nodes rotating at the same
+     * time add one key, a node that does not get the lock does not wait for it.
+     *
+     * @param createdAfter a key made after this is fresh and next is not inserted
+     * @param next the key to insert, it is only called when the key is inserted
+     * @return true if the key was inserted, false if another node holds the lock or there is a fresh key
+     */
+    @Override
+    @Transactional
+    public Boolean insertWhenNoneCreatedAfter(OffsetDateTime createdAfter, Supplier<RSAPrivateKey> next) {
+        if (!rsaPrivateKeyMapper.tryLockForRotation()) {
+            LOGGER.debug("another node is rotating the signing key");
+            return false;
+        }
+
+        RSAPrivateKeyBytes mostRecent = rsaPrivateKeyMapper.getMostRecentAndActive();
+        if (mostRecent != null && mostRecent.getCreatedAt().isAfter(createdAfter)) {
+            return false;
+        }
+
+        insert(next.get());
+        return true;
     }
 
     @Override
@@ -72,6 +113,44 @@ public class RsaPrivateKeyRepo implements RsaPrivateKeyRepository, CipherReposit
         return key;
     }
 
+    /**
+     * Reads the public keys without decrypting the private keys.
+     *
+     * @param limit max number of keys
+     * @param offset keys to skip
+     * @return the public part of the active signing keys, the most recent first
+     */
+    @Override
+    public List<RSAPublicKeyBytes> getPublicKeysWhereActiveAndUseIsSign(Integer limit, Integer offset) {
+        List<RSAPublicKeyBytes> publicKeys = rsaPublicKeyMapper.getWhereActiveAndUseIsSign(limit, offset);
+        for (RSAPublicKeyBytes publicKey : publicKeys) {
+            backfill(publicKey);
+        }
+        return publicKeys;
+    }
+
+    @Override
+    public RSAPublicKeyBytes getPublicKeyByIdActiveSign(UUID id) throws RecordNotFoundException {
+        RSAPublicKeyBytes publicKey = rsaPublicKeyMapper.getByIdActiveSign(id);
+        if (publicKey == null) {
+            throw new RecordNotFoundException("RSAPublicKey was not found");
+        }
+        backfill(publicKey);
+        return publicKey;
+    }
+
+    /**
+     * Deactivates the signing keys that a newer key replaced before signedBefore, the most recent
+     * key is never retired. They are removed from the public keys.
+     *
+     * @param signedBefore keys replaced by a key that signs after this are kept
+     * @return the number of keys retired
+     */
+    @Override
+    public Integer retireWhereSupersededBefore(OffsetDateTime signedBefore) {
+        return rsaPrivateKeyMapper.retireWhereSupersededBefore(signedBefore);
+    }
+
     @Override
     public Logger getLogger() {
         return LOGGER;
@@ -172,6 +251,7 @@ public class RsaPrivateKeyRepo implements RsaPrivateKeyRepository, CipherReposit
         to.setCrtCoefficient(toBigInteger);
 
         to.setActive(from.isActive());
+        to.setSignAfter(from.getSignAfter());
         to.setCreatedAt(from.getCreatedAt());
         to.setUpdatedAt(from.getUpdatedAt());
         return to;
@@ -216,6 +296,46 @@ public class RsaPrivateKeyRepo implements RsaPrivateKeyRepository, CipherReposit
         toBytes = toBytes(from.getCrtCoefficient());
         to.setCrtCoefficient(toBytes);
 
+        to.setActive(from.isActive());
+        to.setSignAfter(from.getSignAfter());
+        to.setCreatedAt(from.getCreatedAt());
+        to.setUpdatedAt(from.getUpdatedAt());
+
+        return to;
+    }
+
+    /**
+     * Keys made before rsa_public_key do not have a public part. It is decrypted
+     * from the private key, only the modulus and public exponent, and inserted
+     * so the next read does not decrypt it again.
+     *
+     * @param publicKey a public key from rsaPublicKeyMapper, it is updated if it has no public part.
+     */
+    protected void backfill(RSAPublicKeyBytes publicKey) {
+        if (publicKey.getModulus() != null && publicKey.getPublicExponent() != null) {
+            return;
+        }
+
+        RSAPrivateKeyBytes encryptedKey = rsaPrivateKeyMapper.getById(publicKey.getId());
+        publicKey.setModulus(decrypt(encryptedKey.getModulus()));
+        publicKey.setPublicExponent(decrypt(encryptedKey.getPublicExponent()));
+        rsaPublicKeyMapper.insert(publicKey);
+        LOGGER.debug("added public key: {}", publicKey.getId());
+    }
+
+    /**
+     * Translates an instance of RSAPrivateKey to the RSAPublicKeyBytes of its public part.
+     *
+     * @param from an instance of RSAPrivateKey
+     * @return an instance of RSAPublicKeyBytes
+     */
+    protected RSAPublicKeyBytes toPublicKey(RSAPrivateKey from) {
+        RSAPublicKeyBytes to = new RSAPublicKeyBytes();
+
+        to.setId(from.getId());
+        to.setUse(from.getUse());
+        to.setModulus(toBytes(from.getModulus()));
+        to.setPublicExponent(toBytes(from.getPublicExponent()));
         to.setActive(from.isActive());
         to.setCreatedAt(from.getCreatedAt());
         to.setUpdatedAt(from.getUpdatedAt());
@@ -0,0 +1,250 @@
+package net.tokensmith.authorization.persistence.repository;
+
+
+import net.tokensmith.repository.entity.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interns the scopes by name. The scope table is small and rows are only inserted, so every
+ * scope is read once, on first use, and kept. A name that is not kept yet is read from the db
+ * and kept once it is found. Names that are not found are not kept.
+ *
+ * Each name gets an index and a set of scopes is a bit set of those indexes, so matching
+ * scopes compares a few longs instead of comparing names. ClientRegistry keeps the set of
+ * each client it keeps, so a request only looks up the index of each name it asks for.
+ *
+ * Scope is mutable so the kept scopes are never handed out, findByNames returns copies.
+ */
+@Component
+public class ScopeRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScopeRegistry.class);
+    public static final Integer UNKNOWN = -1;
+
+    private ScopeRepo scopeRepo;
+
+    // both are replaced, never changed, so readers do not lock.
+    private volatile Map<String, Integer> indexes = Collections.emptyMap();
+    private volatile Map<String, Scope> scopes = Collections.emptyMap();
+    private volatile Boolean loaded = false;
+    private final Object lock = new Object();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public ScopeRegistry(ScopeRepo scopeRepo) {
+        this.scopeRepo = scopeRepo;
+    }
+
+    /**
+     * @param names the scope names
+     * @return copies of the scopes that were found, each once.
+     */
+    public List<Scope> findByNames(List<String> names) {
+        List<Scope> found = new ArrayList<>();
+        if (names == null || names.size() == 0) {
+            return found;
+        }
+        load();
+
+        // scopes before indexes, every kept scope is indexed before it is kept.
+        Map<String, Scope> current = scopes;
+        Map<String, Integer> currentIndexes = indexes;
+        List<String> unknown = null;
+        ScopeSet added = new ScopeSet(currentIndexes.size());
+        for (String name: names) {
+            Scope scope = current.get(name);
+            if (scope == null) {
+                if (unknown == null) {
+                    unknown = new ArrayList<>();
+                }
+                unknown.add(name);
+            } else if (added.add(currentIndexes.get(name))) {
+                found.add(copy(scope));
+            }
+        }
+
+        if (unknown == null) {
+            hits.incrementAndGet();
+            return found;
+        }
+        misses.incrementAndGet();
+
+        for (Scope scope: intern(scopeRepo.findByNames(unknown))) {
+            if (!contains(found, scope.getName())) {
+                found.add(copy(scope));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param name a scope name
+     * @return the index of the name or UNKNOWN if the name was never seen.
+     */
+    public Integer indexOf(String name) {
+        Integer index = indexes.get(name);
+        return (index == null) ? UNKNOWN : index;
+    }
+
+    /**
+     * The index is only copied, under the lock, the first time one of the scopes is seen.
+     *
+     * @param from scopes that were read from the db, for example the scopes of a client.
+     * @return a set of the scopes.
+     */
+    public ScopeSet toSet(List<Scope> from) {
+        Map<String, Integer> current = indexes;
+        for (Scope scope: from) {
+            if (!current.containsKey(scope.getName())) {
+                current = index(from);
+                break;
+            }
+        }
+
+        ScopeSet set = new ScopeSet(current.size());
+        for (Scope scope: from) {
+            set.add(current.get(scope.getName()));
+        }
+        return set;
+    }
+
+    protected void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (lock) {
+            if (loaded) {
+                return;
+            }
+            List<Scope> all = scopeRepo.findAll();
+            intern(all);
+            loaded = true;
+            LOGGER.debug("loaded {} scopes", all.size());
+        }
+    }
+
+    protected List<Scope> intern(List<Scope> found) {
+        synchronized (lock) {
+            index(found);
+            Map<String, Scope> next = new HashMap<>(scopes);
+            for (Scope scope: found) {
+                next.putIfAbsent(scope.getName(), copy(scope));
+            }
+            scopes = Collections.unmodifiableMap(next);
+
+            List<Scope> interned = new ArrayList<>(found.size());
+            for (Scope scope: found) {
+                interned.add(next.get(scope.getName()));
+            }
+            return interned;
+        }
+    }
+
+    protected Map<String, Integer> index(List<Scope> from) {
+        synchronized (lock) {
+            Map<String, Integer> next = new HashMap<>(indexes);
+            for (Scope scope: from) {
+                next.putIfAbsent(scope.getName(), next.size());
+            }
+            indexes = Collections.unmodifiableMap(next);
+            return next;
+        }
+    }
+
+    protected Boolean contains(List<Scope> scopes, String name) {
+        for (Scope scope: scopes) {
+            if (scope.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Scope copy(Scope from) {
+        Scope to = new Scope(from.getId(), from.getName());
+        to.setCreatedAt(from.getCreatedAt());
+        return to;
+    }
+
+    public Integer size() {
+        return scopes.size();
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * A set of scopes as bits of their index in the ScopeRegistry. Only the registry adds to a
+     * set, so a set it handed out does not change and may be shared.
+     */
+    public static class ScopeSet {
+        private final long[] words;
+
+        public ScopeSet(Integer capacity) {
+            this.words = new long[(Math.max(capacity, 1) + 63) >>> 6];
+        }
+
+        /**
+         * @param index the index of the scope
+         * @return true if the scope was not in the set.
+         */
+        protected Boolean add(Integer index) {
+            int word = index >>> 6;
+            long bit = 1L << index;
+            if ((words[word] & bit) != 0) {
+                return false;
+            }
+            words[word] |= bit;
+            return true;
+        }
+
+        /**
+         * @param index the index of the scope, a scope indexed after the set was made is not in it.
+         * @return true if the scope is in the set.
+         */
+        public Boolean contains(Integer index) {
+            if (index < 0 || (index >>> 6) >= words.length) {
+                return false;
+            }
+            return (words[index >>> 6] & (1L << index)) != 0;
+        }
+
+        /**
+         * @param other another set
+         * @return true if every scope in other is in this set.
+         */
+        public Boolean containsAll(ScopeSet other) {
+            for (int i = 0; i < other.words.length; i++) {
+                long mine = (i < words.length) ? words[i] : 0L;
+                if ((other.words[i] & ~mine) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Integer size() {
+            int size = 0;
+            for (long word: words) {
+                size += Long.bitCount(word);
+            }
+            return size;
+        }
+    }
+}
@@ -50,5 +50,9 @@ public class ScopeRepo implements ScopeRepository {
         return scope;
     }
 
+    @Override
+    public List<Scope> findAll() {
+        return scopeMapper.findAll();
+    }
 
 }
@@ -7,6 +7,7 @@ import net.tokensmith.repository.repo.TokenAudienceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -26,6 +27,19 @@ public class TokenAudienceRepo implements TokenAudienceRepository {
         clientTokenMapper.insert(clientToken);
     }
 
+    /**
+     * Inserts all the token audiences with one statement.
+     *
+     * @param clientTokens the token audiences to insert, nothing is done when its empty.
+     */
+    @Override
+    public void insertAll(List<TokenAudience> clientTokens) {
+        if (clientTokens.isEmpty()) {
+            return;
+        }
+        clientTokenMapper.insertAll(clientTokens);
+    }
+
     @Override
     public TokenAudience getByTokenId(UUID tokenId) throws RecordNotFoundException {
         TokenAudience clientToken = clientTokenMapper.getByTokenId(tokenId);
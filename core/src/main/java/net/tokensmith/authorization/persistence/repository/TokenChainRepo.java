@@ -7,6 +7,8 @@ import net.tokensmith.repository.repo.TokenChainRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Created by tommackenzie on 10/8/16.
@@ -23,6 +25,7 @@ public class TokenChainRepo implements TokenChainRepository {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NESTED, rollbackFor = DuplicateRecordException.class)
     public void insert(TokenChain tokenChain) throws DuplicateRecordException {
         try {
             tokenChainMapper.insert(tokenChain);
@@ -10,8 +10,11 @@ import net.tokensmith.repository.repo.TokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -30,6 +33,7 @@ public class TokenRepo implements TokenRepository {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NESTED, rollbackFor = DuplicateRecordException.class)
     public void insert(Token token) throws DuplicateRecordException {
         try {
             tokenMapper.insert(token);
@@ -68,4 +72,9 @@ public class TokenRepo implements TokenRepository {
     public void revokeActive(UUID resourceOwnerId) {
         tokenMapper.revokeActive(resourceOwnerId);
     }
+
+    @Override
+    public List<Token> getDenied() {
+        return tokenMapper.getDenied();
+    }
 }
@@ -6,6 +6,8 @@ import net.tokensmith.repository.repo.TokenScopeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Created by tommackenzie on 4/18/16.
  */
@@ -22,4 +24,17 @@ public class TokenScopeRepo implements TokenScopeRepository {
     public void insert(TokenScope tokenScope) {
         tokenScopeMapper.insert(tokenScope);
     }
+
+    /**
+     * Inserts all the token scopes with one statement.
+     *
+     * @param tokenScopes the token scopes to insert, nothing is done when its empty.
+     */
+    @Override
+    public void insertAll(List<TokenScope> tokenScopes) {
+        if (tokenScopes.isEmpty()) {
+            return;
+        }
+        tokenScopeMapper.insertAll(tokenScopes);
+    }
 }
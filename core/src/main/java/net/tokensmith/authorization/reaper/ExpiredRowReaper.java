@@ -0,0 +1,161 @@
+package net.tokensmith.authorization.reaper;
+
+import net.tokensmith.repository.repo.ReaperRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deletes the auth codes, local tokens and nonces that expired, or were revoked, more than
+ * reaper.retention seconds ago. It runs every reaper.interval seconds, 0 turns it off. Tokens and
+ * refresh tokens are partitioned by month and are deleted when PartitionMaintenance drops a month.
+ *
+ * Rows are deleted in batches of reaper.batch.size with a pause between them so a run does not hold
+ * locks for long or crowd out requests. A run stops after reaper.batch.max batches of a table and leaves
+ * the rest for the next run. Every node runs it, a batch skips rows that another node is deleting.
+ * It runs on the maintenance scheduler, which stops it with the application context.
+ */
+@Component
+public class ExpiredRowReaper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiredRowReaper.class);
+
+    private ReaperRepository reaperRepository;
+    private TaskScheduler taskScheduler;
+    private Long intervalInSeconds;
+    private Long retentionInSeconds;
+    private Integer batchSize;
+    private Integer maxBatches;
+    private Long batchPauseInMillis;
+
+    private final AtomicLong authCodes = new AtomicLong();
+    private final AtomicLong localTokens = new AtomicLong();
+    private final AtomicLong nonces = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @Autowired
+    public ExpiredRowReaper(ReaperRepository reaperRepository, @Qualifier("maintenanceScheduler") TaskScheduler taskScheduler, @Qualifier("reaperIntervalInSeconds") Long intervalInSeconds, @Qualifier("reaperRetentionInSeconds") Long retentionInSeconds, @Qualifier("reaperBatchSize") Integer batchSize, @Qualifier("reaperMaxBatches") Integer maxBatches, @Qualifier("reaperBatchPauseInMillis") Long batchPauseInMillis) {
+        this.reaperRepository = reaperRepository;
+        this.taskScheduler = taskScheduler;
+        this.intervalInSeconds = intervalInSeconds;
+        this.retentionInSeconds = retentionInSeconds;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPauseInMillis = batchPauseInMillis;
+
+        if (intervalInSeconds > 0) {
+            schedule();
+        }
+    }
+
+    protected void schedule() {
+        Duration interval = Duration.ofSeconds(intervalInSeconds);
+        taskScheduler.scheduleWithFixedDelay(this::run, Instant.now().plus(interval), interval);
+        LOGGER.info("reaping rows expired for {} seconds every {} seconds", retentionInSeconds, intervalInSeconds);
+    }
+
+    /**
+     * One scheduled reap. A failure is counted and the rows it did not get to are left for the next run.
+     */
+    protected void run() {
+        try {
+            reap(OffsetDateTime.now());
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOGGER.error("could not reap expired rows", e);
+        }
+    }
+
+    /**
+     * @param now the time of the run
+     * @return the number of rows deleted, not counting the rows that referenced them
+     */
+    public Long reap(OffsetDateTime now) {
+        OffsetDateTime before = now.minusSeconds(retentionInSeconds);
+        long started = System.currentTimeMillis();
+
+        Long deletedAuthCodes = reapTable(() -> reaperRepository.deleteAuthCodes(before, batchSize));
+        authCodes.addAndGet(deletedAuthCodes);
+        Long deletedLocalTokens = reapTable(() -> reaperRepository.deleteLocalTokens(before, batchSize));
+        localTokens.addAndGet(deletedLocalTokens);
+        Long deletedNonces = reapTable(() -> reaperRepository.deleteNonces(before, batchSize));
+        nonces.addAndGet(deletedNonces);
+
+        runs.incrementAndGet();
+        Long deleted = deletedAuthCodes + deletedLocalTokens + deletedNonces;
+        LOGGER.info(
+            "reaped {} auth codes, {} local tokens, {} nonces in {} ms",
+            deletedAuthCodes, deletedLocalTokens, deletedNonces, System.currentTimeMillis() - started
+        );
+        return deleted;
+    }
+
+    /**
+     * Deletes batches until a batch is not full or there were max batches.
+     *
+     * @param batch deletes one batch and returns how many rows it deleted
+     * @return the number of rows deleted
+     */
+    protected Long reapTable(Supplier<Integer> batch) {
+        long deleted = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            Integer count = batch.get();
+            batches.incrementAndGet();
+            deleted += count;
+            if (count < batchSize || !pause()) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return false if the thread was interrupted and the run should stop
+     */
+    protected Boolean pause() {
+        if (batchPauseInMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseInMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    public Long getAuthCodes() {
+        return authCodes.get();
+    }
+
+    public Long getLocalTokens() {
+        return localTokens.get();
+    }
+
+    public Long getNonces() {
+        return nonces.get();
+    }
+
+    public Long getBatches() {
+        return batches.get();
+    }
+
+    public Long getRuns() {
+        return runs.get();
+    }
+
+    public Long getFailures() {
+        return failures.get();
+    }
+}
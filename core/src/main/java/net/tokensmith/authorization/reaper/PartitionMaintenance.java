@@ -0,0 +1,199 @@
+package net.tokensmith.authorization.reaper;
+
+import net.tokensmith.repository.repo.PartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the monthly partitions of token, token_scope, token_audience and refresh_token. It runs
+ * every partition.interval seconds, 0 turns it off.
+ *
+ * It makes the partitions of the next partition.ahead months and drops the partitions whose month
+ * ended more than partition.retention seconds ago, this is how tokens are deleted. The legacy
+ * partition is dropped once its upper bound is that old.
+ *
+ * A row of a month that has no partition goes to the default partition, that happens when the runs
+ * fell more than partition.ahead months behind or were turned off. A run makes the partition of each
+ * month in the default partition and moves its rows into it, so they are dropped with their month.
+ * The rows of the tables that are not partitioned which reference a partition are deleted before it
+ * is dropped, there are no foreign keys to do it. They are deleted for partition.batch.size rows of the
+ * partition at a time, each batch in its own transaction.
+ *
+ * Every node runs it. When two nodes make the same partition one of them fails and the next run
+ * finds it made, a partition that another node dropped is not listed.
+ */
+@Component
+public class PartitionMaintenance {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionMaintenance.class);
+    public static final String[] TABLES = {"token", "token_scope", "token_audience", "refresh_token"};
+    private static String PARTITION_FORMAT = "%s_p%s";
+    private static String LEGACY_FORMAT = "%s_legacy";
+    private static DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private PartitionRepository partitionRepository;
+    private TaskScheduler taskScheduler;
+    private Long intervalInSeconds;
+    private Integer monthsAhead;
+    private Long retentionInSeconds;
+    private Integer batchSize;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @Autowired
+    public PartitionMaintenance(PartitionRepository partitionRepository, @Qualifier("maintenanceScheduler") TaskScheduler taskScheduler, @Qualifier("partitionIntervalInSeconds") Long intervalInSeconds, @Qualifier("partitionMonthsAhead") Integer monthsAhead, @Qualifier("partitionRetentionInSeconds") Long retentionInSeconds, @Qualifier("partitionBatchSize") Integer batchSize) {
+        this.partitionRepository = partitionRepository;
+        this.taskScheduler = taskScheduler;
+        this.intervalInSeconds = intervalInSeconds;
+        this.monthsAhead = monthsAhead;
+        this.retentionInSeconds = retentionInSeconds;
+        this.batchSize = batchSize;
+
+        if (intervalInSeconds > 0) {
+            schedule();
+        }
+    }
+
+    protected void schedule() {
+        // the first run is right away so the months ahead are there when a node starts.
+        taskScheduler.scheduleWithFixedDelay(this::run, Duration.ofSeconds(intervalInSeconds));
+        LOGGER.info("maintaining partitions every {} seconds", intervalInSeconds);
+    }
+
+    /**
+     * One scheduled maintenance. A failure is counted, a partition that was not made or dropped is
+     * tried again at the next run.
+     */
+    protected void run() {
+        try {
+            maintain(OffsetDateTime.now());
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOGGER.error("could not maintain partitions", e);
+        }
+    }
+
+    /**
+     * @param now the time of the run
+     */
+    public void maintain(OffsetDateTime now) {
+        YearMonth month = YearMonth.from(now.withOffsetSameInstant(ZoneOffset.UTC));
+        OffsetDateTime dropBefore = now.minusSeconds(retentionInSeconds);
+
+        for (String table: TABLES) {
+            List<String> partitions = partitionRepository.getPartitions(table);
+
+            // the current month is made by the run before it, or it is in the legacy partition.
+            Set<YearMonth> months = new TreeSet<>();
+            for (int i = 1; i <= monthsAhead; i++) {
+                months.add(month.plusMonths(i));
+            }
+            for (OffsetDateTime start: partitionRepository.getDefaultMonths(table)) {
+                months.add(YearMonth.from(start.withOffsetSameInstant(ZoneOffset.UTC)));
+            }
+
+            for (YearMonth partitionMonth: months) {
+                String partition = partitionName(table, partitionMonth);
+                if (!partitions.contains(partition)) {
+                    Integer moved = partitionRepository.createPartition(table, partition, start(partitionMonth), start(partitionMonth.plusMonths(1)));
+                    created.incrementAndGet();
+                    LOGGER.info("created partition: {} with {} rows from the default partition", partition, moved);
+                }
+            }
+
+            for (String partition: partitions) {
+                OffsetDateTime end = endOf(table, partition);
+                // a failure or a stop leaves the partition attached, the next run tries it again.
+                if (end != null && end.isBefore(dropBefore) && deleteReferences(table, partition)) {
+                    partitionRepository.dropPartition(table, partition);
+                    dropped.incrementAndGet();
+                    LOGGER.info("dropped partition: {}", partition);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if every batch was deleted, false if the thread was interrupted first
+     */
+    protected Boolean deleteReferences(String table, String partition) {
+        long batches = 0;
+        UUID after = null;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            after = partitionRepository.deleteReferences(table, partition, after, batchSize);
+            batches++;
+        } while (after != null);
+
+        LOGGER.info("deleted the references to partition: {} in {} batches", partition, batches);
+        return true;
+    }
+
+    /**
+     * @return when the rows of a partition end, or null if it is never dropped
+     */
+    protected OffsetDateTime endOf(String table, String partition) {
+        YearMonth month = monthOf(table, partition);
+        if (month != null) {
+            return start(month.plusMonths(1));
+        }
+        if (String.format(LEGACY_FORMAT, table).equals(partition)) {
+            return partitionRepository.getUpperBound(partition);
+        }
+        return null;
+    }
+
+    protected String partitionName(String table, YearMonth month) {
+        return String.format(PARTITION_FORMAT, table, month.format(MONTH));
+    }
+
+    /**
+     * @return the month of a partition named table_pYYYYMM, or null if it is not named like that
+     */
+    protected YearMonth monthOf(String table, String partition) {
+        String prefix = String.format(PARTITION_FORMAT, table, "");
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), MONTH);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    protected OffsetDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    public Long getCreated() {
+        return created.get();
+    }
+
+    public Long getDropped() {
+        return dropped.get();
+    }
+
+    public Long getFailures() {
+        return failures.get();
+    }
+}
@@ -0,0 +1,138 @@
+package net.tokensmith.authorization.revocation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the revocation events that RevokeCredentials publishes and drops the revoked credentials
+ * from this node's caches, the node that revoked them dropped them already. The consumer is in a
+ * group of its own so every node reads every event. It starts at the latest event, one published
+ * before the node started can not be in its caches. revocation.subscribe false turns it off, then
+ * a cached session or client is kept until its ttl.
+ *
+ * The consumer is read by one thread and is closed with the application context.
+ */
+@Component
+public class RevocationSubscriber implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevocationSubscriber.class);
+    private static Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static TypeReference<Map<String, String>> MESSAGE = new TypeReference<>() {};
+
+    private Consumer<String, String> consumer;
+    private LocalSessionCache localSessionCache;
+    private ClientRegistry clientRegistry;
+    private ObjectMapper objectMapper;
+    private Thread thread;
+    private volatile Boolean running = false;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public RevocationSubscriber(@Qualifier("revocationConsumer") Consumer<String, String> consumer, LocalSessionCache localSessionCache, ClientRegistry clientRegistry, ObjectMapper objectMapper, @Qualifier("revocationSubscribe") Boolean subscribe) {
+        this.consumer = consumer;
+        this.localSessionCache = localSessionCache;
+        this.clientRegistry = clientRegistry;
+        this.objectMapper = objectMapper;
+
+        if (subscribe) {
+            subscribe();
+        }
+    }
+
+    protected void subscribe() {
+        running = true;
+        thread = new Thread(this::poll, "revocation-subscriber");
+        thread.setDaemon(true);
+        thread.start();
+        LOGGER.info("subscribed to topic: {}", RevokeCredentials.TOPIC);
+    }
+
+    protected void poll() {
+        try {
+            consumer.subscribe(List.of(RevokeCredentials.TOPIC));
+            while (running) {
+                for (ConsumerRecord<String, String> record: consumer.poll(POLL_TIMEOUT)) {
+                    handle(record.value());
+                }
+            }
+        } catch (WakeupException e) {
+            // destroy woke it up to stop.
+        } catch (RuntimeException e) {
+            LOGGER.error("stopped reading topic: " + RevokeCredentials.TOPIC, e);
+        } finally {
+            consumer.close();
+        }
+    }
+
+    /**
+     * @param value a revocation event, the message of RevokeCredentials as json
+     */
+    public void handle(String value) {
+        Map<String, String> msg;
+        UUID id;
+        try {
+            msg = objectMapper.readValue(value, MESSAGE);
+            id = UUID.fromString(msg.get("id"));
+        } catch (IOException | RuntimeException e) {
+            rejected.incrementAndGet();
+            LOGGER.warn("could not read revocation event: {}", value, e);
+            return;
+        }
+
+        received.incrementAndGet();
+        if (RevokeCredentials.RESOURCE_OWNER.equals(msg.get("type"))) {
+            localSessionCache.invalidate(id);
+        } else if (RevokeCredentials.CLIENT.equals(msg.get("type"))) {
+            // it drops the client's verified secrets from the ConfidentialClientCache too.
+            clientRegistry.invalidate(id);
+        } else {
+            rejected.incrementAndGet();
+            LOGGER.warn("unknown revocation event type: {}", msg.get("type"));
+        }
+    }
+
+    /**
+     * Wakes the consumer and waits for the thread to close it.
+     */
+    @Override
+    public void destroy() {
+        if (thread == null) {
+            consumer.close();
+            return;
+        }
+        running = false;
+        consumer.wakeup();
+        try {
+            thread.join(POLL_TIMEOUT.toMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Long getReceived() {
+        return received.get();
+    }
+
+    public Long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,86 @@
+package net.tokensmith.authorization.revocation;
+
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import net.tokensmith.pelican.Publish;
+import net.tokensmith.repository.entity.Revocation;
+import net.tokensmith.repository.repo.RevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Revokes every credential of a resource owner or of a client in one statement, then drops
+ * them from this node's caches and publishes one revocation event so the other nodes can
+ * drop them from theirs, see RevocationSubscriber.
+ */
+@Component
+public class RevokeCredentials {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevokeCredentials.class);
+    public static final String TOPIC = "revocation";
+    public static final String RESOURCE_OWNER = "resource_owner";
+    public static final String CLIENT = "client";
+
+    private RevocationRepository revocationRepository;
+    private LocalSessionCache localSessionCache;
+    private ClientRegistry clientRegistry;
+    private Publish publish;
+
+    @Autowired
+    public RevokeCredentials(RevocationRepository revocationRepository, LocalSessionCache localSessionCache, ClientRegistry clientRegistry, Publish publish) {
+        this.revocationRepository = revocationRepository;
+        this.localSessionCache = localSessionCache;
+        this.clientRegistry = clientRegistry;
+        this.publish = publish;
+    }
+
+    /**
+     * Revokes the access tokens, refresh tokens, auth codes, local tokens and unspent nonces
+     * of a resource owner. Used when a password is reset.
+     *
+     * @param resourceOwnerId the resource owner
+     * @return the number of credentials revoked
+     */
+    public Revocation forResourceOwner(UUID resourceOwnerId) {
+        Revocation revocation = revocationRepository.revokeByResourceOwnerId(resourceOwnerId);
+        localSessionCache.invalidate(resourceOwnerId);
+
+        LOGGER.info("revoked {} credentials of resource owner: {}", revocation.getTotal(), resourceOwnerId);
+        publish.send(TOPIC, makeMessage(RESOURCE_OWNER, resourceOwnerId, revocation));
+        return revocation;
+    }
+
+    /**
+     * Revokes the access tokens, refresh tokens and auth codes issued to a client. Used to
+     * respond to an incident, such as a leaked client secret.
+     *
+     * @param clientId the client
+     * @return the number of credentials revoked
+     */
+    public Revocation forClient(UUID clientId) {
+        Revocation revocation = revocationRepository.revokeByClientId(clientId);
+        // drops the client and its verified secrets, a leaked secret is not served from a cache.
+        clientRegistry.invalidate(clientId);
+
+        LOGGER.info("revoked {} credentials of client: {}", revocation.getTotal(), clientId);
+        publish.send(TOPIC, makeMessage(CLIENT, clientId, revocation));
+        return revocation;
+    }
+
+    protected Map<String, String> makeMessage(String type, UUID id, Revocation revocation) {
+        Map<String, String> msg = new HashMap<>();
+        msg.put("type", type);
+        msg.put("id", id.toString());
+        msg.put("tokens", revocation.getTokens().toString());
+        msg.put("refresh_tokens", revocation.getRefreshTokens().toString());
+        msg.put("auth_codes", revocation.getAuthCodes().toString());
+        msg.put("local_tokens", revocation.getLocalTokens().toString());
+        msg.put("nonces", revocation.getNonces().toString());
+        return msg;
+    }
+}
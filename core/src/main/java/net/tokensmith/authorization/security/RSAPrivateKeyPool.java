@@ -0,0 +1,114 @@
+package net.tokensmith.authorization.security;
+
+import net.tokensmith.repository.entity.RSAPrivateKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a few rsa keys that are already generated.
+ *
+ * Generating a key takes hundreds of milliseconds. The keys are generated on one
+ * background thread so the thread that needs a key, for example a rotation, does
+ * not wait on it. Nothing is generated until refill() or take() is called. The thread
+ * is stopped with the application context, a key it was generating is not kept.
+ */
+@Component
+public class RSAPrivateKeyPool implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RSAPrivateKeyPool.class);
+
+    private GenerateRSAPrivateKey generateRSAPrivateKey;
+    private Integer keySize;
+    private Integer poolSize;
+
+    private final BlockingQueue<RSAPrivateKey> keys = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final ExecutorService executor;
+
+    @Autowired
+    public RSAPrivateKeyPool(GenerateRSAPrivateKey generateRSAPrivateKey, @Qualifier("signingKeySize") Integer keySize, @Qualifier("signingKeyPoolSize") Integer poolSize) {
+        this.generateRSAPrivateKey = generateRSAPrivateKey;
+        this.keySize = keySize;
+        this.poolSize = poolSize;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "rsa-key-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a generated key and starts generating its replacement. If the pool is empty
+     * the key is generated on the calling thread.
+     *
+     * @return a new key, it is not active.
+     */
+    public RSAPrivateKey take() {
+        RSAPrivateKey key = keys.poll();
+        if (key == null) {
+            misses.incrementAndGet();
+            LOGGER.warn("rsa key pool is empty, generating a key on the calling thread");
+            key = generateRSAPrivateKey.generate(keySize);
+            generated.incrementAndGet();
+        }
+        refill();
+        return key;
+    }
+
+    /**
+     * Starts generating keys until there are pool size keys.
+     */
+    public synchronized void refill() {
+        while (keys.size() + pending.get() < poolSize) {
+            pending.incrementAndGet();
+            executor.execute(this::generate);
+        }
+    }
+
+    protected void generate() {
+        try {
+            keys.add(generateRSAPrivateKey.generate(keySize));
+            generated.incrementAndGet();
+        } catch (RuntimeException e) {
+            LOGGER.error("could not generate a rsa key for the pool", e);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public Boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    public Integer getSize() {
+        return keys.size();
+    }
+
+    public Long getGenerated() {
+        return generated.get();
+    }
+
+    /**
+     * @return times take() found the pool empty and generated a key on the calling thread
+     */
+    public Long getMisses() {
+        return misses.get();
+    }
+}
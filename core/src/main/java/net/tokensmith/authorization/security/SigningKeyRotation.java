@@ -0,0 +1,124 @@
+package net.tokensmith.authorization.security;
+
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
+import net.tokensmith.repository.entity.RSAPrivateKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rotates the signing key every signing.key.rotation seconds with a key from RSAPrivateKeyPool,
+ * then retires the keys replaced more than signing.key.retire seconds ago. A rotation of 0 turns it off.
+ *
+ * The new key is published at once and signs after signing.key.publish.delay, until then the
+ * previous key signs. Other nodes cache the public keys for jwks.max.age and clients remember an
+ * unknown key id for a while, a key that signed at once would fail to verify on them.
+ *
+ * Every node runs it. A node skips a rotation when the newest key, signing or not yet, is younger
+ * than the rotation period. The check and the insert hold a db lock so the nodes do not each add a key.
+ */
+@Component
+public class SigningKeyRotation {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SigningKeyRotation.class);
+
+    private RSAPrivateKeyPool rsaPrivateKeyPool;
+    private CachedRsaPrivateKeyRepo rsaPrivateKeyRepository;
+    private TaskScheduler taskScheduler;
+    private Long rotationInSeconds;
+    private Long publishInSeconds;
+    private Long retireInSeconds;
+
+    private final AtomicLong rotations = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @Autowired
+    public SigningKeyRotation(RSAPrivateKeyPool rsaPrivateKeyPool, CachedRsaPrivateKeyRepo rsaPrivateKeyRepository, @Qualifier("maintenanceScheduler") TaskScheduler taskScheduler, @Qualifier("signingKeyRotationInSeconds") Long rotationInSeconds, @Qualifier("signingKeyPublishInSeconds") Long publishInSeconds, @Qualifier("signingKeyRetireInSeconds") Long retireInSeconds) {
+        this.rsaPrivateKeyPool = rsaPrivateKeyPool;
+        this.rsaPrivateKeyRepository = rsaPrivateKeyRepository;
+        this.taskScheduler = taskScheduler;
+        this.rotationInSeconds = rotationInSeconds;
+        this.publishInSeconds = publishInSeconds;
+        this.retireInSeconds = retireInSeconds;
+
+        if (rotationInSeconds > 0) {
+            schedule();
+        }
+    }
+
+    protected void schedule() {
+        rsaPrivateKeyPool.refill();
+
+        Duration rotation = Duration.ofSeconds(rotationInSeconds);
+        taskScheduler.scheduleWithFixedDelay(this::run, Instant.now().plus(rotation), rotation);
+        LOGGER.info("signing key rotation every {} seconds", rotationInSeconds);
+    }
+
+    /**
+     * One scheduled rotation. A failure is counted and the current key keeps signing until the next one.
+     */
+    protected void run() {
+        try {
+            rotate(OffsetDateTime.now());
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOGGER.error("could not rotate the signing key", e);
+        }
+    }
+
+    /**
+     * @param now the time of the rotation
+     * @return true if a key was added, false if the newest key is younger than the rotation period
+     * or another node is rotating
+     */
+    public Boolean rotate(OffsetDateTime now) {
+        Boolean inserted = rsaPrivateKeyRepository.insertWhenNoneCreatedAfter(
+                now.minusSeconds(rotationInSeconds), () -> next(now)
+        );
+        if (inserted) {
+            rotations.incrementAndGet();
+        } else {
+            LOGGER.debug("signing key is younger than {} seconds, not rotating", rotationInSeconds);
+        }
+
+        // a key may be retired well after the rotation that replaced it.
+        if (retireInSeconds > 0) {
+            Integer count = rsaPrivateKeyRepository.retireWhereSupersededBefore(now.minusSeconds(retireInSeconds));
+            retired.addAndGet(count);
+            LOGGER.info("retired {} signing keys", count);
+        }
+        return inserted;
+    }
+
+    /**
+     * @param now the time of the rotation
+     * @return a key from the pool that is published now and signs after the publish delay
+     */
+    protected RSAPrivateKey next(OffsetDateTime now) {
+        RSAPrivateKey key = rsaPrivateKeyPool.take();
+        key.setActive(true);
+        key.setSignAfter(now.plusSeconds(publishInSeconds));
+        LOGGER.info("rotated signing key to: {}, it signs after: {}", key.getId(), key.getSignAfter());
+        return key;
+    }
+
+    public Long getRotations() {
+        return rotations.get();
+    }
+
+    public Long getRetired() {
+        return retired.get();
+    }
+
+    public Long getFailures() {
+        return failures.get();
+    }
+}
@@ -1,6 +1,10 @@
 package net.tokensmith.authorization.security.ciphers;
 
 
+import java.nio.ByteBuffer;
+
 public interface HashToken {
    String run(String plainText);
+   String run(byte[] plainText);
+   String run(ByteBuffer plainText);
 }
@@ -1,30 +1,64 @@
 package net.tokensmith.authorization.security.ciphers;
 
-import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
+/**
+ * SHA3-512 hex digests of tokens.
+ *
+ * Each thread reuses its own MessageDigest and hex buffer, this is on the path of
+ * nearly every request so it avoids the provider lookup and the intermediate
+ * allocations of a new digest per call.
+ */
 @Component
 public class HashTokenImpl implements HashToken {
     private static final Logger LOGGER = LoggerFactory.getLogger(HashTokenImpl.class);
     private static String ALG_SHA3_512 = "SHA3-512";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
 
-    @Override
-    public String run(String plainText) {
-        MessageDigest digest = null;
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(HashTokenImpl::makeDigest);
+    private static final ThreadLocal<char[]> HEX_BUFFER = ThreadLocal.withInitial(() -> new char[DIGEST.get().getDigestLength() * 2]);
+
+    protected static MessageDigest makeDigest() {
         try {
-            digest = MessageDigest.getInstance(ALG_SHA3_512);
+            return MessageDigest.getInstance(ALG_SHA3_512);
         } catch (NoSuchAlgorithmException e) {
             LOGGER.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage(), e);
         }
+    }
+
+    @Override
+    public String run(String plainText) {
+        return run(plainText.getBytes(StandardCharsets.UTF_8));
+    }
 
-        byte[] hashed = digest.digest(plainText.getBytes(StandardCharsets.UTF_8));
+    @Override
+    public String run(byte[] plainText) {
+        MessageDigest digest = DIGEST.get();
+        return toHex(digest.digest(plainText));
+    }
 
-        return Hex.encodeHexString(hashed);
+    @Override
+    public String run(ByteBuffer plainText) {
+        MessageDigest digest = DIGEST.get();
+        digest.update(plainText);
+        return toHex(digest.digest());
+    }
+
+    protected String toHex(byte[] hashed) {
+        char[] buffer = HEX_BUFFER.get();
+        for (int i = 0; i < hashed.length; i++) {
+            int b = hashed[i] & 0xFF;
+            buffer[i * 2] = HEX[b >>> 4];
+            buffer[i * 2 + 1] = HEX[b & 0x0F];
+        }
+        return new String(buffer, 0, hashed.length * 2);
     }
 }
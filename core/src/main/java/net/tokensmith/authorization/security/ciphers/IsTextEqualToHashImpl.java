@@ -1,14 +1,26 @@
 package net.tokensmith.authorization.security.ciphers;
 
 import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 
 @Component
 public class IsTextEqualToHashImpl implements  IsTextEqualToHash {
+    private PasswordCheckPool passwordCheckPool;
 
+    @Autowired
+    public IsTextEqualToHashImpl(PasswordCheckPool passwordCheckPool) {
+        this.passwordCheckPool = passwordCheckPool;
+    }
+
+    /**
+     * Checks the text in the password check pool.
+     *
+     * @throws net.tokensmith.authorization.exception.ServiceUnavailableException if the pool is full
+     */
     @Override
     public boolean run(String plainText, String hashText) {
-        return BCrypt.checkpw(plainText, hashText);
+        return passwordCheckPool.run(() -> BCrypt.checkpw(plainText, hashText));
     }
 }
@@ -0,0 +1,191 @@
+package net.tokensmith.authorization.security.ciphers;
+
+import net.tokensmith.authorization.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool for password checks.
+ *
+ * Password hashes are expensive on purpose. Running them here caps how many
+ * checks run at once and how many may wait, so a spike of logins can not take
+ * every request thread. When the pool is full, or a check waits too long, a
+ * ServiceUnavailableException is thrown right away. The pool is shut down with
+ * the application context.
+ */
+@Component
+public class PasswordCheckPool implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordCheckPool.class);
+    private static String REJECTED_MSG = "password check rejected, %s checks are queued";
+    private static String TIMEOUT_MSG = "password check did not finish in %s ms";
+    private static String INTERRUPTED_MSG = "interrupted while waiting on password check";
+    private static String SHUTDOWN_MSG = "password checks did not finish in %s ms of shutdown";
+
+    private ThreadPoolExecutor executor;
+    private Long passwordCheckTimeoutInMillis;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    @Autowired
+    public PasswordCheckPool(@Qualifier("passwordCheckThreads") Integer passwordCheckThreads, @Qualifier("passwordCheckQueueDepth") Integer passwordCheckQueueDepth, @Qualifier("passwordCheckTimeoutInMillis") Long passwordCheckTimeoutInMillis) {
+        this.passwordCheckTimeoutInMillis = passwordCheckTimeoutInMillis;
+
+        BlockingQueue<Runnable> queue = passwordCheckQueueDepth > 0
+                ? new ArrayBlockingQueue<>(passwordCheckQueueDepth)
+                : new SynchronousQueue<>();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                passwordCheckThreads,
+                passwordCheckThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                r -> {
+                    Thread thread = new Thread(r, "password-check-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Runs a password check in the pool and waits for it.
+     *
+     * @param check the password check
+     * @param <T> the result of the check
+     * @return the result of the check
+     * @throws ServiceUnavailableException if the pool is full or the check took too long
+     */
+    public <T> T run(Callable<T> check) {
+        long submittedAt = System.nanoTime();
+        AtomicLong startedAt = new AtomicLong();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                startedAt.set(System.nanoTime());
+                return check.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            String msg = String.format(REJECTED_MSG, executor.getQueue().size());
+            LOGGER.warn(msg);
+            throw new ServiceUnavailableException(msg, e);
+        }
+
+        T result;
+        try {
+            result = future.get(passwordCheckTimeoutInMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            String msg = String.format(TIMEOUT_MSG, passwordCheckTimeoutInMillis);
+            LOGGER.warn(msg);
+            throw new ServiceUnavailableException(msg, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(INTERRUPTED_MSG, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+
+        long finishedAt = System.nanoTime();
+        completed.incrementAndGet();
+        totalWaitNanos.addAndGet(startedAt.get() - submittedAt);
+        totalRunNanos.addAndGet(finishedAt - startedAt.get());
+        maxLatencyNanos.accumulateAndGet(finishedAt - submittedAt, Math::max);
+        return result;
+    }
+
+    /**
+     * Stops taking checks and waits up to the timeout for the ones running or queued.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(passwordCheckTimeoutInMillis, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn(String.format(SHUTDOWN_MSG, passwordCheckTimeoutInMillis));
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    public Long getCompleted() {
+        return completed.get();
+    }
+
+    public Long getRejected() {
+        return rejected.get();
+    }
+
+    public Long getTimedOut() {
+        return timedOut.get();
+    }
+
+    public Integer getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public Integer getActive() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return mean time a completed check waited in the queue, in microseconds
+     */
+    public Long getMeanWaitInMicros() {
+        long count = completed.get();
+        return count == 0 ? 0L : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / count);
+    }
+
+    /**
+     * @return mean time a completed check took to run, in microseconds
+     */
+    public Long getMeanRunInMicros() {
+        long count = completed.get();
+        return count == 0 ? 0L : TimeUnit.NANOSECONDS.toMicros(totalRunNanos.get() / count);
+    }
+
+    /**
+     * @return the longest time from submit to result of a completed check, in microseconds
+     */
+    public Long getMaxLatencyInMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos.get());
+    }
+}
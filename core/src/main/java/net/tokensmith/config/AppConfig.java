@@ -18,6 +18,10 @@ import net.tokensmith.parser.config.ParserConfig;
 import net.tokensmith.pelican.Publish;
 import net.tokensmith.pelican.config.PelicanAppConfig;
 import org.apache.commons.validator.routines.UrlValidator;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -25,6 +29,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.Scope;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.security.KeyFactory;
 import java.security.KeyPairGenerator;
@@ -32,6 +37,8 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
 
 
 /**
@@ -59,10 +66,99 @@ public class AppConfig {
     private String clientId;
     @Value("${message.queue.host}")
     private String messageQueueHost;
+    @Value("${revocation.subscribe:true}")
+    private Boolean revocationSubscribe;
 
     @Value("${session.expiration:2592000}")
     private String sessionExpirationInSeconds;
 
+    @Value("${session.cache.ttl:60}")
+    private String sessionCacheTtlInSeconds;
+
+    @Value("${session.cache.size:10000}")
+    private String sessionCacheMaxSize;
+
+    @Value("${password.check.threads:4}")
+    private String passwordCheckThreads;
+
+    @Value("${password.check.queue:64}")
+    private String passwordCheckQueueDepth;
+
+    @Value("${password.check.timeout:2000}")
+    private String passwordCheckTimeoutInMillis;
+
+    @Value("${client.cache.ttl:60}")
+    private String clientCacheTtlInSeconds;
+
+    @Value("${client.cache.size:1000}")
+    private String clientCacheMaxSize;
+
+    @Value("${client.registry.ttl:300}")
+    private String clientRegistryTtlInSeconds;
+
+    @Value("${client.registry.poll:30}")
+    private String clientRegistryPollInSeconds;
+
+    @Value("${client.registry.size:10000}")
+    private String clientRegistryMaxSize;
+
+    @Value("${signing.key.cache.ttl:300}")
+    private String signingKeyTtlInSeconds;
+
+    @Value("${signing.key.size:2048}")
+    private String signingKeySize;
+
+    @Value("${signing.key.pool.size:2}")
+    private String signingKeyPoolSize;
+
+    @Value("${signing.key.rotation:0}")
+    private String signingKeyRotationInSeconds;
+
+    @Value("${signing.key.publish.delay:360}")
+    private String signingKeyPublishInSeconds;
+
+    @Value("${signing.key.retire:0}")
+    private String signingKeyRetireInSeconds;
+
+    @Value("${configuration.cache.poll:30}")
+    private String configurationPollInSeconds;
+
+    @Value("${jwks.max.age:300}")
+    private String jwksMaxAgeInSeconds;
+
+    @Value("${access.token.jwt:false}")
+    private Boolean jwtAccessTokens;
+
+    @Value("${token.denied.max.age:30}")
+    private String deniedMaxAgeInSeconds;
+
+    @Value("${reaper.interval:600}")
+    private String reaperIntervalInSeconds;
+
+    @Value("${reaper.retention:86400}")
+    private String reaperRetentionInSeconds;
+
+    @Value("${reaper.batch.size:500}")
+    private String reaperBatchSize;
+
+    @Value("${reaper.batch.max:100}")
+    private String reaperMaxBatches;
+
+    @Value("${reaper.batch.pause:100}")
+    private String reaperBatchPauseInMillis;
+
+    @Value("${partition.interval:3600}")
+    private String partitionIntervalInSeconds;
+
+    @Value("${partition.ahead:3}")
+    private String partitionMonthsAhead;
+
+    @Value("${partition.retention:7776000}")
+    private String partitionRetentionInSeconds;
+
+    @Value("${partition.batch.size:1000}")
+    private String partitionBatchSize;
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper om =  new ObjectMapper()
@@ -176,6 +272,28 @@ public class AppConfig {
         return pelicanAppConfig.publish(clientId);
     }
 
+    @Bean
+    @Qualifier("revocationSubscribe")
+    public Boolean revocationSubscribe() {
+        return revocationSubscribe;
+    }
+
+    /**
+     * RevocationSubscriber closes it, it is read by one thread.
+     */
+    @Bean(destroyMethod = "")
+    @Qualifier("revocationConsumer")
+    public Consumer<String, String> revocationConsumer() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, messageQueueHost);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, clientId);
+        // a group of its own so every node reads every revocation.
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, clientId + "-revocation-" + UUID.randomUUID().toString());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        return new KafkaConsumer<>(props, new StringDeserializer(), new StringDeserializer());
+    }
+
     @Bean
     @Qualifier("dbKey")
     public SymmetricKey dbKey() {
@@ -190,6 +308,194 @@ public class AppConfig {
         return Long.valueOf(sessionExpirationInSeconds);
     }
 
+    @Bean
+    @Qualifier("sessionCacheTtlInSeconds")
+    public Long sessionCacheTtlInSeconds() {
+        return Long.valueOf(sessionCacheTtlInSeconds);
+    }
+
+    @Bean
+    @Qualifier("sessionCacheMaxSize")
+    public Integer sessionCacheMaxSize() {
+        return Integer.valueOf(sessionCacheMaxSize);
+    }
+
+    @Bean
+    @Qualifier("passwordCheckThreads")
+    public Integer passwordCheckThreads() {
+        return Integer.valueOf(passwordCheckThreads);
+    }
+
+    @Bean
+    @Qualifier("passwordCheckQueueDepth")
+    public Integer passwordCheckQueueDepth() {
+        return Integer.valueOf(passwordCheckQueueDepth);
+    }
+
+    @Bean
+    @Qualifier("passwordCheckTimeoutInMillis")
+    public Long passwordCheckTimeoutInMillis() {
+        return Long.valueOf(passwordCheckTimeoutInMillis);
+    }
+
+    @Bean
+    @Qualifier("clientCacheTtlInSeconds")
+    public Long clientCacheTtlInSeconds() {
+        return Long.valueOf(clientCacheTtlInSeconds);
+    }
+
+    @Bean
+    @Qualifier("clientCacheMaxSize")
+    public Integer clientCacheMaxSize() {
+        return Integer.valueOf(clientCacheMaxSize);
+    }
+
+    @Bean
+    @Qualifier("clientRegistryTtlInSeconds")
+    public Long clientRegistryTtlInSeconds() {
+        return Long.valueOf(clientRegistryTtlInSeconds);
+    }
+
+    @Bean
+    @Qualifier("clientRegistryPollInSeconds")
+    public Long clientRegistryPollInSeconds() {
+        return Long.valueOf(clientRegistryPollInSeconds);
+    }
+
+    @Bean
+    @Qualifier("clientRegistryMaxSize")
+    public Integer clientRegistryMaxSize() {
+        return Integer.valueOf(clientRegistryMaxSize);
+    }
+
+    @Bean
+    @Qualifier("signingKeyTtlInSeconds")
+    public Long signingKeyTtlInSeconds() {
+        return Long.valueOf(signingKeyTtlInSeconds);
+    }
+
+    @Bean
+    @Qualifier("signingKeySize")
+    public Integer signingKeySize() {
+        return Integer.valueOf(signingKeySize);
+    }
+
+    @Bean
+    @Qualifier("signingKeyPoolSize")
+    public Integer signingKeyPoolSize() {
+        return Integer.valueOf(signingKeyPoolSize);
+    }
+
+    @Bean
+    @Qualifier("signingKeyRotationInSeconds")
+    public Long signingKeyRotationInSeconds() {
+        return Long.valueOf(signingKeyRotationInSeconds);
+    }
+
+    @Bean
+    @Qualifier("signingKeyPublishInSeconds")
+    public Long signingKeyPublishInSeconds() {
+        return Long.valueOf(signingKeyPublishInSeconds);
+    }
+
+    @Bean
+    @Qualifier("signingKeyRetireInSeconds")
+    public Long signingKeyRetireInSeconds() {
+        return Long.valueOf(signingKeyRetireInSeconds);
+    }
+
+    @Bean
+    @Qualifier("configurationPollInSeconds")
+    public Long configurationPollInSeconds() {
+        return Long.valueOf(configurationPollInSeconds);
+    }
+
+    @Bean
+    @Qualifier("jwksMaxAgeInSeconds")
+    public Long jwksMaxAgeInSeconds() {
+        return Long.valueOf(jwksMaxAgeInSeconds);
+    }
+
+    @Bean
+    @Qualifier("jwtAccessTokens")
+    public Boolean jwtAccessTokens() {
+        return jwtAccessTokens;
+    }
+
+    @Bean
+    @Qualifier("deniedMaxAgeInSeconds")
+    public Long deniedMaxAgeInSeconds() {
+        return Long.valueOf(deniedMaxAgeInSeconds);
+    }
+
+    /**
+     * Runs ExpiredRowReaper, PartitionMaintenance and SigningKeyRotation, a thread each so a long
+     * run of one does not hold up the others. The context shuts it down and interrupts a run.
+     */
+    @Bean
+    @Qualifier("maintenanceScheduler")
+    public ThreadPoolTaskScheduler maintenanceScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(3);
+        scheduler.setThreadNamePrefix("maintenance-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    @Bean
+    @Qualifier("reaperIntervalInSeconds")
+    public Long reaperIntervalInSeconds() {
+        return Long.valueOf(reaperIntervalInSeconds);
+    }
+
+    @Bean
+    @Qualifier("reaperRetentionInSeconds")
+    public Long reaperRetentionInSeconds() {
+        return Long.valueOf(reaperRetentionInSeconds);
+    }
+
+    @Bean
+    @Qualifier("reaperBatchSize")
+    public Integer reaperBatchSize() {
+        return Integer.valueOf(reaperBatchSize);
+    }
+
+    @Bean
+    @Qualifier("reaperMaxBatches")
+    public Integer reaperMaxBatches() {
+        return Integer.valueOf(reaperMaxBatches);
+    }
+
+    @Bean
+    @Qualifier("reaperBatchPauseInMillis")
+    public Long reaperBatchPauseInMillis() {
+        return Long.valueOf(reaperBatchPauseInMillis);
+    }
+
+    @Bean
+    @Qualifier("partitionIntervalInSeconds")
+    public Long partitionIntervalInSeconds() {
+        return Long.valueOf(partitionIntervalInSeconds);
+    }
+
+    @Bean
+    @Qualifier("partitionMonthsAhead")
+    public Integer partitionMonthsAhead() {
+        return Integer.valueOf(partitionMonthsAhead);
+    }
+
+    @Bean
+    @Qualifier("partitionRetentionInSeconds")
+    public Long partitionRetentionInSeconds() {
+        return Long.valueOf(partitionRetentionInSeconds);
+    }
+
+    @Bean
+    @Qualifier("partitionBatchSize")
+    public Integer partitionBatchSize() {
+        return Integer.valueOf(partitionBatchSize);
+    }
+
     @Bean
     public Parser parser() {
         return new ParserConfig().parser();
@@ -14,6 +14,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
 
@@ -23,6 +24,7 @@ import javax.sql.DataSource;
  */
 @Configuration
 @MapperScan("net.tokensmith.authorization.persistence.mapper")
+@EnableTransactionManagement(proxyTargetClass = true)
 @PropertySource({"classpath:application-${spring.profiles.active:default}.properties"})
 public class PersistenceConfig {
     protected static Logger LOGGER = LoggerFactory.getLogger(PersistenceConfig.class);
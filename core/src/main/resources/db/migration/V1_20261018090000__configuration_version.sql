@@ -0,0 +1,7 @@
+--
+-- Name: configuration version; Bumped every time configuration is updated so
+-- nodes that cache it can tell when it changed.
+--
+
+ALTER TABLE public.configuration
+    ADD COLUMN version integer DEFAULT 1 NOT NULL;
@@ -0,0 +1,19 @@
+--
+-- Name: rsa_public_key; Type: TABLE; Schema: public;
+-- The public part of each rsa_private_key, not encrypted, so the public keys
+-- can be read without decrypting the private keys. Keys made before this
+-- table are added to it by the app the first time they are read.
+--
+
+CREATE TABLE public.rsa_public_key (
+    id uuid NOT NULL,
+    modulus bytea NOT NULL,
+    public_exponent bytea NOT NULL,
+    created_at timestamp with time zone DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+ALTER TABLE ONLY public.rsa_public_key
+    ADD CONSTRAINT rsa_public_key_pkey PRIMARY KEY (id);
+
+ALTER TABLE ONLY public.rsa_public_key
+    ADD CONSTRAINT rsa_public_key_id_fkey FOREIGN KEY (id) REFERENCES public.rsa_private_key(id);
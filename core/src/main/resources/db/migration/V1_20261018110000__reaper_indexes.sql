@@ -0,0 +1,29 @@
+--
+-- Name: reaper indexes; The reaper finds expired auth codes by expires_at and
+-- deletes the rows that reference a token, a refresh token or an access request
+-- by those foreign keys. Without these each batch scans the tables.
+--
+
+CREATE INDEX auth_code_expires_at ON public.auth_code USING btree (expires_at);
+
+CREATE INDEX auth_code_access_request_id ON public.auth_code USING btree (access_request_id);
+
+CREATE INDEX access_request_scopes_access_request_id ON public.access_request_scopes USING btree (access_request_id);
+
+CREATE INDEX auth_code_token_token_id ON public.auth_code_token USING btree (token_id);
+
+CREATE INDEX refresh_token_token_id ON public.refresh_token USING btree (token_id);
+
+CREATE INDEX resource_owner_token_token_id ON public.resource_owner_token USING btree (token_id);
+
+CREATE INDEX token_audience_token_id ON public.token_audience USING btree (token_id);
+
+CREATE INDEX token_chain_token_id ON public.token_chain USING btree (token_id);
+
+CREATE INDEX token_chain_prev_token_id ON public.token_chain USING btree (prev_token_id);
+
+CREATE INDEX token_lead_token_token_id ON public.token_lead_token USING btree (token_id);
+
+CREATE INDEX token_lead_token_lead_token_id ON public.token_lead_token USING btree (lead_token_id);
+
+CREATE INDEX token_scope_token_id ON public.token_scope USING btree (token_id);
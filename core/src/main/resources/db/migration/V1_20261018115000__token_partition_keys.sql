@@ -0,0 +1,18 @@
+--
+-- Name: token partition keys; The unique keys a partition of token, token_scope,
+-- token_audience and refresh_token must have, they all have created_at in them.
+-- They are built concurrently, before the tables become the legacy partitions, so
+-- attaching a table uses them instead of building them while the tables are locked.
+--
+
+CREATE UNIQUE INDEX CONCURRENTLY token_id_created_at_key ON public.token USING btree (id, created_at);
+
+CREATE UNIQUE INDEX CONCURRENTLY token_active_token_created_at_key ON public.token USING btree (active_token, created_at);
+
+CREATE UNIQUE INDEX CONCURRENTLY token_scope_id_created_at_key ON public.token_scope USING btree (id, created_at);
+
+CREATE UNIQUE INDEX CONCURRENTLY token_audience_id_created_at_key ON public.token_audience USING btree (id, created_at);
+
+CREATE UNIQUE INDEX CONCURRENTLY refresh_token_id_created_at_key ON public.refresh_token USING btree (id, created_at);
+
+CREATE UNIQUE INDEX CONCURRENTLY refresh_token_active_token_created_at_key ON public.refresh_token USING btree (active_token, created_at);
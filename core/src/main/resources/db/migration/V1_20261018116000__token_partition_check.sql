@@ -0,0 +1,19 @@
+--
+-- Name: token partition check; Every row of token, token_scope, token_audience and
+-- refresh_token was made before next month, the upper bound they get as the legacy
+-- partitions. The check is added without reading the rows, the next migration
+-- validates it without blocking writes, then attaching a table does not scan it.
+--
+
+DO $$
+DECLARE
+    t text;
+    next_month timestamp := date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month';
+BEGIN
+    FOREACH t IN ARRAY ARRAY['token', 'token_scope', 'token_audience', 'refresh_token'] LOOP
+        EXECUTE format(
+            'ALTER TABLE public.%I ADD CONSTRAINT %I CHECK (created_at < %L) NOT VALID',
+            t, t || '_created_at_before', to_char(next_month, 'YYYY-MM-DD') || ' 00:00:00+00'
+        );
+    END LOOP;
+END $$;
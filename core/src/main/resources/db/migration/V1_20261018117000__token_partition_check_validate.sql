@@ -0,0 +1,12 @@
+--
+-- Name: token partition check validate; Reads every row once to validate the
+-- checks, it only takes a share update exclusive lock so reads and writes go on.
+--
+
+ALTER TABLE public.token VALIDATE CONSTRAINT token_created_at_before;
+
+ALTER TABLE public.token_scope VALIDATE CONSTRAINT token_scope_created_at_before;
+
+ALTER TABLE public.token_audience VALIDATE CONSTRAINT token_audience_created_at_before;
+
+ALTER TABLE public.refresh_token VALIDATE CONSTRAINT refresh_token_created_at_before;
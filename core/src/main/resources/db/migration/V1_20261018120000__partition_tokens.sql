@@ -0,0 +1,189 @@
+--
+-- Name: partition tokens; token, token_scope, token_audience and refresh_token
+-- become range partitioned by month on created_at so old months can be dropped
+-- instead of deleted row by row. PartitionMaintenance creates the months ahead
+-- and drops the months past partition.retention.
+--
+-- Each table is renamed to <table>_legacy and attached as the partition of every
+-- row made before next month, so no rows are copied. Partitions are named
+-- <table>_pYYYYMM and their bounds are the first of the month in UTC. A row
+-- without a partition goes to <table>_default.
+--
+-- The migrations before this one built the unique keys of the partitions
+-- concurrently and validated a check of the upper bound on each table, so the
+-- attach uses the keys and does not scan the rows. The tables are locked only
+-- for the catalog changes.
+--
+-- A unique constraint on a partitioned table must have created_at in it. The
+-- token_active_token_unique trigger keeps active_token unique across every
+-- partition. Foreign keys to token(id) and refresh_token(id) are dropped, they
+-- would stop a partition from being dropped.
+--
+
+ALTER TABLE ONLY public.auth_code_token DROP CONSTRAINT auth_code_token_token_id_fkey;
+ALTER TABLE ONLY public.token_audience DROP CONSTRAINT client_token_token_id_fkey;
+ALTER TABLE ONLY public.refresh_token DROP CONSTRAINT refresh_token_token_id_fkey;
+ALTER TABLE ONLY public.resource_owner_token DROP CONSTRAINT resource_owner_token_token_id_fkey;
+ALTER TABLE ONLY public.token_chain DROP CONSTRAINT token_chain_prev_token_id_fkey;
+ALTER TABLE ONLY public.token_chain DROP CONSTRAINT token_chain_refresh_token_id_fkey;
+ALTER TABLE ONLY public.token_chain DROP CONSTRAINT token_chain_token_id_fkey;
+ALTER TABLE ONLY public.token_lead_token DROP CONSTRAINT token_lead_token_lead_token_id_fkey;
+ALTER TABLE ONLY public.token_lead_token DROP CONSTRAINT token_lead_token_token_id_fkey;
+ALTER TABLE ONLY public.token_scope DROP CONSTRAINT token_scope_token_id_fkey;
+
+ALTER TABLE public.token RENAME TO token_legacy;
+ALTER TABLE public.token_scope RENAME TO token_scope_legacy;
+ALTER TABLE public.token_audience RENAME TO token_audience_legacy;
+ALTER TABLE public.refresh_token RENAME TO refresh_token_legacy;
+
+--
+-- An attached table's index is used for a unique constraint of the parent only
+-- when it backs a constraint too. Making the keys built concurrently constraints
+-- does not read the rows.
+--
+
+ALTER TABLE public.token_legacy
+    ADD CONSTRAINT token_id_created_at_key UNIQUE USING INDEX token_id_created_at_key;
+
+ALTER TABLE public.token_legacy
+    ADD CONSTRAINT token_active_token_created_at_key UNIQUE USING INDEX token_active_token_created_at_key;
+
+ALTER TABLE public.token_scope_legacy
+    ADD CONSTRAINT token_scope_id_created_at_key UNIQUE USING INDEX token_scope_id_created_at_key;
+
+ALTER TABLE public.token_audience_legacy
+    ADD CONSTRAINT token_audience_id_created_at_key UNIQUE USING INDEX token_audience_id_created_at_key;
+
+ALTER TABLE public.refresh_token_legacy
+    ADD CONSTRAINT refresh_token_id_created_at_key UNIQUE USING INDEX refresh_token_id_created_at_key;
+
+ALTER TABLE public.refresh_token_legacy
+    ADD CONSTRAINT refresh_token_active_token_created_at_key UNIQUE USING INDEX refresh_token_active_token_created_at_key;
+
+--
+-- Name: token; Type: TABLE; Schema: public;
+--
+
+CREATE TABLE public.token (LIKE public.token_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+
+ALTER TABLE public.token
+    ADD CONSTRAINT token_partitioned_pkey PRIMARY KEY (id, created_at);
+
+ALTER TABLE public.token
+    ADD CONSTRAINT token_partitioned_active_token_unique UNIQUE (active_token, created_at);
+
+CREATE INDEX token_partitioned_expires_at ON public.token USING btree (expires_at);
+
+CREATE INDEX token_partitioned_revoked ON public.token USING btree (revoked);
+
+--
+-- Name: token_scope; Type: TABLE; Schema: public;
+--
+
+CREATE TABLE public.token_scope (LIKE public.token_scope_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+
+ALTER TABLE public.token_scope
+    ADD CONSTRAINT token_scope_partitioned_pkey PRIMARY KEY (id, created_at);
+
+CREATE INDEX token_scope_partitioned_token_id ON public.token_scope USING btree (token_id);
+
+--
+-- Name: token_audience; Type: TABLE; Schema: public;
+--
+
+CREATE TABLE public.token_audience (LIKE public.token_audience_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+
+ALTER TABLE public.token_audience
+    ADD CONSTRAINT token_audience_partitioned_pkey PRIMARY KEY (id, created_at);
+
+CREATE INDEX token_audience_partitioned_token_id ON public.token_audience USING btree (token_id);
+
+--
+-- Name: refresh_token; Type: TABLE; Schema: public;
+--
+
+CREATE TABLE public.refresh_token (LIKE public.refresh_token_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (created_at);
+
+ALTER TABLE public.refresh_token
+    ADD CONSTRAINT refresh_token_partitioned_pkey PRIMARY KEY (id, created_at);
+
+ALTER TABLE public.refresh_token
+    ADD CONSTRAINT refresh_token_partitioned_active_token_unique UNIQUE (active_token, created_at);
+
+CREATE INDEX refresh_token_partitioned_expires_at ON public.refresh_token USING btree (expires_at);
+
+CREATE INDEX refresh_token_partitioned_revoked ON public.refresh_token USING btree (revoked);
+
+CREATE INDEX refresh_token_partitioned_token_id ON public.refresh_token USING btree (token_id);
+
+--
+-- Name: partitions; Type: TABLE; Schema: public;
+-- The legacy table has every row before next month, then a partition for each of
+-- the three months after it and the default partition. Next month is not before
+-- the bound of the check, so the check proves the rows are in the partition.
+--
+
+DO $$
+DECLARE
+    t text;
+    next_month timestamp := date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month';
+    month timestamp;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['token', 'token_scope', 'token_audience', 'refresh_token'] LOOP
+        EXECUTE format(
+            'ALTER TABLE public.%I ATTACH PARTITION public.%I FOR VALUES FROM (MINVALUE) TO (%L)',
+            t, t || '_legacy', to_char(next_month, 'YYYY-MM-DD') || ' 00:00:00+00'
+        );
+        FOR i IN 0..2 LOOP
+            month := next_month + make_interval(months => i);
+            EXECUTE format(
+                'CREATE TABLE public.%I PARTITION OF public.%I FOR VALUES FROM (%L) TO (%L)',
+                t || '_p' || to_char(month, 'YYYYMM'), t,
+                to_char(month, 'YYYY-MM-DD') || ' 00:00:00+00',
+                to_char(month + interval '1 month', 'YYYY-MM-DD') || ' 00:00:00+00'
+            );
+        END LOOP;
+        EXECUTE format('CREATE TABLE public.%I PARTITION OF public.%I DEFAULT', t || '_default', t);
+    END LOOP;
+END $$;
+
+ALTER TABLE public.token
+    ADD CONSTRAINT token_partitioned_client_id_fkey FOREIGN KEY (client_id) REFERENCES public.client(id);
+
+ALTER TABLE public.token_scope
+    ADD CONSTRAINT token_scope_partitioned_scope_id_fkey FOREIGN KEY (scope_id) REFERENCES public.scope(id);
+
+ALTER TABLE public.token_audience
+    ADD CONSTRAINT token_audience_partitioned_client_id_fkey FOREIGN KEY (client_id) REFERENCES public.client(id);
+
+--
+-- Name: token_active_token_unique; Type: TRIGGER; Schema: public;
+-- Raises a unique violation, like the unique constraint did, when an active_token
+-- is in more than one partition of the table named by its argument. It fires on
+-- the partition so it reads the parent. It is an after trigger, a partitioned
+-- table may not have before row triggers until postgres 13.
+--
+
+CREATE FUNCTION public.active_token_unique() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    found integer;
+BEGIN
+    EXECUTE format('SELECT count(*) FROM public.%I WHERE active_token = $1', TG_ARGV[0])
+        INTO found
+        USING NEW.active_token;
+    IF found > 1 THEN
+        RAISE unique_violation USING
+            MESSAGE = format('duplicate key value violates unique constraint "%s_active_token_unique"', TG_ARGV[0]),
+            DETAIL = format('Key (active_token)=(%s) already exists.', NEW.active_token);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER token_active_token_unique AFTER INSERT ON public.token
+    FOR EACH ROW EXECUTE PROCEDURE public.active_token_unique('token');
+
+CREATE TRIGGER refresh_token_active_token_unique AFTER INSERT ON public.refresh_token
+    FOR EACH ROW EXECUTE PROCEDURE public.active_token_unique('refresh_token');
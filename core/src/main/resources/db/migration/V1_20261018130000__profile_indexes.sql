@@ -0,0 +1,10 @@
+--
+-- Name: profile indexes; The addresses, given names and family names of a profile
+-- are read by resource_owner_profile_id, each with its own select.
+--
+
+CREATE INDEX resource_owner_profile_address_profile_id ON public.resource_owner_profile_address USING btree (resource_owner_profile_id);
+
+CREATE INDEX resource_owner_profile_given_name_profile_id ON public.resource_owner_profile_given_name USING btree (resource_owner_profile_id);
+
+CREATE INDEX resource_owner_profile_family_name_profile_id ON public.resource_owner_profile_family_name USING btree (resource_owner_profile_id);
@@ -0,0 +1,6 @@
+--
+-- Name: auth_code redeemed; An auth code is marked redeemed by the same statement that reads it
+-- for a token request, so it can be redeemed once.
+--
+
+ALTER TABLE ONLY public.auth_code ADD COLUMN redeemed boolean DEFAULT false NOT NULL;
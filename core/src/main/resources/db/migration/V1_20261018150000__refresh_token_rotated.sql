@@ -0,0 +1,7 @@
+--
+-- Name: refresh_token rotated; A refresh token is marked rotated by the first statement of the
+-- transaction that issues its next token, so it can be used once. refresh_token is partitioned,
+-- the column is added to it and every partition.
+--
+
+ALTER TABLE public.refresh_token ADD COLUMN rotated boolean DEFAULT false NOT NULL;
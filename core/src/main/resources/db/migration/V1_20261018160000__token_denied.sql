@@ -0,0 +1,6 @@
+--
+-- Name: token denied; The revoked tokens that have not expired are the deny list of jwt access
+-- tokens, /api/public/v1/token/denied. A partial index keeps reading it off the active tokens.
+--
+
+CREATE INDEX token_partitioned_denied ON public.token USING btree (expires_at) WHERE revoked = true;
@@ -0,0 +1,7 @@
+--
+-- Name: rsa_private_key sign_after; A rotated signing key is published, active, before it is used
+-- to sign. It signs after sign_after, by then the nodes and clients caching the public keys have it.
+-- The keys made before this sign at once.
+--
+
+ALTER TABLE public.rsa_private_key ADD COLUMN sign_after timestamp with time zone DEFAULT CURRENT_TIMESTAMP NOT NULL;
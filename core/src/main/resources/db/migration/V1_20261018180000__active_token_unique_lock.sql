@@ -0,0 +1,26 @@
+--
+-- Name: active_token_unique; The count in the token_active_token_unique trigger could
+-- not see an active_token inserted by a transaction that had not committed, so two
+-- transactions could each insert it. The trigger now holds a transaction level advisory
+-- lock on the table and active_token before it counts. The second transaction waits for
+-- the first to end and then reads its row, which is what the unique constraint did.
+--
+
+CREATE OR REPLACE FUNCTION public.active_token_unique() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    found integer;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(TG_ARGV[0]), hashtext(NEW.active_token));
+    EXECUTE format('SELECT count(*) FROM public.%I WHERE active_token = $1', TG_ARGV[0])
+        INTO found
+        USING NEW.active_token;
+    IF found > 1 THEN
+        RAISE unique_violation USING
+            MESSAGE = format('duplicate key value violates unique constraint "%s_active_token_unique"', TG_ARGV[0]),
+            DETAIL = format('Key (active_token)=(%s) already exists.', NEW.active_token);
+    END IF;
+    RETURN NULL;
+END;
+$$;
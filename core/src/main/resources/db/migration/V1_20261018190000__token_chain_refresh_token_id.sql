@@ -0,0 +1,7 @@
+--
+-- Name: token_chain refresh_token_id; PartitionMaintenance deletes the token chains
+-- of a refresh token partition by refresh_token_id before it drops the partition.
+-- It is built concurrently so token_chain is not locked while it is.
+--
+
+CREATE INDEX CONCURRENTLY token_chain_refresh_token_id ON public.token_chain USING btree (refresh_token_id);
@@ -30,6 +30,7 @@ import net.tokensmith.repository.entity.Name;
 import net.tokensmith.repository.entity.Profile;
 import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import net.tokensmith.repository.entity.RefreshToken;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.entity.ResourceOwnerToken;
@@ -504,6 +505,17 @@ public class FixtureFactory {
         return rsaPrivateKey;
     }
 
+    public static RSAPublicKeyBytes makeRSAPublicKeyBytes() {
+        RSAPublicKeyBytes rsaPublicKey = new RSAPublicKeyBytes();
+        rsaPublicKey.setId(UUID.randomUUID());
+        rsaPublicKey.setUse(KeyUse.SIGNATURE);
+        rsaPublicKey.setModulus(new BigInteger("1").toByteArray());
+        rsaPublicKey.setPublicExponent(new BigInteger("2").toByteArray());
+        rsaPublicKey.setActive(true);
+
+        return rsaPublicKey;
+    }
+
     // 134: need to add an encryption method for, makeRSAPrivateKeyBytes
 
     public static RSAKeyPair makeRSAKeyPair() {
@@ -0,0 +1,153 @@
+package net.tokensmith.authorization.authenticate;
+
+import helper.fixture.FixtureFactory;
+import net.tokensmith.authorization.authenticate.exception.UnauthorizedException;
+import net.tokensmith.authorization.constant.ErrorCode;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+
+public class ConfidentialClientCacheTest {
+    private static Long ONE_MINUTE = 60L;
+    private static Integer MAX_SIZE = 2;
+
+    private ConfidentialClientCache subject;
+
+    @Before
+    public void setUp() {
+        subject = new ConfidentialClientCache(ONE_MINUTE, MAX_SIZE);
+    }
+
+    public ConfidentialClient confidentialClient() throws Exception {
+        return FixtureFactory.makeConfidentialClient(FixtureFactory.makeCodeClientWithScopes());
+    }
+
+    @Test
+    public void getShouldVerifyOnce() throws Exception {
+        ConfidentialClient cc = confidentialClient();
+        UUID clientId = cc.getClient().getId();
+        AtomicInteger verified = new AtomicInteger();
+
+        ConfidentialClient first = subject.get(clientId, "password", () -> { verified.incrementAndGet(); return cc; });
+        ConfidentialClient second = subject.get(clientId, "password", () -> { verified.incrementAndGet(); return cc; });
+
+        assertThat(first.getId(), is(cc.getId()));
+        assertThat(first, is(not(sameInstance(cc))));
+        assertThat(second.getId(), is(cc.getId()));
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(verified.get(), is(1));
+        assertThat(subject.getHits(), is(1L));
+        assertThat(subject.getMisses(), is(1L));
+    }
+
+    @Test
+    public void getWhenOtherSecretShouldVerify() throws Exception {
+        ConfidentialClient cc = confidentialClient();
+        UUID clientId = cc.getClient().getId();
+        subject.get(clientId, "password", () -> cc);
+
+        UnauthorizedException actual = null;
+        try {
+            subject.get(clientId, "passwordThatDoesNotMatch", () -> {
+                throw new UnauthorizedException(ErrorCode.PASSWORD_MISMATCH.getDescription(), ErrorCode.PASSWORD_MISMATCH.getCode());
+            });
+        } catch (UnauthorizedException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(not(nullValue())));
+        assertThat(actual.getCode(), is(ErrorCode.PASSWORD_MISMATCH.getCode()));
+        assertThat(subject.size(), is(1));
+    }
+
+    @Test
+    public void getWhenOtherClientShouldVerify() throws Exception {
+        ConfidentialClient cc = confidentialClient();
+        ConfidentialClient other = confidentialClient();
+        AtomicInteger verified = new AtomicInteger();
+
+        subject.get(cc.getClient().getId(), "password", () -> { verified.incrementAndGet(); return cc; });
+        ConfidentialClient actual = subject.get(other.getClient().getId(), "password", () -> { verified.incrementAndGet(); return other; });
+
+        assertThat(actual.getId(), is(other.getId()));
+        assertThat(verified.get(), is(2));
+    }
+
+    @Test
+    public void getWhenExpiredShouldVerify() throws Exception {
+        subject = new ConfidentialClientCache(0L, MAX_SIZE);
+        ConfidentialClient cc = confidentialClient();
+        AtomicInteger verified = new AtomicInteger();
+
+        subject.get(cc.getClient().getId(), "password", () -> { verified.incrementAndGet(); return cc; });
+        subject.get(cc.getClient().getId(), "password", () -> { verified.incrementAndGet(); return cc; });
+
+        assertThat(verified.get(), is(2));
+    }
+
+    @Test
+    public void invalidateShouldDropClient() throws Exception {
+        ConfidentialClient cc = confidentialClient();
+        ConfidentialClient other = confidentialClient();
+        subject.get(cc.getClient().getId(), "password", () -> cc);
+        subject.get(other.getClient().getId(), "password", () -> other);
+
+        subject.invalidate(cc.getClient().getId());
+
+        assertThat(subject.size(), is(1));
+
+        AtomicInteger verified = new AtomicInteger();
+        subject.get(cc.getClient().getId(), "password", () -> { verified.incrementAndGet(); return cc; });
+        assertThat(verified.get(), is(1));
+    }
+
+    @Test
+    public void invalidateWhileVerifyingShouldNotCache() throws Exception {
+        ConfidentialClient cc = confidentialClient();
+        UUID clientId = cc.getClient().getId();
+
+        subject.get(clientId, "password", () -> {
+            subject.invalidate(clientId);
+            return cc;
+        });
+
+        assertThat(subject.size(), is(0));
+    }
+
+    @Test
+    public void getWhenFullShouldDropEldest() throws Exception {
+        for (int i = 0; i < MAX_SIZE + 1; i++) {
+            ConfidentialClient cc = confidentialClient();
+            subject.get(cc.getClient().getId(), "password", () -> cc);
+        }
+
+        assertThat(subject.size(), is(MAX_SIZE));
+    }
+
+    @Test
+    public void getWhenCallerMutatesShouldNotLeak() throws Exception {
+        ConfidentialClient cc = confidentialClient();
+        UUID clientId = cc.getClient().getId();
+        String password = cc.getPassword();
+
+        ConfidentialClient first = subject.get(clientId, "password", () -> cc);
+        first.setPassword("mutated");
+        first.getClient().setRedirectURI(null);
+        cc.setPassword("mutated");
+
+        ConfidentialClient actual = subject.get(clientId, "password", () -> cc);
+
+        assertThat(actual.getPassword(), is(password));
+        assertThat(actual.getClient().getRedirectURI(), is(not(nullValue())));
+    }
+}
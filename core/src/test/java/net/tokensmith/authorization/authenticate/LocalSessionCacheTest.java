@@ -0,0 +1,185 @@
+package net.tokensmith.authorization.authenticate;
+
+import net.tokensmith.repository.entity.LocalToken;
+import net.tokensmith.repository.entity.ResourceOwner;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import net.tokensmith.repository.repo.ResourceOwnerRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class LocalSessionCacheTest {
+    private static Long ONE_MINUTE = 60L;
+    private static Integer MAX_SIZE = 2;
+
+    @Mock
+    private ResourceOwnerRepository mockResourceOwnerRepository;
+
+    private LocalSessionCache subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new LocalSessionCache(mockResourceOwnerRepository, ONE_MINUTE, MAX_SIZE);
+    }
+
+    public ResourceOwner resourceOwner() {
+        ResourceOwner resourceOwner = new ResourceOwner();
+        resourceOwner.setId(UUID.randomUUID());
+        resourceOwner.setEmail("obi-wan@tokensmith.net");
+        resourceOwner.setPassword("hashed-password");
+        resourceOwner.setEmailVerified(true);
+        resourceOwner.setCreatedAt(OffsetDateTime.now());
+        return resourceOwner;
+    }
+
+    @Test
+    public void getByLocalTokenShouldReadOnce() throws Exception {
+        ResourceOwner resourceOwner = resourceOwner();
+        when(mockResourceOwnerRepository.getByLocalToken("hashed-token")).thenReturn(resourceOwner);
+
+        ResourceOwner first = subject.getByLocalToken("hashed-token");
+        ResourceOwner second = subject.getByLocalToken("hashed-token");
+
+        assertThat(first.getId(), is(resourceOwner.getId()));
+        assertThat(first.getEmail(), is(resourceOwner.getEmail()));
+        assertThat(first.isEmailVerified(), is(true));
+        assertThat(first.getCreatedAt(), is(resourceOwner.getCreatedAt()));
+        assertThat(first.getPassword(), is(nullValue()));
+
+        assertThat(second.getId(), is(resourceOwner.getId()));
+        assertThat(second, is(not(sameInstance(first))));
+
+        assertThat(subject.getMisses(), is(1L));
+        assertThat(subject.getHits(), is(1L));
+        verify(mockResourceOwnerRepository, times(1)).getByLocalToken("hashed-token");
+    }
+
+    @Test
+    public void getByLocalTokenWhenExpiredShouldReadAgain() throws Exception {
+        subject = new LocalSessionCache(mockResourceOwnerRepository, 0L, MAX_SIZE);
+
+        ResourceOwner resourceOwner = resourceOwner();
+        when(mockResourceOwnerRepository.getByLocalToken("hashed-token")).thenReturn(resourceOwner);
+
+        subject.getByLocalToken("hashed-token");
+        subject.getByLocalToken("hashed-token");
+
+        assertThat(subject.getMisses(), is(2L));
+        verify(mockResourceOwnerRepository, times(2)).getByLocalToken("hashed-token");
+    }
+
+    @Test
+    public void getByLocalTokenWhenLocalTokenExpiresBeforeTtlShouldReadAgain() throws Exception {
+        ResourceOwner resourceOwner = resourceOwner();
+        LocalToken localToken = new LocalToken();
+        localToken.setId(UUID.randomUUID());
+        localToken.setExpiresAt(OffsetDateTime.now().minusSeconds(1));
+        resourceOwner.getLocalTokens().add(localToken);
+        when(mockResourceOwnerRepository.getByLocalToken("hashed-token")).thenReturn(resourceOwner);
+
+        subject.getByLocalToken("hashed-token");
+        subject.getByLocalToken("hashed-token");
+
+        assertThat(subject.getHits(), is(0L));
+        assertThat(subject.getMisses(), is(2L));
+        verify(mockResourceOwnerRepository, times(2)).getByLocalToken("hashed-token");
+    }
+
+    @Test
+    public void expiresAtWhenLocalTokenExpiresBeforeTtlShouldBeLocalToken() {
+        ResourceOwner resourceOwner = resourceOwner();
+        LocalToken localToken = new LocalToken();
+        localToken.setExpiresAt(OffsetDateTime.now().plusSeconds(5));
+        resourceOwner.getLocalTokens().add(localToken);
+
+        OffsetDateTime actual = subject.expiresAt(resourceOwner);
+
+        assertThat(actual, is(localToken.getExpiresAt()));
+    }
+
+    @Test
+    public void expiresAtWhenLocalTokenExpiresAfterTtlShouldBeTtl() {
+        ResourceOwner resourceOwner = resourceOwner();
+        LocalToken localToken = new LocalToken();
+        localToken.setExpiresAt(OffsetDateTime.now().plusDays(1));
+        resourceOwner.getLocalTokens().add(localToken);
+
+        OffsetDateTime actual = subject.expiresAt(resourceOwner);
+
+        assertThat(actual.isBefore(localToken.getExpiresAt()), is(true));
+        assertThat(actual.isAfter(OffsetDateTime.now().plusSeconds(ONE_MINUTE - 5)), is(true));
+    }
+
+    @Test(expected = RecordNotFoundException.class)
+    public void getByLocalTokenShouldThrowRecordNotFound() throws Exception {
+        when(mockResourceOwnerRepository.getByLocalToken("hashed-token")).thenThrow(RecordNotFoundException.class);
+
+        subject.getByLocalToken("hashed-token");
+    }
+
+    @Test
+    public void getByLocalTokenWhenFullShouldDropLeastRecentlyUsed() throws Exception {
+        when(mockResourceOwnerRepository.getByLocalToken("token-1")).thenReturn(resourceOwner());
+        when(mockResourceOwnerRepository.getByLocalToken("token-2")).thenReturn(resourceOwner());
+        when(mockResourceOwnerRepository.getByLocalToken("token-3")).thenReturn(resourceOwner());
+
+        subject.getByLocalToken("token-1");
+        subject.getByLocalToken("token-2");
+        subject.getByLocalToken("token-1");
+        subject.getByLocalToken("token-3");
+
+        assertThat(subject.size(), is(MAX_SIZE));
+
+        subject.getByLocalToken("token-1");
+        subject.getByLocalToken("token-2");
+
+        verify(mockResourceOwnerRepository, times(1)).getByLocalToken("token-1");
+        verify(mockResourceOwnerRepository, times(2)).getByLocalToken("token-2");
+    }
+
+    @Test
+    public void invalidateShouldDropSessionsOfResourceOwner() throws Exception {
+        ResourceOwner obiWan = resourceOwner();
+        ResourceOwner luke = resourceOwner();
+        when(mockResourceOwnerRepository.getByLocalToken("obi-wan-token")).thenReturn(obiWan);
+        when(mockResourceOwnerRepository.getByLocalToken("luke-token")).thenReturn(luke);
+
+        subject.getByLocalToken("obi-wan-token");
+        subject.getByLocalToken("luke-token");
+
+        subject.invalidate(obiWan.getId());
+
+        assertThat(subject.size(), is(1));
+
+        subject.getByLocalToken("obi-wan-token");
+        subject.getByLocalToken("luke-token");
+
+        verify(mockResourceOwnerRepository, times(2)).getByLocalToken("obi-wan-token");
+        verify(mockResourceOwnerRepository, times(1)).getByLocalToken("luke-token");
+    }
+
+    @Test
+    public void invalidateAllShouldDropAllSessions() throws Exception {
+        when(mockResourceOwnerRepository.getByLocalToken("hashed-token")).thenReturn(resourceOwner());
+
+        subject.getByLocalToken("hashed-token");
+        subject.invalidateAll();
+
+        assertThat(subject.size(), is(0));
+    }
+}
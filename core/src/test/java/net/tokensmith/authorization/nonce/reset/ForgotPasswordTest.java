@@ -7,6 +7,7 @@ import net.tokensmith.authorization.nonce.InsertNonce;
 import net.tokensmith.authorization.nonce.SpendNonce;
 import net.tokensmith.authorization.nonce.exception.JwtException;
 import net.tokensmith.authorization.register.exception.NonceException;
+import net.tokensmith.authorization.revocation.RevokeCredentials;
 import net.tokensmith.authorization.security.ciphers.HashTextRandomSalt;
 import net.tokensmith.authorization.security.entity.NonceClaim;
 import net.tokensmith.jwt.builder.compact.UnsecureCompactBuilder;
@@ -15,9 +16,7 @@ import net.tokensmith.pelican.Publish;
 import net.tokensmith.repository.entity.Nonce;
 import net.tokensmith.repository.entity.NonceName;
 import net.tokensmith.repository.entity.ResourceOwner;
-import net.tokensmith.repository.repo.RefreshTokenRepository;
 import net.tokensmith.repository.repo.ResourceOwnerRepository;
-import net.tokensmith.repository.repo.TokenRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -53,16 +52,14 @@ public class ForgotPasswordTest {
     @Mock
     private ResourceOwnerRepository mockResourceOwnerRepository;
     @Mock
-    private TokenRepository mockTokenRepository;
-    @Mock
-    private RefreshTokenRepository mockRefreshTokenRepository;
+    private RevokeCredentials mockRevokeCredentials;
     private ForgotPassword subject;
 
 
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        subject = new ForgotPassword(mockInsertNonce, mockPublish, mockSpendNonce, mockHashTextRandomSalt, mockResourceOwnerRepository, mockTokenRepository, mockRefreshTokenRepository);
+        subject = new ForgotPassword(mockInsertNonce, mockPublish, mockSpendNonce, mockHashTextRandomSalt, mockResourceOwnerRepository, mockRevokeCredentials);
     }
 
     @SuppressWarnings("unchecked")
@@ -170,8 +167,7 @@ public class ForgotPasswordTest {
         subject.reset(jwt, password, repeatPassword);
 
         verify(mockResourceOwnerRepository).updatePassword(nonce.getResourceOwner().getId(), hashedPassword);
-        verify(mockTokenRepository).revokeActive(nonce.getResourceOwner().getId());
-        verify(mockRefreshTokenRepository).revokeActive(nonce.getResourceOwner().getId());
+        verify(mockRevokeCredentials).forResourceOwner(nonce.getResourceOwner().getId());
 
         ArgumentCaptor<Map<String, String>> messageCaptor = captorForHashMap();
         verify(mockPublish).send(eq("message-user"), messageCaptor.capture());
@@ -207,8 +203,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -238,8 +233,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -267,8 +261,7 @@ public class ForgotPasswordTest {
 
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -298,8 +291,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -329,8 +321,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -360,8 +351,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -391,8 +381,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -422,8 +411,7 @@ public class ForgotPasswordTest {
         verify(mockSpendNonce, never()).spend(jwt, NonceName.RESET_PASSWORD);
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
@@ -451,8 +439,7 @@ public class ForgotPasswordTest {
 
         verify(mockHashTextRandomSalt, never()).run(password);
         verify(mockResourceOwnerRepository, never()).updatePassword(any(UUID.class), anyString());
-        verify(mockTokenRepository, never()).revokeActive(any(UUID.class));
-        verify(mockRefreshTokenRepository, never()).revokeActive(any(UUID.class));
+        verify(mockRevokeCredentials, never()).forResourceOwner(any(UUID.class));
         verify(mockPublish, never()).send(eq("message-user"), anyMap());
     }
 
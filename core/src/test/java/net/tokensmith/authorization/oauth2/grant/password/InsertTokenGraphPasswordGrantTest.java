@@ -39,6 +39,7 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -104,7 +105,8 @@ public class InsertTokenGraphPasswordGrantTest {
 
         when(mockMakeRefreshToken.run(token, refreshAccessToken, configuration.getRefreshTokenSecondsToExpiry())).thenReturn(refreshToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -141,23 +143,62 @@ public class InsertTokenGraphPasswordGrantTest {
         verify(mockRefreshTokenRepository, times(1)).insert(refreshToken);
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
+
+    @Test
+    public void insertTokenGraphWhenJwtShouldSignToken() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        UUID resourceOwnerId = UUID.randomUUID();
+        List<Scope> scopes = FixtureFactory.makeOpenIdScopes();
+        List<Client> audience = FixtureFactory.makeAudience(clientId);
+
+        Configuration configuration = FixtureFactory.makeConfiguration();
+        when(mockConfigurationRepository.get()).thenReturn(configuration);
+
+        String jwt = "header.claims.signature";
+        Token token = FixtureFactory.makeOpenIdToken(jwt, clientId, new ArrayList<>());
+        token.setTokenScopes(new ArrayList<>());
+        token.setCreatedAt(OffsetDateTime.now());
+
+        when(mockMakeBearerToken.isJwt()).thenReturn(true);
+        when(mockMakeBearerToken.make(clientId, configuration.getAccessTokenPasswordSecondsToExpiry())).thenReturn(token);
+        when(mockMakeBearerToken.sign(token, resourceOwnerId, scopes, audience)).thenReturn(jwt);
+
+        String refreshAccessToken = "refresh-token";
+        when(mockRandomString.run(32)).thenReturn(refreshAccessToken);
+
+        RefreshToken refreshToken = FixtureFactory.makeRefreshToken(refreshAccessToken, token);
+        when(mockMakeRefreshToken.run(token, refreshAccessToken, configuration.getRefreshTokenSecondsToExpiry())).thenReturn(refreshToken);
+
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getPlainTextAccessToken(), is(jwt));
+        assertThat(actual.getToken(), is(token));
+        assertThat(actual.getToken().getGrantType(), is(GrantType.PASSWORD));
+        assertThat(actual.getPlainTextRefreshToken().get(), is(refreshAccessToken));
+
+        verify(mockTokenRepository, times(1)).insert(token);
+        verify(mockRandomString, times(1)).run(32);
+        verify(mockMakeBearerToken, never()).run(any(UUID.class), any(String.class), any(Long.class));
+    }
     @Test
     public void handleDuplicateTokenShouldRetry() throws Exception {
         UUID clientId = UUID.randomUUID();
@@ -185,7 +226,8 @@ public class InsertTokenGraphPasswordGrantTest {
         doThrow(dre).doNothing().when(mockTokenRepository).insert(any(Token.class));
         when(mockRandomString.run(33)).thenReturn(plainTextToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -211,21 +253,22 @@ public class InsertTokenGraphPasswordGrantTest {
         verify(mockRefreshTokenRepository, times(1)).insert(refreshToken);
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
     @Test
@@ -324,7 +367,8 @@ public class InsertTokenGraphPasswordGrantTest {
         doThrow(dre).doNothing().when(mockRefreshTokenRepository).insert(any(RefreshToken.class));
         when(mockRandomString.run(33)).thenReturn(refreshAccessToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -349,21 +393,22 @@ public class InsertTokenGraphPasswordGrantTest {
         verify(mockRefreshTokenRepository, times(2)).insert(refreshToken);
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
     @Test
@@ -56,7 +56,7 @@ public class IssueTokenPasswordGrantTest {
         List<Client> audience = FixtureFactory.makeAudience(clientId);
 
         TokenGraph tokenGraph = FixtureFactory.makeTokenGraph(clientId, audience);
-        when(mockInsertTokenGraphPasswordGrant.insertTokenGraph(clientId, scopes, audience, Optional.empty())).thenReturn(tokenGraph);
+        when(mockInsertTokenGraphPasswordGrant.insertTokenGraph(clientId, resourceOwner.getId(), scopes, audience, Optional.empty())).thenReturn(tokenGraph);
 
         ArgumentCaptor<ResourceOwnerToken> resourceOwnerTokenCaptor = ArgumentCaptor.forClass(ResourceOwnerToken.class);
 
@@ -12,6 +12,11 @@ import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
 import net.tokensmith.authorization.oauth2.grant.token.exception.InvalidValueException;
 import net.tokensmith.authorization.oauth2.grant.token.exception.MissingKeyException;
 import net.tokensmith.authorization.oauth2.grant.token.exception.UnknownKeyException;
+import net.tokensmith.authorization.authenticate.ConfidentialClientCache;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import net.tokensmith.authorization.persistence.repository.ClientRepo;
+import net.tokensmith.authorization.persistence.repository.ScopeRegistry;
+import net.tokensmith.authorization.persistence.repository.ScopeRepo;
 import net.tokensmith.authorization.security.RandomString;
 import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.ConfidentialClient;
@@ -50,18 +55,27 @@ public class RequestTokenPasswordGrantTest {
     private RandomString mockRandomString;
     @Mock
     private IssueTokenPasswordGrant mockIssueTokenPasswordGrant;
+    @Mock
+    private ScopeRepo mockScopeRepo;
+    @Mock
+    private ClientRepo mockClientRepo;
+    @Mock
+    private ConfidentialClientCache mockConfidentialClientCache;
 
 
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
 
+        ScopeRegistry scopeRegistry = new ScopeRegistry(mockScopeRepo);
         subject = new RequestTokenPasswordGrant(
                 mockLoginConfidentialClient,
                 mockTokenInputPasswordGrantFactory,
                 mockLoginResourceOwner,
                 mockRandomString,
-                mockIssueTokenPasswordGrant
+                mockIssueTokenPasswordGrant,
+                scopeRegistry,
+                new ClientRegistry(mockClientRepo, mockConfidentialClientCache, scopeRegistry, 300L, 30L, 100)
         );
     }
 
@@ -252,14 +266,14 @@ public class RequestTokenPasswordGrantTest {
 
     @Test
     public void matchScopesMatchesAllShouldBeOk() throws Exception {
-        List<Scope> scopes = FixtureFactory.makeScopes();
-        scopes.add(FixtureFactory.makeScope("email"));
+        Client client = FixtureFactory.makePasswordClientWithScopes();
+        client.getScopes().add(FixtureFactory.makeScope("email"));
 
         List<String> scopeNames = new ArrayList<>();
         scopeNames.add("email");
         scopeNames.add("profile");
 
-        List<Scope> actual = subject.matchScopes(scopes, scopeNames);
+        List<Scope> actual = subject.matchScopes(client, scopeNames);
         assertThat(actual, is(notNullValue()));
         assertThat(actual.size(), is(2));
         assertThat(actual.get(0).getId(), is(notNullValue()));
@@ -271,13 +285,13 @@ public class RequestTokenPasswordGrantTest {
 
     @Test
     public void matchScopesMatchesSubsetShouldBeOk() throws Exception {
-        List<Scope> scopes = FixtureFactory.makeScopes();
-        scopes.add(FixtureFactory.makeScope("email"));
+        Client client = FixtureFactory.makePasswordClientWithScopes();
+        client.getScopes().add(FixtureFactory.makeScope("email"));
 
         List<String> scopeNames = new ArrayList<>();
         scopeNames.add("email");
 
-        List<Scope> actual = subject.matchScopes(scopes, scopeNames);
+        List<Scope> actual = subject.matchScopes(client, scopeNames);
         assertThat(actual, is(notNullValue()));
         assertThat(actual.size(), is(1));
         assertThat(actual.get(0).getId(), is(notNullValue()));
@@ -286,8 +300,8 @@ public class RequestTokenPasswordGrantTest {
 
     @Test
     public void matchScopesMissingOneShouldThrowBadRequestException() throws Exception {
-        List<Scope> scopes = FixtureFactory.makeScopes();
-        scopes.add(FixtureFactory.makeScope("email"));
+        Client client = FixtureFactory.makePasswordClientWithScopes();
+        client.getScopes().add(FixtureFactory.makeScope("email"));
 
         List<String> scopeNames = new ArrayList<>();
         scopeNames.add("email");
@@ -296,7 +310,7 @@ public class RequestTokenPasswordGrantTest {
 
         BadRequestException actual = null;
         try {
-            subject.matchScopes(scopes, scopeNames);
+            subject.matchScopes(client, scopeNames);
         } catch (BadRequestException e) {
             actual = e;
         }
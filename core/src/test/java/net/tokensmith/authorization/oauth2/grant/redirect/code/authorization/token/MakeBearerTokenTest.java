@@ -1,8 +1,17 @@
 package net.tokensmith.authorization.oauth2.grant.redirect.code.authorization.token;
 
+import helper.fixture.FixtureFactory;
 import net.tokensmith.authorization.oauth2.grant.token.MakeBearerToken;
+import net.tokensmith.authorization.oauth2.grant.token.entity.AccessTokenClaims;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenType;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.authorization.security.ciphers.HashToken;
+import net.tokensmith.jwt.config.JwtAppFactory;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.jwt.entity.jwt.JsonWebToken;
+import net.tokensmith.jwt.entity.jwt.header.Algorithm;
+import net.tokensmith.repository.entity.Client;
+import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.entity.Token;
 import org.junit.Before;
 import org.junit.Test;
@@ -10,11 +19,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 /**
@@ -24,12 +35,14 @@ public class MakeBearerTokenTest {
 
     @Mock
     private HashToken mockHashToken;
+    @Mock
+    private CachedRsaPrivateKeyRepo mockRsaPrivateKeyRepository;
     private MakeBearerToken subject;
 
     @Before
     public void setUp() throws NoSuchAlgorithmException {
         MockitoAnnotations.initMocks(this);
-        subject = new MakeBearerToken(mockHashToken);
+        subject = new MakeBearerToken(mockHashToken, mockRsaPrivateKeyRepository, false, "https://sso.tokensmith.net");
     }
 
     @Test
@@ -53,6 +66,42 @@ public class MakeBearerTokenTest {
         assertThat(actual.getAudience().size(), is(0));
     }
 
+    @Test
+    public void signShouldMakeJwt() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        UUID resourceOwnerId = UUID.randomUUID();
+        List<Scope> scopes = FixtureFactory.makeScopes();
+        scopes.addAll(FixtureFactory.makeOpenIdScopes());
+        List<Client> audience = FixtureFactory.makeAudience(clientId);
+
+        RSAKeyPair rsaKeyPair = FixtureFactory.makeRSAKeyPair();
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning()).thenReturn(rsaKeyPair);
+        when(mockHashToken.run(any(String.class))).thenReturn("hashedToken");
+
+        Token token = subject.make(clientId, 3600L);
+        String actual = subject.sign(token, resourceOwnerId, scopes, audience);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(token.getToken(), is("hashedToken"));
+
+        JsonWebToken<AccessTokenClaims> jwt = new JwtAppFactory().jwtSerde().stringToJwt(actual, AccessTokenClaims.class);
+        assertThat(jwt.getHeader().getAlgorithm(), is(Algorithm.RS256));
+        assertThat(jwt.getHeader().getKeyId(), is(rsaKeyPair.getKeyId()));
+
+        AccessTokenClaims claims = jwt.getClaims();
+        assertThat(claims.getIssuer().get(), is("https://sso.tokensmith.net"));
+        assertThat(claims.getSubject().get(), is(resourceOwnerId.toString()));
+        assertThat(claims.getAudience(), is(List.of(clientId.toString())));
+        assertThat(claims.getScope().get(), is(scopes.get(0).getName() + " openid"));
+        assertThat(claims.getExpirationTime().get(), is(token.getExpiresAt().toEpochSecond()));
+        assertThat(claims.getJwtId().get(), is(token.getId().toString()));
+    }
+
+    @Test
+    public void isJwtShouldBeFalse() {
+        assertThat(subject.isJwt(), is(false));
+    }
+
     @Test
     public void getTokenTypeShouldBeBearer() {
         assertThat(subject.getTokenType(), is(TokenType.BEARER));
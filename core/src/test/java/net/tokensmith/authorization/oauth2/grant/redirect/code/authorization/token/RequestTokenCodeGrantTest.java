@@ -294,6 +294,53 @@ public class RequestTokenCodeGrantTest {
         assertThat(actual.getError(), is("invalid_grant"));
     }
 
+    @Test
+    @Transactional
+    public void requestWhenCodeIsReplayedShouldThrowBadRequestException() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+
+        Map<String, String> request = makeRequest(
+                plainTextAuthCode,
+                authCode.getAccessRequest().getRedirectURI().get()
+        );
+
+        TokenResponse first = subject.request(
+                authCode.getAccessRequest().getClientId(),
+                FixtureFactory.PLAIN_TEXT_PASSWORD,
+                request
+        );
+        assertThat(first, is(notNullValue()));
+
+        BadRequestException actual = null;
+        try {
+            subject.request(
+                    authCode.getAccessRequest().getClientId(),
+                    FixtureFactory.PLAIN_TEXT_PASSWORD,
+                    request
+            );
+        } catch (BadRequestException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCode(), is(ErrorCode.COMPROMISED_AUTH_CODE.getCode()));
+        assertThat(actual.getError(), is("invalid_grant"));
+        assertThat(actual.getCause(), instanceOf(CompromisedCodeException.class));
+
+        // the token of the first request should be revoked.
+        Token token = tokenRepository.getByAuthCodeId(authCode.getId());
+        assertThat(token.isRevoked(), is(true));
+
+        RefreshToken refreshToken = refreshTokenRepository.getByTokenId(token.getId());
+        assertThat(refreshToken.isRevoked(), is(true));
+
+        // the authorization code should be revoked.
+        AuthCode actualAuthCode = authCodeRepository.getById(authCode.getId());
+        assertThat(actualAuthCode.isRevoked(), is(true));
+        assertThat(actualAuthCode.isRedeemed(), is(true));
+    }
+
     @Test
     @Transactional
     @Ignore
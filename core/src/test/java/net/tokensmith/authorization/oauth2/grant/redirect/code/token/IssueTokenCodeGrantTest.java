@@ -7,6 +7,9 @@ import net.tokensmith.authorization.oauth2.grant.token.entity.Extension;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenGraph;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
 import net.tokensmith.authorization.oauth2.grant.token.entity.TokenType;
+import net.tokensmith.authorization.oauth2.grant.token.exception.NotFoundException;
+import net.tokensmith.repository.entity.AccessRequest;
+import net.tokensmith.repository.entity.AuthCode;
 import net.tokensmith.repository.entity.AuthCodeToken;
 import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.ResourceOwnerToken;
@@ -26,12 +29,14 @@ import org.mockito.MockitoAnnotations;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -79,7 +84,7 @@ public class IssueTokenCodeGrantTest {
 
         List<Client> audience = FixtureFactory.makeAudience(clientId);
         TokenGraph tokenGraph = FixtureFactory.makeTokenGraph(clientId, audience);
-        when(mockInsertTokenGraph.insertTokenGraph(clientId, scopes, audience, nonce)).thenReturn(tokenGraph);
+        when(mockInsertTokenGraph.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, nonce)).thenReturn(tokenGraph);
 
         TokenResponse actual = subject.run(clientId, authCodeId, resourceOwnerId, scopes, audience, nonce);
 
@@ -123,6 +128,50 @@ public class IssueTokenCodeGrantTest {
         assertThat(actualROT.getToken(), is(tokenGraph.getToken()));
     }
 
+    @Test
+    public void runWhenRedeemedShouldIssueTokensOfAuthCode() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        UUID resourceOwnerId = UUID.randomUUID();
+
+        AccessRequest accessRequest = FixtureFactory.makeAccessRequest(resourceOwnerId, clientId);
+        accessRequest.setAccessRequestScopes(FixtureFactory.makeAccessRequestScopes());
+        AuthCode authCode = FixtureFactory.makeAuthCode(accessRequest, false, "plain-text-code");
+        List<Scope> scopes = accessRequest.getAccessRequestScopes().stream()
+                .map(i -> i.getScope()).collect(Collectors.toList());
+
+        List<Client> audience = FixtureFactory.makeAudience(clientId);
+        TokenGraph tokenGraph = FixtureFactory.makeTokenGraph(clientId, audience);
+        when(mockInsertTokenGraph.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty())).thenReturn(tokenGraph);
+
+        TokenResponse actual = subject.run(clientId, () -> authCode, audience);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getAccessToken(), is(tokenGraph.getPlainTextAccessToken()));
+
+        ArgumentCaptor<AuthCodeToken> authCodeTokenCaptor = ArgumentCaptor.forClass(AuthCodeToken.class);
+        verify(mockAuthCodeTokenRepository).insert(authCodeTokenCaptor.capture());
+        assertThat(authCodeTokenCaptor.getValue().getAuthCodeId(), is(authCode.getId()));
+        assertThat(authCodeTokenCaptor.getValue().getTokenId(), is(tokenGraph.getToken().getId()));
+    }
+
+    @Test
+    public void runWhenRedeemThrowsShouldNotIssueTokens() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        List<Client> audience = FixtureFactory.makeAudience(clientId);
+        NotFoundException notFound = new NotFoundException("Access Request was not found", "invalid_grant", ErrorCode.AUTH_CODE_NOT_FOUND.getDescription(), ErrorCode.AUTH_CODE_NOT_FOUND.getCode(), null);
+
+        NotFoundException actual = null;
+        try {
+            subject.run(clientId, () -> { throw notFound; }, audience);
+        } catch (NotFoundException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notFound));
+        verify(mockInsertTokenGraph, never()).insertTokenGraph(any(), any(), any(), any(), any());
+        verify(mockAuthCodeTokenRepository, never()).insert(any(AuthCodeToken.class));
+    }
+
     @Test
     public void runShouldThrowCompromisedCodeException() throws Exception{
         UUID clientId = UUID.randomUUID();
@@ -133,7 +182,7 @@ public class IssueTokenCodeGrantTest {
 
         List<Client> audience = FixtureFactory.makeAudience(clientId);
         TokenGraph tokenGraph = FixtureFactory.makeTokenGraph(clientId, audience);
-        when(mockInsertTokenGraph.insertTokenGraph(clientId, scopes, audience, nonce)).thenReturn(tokenGraph);
+        when(mockInsertTokenGraph.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, nonce)).thenReturn(tokenGraph);
 
         DuplicateRecordException duplicateRecordException = new DuplicateRecordException("", null);
         doThrow(duplicateRecordException).when(mockAuthCodeTokenRepository).insert(any(AuthCodeToken.class));
@@ -169,4 +218,23 @@ public class IssueTokenCodeGrantTest {
         verify(mockTokenRepository).revokeById(tokenGraph.getToken().getId());
         verify(mockRefreshTokenRepository).revokeByTokenId(tokenGraph.getToken().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void handleRedeemedAuthCodeShouldRevokeTokens() throws Exception {
+        UUID authCodeId = UUID.randomUUID();
+
+        CompromisedCodeException actual = null;
+        try {
+            subject.handleRedeemedAuthCode(authCodeId);
+        } catch (CompromisedCodeException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getError(), is("invalid_grant"));
+        assertThat(actual.getCode(), is(ErrorCode.COMPROMISED_AUTH_CODE.getCode()));
+
+        verify(mockTokenRepository).revokeByAuthCodeId(authCodeId);
+        verify(mockRefreshTokenRepository).revokeByAuthCodeId(authCodeId);
+    }
+}
@@ -0,0 +1,149 @@
+package net.tokensmith.authorization.oauth2.grant.redirect.code.token;
+
+import helper.fixture.FixtureFactory;
+import helper.fixture.persistence.LoadConfClientTokenReady;
+import net.tokensmith.authorization.constant.ErrorCode;
+import net.tokensmith.authorization.exception.BadRequestException;
+import net.tokensmith.authorization.oauth2.grant.redirect.code.token.exception.CompromisedCodeException;
+import net.tokensmith.authorization.oauth2.grant.token.entity.TokenResponse;
+import net.tokensmith.authorization.security.RandomString;
+import net.tokensmith.authorization.security.ciphers.HashToken;
+import net.tokensmith.repository.entity.AuthCode;
+import net.tokensmith.repository.entity.Client;
+import net.tokensmith.repository.entity.RefreshToken;
+import net.tokensmith.repository.entity.Token;
+import net.tokensmith.repository.repo.AuthCodeRepository;
+import net.tokensmith.repository.repo.RefreshTokenRepository;
+import net.tokensmith.repository.repo.TokenRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Redeems an auth code in two transactions that both commit, so it is not @Transactional like
+ * RequestTokenCodeGrantTest. The codes and tokens are random, the rows are left behind.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = "classpath:spring-auth-test.xml")
+public class RequestTokenCodeGrantConcurrentTest {
+
+    @Autowired
+    private LoadConfClientTokenReady loadConfClientTokenReady;
+    @Autowired
+    private RandomString randomString;
+    @Autowired
+    private HashToken hashToken;
+    @Autowired
+    private AuthCodeRepository authCodeRepository;
+    @Autowired
+    private TokenRepository tokenRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private IssueTokenCodeGrant issueTokenCodeGrant;
+    @Autowired
+    private RequestTokenCodeGrant subject;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void requestWhenReplayedBeforeCommitShouldRevokeTokens() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+        UUID clientId = authCode.getAccessRequest().getClientId();
+        String hashedCode = hashToken.run(plainTextAuthCode);
+        List<Client> audience = FixtureFactory.makeAudience(clientId);
+
+        CountDownLatch redeemed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // first redeems and does not insert its tokens or commit until second has tried to redeem.
+        Future<TokenResponse> first = executor.submit(() -> issueTokenCodeGrant.run(
+            clientId,
+            () -> {
+                AuthCode code = subject.redeemAndVerifyAuthCode(clientId, hashedCode, authCode.getAccessRequest().getRedirectURI());
+                redeemed.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return code;
+            },
+            audience
+        ));
+        assertThat(redeemed.await(10, TimeUnit.SECONDS), is(true));
+
+        Map<String, String> request = new HashMap<>();
+        request.put("grant_type", "authorization_code");
+        request.put("code", plainTextAuthCode);
+        request.put("redirect_uri", authCode.getAccessRequest().getRedirectURI().get().toString());
+        Future<TokenResponse> second = executor.submit(() -> subject.request(clientId, FixtureFactory.PLAIN_TEXT_PASSWORD, request));
+
+        // second waits on the row lock first holds, before it counts.
+        TimeoutException waiting = null;
+        try {
+            second.get(1, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            waiting = e;
+        }
+        assertThat(waiting, is(notNullValue()));
+
+        commit.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS), is(notNullValue()));
+
+        ExecutionException actual = null;
+        try {
+            second.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            actual = e;
+        }
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), instanceOf(BadRequestException.class));
+
+        BadRequestException badRequest = (BadRequestException) actual.getCause();
+        assertThat(badRequest.getCode(), is(ErrorCode.COMPROMISED_AUTH_CODE.getCode()));
+        assertThat(badRequest.getCause(), instanceOf(CompromisedCodeException.class));
+
+        // the tokens first committed were revoked by second.
+        Token token = tokenRepository.getByAuthCodeId(authCode.getId());
+        assertThat(token.isRevoked(), is(true));
+
+        RefreshToken refreshToken = refreshTokenRepository.getByTokenId(token.getId());
+        assertThat(refreshToken.isRevoked(), is(true));
+
+        AuthCode revoked = authCodeRepository.getById(authCode.getId());
+        assertThat(revoked.isRevoked(), is(true));
+    }
+}
@@ -100,7 +100,8 @@ public class InsertTokenGraphImplicitGrantTest {
         when(mockMakeBearerToken.run(clientId, plainTextToken, configuration.getAccessTokenTokenSecondsToExpiry())).thenReturn(token);
         when(mockRandomString.run(32)).thenReturn(plainTextToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -134,22 +135,23 @@ public class InsertTokenGraphImplicitGrantTest {
         verify(mockRefreshTokenRepository, never()).insert(any(RefreshToken.class));
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
 
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
     @Test
@@ -175,7 +177,8 @@ public class InsertTokenGraphImplicitGrantTest {
         doThrow(dre).doNothing().when(mockTokenRepository).insert(any(Token.class));
         when(mockRandomString.run(33)).thenReturn(plainTextToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -197,22 +200,23 @@ public class InsertTokenGraphImplicitGrantTest {
         verify(mockRefreshTokenRepository, never()).insert(any(RefreshToken.class));
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
 
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
     @Test
@@ -61,7 +61,7 @@ public class IssueTokenImplicitGrantTest {
 
         List<Client> audience = FixtureFactory.makeAudience(clientId);
         TokenGraph tokenGraph = FixtureFactory.makeImplicitTokenGraph(clientId, audience);
-        when(mockInsertTokenGraphImplicitGrant.insertTokenGraph(clientId, scopes, audience, Optional.empty())).thenReturn(tokenGraph);
+        when(mockInsertTokenGraphImplicitGrant.insertTokenGraph(clientId, resourceOwner.getId(), scopes, audience, Optional.empty())).thenReturn(tokenGraph);
 
         TokenGraph actual = subject.run(clientId, resourceOwner, scopeNames, audience, Optional.empty());
 
@@ -113,7 +113,8 @@ public class InsertTokenGraphRefreshGrantTest {
 
         when(mockMakeRefreshToken.run(token, refreshAccessToken, 1209600L)).thenReturn(refreshToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, leadToken, audience);
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, leadToken, audience);
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -160,21 +161,22 @@ public class InsertTokenGraphRefreshGrantTest {
         verify(mockRefreshTokenRepository, times(1)).insert(refreshToken);
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
 
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
     @Test
@@ -204,7 +206,8 @@ public class InsertTokenGraphRefreshGrantTest {
         doThrow(dre).doNothing().when(mockTokenRepository).insert(any(Token.class));
         when(mockRandomString.run(33)).thenReturn(plainTextToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -229,21 +232,22 @@ public class InsertTokenGraphRefreshGrantTest {
         verify(mockRefreshTokenRepository, times(1)).insert(refreshToken);
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
         assertThat(actualTokenScopes.get(0).getScope(), is(scopes.get(0)));
 
         // should insert a token_audience
-        ArgumentCaptor<TokenAudience> tokenAudienceCaptor = ArgumentCaptor.forClass(TokenAudience.class);
-        verify(mockTokenAudienceRepository, times(1)).insert(tokenAudienceCaptor.capture());
+        ArgumentCaptor<List<TokenAudience>> tokenAudienceCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenAudienceRepository, times(1)).insertAll(tokenAudienceCaptor.capture());
+        assertThat(tokenAudienceCaptor.getValue().size(), is(1));
 
-        assertThat(tokenAudienceCaptor.getValue().getId(), is(notNullValue()));
-        assertThat(tokenAudienceCaptor.getValue().getTokenId(), is(token.getId()));
-        assertThat(tokenAudienceCaptor.getValue().getClientId(), is(clientId));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getId(), is(notNullValue()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getTokenId(), is(token.getId()));
+        assertThat(tokenAudienceCaptor.getValue().get(0).getClientId(), is(clientId));
     }
 
     @Test
@@ -342,7 +346,8 @@ public class InsertTokenGraphRefreshGrantTest {
         doThrow(dre).doNothing().when(mockRefreshTokenRepository).insert(any(RefreshToken.class));
         when(mockRandomString.run(33)).thenReturn(refreshAccessToken);
 
-        TokenGraph actual = subject.insertTokenGraph(clientId, scopes, audience, Optional.empty());
+        UUID resourceOwnerId = UUID.randomUUID();
+        TokenGraph actual = subject.insertTokenGraph(clientId, resourceOwnerId, scopes, audience, Optional.empty());
 
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getPlainTextAccessToken(), is(plainTextToken));
@@ -367,10 +372,10 @@ public class InsertTokenGraphRefreshGrantTest {
         verify(mockRefreshTokenRepository, times(2)).insert(refreshToken);
 
         // should insert token scopes.
-        ArgumentCaptor<TokenScope> tokenScopeCaptor = ArgumentCaptor.forClass(TokenScope.class);
-        verify(mockTokenScopeRepository, times(1)).insert(tokenScopeCaptor.capture());
+        ArgumentCaptor<List<TokenScope>> tokenScopeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockTokenScopeRepository, times(1)).insertAll(tokenScopeCaptor.capture());
 
-        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getAllValues();
+        List<TokenScope> actualTokenScopes = tokenScopeCaptor.getValue();
 
         assertThat(actualTokenScopes.get(0).getId(), is(notNullValue()));
         assertThat(actualTokenScopes.get(0).getTokenId(), is(token.getId()));
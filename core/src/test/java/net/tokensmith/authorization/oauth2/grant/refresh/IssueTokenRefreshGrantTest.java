@@ -13,6 +13,7 @@ import net.tokensmith.repository.entity.Scope;
 import net.tokensmith.repository.entity.Token;
 import net.tokensmith.repository.entity.TokenChain;
 import net.tokensmith.repository.exceptions.DuplicateRecordException;
+import net.tokensmith.repository.repo.RefreshTokenRepository;
 import net.tokensmith.repository.repo.ResourceOwnerTokenRepository;
 import net.tokensmith.repository.repo.TokenChainRepository;
 import org.junit.Before;
@@ -31,6 +32,7 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,6 +46,8 @@ public class IssueTokenRefreshGrantTest {
     @Mock
     private InsertTokenGraphRefreshGrant mockInsertTokenGraphRefreshGrant;
     @Mock
+    private RefreshTokenRepository mockRefreshTokenRepository;
+    @Mock
     private TokenChainRepository mockTokenChainRepository;
     @Mock
     private ResourceOwnerTokenRepository mockResourceOwnerTokenRepository;
@@ -54,6 +58,7 @@ public class IssueTokenRefreshGrantTest {
 
         subject = new IssueTokenRefreshGrant(
                 mockInsertTokenGraphRefreshGrant,
+                mockRefreshTokenRepository,
                 mockTokenChainRepository,
                 mockResourceOwnerTokenRepository,
                 "https://sso.tokensmith.net"
@@ -75,7 +80,8 @@ public class IssueTokenRefreshGrantTest {
         headToken.setCreatedAt(OffsetDateTime.now().minusDays(1));
 
         TokenGraph tokenGraph = FixtureFactory.makeTokenGraph(clientId, audience);
-        when(mockInsertTokenGraphRefreshGrant.insertTokenGraph(clientId, scopes, headToken, audience)).thenReturn(tokenGraph);
+        when(mockInsertTokenGraphRefreshGrant.insertTokenGraph(clientId, resourceOwner.getId(), scopes, headToken, audience)).thenReturn(tokenGraph);
+        when(mockRefreshTokenRepository.rotate(refreshTokenId)).thenReturn(true);
 
         ArgumentCaptor<TokenChain> tokenChainCaptor = ArgumentCaptor.forClass(TokenChain.class);
         ArgumentCaptor<ResourceOwnerToken> resourceOwnerTokenCaptor = ArgumentCaptor.forClass(ResourceOwnerToken.class);
@@ -128,7 +134,8 @@ public class IssueTokenRefreshGrantTest {
         Token headToken = FixtureFactory.makeOpenIdToken(headAccessToken, clientId, new ArrayList<>());
 
         TokenGraph tokenGraph = FixtureFactory.makeTokenGraph(clientId, new ArrayList<>());
-        when(mockInsertTokenGraphRefreshGrant.insertTokenGraph(clientId, scopes, headToken, audience)).thenReturn(tokenGraph);
+        when(mockInsertTokenGraphRefreshGrant.insertTokenGraph(clientId, resourceOwner.getId(), scopes, headToken, audience)).thenReturn(tokenGraph);
+        when(mockRefreshTokenRepository.rotate(refreshTokenId)).thenReturn(true);
 
         DuplicateRecordException dre = new DuplicateRecordException("", null);
         doThrow(dre).when(mockTokenChainRepository).insert(any(TokenChain.class));
@@ -145,4 +152,34 @@ public class IssueTokenRefreshGrantTest {
         assertThat(actual.getMessage(), is("refresh token was already used"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void runWhenRefreshTokenRotatedShouldThrowCompromisedRefreshTokenException() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        List<Client> audience = FixtureFactory.makeAudience(clientId);
+        ResourceOwner resourceOwner = FixtureFactory.makeResourceOwner();
+        UUID previousTokenId = UUID.randomUUID();
+        UUID refreshTokenId = UUID.randomUUID();
+
+        List<Scope> scopes = FixtureFactory.makeOpenIdScopes();
+
+        String headAccessToken = "head-access-token";
+        Token headToken = FixtureFactory.makeOpenIdToken(headAccessToken, clientId, new ArrayList<>());
+
+        when(mockRefreshTokenRepository.rotate(refreshTokenId)).thenReturn(false);
+
+        CompromisedRefreshTokenException actual = null;
+        try {
+            subject.run(clientId, resourceOwner.getId(), previousTokenId, refreshTokenId, headToken, scopes, audience);
+        } catch (CompromisedRefreshTokenException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getMessage(), is("refresh token was already used"));
+
+        // nothing should be inserted.
+        verify(mockInsertTokenGraphRefreshGrant, never()).insertTokenGraph(clientId, resourceOwner.getId(), scopes, headToken, audience);
+        verify(mockTokenChainRepository, never()).insert(any(TokenChain.class));
+        verify(mockResourceOwnerTokenRepository, never()).insert(any(ResourceOwnerToken.class));
+    }
+}
@@ -7,17 +7,15 @@ import net.tokensmith.authorization.openId.identity.exception.KeyNotFoundExcepti
 import net.tokensmith.authorization.openId.identity.exception.ProfileNotFoundException;
 import net.tokensmith.authorization.openId.identity.exception.ResourceOwnerNotFoundException;
 import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
-import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.authorization.security.ciphers.HashToken;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
 import net.tokensmith.repository.entity.Profile;
-import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.entity.Token;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.ResourceOwnerRepository;
-import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -45,9 +43,7 @@ public class MakeCodeGrantIdentityTokenTest {
     @Mock
     private ResourceOwnerRepository mockResourceOwnerRepository;
     @Mock
-    private RsaPrivateKeyRepository mockRsaPrivateKeyRepository;
-    @Mock
-    private PrivateKeyTranslator mockPrivateKeyTranslator;
+    private CachedRsaPrivateKeyRepo mockRsaPrivateKeyRepository;
     @Mock
     private IdTokenFactory mockIdTokenFactory;
 
@@ -58,7 +54,6 @@ public class MakeCodeGrantIdentityTokenTest {
                 mockHashToken,
                 mockResourceOwnerRepository,
                 mockRsaPrivateKeyRepository,
-                mockPrivateKeyTranslator,
                 new JwtAppFactory(),
                 mockIdTokenFactory
         );
@@ -78,7 +73,6 @@ public class MakeCodeGrantIdentityTokenTest {
         Token token = FixtureFactory.makeOpenIdToken(accessToken, clientId, new ArrayList<>());
         ro.getTokens().add(token);
 
-        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
         RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
 
         List<String> scopesForIdToken = ro.getTokens().get(0).getTokenScopes().stream()
@@ -92,10 +86,8 @@ public class MakeCodeGrantIdentityTokenTest {
         when(mockResourceOwnerRepository.getByAccessTokenWithProfileAndTokens(hashedAccessToken))
                 .thenReturn(ro);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
-                .thenReturn(key);
-
-        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
+                .thenReturn(keyPair);
 
         when(mockIdTokenFactory.make(tc, scopesForIdToken, ro))
                 .thenReturn(idToken);
@@ -160,7 +152,7 @@ public class MakeCodeGrantIdentityTokenTest {
         when(mockResourceOwnerRepository.getByAccessTokenWithProfileAndTokens(hashedAccessToken))
                 .thenReturn(ro);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
                 .thenThrow(RecordNotFoundException.class);
 
         subject.make(accessToken, tc);
@@ -6,15 +6,13 @@ import net.tokensmith.authorization.openId.identity.entity.IdToken;
 import net.tokensmith.authorization.openId.identity.exception.KeyNotFoundException;
 import net.tokensmith.authorization.openId.identity.exception.ProfileNotFoundException;
 import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
-import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
 import net.tokensmith.repository.entity.Profile;
-import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.ProfileRepository;
-import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -42,9 +40,7 @@ public class MakeImplicitIdentityTokenTest {
     @Mock
     private IdTokenFactory mockIdTokenFactory;
     @Mock
-    private RsaPrivateKeyRepository mockRsaPrivateKeyRepository;
-    @Mock
-    private PrivateKeyTranslator mockPrivateKeyTranslator;
+    private CachedRsaPrivateKeyRepo mockRsaPrivateKeyRepository;
 
 
     @Before
@@ -55,7 +51,6 @@ public class MakeImplicitIdentityTokenTest {
                 mockMakeAccessTokenHash,
                 mockIdTokenFactory,
                 mockRsaPrivateKeyRepository,
-                mockPrivateKeyTranslator,
                 new JwtAppFactory()
         );
     }
@@ -74,7 +69,6 @@ public class MakeImplicitIdentityTokenTest {
         audience.add(UUID.randomUUID().toString());
         TokenClaims tc = FixtureFactory.makeTokenClaims(audience);
 
-        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
         RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
         IdToken idToken = new IdToken();
 
@@ -88,10 +82,8 @@ public class MakeImplicitIdentityTokenTest {
         when(mockIdTokenFactory.make("accessTokenHash", nonce, tc, scopesForIdToken, resourceOwner))
                 .thenReturn(idToken);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
-                .thenReturn(key);
-
-        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
+                .thenReturn(keyPair);
 
         String actual = subject.makeForAccessToken(accessToken, nonce, tc, resourceOwner, scopesForIdToken);
 
@@ -143,7 +135,7 @@ public class MakeImplicitIdentityTokenTest {
         when(mockIdTokenFactory.make("accessTokenHash", tc, scopesForIdToken, resourceOwner))
                 .thenReturn(idToken);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
                 .thenThrow(RecordNotFoundException.class);
 
         subject.makeForAccessToken(accessToken, nonce, tc, resourceOwner, scopesForIdToken);
@@ -162,7 +154,6 @@ public class MakeImplicitIdentityTokenTest {
         audience.add(UUID.randomUUID().toString());
         TokenClaims tc = FixtureFactory.makeTokenClaims(audience);
 
-        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
         RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
         IdToken idToken = new IdToken();
 
@@ -172,10 +163,8 @@ public class MakeImplicitIdentityTokenTest {
         when(mockIdTokenFactory.make(nonce, tc, scopesForIdToken, resourceOwner))
                 .thenReturn(idToken);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
-                .thenReturn(key);
-
-        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
+                .thenReturn(keyPair);
 
 
         String actual = subject.makeIdentityOnly(nonce, tc, resourceOwner, scopesForIdToken);
@@ -223,7 +212,7 @@ public class MakeImplicitIdentityTokenTest {
         when(mockIdTokenFactory.make(nonce, tc, scopesForIdToken, resourceOwner))
                 .thenReturn(idToken);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
                 .thenThrow(RecordNotFoundException.class);
 
         subject.makeIdentityOnly(nonce, tc, resourceOwner, scopesForIdToken);
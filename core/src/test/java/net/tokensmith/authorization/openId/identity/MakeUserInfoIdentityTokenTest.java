@@ -6,17 +6,15 @@ import net.tokensmith.authorization.openId.identity.entity.IdToken;
 import net.tokensmith.authorization.openId.identity.exception.KeyNotFoundException;
 import net.tokensmith.authorization.openId.identity.exception.ResourceOwnerNotFoundException;
 import net.tokensmith.authorization.openId.identity.factory.IdTokenFactory;
-import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
 import net.tokensmith.authorization.security.ciphers.HashToken;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
 import net.tokensmith.repository.entity.Profile;
-import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.entity.Token;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.ResourceOwnerRepository;
-import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -48,9 +46,7 @@ public class MakeUserInfoIdentityTokenTest {
     @Mock
     private ResourceOwnerRepository mockResourceOwnerRepository;
     @Mock
-    private RsaPrivateKeyRepository mockRsaPrivateKeyRepository;
-    @Mock
-    private PrivateKeyTranslator mockPrivateKeyTranslator;
+    private CachedRsaPrivateKeyRepo mockRsaPrivateKeyRepository;
     @Mock
     private IdTokenFactory mockIdTokenFactory;
 
@@ -61,7 +57,6 @@ public class MakeUserInfoIdentityTokenTest {
                 mockHashToken,
                 mockResourceOwnerRepository,
                 mockRsaPrivateKeyRepository,
-                mockPrivateKeyTranslator,
                 new JwtAppFactory(),
                 mockIdTokenFactory,
                 FixtureFactory.makeSecureRedirectUri().toString()
@@ -82,7 +77,6 @@ public class MakeUserInfoIdentityTokenTest {
         token.setCreatedAt(OffsetDateTime.now());
         ro.getTokens().add(token);
 
-        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
         RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
 
         List<String> scopesForIdToken = ro.getTokens().get(0).getTokenScopes().stream()
@@ -96,10 +90,8 @@ public class MakeUserInfoIdentityTokenTest {
         when(mockResourceOwnerRepository.getByAccessTokenWithProfileAndTokens(hashedAccessToken))
                 .thenReturn(ro);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
-                .thenReturn(key);
-
-        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
+                .thenReturn(keyPair);
 
         ArgumentCaptor<TokenClaims> tcArgumentCaptor = ArgumentCaptor.forClass(TokenClaims.class);
         when(mockIdTokenFactory.make(tcArgumentCaptor.capture(), eq(scopesForIdToken), eq(ro)))
@@ -137,7 +129,6 @@ public class MakeUserInfoIdentityTokenTest {
 
         ro.getTokens().add(token);
 
-        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
         RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
 
         List<String> scopesForIdToken = ro.getTokens().get(0).getTokenScopes().stream()
@@ -151,10 +142,8 @@ public class MakeUserInfoIdentityTokenTest {
         when(mockResourceOwnerRepository.getByAccessTokenWithProfileAndTokens(hashedAccessToken))
                 .thenReturn(ro);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
-                .thenReturn(key);
-
-        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
+                .thenReturn(keyPair);
 
         ArgumentCaptor<TokenClaims> tcArgumentCaptor = ArgumentCaptor.forClass(TokenClaims.class);
         when(mockIdTokenFactory.make(tcArgumentCaptor.capture(), eq(scopesForIdToken), eq(ro)))
@@ -207,7 +196,7 @@ public class MakeUserInfoIdentityTokenTest {
         when(mockResourceOwnerRepository.getByAccessTokenWithProfileAndTokens(hashedAccessToken))
                 .thenReturn(ro);
 
-        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveForSigning())
+        when(mockRsaPrivateKeyRepository.getMostRecentAndActiveKeyPairForSigning())
                 .thenThrow(RecordNotFoundException.class);
 
         subject.make(accessToken);
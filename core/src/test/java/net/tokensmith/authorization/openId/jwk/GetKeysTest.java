@@ -5,7 +5,7 @@ import net.tokensmith.authorization.exception.NotFoundException;
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.authorization.openId.jwk.translator.RSAPublicKeyTranslator;
 import net.tokensmith.repository.entity.KeyUse;
-import net.tokensmith.repository.entity.RSAPrivateKey;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.junit.Before;
@@ -44,10 +44,10 @@ public class GetKeysTest {
     public void getPublicKeyByIdShouldBeOk() throws Exception {
         UUID id = UUID.randomUUID();
 
-        RSAPrivateKey rsaPrivateKey = FixtureFactory.makeRSAPrivateKey();
-        when(mockRsaPrivateKeyRepository.getByIdActiveSign(id)).thenReturn(rsaPrivateKey);
+        RSAPublicKeyBytes rsaPublicKeyBytes = FixtureFactory.makeRSAPublicKeyBytes();
+        when(mockRsaPrivateKeyRepository.getPublicKeyByIdActiveSign(id)).thenReturn(rsaPublicKeyBytes);
         RSAPublicKey rsaPublicKey = new RSAPublicKey(UUID.randomUUID(), KeyUse.SIGNATURE, new BigInteger("1"), new BigInteger("1"));
-        when(mockRsaPublicKeyTranslator.to(rsaPrivateKey)).thenReturn(rsaPublicKey);
+        when(mockRsaPublicKeyTranslator.to(rsaPublicKeyBytes)).thenReturn(rsaPublicKey);
 
         RSAPublicKey actual = subject.getPublicKeyById(id);
 
@@ -60,21 +60,21 @@ public class GetKeysTest {
         UUID id = UUID.randomUUID();
 
         RecordNotFoundException rnfe = new RecordNotFoundException();
-        when(mockRsaPrivateKeyRepository.getByIdActiveSign(id)).thenThrow(rnfe);
+        when(mockRsaPrivateKeyRepository.getPublicKeyByIdActiveSign(id)).thenThrow(rnfe);
 
         subject.getPublicKeyById(id);
     }
 
     @Test
     public void getPublicKeysPage1ShouldBeOk() {
-        List<RSAPrivateKey> rsaPrivateKeys = new ArrayList<>();
+        List<RSAPublicKeyBytes> rsaPublicKeysBytes = new ArrayList<>();
         for(int i = 0; i < 20; i++) {
-            rsaPrivateKeys.add(FixtureFactory.makeRSAPrivateKey());
+            rsaPublicKeysBytes.add(FixtureFactory.makeRSAPublicKeyBytes());
         }
         RSAPublicKey rsaPublicKey = new RSAPublicKey(UUID.randomUUID(), KeyUse.SIGNATURE, new BigInteger("1"), new BigInteger("1"));
 
-        when(mockRsaPrivateKeyRepository.getWhereActiveAndUseIsSign(20, 0)).thenReturn(rsaPrivateKeys);
-        when(mockRsaPublicKeyTranslator.to(any(RSAPrivateKey.class))).thenReturn(rsaPublicKey);
+        when(mockRsaPrivateKeyRepository.getPublicKeysWhereActiveAndUseIsSign(20, 0)).thenReturn(rsaPublicKeysBytes);
+        when(mockRsaPublicKeyTranslator.to(any(RSAPublicKeyBytes.class))).thenReturn(rsaPublicKey);
 
         List<RSAPublicKey> actual = subject.getPublicKeys(1);
         assertThat(actual, is(notNullValue()));
@@ -3,9 +3,12 @@ package net.tokensmith.authorization.openId.jwk.translator;
 import helper.fixture.FixtureFactory;
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.repository.entity.RSAPrivateKey;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigInteger;
+
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
@@ -32,4 +35,15 @@ public class RSAPublicKeyTranslatorTest {
         assertThat(actual.getE(), is(rsaPrivateKey.getPublicExponent()));
     }
 
+    @Test
+    public void toWhenBytesShouldReturnPublicKey() throws Exception {
+        RSAPublicKeyBytes rsaPublicKeyBytes = FixtureFactory.makeRSAPublicKeyBytes();
+
+        RSAPublicKey actual = subject.to(rsaPublicKeyBytes);
+
+        assertThat(actual.getKeyId(), is(rsaPublicKeyBytes.getId()));
+        assertThat(actual.getUse(), is(rsaPublicKeyBytes.getUse()));
+        assertThat(actual.getN(), is(new BigInteger("1")));
+        assertThat(actual.getE(), is(new BigInteger("2")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package net.tokensmith.authorization.persistence.datasource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+
+public class PooledDataSourceTest {
+    private PooledDataSource subject;
+
+    @Before
+    public void setUp() {
+        subject = new PooledDataSource();
+        subject.setDriverClassName("org.postgresql.Driver");
+        // nothing listens on port 1.
+        subject.setUrl("jdbc:postgresql://127.0.0.1:1/auth");
+        subject.setUsername("postgres");
+        subject.setPassword("");
+        subject.setMaxWaitMillis(100L);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        subject.close();
+    }
+
+    @Test
+    public void metricsWhenPoolNotStartedShouldBeZero() {
+        assertThat(subject.getNumActive(), is(0));
+        assertThat(subject.getNumIdle(), is(0));
+        assertThat(subject.getNumWaiters(), is(0));
+        assertThat(subject.getMeanBorrowWaitTimeMillis(), is(0L));
+        assertThat(subject.getMaxBorrowWaitTimeMillis(), is(0L));
+        assertThat(subject.getBorrowedCount(), is(0L));
+        assertThat(subject.getCreatedCount(), is(0L));
+        assertThat(subject.getBorrowFailures(), is(0L));
+    }
+
+    @Test
+    public void getConnectionWhenItFailsShouldCount() {
+        SQLException actual = null;
+        try {
+            subject.getConnection();
+        } catch (SQLException e) {
+            actual = e;
+        }
+
+        assertThat(actual != null, is(true));
+        assertThat(subject.getBorrowFailures(), is(1L));
+    }
+}
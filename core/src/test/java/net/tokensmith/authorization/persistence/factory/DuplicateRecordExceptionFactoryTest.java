@@ -89,6 +89,25 @@ public class DuplicateRecordExceptionFactoryTest {
         assertThat(actual.getMessage(), is("Could not insert resource_owner record. The key, email, would have caused a duplicate record."));
     }
 
+    @Test
+    public void makeWhenPartitionedShouldHaveFirstKey() {
+        String msg =
+            "### Error updating database.  Cause: org.postgresql.util.PSQLException: ERROR: duplicate key value violates unique constraint \"refresh_token_p202611_active_token_created_at_key\"\n" +
+            "Detail: Key (active_token, created_at)=(abc, 2026-11-02 10:00:00+00) already exists.\n" +
+            "### The error may involve defaultParameterMap\n" +
+            "### The error occurred while setting parameters\n" +
+            "### SQL: insert into refresh_token (id, token_id, active_token, expires_at)         values (             ?,             ?,             ?,             ?         )\n" +
+            "### Cause: org.postgresql.util.PSQLException: ERROR: duplicate key value violates unique constraint \"refresh_token_p202611_active_token_created_at_key\"\n" +
+            "Detail: Key (active_token, created_at)=(abc, 2026-11-02 10:00:00+00) already exists.\n";
+
+        DuplicateKeyException dke = new DuplicateKeyException(msg);
+
+        DuplicateRecordException actual = subject.make(dke, "refresh_token");
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getKey().isPresent(), is(true));
+        assertThat(actual.getKey().get(), is("active_token"));
+    }
+
     @Test
     public void makeShouldNotHaveKeyPresent() {
         String msg = "foo";
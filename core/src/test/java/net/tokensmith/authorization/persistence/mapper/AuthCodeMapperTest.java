@@ -216,6 +216,94 @@ public class AuthCodeMapperTest {
         assertThat(actual.getToken().getCreatedAt(), is(notNullValue()));
     }
 
+    @Test
+    public void redeemShouldBeOk() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode expected = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+
+        AuthCode actual = subject.redeem(expected.getAccessRequest().getClientId(), expected.getCode());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getId(), is(expected.getId()));
+        assertThat(actual.isRevoked(), is(false));
+        assertThat(actual.isRedeemed(), is(true));
+
+        // access request.
+        AccessRequest ar = actual.getAccessRequest();
+        assertThat(ar, is(notNullValue()));
+        assertThat(ar.getId(), is(expected.getAccessRequest().getId()));
+        assertThat(ar.getResourceOwnerId(), is(expected.getAccessRequest().getResourceOwnerId()));
+        assertThat(ar.getRedirectURI().isPresent(), is(true));
+        assertThat(ar.getRedirectURI().get().toString(), is(FixtureFactory.SECURE_REDIRECT_URI));
+
+        // scopes
+        assertThat(ar.getAccessRequestScopes(), is(notNullValue()));
+        assertThat(ar.getAccessRequestScopes().size(), is(1));
+        assertThat(ar.getAccessRequestScopes().get(0).getScope(), is(notNullValue()));
+        assertThat(ar.getAccessRequestScopes().get(0).getScope().getName(), is("profile"));
+
+        AuthCode redeemed = subject.getById(expected.getId());
+        assertThat(redeemed.isRedeemed(), is(true));
+    }
+
+    @Test
+    public void redeemWhenRedeemedShouldBeNull() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode expected = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+
+        subject.redeem(expected.getAccessRequest().getClientId(), expected.getCode());
+        AuthCode actual = subject.redeem(expected.getAccessRequest().getClientId(), expected.getCode());
+
+        assertThat(actual, is(nullValue()));
+    }
+
+    @Test
+    public void redeemWhenCodeIsRevokedShouldBeNull() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode expected = loadConfClientTokenReady.run(true, true, plainTextAuthCode);
+
+        AuthCode actual = subject.redeem(expected.getAccessRequest().getClientId(), expected.getCode());
+
+        assertThat(actual, is(nullValue()));
+        assertThat(subject.getById(expected.getId()).isRedeemed(), is(false));
+    }
+
+    @Test
+    public void redeemWhenWrongClientShouldBeNull() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode expected = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+
+        AuthCode actual = subject.redeem(UUID.randomUUID(), expected.getCode());
+
+        assertThat(actual, is(nullValue()));
+        assertThat(subject.getById(expected.getId()).isRedeemed(), is(false));
+    }
+
+    @Test
+    public void revokeRedeemedShouldRevoke() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode expected = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+        subject.redeem(expected.getAccessRequest().getClientId(), expected.getCode());
+
+        AuthCode actual = subject.revokeRedeemed(expected.getAccessRequest().getClientId(), expected.getCode());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getId(), is(expected.getId()));
+        assertThat(actual.isRevoked(), is(true));
+        assertThat(actual.isRedeemed(), is(true));
+    }
+
+    @Test
+    public void revokeRedeemedWhenNotRedeemedShouldBeNull() throws Exception {
+        String plainTextAuthCode = randomString.run();
+        AuthCode expected = loadConfClientTokenReady.run(true, false, plainTextAuthCode);
+
+        AuthCode actual = subject.revokeRedeemed(expected.getAccessRequest().getClientId(), expected.getCode());
+
+        assertThat(actual, is(nullValue()));
+        assertThat(subject.getById(expected.getId()).isRevoked(), is(false));
+    }
+
     @Test
     public void revokeByIdShouldRevoke() throws Exception{
         String plainTextAuthCode = randomString.run();
@@ -42,11 +42,21 @@ public class ConfigurationMapperTest {
         assertThat(actual.getAccessTokenTokenSecondsToExpiry(), is(3600L));
         assertThat(actual.getAuthorizationCodeSecondsToExpiry(), is(120L));
         assertThat(actual.getRefreshTokenSecondsToExpiry(), is(1209600L));
+        assertThat(actual.getVersion(), is(notNullValue()));
 
         assertThat(actual.getCreatedAt(), is(notNullValue()));
         assertThat(actual.getUpdatedAt(), is(notNullValue()));
     }
 
+    @Test
+    public void getVersionShouldBeOk() {
+        Configuration configuration = subject.get();
+
+        Integer actual = subject.getVersion();
+
+        assertThat(actual, is(configuration.getVersion()));
+    }
+
     @Test
     @Ignore
     public void updateAccessTokenSizeShouldBeOk() {
@@ -59,6 +69,7 @@ public class ConfigurationMapperTest {
         assertThat(actual.getAuthorizationCodeSize(), is(original.getAuthorizationCodeSize()));
         assertThat(actual.getRefreshTokenSize(), is(original.getRefreshTokenSize()));
         assertThat(actual.getUpdatedAt().compareTo(original.getUpdatedAt()), is(1));
+        assertThat(actual.getVersion(), is(original.getVersion() + 1));
     }
 
     @Test
@@ -73,6 +84,7 @@ public class ConfigurationMapperTest {
         assertThat(actual.getAccessTokenSize(), is(original.getAccessTokenSize()));
         assertThat(actual.getRefreshTokenSize(), is(original.getRefreshTokenSize()));
         assertThat(actual.getUpdatedAt().compareTo(original.getUpdatedAt()), is(1));
+        assertThat(actual.getVersion(), is(original.getVersion() + 1));
     }
 
     @Test
@@ -87,5 +99,6 @@ public class ConfigurationMapperTest {
         assertThat(actual.getAccessTokenSize(), is(original.getAccessTokenSize()));
         assertThat(actual.getAuthorizationCodeSize(), is(original.getAuthorizationCodeSize()));
         assertThat(actual.getUpdatedAt().compareTo(original.getUpdatedAt()), is(1));
+        assertThat(actual.getVersion(), is(original.getVersion() + 1));
     }
 }
\ No newline at end of file
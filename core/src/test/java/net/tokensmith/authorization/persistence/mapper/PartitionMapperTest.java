@@ -0,0 +1,155 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import helper.fixture.FixtureFactory;
+import helper.fixture.TestAppConfig;
+import helper.fixture.persistence.LoadConfClientTokenReady;
+import net.tokensmith.authorization.security.RandomString;
+import net.tokensmith.repository.entity.AuthCode;
+import net.tokensmith.repository.entity.AuthCodeToken;
+import net.tokensmith.repository.entity.Token;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes= TestAppConfig.class, loader= AnnotationConfigContextLoader.class)
+@Transactional
+public class PartitionMapperTest {
+    @Autowired
+    private LoadConfClientTokenReady loadConfClientTokenReady;
+    @Autowired
+    private RandomString randomString;
+    @Autowired
+    private TokenMapper tokenMapper;
+    @Autowired
+    private AuthCodeTokenMapper authCodeTokenMapper;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PartitionMapper subject;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    public void getPartitionsShouldHaveLegacyAndDefault() {
+        List<String> actual = subject.getPartitions("token");
+
+        assertThat(actual.contains("token_legacy"), is(true));
+        assertThat(actual.contains("token_default"), is(true));
+    }
+
+    public void createPartition(String table, String partition, String from, String to) {
+        subject.createTable(table, partition);
+        subject.moveRows(table + "_default", partition, from, to);
+        subject.attachPartition(table, partition, from, to);
+    }
+
+    @Test
+    public void createPartitionThenDropShouldBeOk() {
+        // far ahead so it is not a month the migration or the maintenance made.
+        createPartition("token_audience", "token_audience_p210001", "2100-01-01 00:00:00+00", "2100-02-01 00:00:00+00");
+
+        List<String> actual = subject.getPartitions("token_audience");
+        assertThat(actual.contains("token_audience_p210001"), is(true));
+
+        subject.detachPartition("token_audience", "token_audience_p210001");
+        subject.dropTable("token_audience_p210001");
+
+        actual = subject.getPartitions("token_audience");
+        assertThat(actual.contains("token_audience_p210001"), is(false));
+    }
+
+    @Test
+    public void createPartitionWhenMonthHasNoPartitionShouldMoveRowsFromDefault() throws Exception {
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+        Token token = FixtureFactory.makeOAuthToken(randomString.run(), authCode.getAccessRequest().getClientId(), new ArrayList<>());
+        tokenMapper.insert(token);
+
+        // 2100-01 has no partition so the row goes to the default partition.
+        jdbcTemplate.update("update token set created_at = '2100-01-15 00:00:00+00' where id = ?", token.getId());
+        List<String> months = subject.getDefaultMonths("token_default");
+        assertThat(months.contains("2100-01-01 00:00:00+00"), is(true));
+
+        subject.createTable("token", "token_p210001");
+        Integer actual = subject.moveRows("token_default", "token_p210001", "2100-01-01 00:00:00+00", "2100-02-01 00:00:00+00");
+        subject.attachPartition("token", "token_p210001", "2100-01-01 00:00:00+00", "2100-02-01 00:00:00+00");
+
+        assertThat(actual, is(1));
+        assertThat(subject.getPartitions("token").contains("token_p210001"), is(true));
+        assertThat(subject.getDefaultMonths("token_default").contains("2100-01-01 00:00:00+00"), is(false));
+        Integer inPartition = jdbcTemplate.queryForObject("select count(*) from token_p210001 where id = ?", Integer.class, token.getId());
+        assertThat(inPartition, is(1));
+    }
+
+    @Test
+    public void getUpperBoundShouldBeUtc() {
+        createPartition("token_audience", "token_audience_p210001", "2100-01-01 00:00:00+00", "2100-02-01 00:00:00+00");
+
+        String actual = subject.getUpperBound("token_audience_p210001");
+
+        assertThat(actual, is("2100-02-01 00:00:00+00"));
+    }
+
+    @Test
+    public void getUpperBoundWhenDefaultShouldBeNull() {
+        String actual = subject.getUpperBound("token_default");
+
+        assertThat(actual, is(nullValue()));
+    }
+
+    @Test
+    public void deleteTokenReferencesShouldDeleteAuthCodeToken() throws Exception {
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+        Token token = FixtureFactory.makeOAuthToken(randomString.run(), authCode.getAccessRequest().getClientId(), new ArrayList<>());
+        tokenMapper.insert(token);
+
+        AuthCodeToken authCodeToken = new AuthCodeToken();
+        authCodeToken.setId(UUID.randomUUID());
+        authCodeToken.setAuthCodeId(authCode.getId());
+        authCodeToken.setTokenId(token.getId());
+        authCodeTokenMapper.insert(authCodeToken);
+
+        // the token is the only row of its partition.
+        jdbcTemplate.update("update token set created_at = '2100-01-15 00:00:00+00' where id = ?", token.getId());
+        createPartition("token", "token_p210001", "2100-01-01 00:00:00+00", "2100-02-01 00:00:00+00");
+
+        UUID actual = subject.deleteTokenReferences("token_p210001", null, 10);
+
+        assertThat(actual, is(token.getId()));
+        assertThat(authCodeTokenMapper.getByTokenId(token.getId()), is(nullValue()));
+
+        actual = subject.deleteTokenReferences("token_p210001", token.getId(), 10);
+
+        assertThat(actual, is(nullValue()));
+    }
+
+    @Test
+    public void deleteRefreshTokenReferencesWhenEmptyShouldBeNull() {
+        createPartition("refresh_token", "refresh_token_p210001", "2100-01-01 00:00:00+00", "2100-02-01 00:00:00+00");
+
+        UUID actual = subject.deleteRefreshTokenReferences("refresh_token_p210001", null, 10);
+
+        assertThat(actual, is(nullValue()));
+    }
+}
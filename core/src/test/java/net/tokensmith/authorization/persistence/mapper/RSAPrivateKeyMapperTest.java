@@ -138,4 +138,73 @@ public class RSAPrivateKeyMapperTest {
 
         assertThat(actual, is(nullValue()));
     }
+
+    @Test
+    public void getMostRecentAndActiveForSigningWhenNewerKeyIsNotSigningShouldFindPrevious() {
+        RSAPrivateKeyBytes signing = FixtureFactory.makeRSAPrivateKeyBytes();
+        subject.insert(signing);
+        signing = subject.getById(signing.getId());
+
+        // published now, signs in an hour.
+        RSAPrivateKeyBytes pending = FixtureFactory.makeRSAPrivateKeyBytes();
+        pending.setCreatedAt(signing.getCreatedAt().plusSeconds(1));
+        pending.setUpdatedAt(signing.getUpdatedAt().plusSeconds(1));
+        pending.setSignAfter(signing.getCreatedAt().plusHours(1));
+        subject.insertWithDateTimeValues(pending);
+
+        RSAPrivateKeyBytes actual = subject.getMostRecentAndActiveForSigning();
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getId(), is(signing.getId()));
+
+        RSAPrivateKeyBytes mostRecent = subject.getMostRecentAndActive();
+        assertThat(mostRecent.getId(), is(pending.getId()));
+
+        RSAPrivateKeyBytes published = subject.getByIdActiveSign(pending.getId());
+        assertThat(published, is(notNullValue()));
+        assertThat(published.getSignAfter(), is(notNullValue()));
+    }
+
+    @Test
+    public void tryLockForRotationShouldLock() {
+        Boolean actual = subject.tryLockForRotation();
+
+        assertThat(actual, is(true));
+    }
+
+    @Test
+    public void retireWhereSupersededBeforeShouldKeepMostRecent() {
+        RSAPrivateKeyBytes mostRecent = FixtureFactory.makeRSAPrivateKeyBytes();
+        subject.insert(mostRecent);
+        mostRecent = subject.getById(mostRecent.getId());
+
+        RSAPrivateKeyBytes old = FixtureFactory.makeRSAPrivateKeyBytes();
+        old.setCreatedAt(mostRecent.getCreatedAt().minusDays(2));
+        old.setUpdatedAt(mostRecent.getUpdatedAt().minusDays(2));
+        subject.insertWithDateTimeValues(old);
+
+        Integer actual = subject.retireWhereSupersededBefore(mostRecent.getCreatedAt().plusDays(1));
+
+        assertThat(actual >= 1, is(true));
+        assertThat(subject.getById(old.getId()).isActive(), is(false));
+        assertThat(subject.getById(mostRecent.getId()).isActive(), is(true));
+    }
+
+    @Test
+    public void retireWhereSupersededBeforeWhenNewerKeyIsNotSigningShouldKeepPrevious() {
+        RSAPrivateKeyBytes signing = FixtureFactory.makeRSAPrivateKeyBytes();
+        subject.insert(signing);
+        signing = subject.getById(signing.getId());
+
+        RSAPrivateKeyBytes pending = FixtureFactory.makeRSAPrivateKeyBytes();
+        pending.setCreatedAt(signing.getCreatedAt().plusSeconds(1));
+        pending.setUpdatedAt(signing.getUpdatedAt().plusSeconds(1));
+        pending.setSignAfter(signing.getCreatedAt().plusHours(1));
+        subject.insertWithDateTimeValues(pending);
+
+        subject.retireWhereSupersededBefore(signing.getCreatedAt().plusMinutes(30));
+
+        assertThat(subject.getById(signing.getId()).isActive(), is(true));
+        assertThat(subject.getById(pending.getId()).isActive(), is(true));
+    }
 }
\ No newline at end of file
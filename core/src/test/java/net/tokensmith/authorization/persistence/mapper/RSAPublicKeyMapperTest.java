@@ -0,0 +1,94 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import helper.fixture.FixtureFactory;
+import helper.fixture.TestAppConfig;
+import net.tokensmith.repository.entity.KeyUse;
+import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes= TestAppConfig.class, loader= AnnotationConfigContextLoader.class)
+@Transactional
+public class RSAPublicKeyMapperTest {
+
+    @Autowired
+    private RSAPrivateKeyMapper rsaPrivateKeyMapper;
+
+    @Autowired
+    private RSAPublicKeyMapper subject;
+
+    public RSAPublicKeyBytes insert() {
+        RSAPrivateKeyBytes rsaPrivateKey = FixtureFactory.makeRSAPrivateKeyBytes();
+        rsaPrivateKeyMapper.insert(rsaPrivateKey);
+
+        RSAPublicKeyBytes rsaPublicKey = FixtureFactory.makeRSAPublicKeyBytes();
+        rsaPublicKey.setId(rsaPrivateKey.getId());
+        subject.insert(rsaPublicKey);
+        return rsaPublicKey;
+    }
+
+    @Test
+    public void getByIdActiveSignShouldFindRecord() {
+        RSAPublicKeyBytes rsaPublicKey = insert();
+
+        RSAPublicKeyBytes actual = subject.getByIdActiveSign(rsaPublicKey.getId());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getId(), is(rsaPublicKey.getId()));
+        assertThat(actual.getUse(), is(KeyUse.SIGNATURE));
+        assertThat(new BigInteger(actual.getModulus()), is(new BigInteger("1")));
+        assertThat(new BigInteger(actual.getPublicExponent()), is(new BigInteger("2")));
+        assertThat(actual.isActive(), is(true));
+        assertThat(actual.getCreatedAt(), is(notNullValue()));
+        assertThat(actual.getUpdatedAt(), is(notNullValue()));
+    }
+
+    @Test
+    public void insertWhenInsertedShouldDoNothing() {
+        RSAPublicKeyBytes rsaPublicKey = insert();
+
+        subject.insert(rsaPublicKey);
+
+        RSAPublicKeyBytes actual = subject.getByIdActiveSign(rsaPublicKey.getId());
+        assertThat(actual, is(notNullValue()));
+    }
+
+    @Test
+    public void getByIdActiveSignWhenNoPublicPartShouldHaveNullModulus() {
+        RSAPrivateKeyBytes rsaPrivateKey = FixtureFactory.makeRSAPrivateKeyBytes();
+        rsaPrivateKeyMapper.insert(rsaPrivateKey);
+
+        RSAPublicKeyBytes actual = subject.getByIdActiveSign(rsaPrivateKey.getId());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getId(), is(rsaPrivateKey.getId()));
+        assertThat(actual.getModulus(), is(nullValue()));
+        assertThat(actual.getPublicExponent(), is(nullValue()));
+    }
+
+    @Test
+    public void getWhereActiveAndUseIsSignShouldFindRecords() {
+        insert();
+
+        List<RSAPublicKeyBytes> actual = subject.getWhereActiveAndUseIsSign(10, 0);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.size() > 0, is(true));
+    }
+}
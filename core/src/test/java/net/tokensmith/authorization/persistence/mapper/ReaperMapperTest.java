@@ -0,0 +1,113 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import helper.fixture.TestAppConfig;
+import helper.fixture.persistence.LoadConfClientTokenReady;
+import net.tokensmith.authorization.security.RandomString;
+import net.tokensmith.repository.entity.AuthCode;
+import net.tokensmith.repository.entity.LocalToken;
+import net.tokensmith.repository.entity.Nonce;
+import net.tokensmith.repository.entity.NonceType;
+import net.tokensmith.repository.entity.ResourceOwner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes= TestAppConfig.class, loader= AnnotationConfigContextLoader.class)
+@Transactional
+public class ReaperMapperTest {
+    private static Integer LIMIT = 1000;
+
+    @Autowired
+    private LoadConfClientTokenReady loadConfClientTokenReady;
+    @Autowired
+    private RandomString randomString;
+    @Autowired
+    private AuthCodeMapper authCodeMapper;
+    @Autowired
+    private LocalTokenMapper localTokenMapper;
+    @Autowired
+    private NonceTypeMapper nonceTypeMapper;
+    @Autowired
+    private NonceMapper nonceMapper;
+
+    @Autowired
+    private ReaperMapper subject;
+
+    @Test
+    public void deleteAuthCodesShouldDeleteExpiredAuthCode() throws Exception {
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+
+        // the auth code expires in minutes, so reap the ones that expire before tomorrow.
+        Integer actual = subject.deleteAuthCodes(OffsetDateTime.now().plusDays(1), LIMIT);
+
+        assertThat(actual > 0, is(true));
+        assertThat(authCodeMapper.getById(authCode.getId()), is(nullValue()));
+    }
+
+    @Test
+    public void deleteAuthCodesWhenNotExpiredShouldKeepAuthCode() throws Exception {
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+
+        subject.deleteAuthCodes(OffsetDateTime.now().minusDays(1), LIMIT);
+
+        assertThat(authCodeMapper.getById(authCode.getId()), is(notNullValue()));
+    }
+
+    @Test
+    public void deleteLocalTokensShouldDeleteExpiredLocalToken() throws Exception {
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+
+        LocalToken localToken = new LocalToken.Builder()
+                .id(UUID.randomUUID())
+                .token(randomString.run())
+                .revoked(false)
+                .resourceOwnerId(authCode.getAccessRequest().getResourceOwnerId())
+                .expiresAt(OffsetDateTime.now().minusDays(10))
+                .createdAt(OffsetDateTime.now().minusDays(20))
+                .build();
+        localTokenMapper.insert(localToken);
+
+        Integer actual = subject.deleteLocalTokens(OffsetDateTime.now().minusDays(1), LIMIT);
+
+        assertThat(actual > 0, is(true));
+        assertThat(localTokenMapper.getById(localToken.getId()), is(nullValue()));
+    }
+
+    @Test
+    public void deleteNoncesShouldDeleteExpiredNonce() throws Exception {
+        AuthCode authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+        ResourceOwner ro = new ResourceOwner();
+        ro.setId(authCode.getAccessRequest().getResourceOwnerId());
+
+        NonceType nonceType = new NonceType(UUID.randomUUID(), "reaper-test", 120, OffsetDateTime.now());
+        nonceTypeMapper.insert(nonceType);
+
+        Nonce nonce = new Nonce();
+        nonce.setId(UUID.randomUUID());
+        nonce.setNonceType(nonceType);
+        nonce.setResourceOwner(ro);
+        nonce.setCreatedAt(OffsetDateTime.now().minusDays(20));
+        nonce.setExpiresAt(OffsetDateTime.now().minusDays(10));
+        nonce.setNonce(randomString.run());
+        nonceMapper.insert(nonce);
+
+        Integer actual = subject.deleteNonces(OffsetDateTime.now().minusDays(1), LIMIT);
+
+        assertThat(actual > 0, is(true));
+        assertThat(nonceMapper.getById(nonce.getId()), is(nullValue()));
+    }
+}
@@ -222,6 +222,8 @@ public class RefreshTokenMapperTest {
         assertThat(actual.getAccessToken(), is(refreshToken.getAccessToken()));
         assertThat(actual.getExpiresAt().toEpochSecond(), is(refreshToken.getExpiresAt().toEpochSecond()));
         assertThat(actual.getCreatedAt(), is(notNullValue()));
+        assertThat(actual.isRotated(), is(false));
+        assertThat(actual.getResourceOwnerId(), is(notNullValue()));
 
         assertThat(actual.getToken(), is(notNullValue()));
         assertThat(actual.getToken().getId(), is(refreshToken.getToken().getId()));
@@ -308,6 +310,30 @@ public class RefreshTokenMapperTest {
         assertThat(actual, is(nullValue()));
     }
 
+    @Test
+    public void rotateShouldRotateOnce() throws Exception {
+        RefreshToken refreshToken = prepare();
+
+        Integer first = subject.rotate(refreshToken.getId());
+        Integer second = subject.rotate(refreshToken.getId());
+
+        assertThat(first, is(1));
+        assertThat(second, is(0));
+
+        RefreshToken actual = subject.getByTokenId(refreshToken.getToken().getId());
+        assertThat(actual.isRotated(), is(true));
+    }
+
+    @Test
+    public void rotateWhenRevokedShouldNotRotate() throws Exception {
+        RefreshToken refreshToken = prepare();
+        subject.revokeByTokenId(refreshToken.getToken().getId());
+
+        Integer actual = subject.rotate(refreshToken.getId());
+
+        assertThat(actual, is(0));
+    }
+
     @Test
     public void revokeByAuthCodeIdShouldBeOk() throws Exception {
         RefreshToken refreshToken = prepare();
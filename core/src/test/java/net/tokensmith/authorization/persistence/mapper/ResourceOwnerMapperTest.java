@@ -27,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -325,6 +326,70 @@ public class ResourceOwnerMapperTest {
         assertThat(actual.getProfile().getCreatedAt(), is(notNullValue()));
     }
 
+    @Test
+    public void getByAccessTokenWithProfileAndTokensWhenManyShouldNotRepeat() throws Exception {
+
+        // prepare database for the test
+        Client client = FixtureFactory.makeCodeClientWithOpenIdScopes();
+        clientMapper.insert(client);
+
+        Client otherClient = FixtureFactory.makeCodeClientWithOpenIdScopes();
+        clientMapper.insert(otherClient);
+
+        ResourceOwner ro = insertResourceOwner(false);
+
+        String accessToken = "access-token";
+        Token token = FixtureFactory.makeOpenIdToken(accessToken, client.getId(), new ArrayList<>());
+        tokenMapper.insert(token);
+
+        for (Client audience: List.of(client, otherClient)) {
+            TokenAudience tokenAudience = new TokenAudience();
+            tokenAudience.setId(UUID.randomUUID());
+            tokenAudience.setTokenId(token.getId());
+            tokenAudience.setClientId(audience.getId());
+            tokenAudienceMapper.insert(tokenAudience);
+        }
+
+        for (String name: List.of("address", "phone")) {
+            Scope scope = FixtureFactory.makeScope(name);
+            scopeMapper.insert(scope);
+
+            TokenScope tokenScope = new TokenScope();
+            tokenScope.setId(UUID.randomUUID());
+            tokenScope.setTokenId(token.getId());
+            tokenScope.setScope(scope);
+            tokenScopeMapper.insert(tokenScope);
+        }
+
+        ResourceOwnerToken resourceOwnerToken = new ResourceOwnerToken();
+        resourceOwnerToken.setId(UUID.randomUUID());
+        resourceOwnerToken.setResourceOwner(ro);
+        resourceOwnerToken.setToken(token);
+        resourceOwnerTokenMapper.insert(resourceOwnerToken);
+
+        Profile profile = FixtureFactory.makeProfile(ro.getId());
+        profileMapper.insert(profile);
+
+        for (int i = 0; i < 2; i++) {
+            givenNameMapper.insert(FixtureFactory.makeGivenName(profile.getId()));
+            familyNameMapper.insert(FixtureFactory.makeFamilyName(profile.getId()));
+            addressMapper.insert(FixtureFactory.makeAddress(profile.getId()));
+        }
+        // end: prepare database for the test
+
+        ResourceOwner actual = subject.getByAccessTokenWithProfileAndTokens(token.getToken());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getTokens().size(), is(1));
+        assertThat(actual.getTokens().get(0).getAudience().size(), is(2));
+        assertThat(actual.getTokens().get(0).getTokenScopes().size(), is(2));
+
+        assertThat(actual.getProfile(), is(notNullValue()));
+        assertThat(actual.getProfile().getAddresses().size(), is(2));
+        assertThat(actual.getProfile().getGivenNames().size(), is(2));
+        assertThat(actual.getProfile().getFamilyNames().size(), is(2));
+    }
+
     @Test
     public void getByAccessTokenWithProfileAndTokensWhenNoProfileShouldBeOk() throws Exception {
 
@@ -832,6 +897,10 @@ public class ResourceOwnerMapperTest {
         assertThat(actual.getPassword(), is(expectedUser.getPassword()));
         assertThat(actual.isEmailVerified(), is(false));
         assertThat(actual.getCreatedAt(), is(notNullValue()));
+
+        assertThat(actual.getLocalTokens().size(), is(1));
+        assertThat(actual.getLocalTokens().get(0).getId(), is(localToken.getId()));
+        assertThat(actual.getLocalTokens().get(0).getExpiresAt(), is(notNullValue()));
     }
 
     @Test
@@ -0,0 +1,173 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import helper.fixture.FixtureFactory;
+import helper.fixture.TestAppConfig;
+import helper.fixture.persistence.LoadConfClientTokenReady;
+import net.tokensmith.authorization.security.RandomString;
+import net.tokensmith.repository.entity.AuthCode;
+import net.tokensmith.repository.entity.LocalToken;
+import net.tokensmith.repository.entity.Nonce;
+import net.tokensmith.repository.entity.NonceType;
+import net.tokensmith.repository.entity.RefreshToken;
+import net.tokensmith.repository.entity.ResourceOwner;
+import net.tokensmith.repository.entity.ResourceOwnerToken;
+import net.tokensmith.repository.entity.Revocation;
+import net.tokensmith.repository.entity.Token;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes= TestAppConfig.class, loader= AnnotationConfigContextLoader.class)
+@Transactional
+public class RevocationMapperTest {
+    @Autowired
+    private LoadConfClientTokenReady loadConfClientTokenReady;
+    @Autowired
+    private RandomString randomString;
+    @Autowired
+    private TokenMapper tokenMapper;
+    @Autowired
+    private ResourceOwnerTokenMapper resourceOwnerTokenMapper;
+    @Autowired
+    private RefreshTokenMapper refreshTokenMapper;
+    @Autowired
+    private AuthCodeMapper authCodeMapper;
+    @Autowired
+    private LocalTokenMapper localTokenMapper;
+    @Autowired
+    private NonceTypeMapper nonceTypeMapper;
+    @Autowired
+    private NonceMapper nonceMapper;
+
+    @Autowired
+    private RevocationMapper subject;
+
+    public class Prepared {
+        public AuthCode authCode;
+        public Token token;
+        public RefreshToken refreshToken;
+        public LocalToken localToken;
+        public Nonce nonce;
+    }
+
+    public Prepared prepare() throws Exception {
+        Prepared prepared = new Prepared();
+        prepared.authCode = loadConfClientTokenReady.run(true, false, randomString.run());
+
+        UUID clientId = prepared.authCode.getAccessRequest().getClientId();
+        ResourceOwner ro = new ResourceOwner();
+        ro.setId(prepared.authCode.getAccessRequest().getResourceOwnerId());
+
+        prepared.token = FixtureFactory.makeOAuthToken(randomString.run(), clientId, new ArrayList<>());
+        tokenMapper.insert(prepared.token);
+
+        ResourceOwnerToken rot = new ResourceOwnerToken();
+        rot.setId(UUID.randomUUID());
+        rot.setResourceOwner(ro);
+        rot.setToken(prepared.token);
+        resourceOwnerTokenMapper.insert(rot);
+
+        prepared.refreshToken = FixtureFactory.makeRefreshToken(randomString.run(), prepared.token);
+        refreshTokenMapper.insert(prepared.refreshToken);
+
+        prepared.localToken = new LocalToken.Builder()
+                .id(UUID.randomUUID())
+                .token(randomString.run())
+                .revoked(false)
+                .resourceOwnerId(ro.getId())
+                .expiresAt(OffsetDateTime.now().plusDays(1))
+                .createdAt(OffsetDateTime.now())
+                .build();
+        localTokenMapper.insert(prepared.localToken);
+
+        NonceType nonceType = new NonceType(UUID.randomUUID(), "revocation-test", 120, OffsetDateTime.now());
+        nonceTypeMapper.insert(nonceType);
+
+        prepared.nonce = new Nonce();
+        prepared.nonce.setId(UUID.randomUUID());
+        prepared.nonce.setNonceType(nonceType);
+        prepared.nonce.setResourceOwner(ro);
+        prepared.nonce.setCreatedAt(OffsetDateTime.now());
+        prepared.nonce.setExpiresAt(OffsetDateTime.now().plusMinutes(10));
+        prepared.nonce.setNonce(randomString.run());
+        nonceMapper.insert(prepared.nonce);
+
+        return prepared;
+    }
+
+    @Test
+    public void revokeByResourceOwnerIdShouldRevokeAll() throws Exception {
+        Prepared prepared = prepare();
+        UUID resourceOwnerId = prepared.authCode.getAccessRequest().getResourceOwnerId();
+
+        Revocation actual = subject.revokeByResourceOwnerId(resourceOwnerId);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getTokens(), is(1));
+        assertThat(actual.getRefreshTokens(), is(1));
+        assertThat(actual.getAuthCodes(), is(1));
+        assertThat(actual.getLocalTokens(), is(1));
+        assertThat(actual.getNonces(), is(1));
+        assertThat(actual.getTotal(), is(5));
+
+        assertThat(tokenMapper.getById(prepared.token.getId()).isRevoked(), is(true));
+        assertThat(refreshTokenMapper.getByTokenId(prepared.token.getId()).isRevoked(), is(true));
+        assertThat(authCodeMapper.getById(prepared.authCode.getId()).isRevoked(), is(true));
+        assertThat(localTokenMapper.getById(prepared.localToken.getId()).isRevoked(), is(true));
+        assertThat(nonceMapper.getById(prepared.nonce.getId()).getRevoked(), is(true));
+    }
+
+    @Test
+    public void revokeByResourceOwnerIdWhenRevokedShouldNotCount() throws Exception {
+        Prepared prepared = prepare();
+        UUID resourceOwnerId = prepared.authCode.getAccessRequest().getResourceOwnerId();
+
+        subject.revokeByResourceOwnerId(resourceOwnerId);
+        Revocation actual = subject.revokeByResourceOwnerId(resourceOwnerId);
+
+        assertThat(actual.getTotal(), is(0));
+    }
+
+    @Test
+    public void revokeByResourceOwnerIdWhenNoneShouldBeZero() {
+        Revocation actual = subject.revokeByResourceOwnerId(UUID.randomUUID());
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getTotal(), is(0));
+    }
+
+    @Test
+    public void revokeByClientIdShouldRevokeTokensAndCodes() throws Exception {
+        Prepared prepared = prepare();
+        UUID clientId = prepared.authCode.getAccessRequest().getClientId();
+
+        Revocation actual = subject.revokeByClientId(clientId);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getTokens(), is(1));
+        assertThat(actual.getRefreshTokens(), is(1));
+        assertThat(actual.getAuthCodes(), is(1));
+        assertThat(actual.getLocalTokens(), is(0));
+        assertThat(actual.getNonces(), is(0));
+
+        assertThat(tokenMapper.getById(prepared.token.getId()).isRevoked(), is(true));
+        assertThat(refreshTokenMapper.getByTokenId(prepared.token.getId()).isRevoked(), is(true));
+        assertThat(authCodeMapper.getById(prepared.authCode.getId()).isRevoked(), is(true));
+        assertThat(localTokenMapper.getById(prepared.localToken.getId()).isRevoked(), is(false));
+        assertThat(nonceMapper.getById(prepared.nonce.getId()).getRevoked(), is(false));
+    }
+}
@@ -64,4 +64,16 @@ public class ScopeMapperTest {
         assertThat(actual.getName(), is(scopeName));
         assertThat(actual.getCreatedAt(), is(notNullValue()));
     }
+
+    @Test
+    public void findAll() {
+        String scopeName = "some-scope";
+        Scope scope = new Scope(UUID.randomUUID(), scopeName);
+        subject.insert(scope);
+
+        List<Scope> actual = subject.findAll();
+
+        assertThat(actual.stream().anyMatch(s -> s.getId().equals(scope.getId())), is(true));
+        assertThat(actual.stream().anyMatch(s -> s.getName().equals("openid")), is(true));
+    }
 }
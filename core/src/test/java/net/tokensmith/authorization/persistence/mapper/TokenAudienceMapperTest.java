@@ -15,6 +15,7 @@ import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -68,4 +69,26 @@ public class TokenAudienceMapperTest {
         assertThat(actual.getCreatedAt(), is(notNullValue()));
         assertThat(actual.getUpdatedAt(), is(notNullValue()));
     }
+
+    @Test
+    public void insertAllShouldBeOk() throws Exception {
+        String accessToken = "access-token";
+        UUID clientId = loadClient();
+        UUID tokenId = loadToken(accessToken, clientId);
+
+        TokenAudience clientToken = new TokenAudience();
+        clientToken.setId(UUID.randomUUID());
+        clientToken.setClientId(clientId);
+        clientToken.setTokenId(tokenId);
+
+        List<TokenAudience> clientTokens = new ArrayList<>();
+        clientTokens.add(clientToken);
+
+        subject.insertAll(clientTokens);
+
+        TokenAudience actual = subject.getByTokenId(tokenId);
+        assertThat(actual.getId(), is(clientToken.getId()));
+        assertThat(actual.getClientId(), is(clientId));
+        assertThat(actual.getTokenId(), is(tokenId));
+    }
 }
\ No newline at end of file
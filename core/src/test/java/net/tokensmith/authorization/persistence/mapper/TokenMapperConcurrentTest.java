@@ -0,0 +1,122 @@
+package net.tokensmith.authorization.persistence.mapper;
+
+import helper.fixture.FixtureFactory;
+import helper.fixture.TestAppConfig;
+import net.tokensmith.authorization.security.RandomString;
+import net.tokensmith.repository.entity.Client;
+import net.tokensmith.repository.entity.Token;
+import net.tokensmith.repository.repo.ClientRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Inserts in two transactions that both commit, so it is not @Transactional like the
+ * other mapper tests. The active tokens are random, the rows are left behind.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes= TestAppConfig.class, loader= AnnotationConfigContextLoader.class)
+public class TokenMapperConcurrentTest {
+
+    @Autowired
+    private RandomString randomString;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TokenMapper subject;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void insertDuplicateConcurrentlyShouldThrowDuplicateKeyException() throws Exception {
+        Client client = FixtureFactory.makeCodeClientWithOpenIdScopes();
+        transactionTemplate.execute(status -> {
+            clientRepository.insert(client);
+            return null;
+        });
+
+        String accessToken = randomString.run();
+        Token first = FixtureFactory.makeOpenIdToken(accessToken, client.getId(), new ArrayList<>());
+        Token second = FixtureFactory.makeOpenIdToken(accessToken, client.getId(), new ArrayList<>());
+        second.setId(UUID.randomUUID());
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // first inserts and does not commit until second has tried to insert.
+        Future<?> firstInsert = executor.submit(() -> transactionTemplate.execute(status -> {
+            subject.insert(first);
+            inserted.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS), is(true));
+
+        Future<?> secondInsert = executor.submit(() -> transactionTemplate.execute(status -> {
+            subject.insert(second);
+            return null;
+        }));
+
+        // second waits on the lock first holds, before it counts.
+        TimeoutException waiting = null;
+        try {
+            secondInsert.get(1, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            waiting = e;
+        }
+        assertThat(waiting, is(notNullValue()));
+
+        commit.countDown();
+        firstInsert.get(10, TimeUnit.SECONDS);
+
+        ExecutionException actual = null;
+        try {
+            secondInsert.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            actual = e;
+        }
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), instanceOf(DuplicateKeyException.class));
+    }
+}
@@ -24,7 +24,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.core.Is.is;
@@ -232,4 +234,35 @@ public class TokenMapperTest {
         Token tokenNotRevoked = subject.getByAuthCodeId(authCodeToNotRevoke.getId());
         assertThat(tokenNotRevoked.isRevoked(), is(false));
     }
+
+    @Test
+    public void getDeniedShouldBeRevokedAndNotExpired() throws Exception {
+        Client client = FixtureFactory.makeCodeClientWithOpenIdScopes();
+        clientRepository.insert(client);
+
+        Token revoked = FixtureFactory.makeOpenIdToken("revoked-token", client.getId(), new ArrayList<>());
+        subject.insert(revoked);
+        subject.revokeById(revoked.getId());
+
+        Token active = FixtureFactory.makeOpenIdToken("active-token", client.getId(), new ArrayList<>());
+        subject.insert(active);
+
+        Token expired = FixtureFactory.makeOpenIdToken("expired-token", client.getId(), new ArrayList<>());
+        expired.setExpiresAt(OffsetDateTime.now().minusMinutes(1));
+        subject.insert(expired);
+        subject.revokeById(expired.getId());
+
+        List<Token> actual = subject.getDenied();
+
+        List<UUID> ids = actual.stream()
+                .map(Token::getId)
+                .collect(Collectors.toList());
+
+        assertThat(ids.contains(revoked.getId()), is(true));
+        assertThat(ids.contains(active.getId()), is(false));
+        assertThat(ids.contains(expired.getId()), is(false));
+
+        Token denied = actual.get(ids.indexOf(revoked.getId()));
+        assertThat(denied.getExpiresAt().toEpochSecond(), is(revoked.getExpiresAt().toEpochSecond()));
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -58,5 +59,37 @@ public class TokenScopeMapperTest {
         subject.insert(tokenScope);
     }
 
+    @Test
+    public void insertAllShouldBeOk() throws Exception {
+        // begin prepare db for test
+        Client client = FixtureFactory.makeCodeClientWithOpenIdScopes();
+        clientMapper.insert(client);
+
+        String accessToken = "access-token";
+        Token token = FixtureFactory.makeOpenIdToken(accessToken, client.getId(), new ArrayList<>());
+        tokenMapper.insert(token);
+
+        Scope address = FixtureFactory.makeScope();
+        address.setName("address");
+        scopeMapper.insert(address);
+
+        Scope phone = FixtureFactory.makeScope();
+        phone.setName("phone");
+        scopeMapper.insert(phone);
+
+        // end prepare db for test.
+
+        List<TokenScope> tokenScopes = new ArrayList<>();
+        for(Scope scope: List.of(address, phone)) {
+            TokenScope tokenScope = new TokenScope();
+            tokenScope.setId(UUID.randomUUID());
+            tokenScope.setTokenId(token.getId());
+            tokenScope.setScope(scope);
+            tokenScopes.add(tokenScope);
+        }
+
+        subject.insertAll(tokenScopes);
+    }
+
 
 }
\ No newline at end of file
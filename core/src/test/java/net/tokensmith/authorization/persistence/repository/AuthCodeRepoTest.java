@@ -87,6 +87,35 @@ public class AuthCodeRepoTest {
         subject.getByClientIdAndAuthCode(clientUUID, code);
     }
 
+    @Test
+    public void redeemShouldBeOk() throws RecordNotFoundException {
+        UUID clientUUID = UUID.randomUUID();
+        String code = "authorization-code";
+        AuthCode expected = new AuthCode();
+        when(mockMapper.redeem(clientUUID, code)).thenReturn(expected);
+
+        AuthCode actual = subject.redeem(clientUUID, code);
+        assertThat(actual, is(expected));
+    }
+
+    @Test(expected = RecordNotFoundException.class)
+    public void redeemShouldThrowRecordNotFound() throws RecordNotFoundException {
+        UUID clientUUID = UUID.randomUUID();
+        String code = "authorization-code";
+        when(mockMapper.redeem(clientUUID, code)).thenReturn(null);
+
+        subject.redeem(clientUUID, code);
+    }
+
+    @Test(expected = RecordNotFoundException.class)
+    public void revokeRedeemedShouldThrowRecordNotFound() throws RecordNotFoundException {
+        UUID clientUUID = UUID.randomUUID();
+        String code = "authorization-code";
+        when(mockMapper.revokeRedeemed(clientUUID, code)).thenReturn(null);
+
+        subject.revokeRedeemed(clientUUID, code);
+    }
+
     @Test
     public void getByIdShouldBeOk() throws Exception {
         UUID id = UUID.randomUUID();
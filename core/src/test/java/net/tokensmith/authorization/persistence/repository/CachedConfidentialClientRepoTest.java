@@ -0,0 +1,66 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import helper.fixture.FixtureFactory;
+import net.tokensmith.authorization.authenticate.ConfidentialClientCache;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class CachedConfidentialClientRepoTest {
+    private CachedConfidentialClientRepo subject;
+
+    @Mock
+    private ConfidentialClientRepo mockConfidentialClientRepo;
+    @Mock
+    private ClientRepo mockClientRepo;
+    @Mock
+    private ConfidentialClientCache mockConfidentialClientCache;
+    @Mock
+    private ScopeRepo mockScopeRepo;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(mockClientRepo.getVersion()).thenReturn(1L);
+        ClientRegistry clientRegistry = new ClientRegistry(mockClientRepo, mockConfidentialClientCache, new ScopeRegistry(mockScopeRepo), 300L, 30L, 100);
+        subject = new CachedConfidentialClientRepo(mockConfidentialClientRepo, clientRegistry);
+    }
+
+    @Test
+    public void getByClientIdShouldReadOnce() throws Exception {
+        ConfidentialClient confidentialClient = FixtureFactory.makeConfidentialClient(FixtureFactory.makeCodeClientWithScopes());
+        UUID clientId = confidentialClient.getClient().getId();
+        when(mockConfidentialClientRepo.getByClientId(clientId)).thenReturn(confidentialClient);
+
+        subject.getByClientId(clientId);
+        ConfidentialClient actual = subject.getByClientId(clientId);
+
+        assertThat(actual.getId(), is(confidentialClient.getId()));
+        verify(mockConfidentialClientRepo, times(1)).getByClientId(clientId);
+    }
+
+    @Test
+    public void insertShouldDropCachedClient() throws Exception {
+        ConfidentialClient confidentialClient = FixtureFactory.makeConfidentialClient(FixtureFactory.makeCodeClientWithScopes());
+        UUID clientId = confidentialClient.getClient().getId();
+        when(mockConfidentialClientRepo.getByClientId(clientId)).thenReturn(confidentialClient);
+
+        subject.getByClientId(clientId);
+        subject.insert(confidentialClient);
+        subject.getByClientId(clientId);
+
+        verify(mockConfidentialClientRepo, times(1)).insert(confidentialClient);
+        verify(mockConfidentialClientRepo, times(2)).getByClientId(clientId);
+    }
+}
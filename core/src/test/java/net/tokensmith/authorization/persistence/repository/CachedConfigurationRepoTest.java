@@ -0,0 +1,156 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import net.tokensmith.repository.entity.Configuration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class CachedConfigurationRepoTest {
+    private static Long THIRTY_SECONDS = 30L;
+    private CachedConfigurationRepo subject;
+
+    @Mock
+    private ConfigurationRepo mockConfigurationRepo;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new CachedConfigurationRepo(mockConfigurationRepo, THIRTY_SECONDS);
+    }
+
+    public Configuration makeConfiguration(Integer version) {
+        Configuration configuration = new Configuration();
+        configuration.setId(UUID.randomUUID());
+        configuration.setAccessTokenSize(32);
+        configuration.setAuthorizationCodeSize(32);
+        configuration.setRefreshTokenSize(32);
+        configuration.setVersion(version);
+        return configuration;
+    }
+
+    @Test
+    public void getShouldReadOnce() {
+        Configuration configuration = makeConfiguration(1);
+        when(mockConfigurationRepo.get()).thenReturn(configuration);
+
+        Configuration first = subject.get();
+        Configuration second = subject.get();
+
+        assertThat(first.getId(), is(configuration.getId()));
+        assertThat(first.getAccessTokenSize(), is(32));
+        assertThat(first.getVersion(), is(1));
+        assertThat(second.getId(), is(configuration.getId()));
+
+        verify(mockConfigurationRepo, times(1)).get();
+        verify(mockConfigurationRepo, never()).getVersion();
+    }
+
+    @Test
+    public void getShouldReturnCopy() {
+        Configuration configuration = makeConfiguration(1);
+        when(mockConfigurationRepo.get()).thenReturn(configuration);
+
+        Configuration first = subject.get();
+        first.setAccessTokenSize(50);
+
+        Configuration second = subject.get();
+
+        assertThat(first, is(not(sameInstance(configuration))));
+        assertThat(second.getAccessTokenSize(), is(32));
+    }
+
+    @Test
+    public void getWhenPollDueAndVersionSameShouldNotReload() {
+        subject = new CachedConfigurationRepo(mockConfigurationRepo, 0L);
+
+        Configuration configuration = makeConfiguration(1);
+        when(mockConfigurationRepo.get()).thenReturn(configuration);
+        when(mockConfigurationRepo.getVersion()).thenReturn(1);
+
+        subject.get();
+        subject.get();
+
+        verify(mockConfigurationRepo, times(1)).get();
+        verify(mockConfigurationRepo, times(1)).getVersion();
+    }
+
+    @Test
+    public void getWhenPollDueAndVersionChangedShouldReload() {
+        subject = new CachedConfigurationRepo(mockConfigurationRepo, 0L);
+
+        Configuration configuration = makeConfiguration(1);
+        Configuration updated = makeConfiguration(2);
+        updated.setAccessTokenSize(33);
+        when(mockConfigurationRepo.get()).thenReturn(configuration, updated);
+        when(mockConfigurationRepo.getVersion()).thenReturn(2);
+
+        subject.get();
+        Configuration actual = subject.get();
+
+        assertThat(actual.getAccessTokenSize(), is(33));
+        assertThat(actual.getVersion(), is(2));
+        verify(mockConfigurationRepo, times(2)).get();
+    }
+
+    @Test
+    public void getWhenNotFoundShouldReturnNull() {
+        when(mockConfigurationRepo.get()).thenReturn(null);
+
+        Configuration actual = subject.get();
+
+        assertThat(actual, is(nullValue()));
+    }
+
+    @Test
+    public void updateAccessTokenSizeShouldInvalidate() {
+        Configuration configuration = makeConfiguration(1);
+        when(mockConfigurationRepo.get()).thenReturn(configuration);
+
+        subject.get();
+        subject.updateAccessTokenSize(configuration.getId(), 33);
+        subject.get();
+
+        verify(mockConfigurationRepo, times(1)).updateAccessTokenSize(configuration.getId(), 33);
+        verify(mockConfigurationRepo, times(2)).get();
+    }
+
+    @Test
+    public void updateAuthorizationCodeSizeShouldInvalidate() {
+        Configuration configuration = makeConfiguration(1);
+        when(mockConfigurationRepo.get()).thenReturn(configuration);
+
+        subject.get();
+        subject.updateAuthorizationCodeSize(configuration.getId(), 33);
+        subject.get();
+
+        verify(mockConfigurationRepo, times(1)).updateAuthorizationCodeSize(configuration.getId(), 33);
+        verify(mockConfigurationRepo, times(2)).get();
+    }
+
+    @Test
+    public void updateRefreshTokenSizeShouldInvalidate() {
+        Configuration configuration = makeConfiguration(1);
+        when(mockConfigurationRepo.get()).thenReturn(configuration);
+
+        subject.get();
+        subject.updateRefreshTokenSize(configuration.getId(), 33);
+        subject.get();
+
+        verify(mockConfigurationRepo, times(1)).updateRefreshTokenSize(configuration.getId(), 33);
+        verify(mockConfigurationRepo, times(2)).get();
+    }
+}
@@ -0,0 +1,202 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import helper.fixture.FixtureFactory;
+import net.tokensmith.authorization.openId.identity.translator.PrivateKeyTranslator;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.repository.entity.RSAPrivateKey;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class CachedRsaPrivateKeyRepoTest {
+    private static Long FIVE_MINUTES = 300L;
+
+    @Mock
+    private RsaPrivateKeyRepo mockRsaPrivateKeyRepo;
+    @Mock
+    private PrivateKeyTranslator mockPrivateKeyTranslator;
+
+    private CachedRsaPrivateKeyRepo subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new CachedRsaPrivateKeyRepo(mockRsaPrivateKeyRepo, mockPrivateKeyTranslator, FIVE_MINUTES);
+    }
+
+    @Test
+    public void getMostRecentAndActiveForSigningShouldReadOnce() throws Exception {
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
+
+        when(mockRsaPrivateKeyRepo.getMostRecentAndActiveForSigning()).thenReturn(key);
+        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+
+        RSAPrivateKey first = subject.getMostRecentAndActiveForSigning();
+        RSAPrivateKey second = subject.getMostRecentAndActiveForSigning();
+        RSAKeyPair actualKeyPair = subject.getMostRecentAndActiveKeyPairForSigning();
+
+        assertThat(first, is(sameInstance(key)));
+        assertThat(second, is(sameInstance(key)));
+        assertThat(actualKeyPair, is(sameInstance(keyPair)));
+
+        assertThat(subject.getMisses(), is(1L));
+        assertThat(subject.getHits(), is(2L));
+
+        verify(mockRsaPrivateKeyRepo, times(1)).getMostRecentAndActiveForSigning();
+        verify(mockPrivateKeyTranslator, times(1)).from(key);
+    }
+
+    @Test
+    public void getMostRecentAndActiveForSigningWhenExpiredShouldReadAgain() throws Exception {
+        subject = new CachedRsaPrivateKeyRepo(mockRsaPrivateKeyRepo, mockPrivateKeyTranslator, 0L);
+
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        RSAKeyPair keyPair = FixtureFactory.makeRSAKeyPair();
+
+        when(mockRsaPrivateKeyRepo.getMostRecentAndActiveForSigning()).thenReturn(key);
+        when(mockPrivateKeyTranslator.from(key)).thenReturn(keyPair);
+
+        subject.getMostRecentAndActiveForSigning();
+        subject.getMostRecentAndActiveForSigning();
+
+        assertThat(subject.getMisses(), is(2L));
+        assertThat(subject.getHits(), is(0L));
+
+        verify(mockRsaPrivateKeyRepo, times(2)).getMostRecentAndActiveForSigning();
+    }
+
+    @Test
+    public void invalidateShouldReadAgain() throws Exception {
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        RSAPrivateKey rotatedKey = FixtureFactory.makeRSAPrivateKey();
+
+        when(mockRsaPrivateKeyRepo.getMostRecentAndActiveForSigning()).thenReturn(key, rotatedKey);
+
+        RSAPrivateKey first = subject.getMostRecentAndActiveForSigning();
+        subject.invalidate();
+        RSAPrivateKey second = subject.getMostRecentAndActiveForSigning();
+
+        assertThat(first, is(sameInstance(key)));
+        assertThat(second, is(sameInstance(rotatedKey)));
+        assertThat(subject.getMisses(), is(2L));
+    }
+
+    @Test
+    public void insertShouldInvalidate() throws Exception {
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        RSAPrivateKey rotatedKey = FixtureFactory.makeRSAPrivateKey();
+
+        when(mockRsaPrivateKeyRepo.getMostRecentAndActiveForSigning()).thenReturn(key, rotatedKey);
+
+        subject.getMostRecentAndActiveForSigning();
+        subject.insert(rotatedKey);
+        RSAPrivateKey actual = subject.getMostRecentAndActiveForSigning();
+
+        assertThat(actual, is(sameInstance(rotatedKey)));
+        verify(mockRsaPrivateKeyRepo).insert(rotatedKey);
+    }
+
+    @Test
+    public void insertShouldChangeGeneration() {
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        Long before = subject.getGeneration();
+
+        subject.insert(key);
+
+        assertThat(subject.getGeneration(), is(before + 1));
+    }
+
+    @Test(expected = RecordNotFoundException.class)
+    public void getMostRecentAndActiveForSigningShouldThrowRecordNotFound() throws Exception {
+        when(mockRsaPrivateKeyRepo.getMostRecentAndActiveForSigning()).thenThrow(RecordNotFoundException.class);
+
+        subject.getMostRecentAndActiveForSigning();
+    }
+
+    @Test
+    public void getPublicKeysWhereActiveAndUseIsSignShouldDelegate() {
+        List<RSAPublicKeyBytes> keys = new ArrayList<>();
+        when(mockRsaPrivateKeyRepo.getPublicKeysWhereActiveAndUseIsSign(20, 0)).thenReturn(keys);
+
+        List<RSAPublicKeyBytes> actual = subject.getPublicKeysWhereActiveAndUseIsSign(20, 0);
+
+        assertThat(actual, is(sameInstance(keys)));
+    }
+
+    @Test
+    public void getWhereActiveAndUseIsSignShouldDelegate() {
+        List<RSAPrivateKey> keys = new ArrayList<>();
+        when(mockRsaPrivateKeyRepo.getWhereActiveAndUseIsSign(20, 0)).thenReturn(keys);
+
+        List<RSAPrivateKey> actual = subject.getWhereActiveAndUseIsSign(20, 0);
+
+        assertThat(actual, is(sameInstance(keys)));
+    }
+
+    @Test
+    public void getByIdActiveSignShouldDelegate() throws Exception {
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        UUID id = key.getId();
+        when(mockRsaPrivateKeyRepo.getByIdActiveSign(id)).thenReturn(key);
+
+        RSAPrivateKey actual = subject.getByIdActiveSign(id);
+
+        assertThat(actual, is(sameInstance(key)));
+    }
+
+    @Test
+    public void insertWhenNoneCreatedAfterWhenInsertedShouldChangeGeneration() {
+        OffsetDateTime createdAfter = OffsetDateTime.now();
+        Supplier<RSAPrivateKey> next = FixtureFactory::makeRSAPrivateKey;
+        when(mockRsaPrivateKeyRepo.insertWhenNoneCreatedAfter(createdAfter, next)).thenReturn(true);
+        Long before = subject.getGeneration();
+
+        Boolean actual = subject.insertWhenNoneCreatedAfter(createdAfter, next);
+
+        assertThat(actual, is(true));
+        assertThat(subject.getGeneration(), is(before + 1));
+    }
+
+    @Test
+    public void insertWhenNoneCreatedAfterWhenNotInsertedShouldKeepGeneration() {
+        OffsetDateTime createdAfter = OffsetDateTime.now();
+        Supplier<RSAPrivateKey> next = FixtureFactory::makeRSAPrivateKey;
+        when(mockRsaPrivateKeyRepo.insertWhenNoneCreatedAfter(createdAfter, next)).thenReturn(false);
+        Long before = subject.getGeneration();
+
+        Boolean actual = subject.insertWhenNoneCreatedAfter(createdAfter, next);
+
+        assertThat(actual, is(false));
+        assertThat(subject.getGeneration(), is(before));
+    }
+
+    @Test
+    public void retireWhereSupersededBeforeShouldChangeGeneration() {
+        OffsetDateTime signedBefore = OffsetDateTime.now();
+        when(mockRsaPrivateKeyRepo.retireWhereSupersededBefore(signedBefore)).thenReturn(1);
+        Long before = subject.getGeneration();
+
+        Integer actual = subject.retireWhereSupersededBefore(signedBefore);
+
+        assertThat(actual, is(1));
+        assertThat(subject.getGeneration(), is(before + 1));
+    }
+}
@@ -0,0 +1,169 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import helper.fixture.FixtureFactory;
+import net.tokensmith.authorization.authenticate.ConfidentialClientCache;
+import net.tokensmith.authorization.persistence.repository.ScopeRegistry.ScopeSet;
+import net.tokensmith.repository.entity.Client;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import net.tokensmith.repository.exceptions.RecordNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ClientRegistryTest {
+    private ClientRegistry subject;
+
+    @Mock
+    private ClientRepo mockClientRepo;
+    @Mock
+    private ConfidentialClientRepo mockConfidentialClientRepo;
+    @Mock
+    private ConfidentialClientCache mockConfidentialClientCache;
+    @Mock
+    private ScopeRepo mockScopeRepo;
+    private ScopeRegistry scopeRegistry;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        scopeRegistry = new ScopeRegistry(mockScopeRepo);
+        subject = new ClientRegistry(mockClientRepo, mockConfidentialClientCache, scopeRegistry, 300L, 30L, 2);
+        when(mockClientRepo.getVersion()).thenReturn(1L);
+    }
+
+    @Test
+    public void getClientShouldReadOnce() throws Exception {
+        Client client = FixtureFactory.makeCodeClientWithScopes();
+        when(mockClientRepo.getById(client.getId())).thenReturn(client);
+
+        Client first = subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+        Client second = subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+
+        assertThat(first.getId(), is(client.getId()));
+        assertThat(second.getId(), is(client.getId()));
+        assertThat(second.getRedirectURI(), is(client.getRedirectURI()));
+        assertThat(second.getScopes().size(), is(client.getScopes().size()));
+        assertThat(subject.getHits(), is(1L));
+        assertThat(subject.getMisses(), is(1L));
+        verify(mockClientRepo, times(1)).getById(client.getId());
+    }
+
+    @Test
+    public void getClientShouldReturnCopy() throws Exception {
+        Client client = FixtureFactory.makeCodeClientWithScopes();
+        when(mockClientRepo.getById(client.getId())).thenReturn(client);
+
+        Client first = subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+        first.getScopes().clear();
+
+        Client second = subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+
+        assertThat(second, is(not(sameInstance(client))));
+        assertThat(second.getScopes().size(), is(client.getScopes().size()));
+    }
+
+    @Test(expected = RecordNotFoundException.class)
+    public void getClientWhenNotFoundShouldThrow() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(mockClientRepo.getById(clientId)).thenThrow(RecordNotFoundException.class);
+
+        subject.getClient(clientId, () -> mockClientRepo.getById(clientId));
+    }
+
+    @Test
+    public void getConfidentialClientWhenInvalidatedShouldReadAgain() throws Exception {
+        ConfidentialClient confidentialClient = FixtureFactory.makeConfidentialClient(FixtureFactory.makeCodeClientWithScopes());
+        UUID clientId = confidentialClient.getClient().getId();
+        when(mockConfidentialClientRepo.getByClientId(clientId)).thenReturn(confidentialClient);
+
+        subject.getConfidentialClient(clientId, () -> mockConfidentialClientRepo.getByClientId(clientId));
+        subject.invalidate(clientId);
+        ConfidentialClient actual = subject.getConfidentialClient(clientId, () -> mockConfidentialClientRepo.getByClientId(clientId));
+
+        assertThat(actual.getPassword(), is(confidentialClient.getPassword()));
+        assertThat(actual.getClient().getId(), is(clientId));
+        verify(mockConfidentialClientRepo, times(2)).getByClientId(clientId);
+        verify(mockConfidentialClientCache, times(1)).invalidate(clientId);
+    }
+
+    @Test
+    public void getClientWhenVersionChangesShouldReadAgain() throws Exception {
+        subject = new ClientRegistry(mockClientRepo, mockConfidentialClientCache, scopeRegistry, 300L, 0L, 2);
+
+        Client client = FixtureFactory.makeCodeClientWithScopes();
+        when(mockClientRepo.getById(client.getId())).thenReturn(client);
+
+        subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+        subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+
+        when(mockClientRepo.getVersion()).thenReturn(2L);
+        subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+
+        assertThat(subject.getBusts(), is(1L));
+        verify(mockClientRepo, times(2)).getById(client.getId());
+        verify(mockConfidentialClientCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    public void getClientWhenTtlPassedShouldReadAgain() throws Exception {
+        subject = new ClientRegistry(mockClientRepo, mockConfidentialClientCache, scopeRegistry, 0L, 30L, 2);
+
+        Client client = FixtureFactory.makeCodeClientWithScopes();
+        when(mockClientRepo.getById(client.getId())).thenReturn(client);
+
+        subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+        subject.getClient(client.getId(), () -> mockClientRepo.getById(client.getId()));
+
+        verify(mockClientRepo, times(2)).getById(client.getId());
+    }
+
+    @Test
+    public void getClientWhenFullShouldDropLeastRecentlyUsed() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Client client = FixtureFactory.makeCodeClientWithScopes();
+            subject.getClient(client.getId(), () -> client);
+        }
+
+        assertThat(subject.size(), is(2));
+    }
+
+    @Test
+    public void getScopeSetShouldBeKeptWithClient() throws Exception {
+        Client client = FixtureFactory.makeCodeClientWithScopes();
+        Client actual = subject.getClient(client.getId(), () -> client);
+
+        ScopeSet first = subject.getScopeSet(actual);
+        ScopeSet second = subject.getScopeSet(actual);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.size(), is(client.getScopes().size()));
+        for (int i = 0; i < client.getScopes().size(); i++) {
+            assertThat(first.contains(scopeRegistry.indexOf(client.getScopes().get(i).getName())), is(true));
+        }
+    }
+
+    @Test
+    public void getScopeSetWhenInvalidatedShouldMakeNew() throws Exception {
+        Client client = FixtureFactory.makeCodeClientWithScopes();
+        subject.getClient(client.getId(), () -> client);
+        ScopeSet first = subject.getScopeSet(client);
+
+        subject.invalidate(client.getId());
+        ScopeSet second = subject.getScopeSet(client);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(second.containsAll(first), is(true));
+    }
+}
@@ -1,6 +1,7 @@
 package net.tokensmith.authorization.persistence.repository;
 
 import helper.fixture.FixtureFactory;
+import net.tokensmith.authorization.authenticate.ConfidentialClientCache;
 import net.tokensmith.authorization.persistence.mapper.ConfidentialClientMapper;
 import net.tokensmith.repository.entity.Client;
 import net.tokensmith.repository.entity.ConfidentialClient;
@@ -27,13 +28,15 @@ public class ConfidentialClientRepoTest {
 
     @Mock
     private ConfidentialClientMapper mockConfidentialClientMapper;
+    @Mock
+    private ConfidentialClientCache mockConfidentialClientCache;
 
     private ConfidentialClientRepository subject;
 
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        subject = new ConfidentialClientRepo(mockConfidentialClientMapper);
+        subject = new ConfidentialClientRepo(mockConfidentialClientMapper, mockConfidentialClientCache);
     }
 
     @Test
@@ -43,6 +46,7 @@ public class ConfidentialClientRepoTest {
         subject.insert(confidentialClient);
 
         verify(mockConfidentialClientMapper, times(1)).insert(confidentialClient);
+        verify(mockConfidentialClientCache, times(1)).invalidate(client.getId());
     }
 
     @Test
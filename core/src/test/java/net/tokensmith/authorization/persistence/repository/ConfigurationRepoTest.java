@@ -42,6 +42,15 @@ public class ConfigurationRepoTest {
         assertThat(actual, is(notNullValue()));
     }
 
+    @Test
+    public void getVersionShouldBeOk() {
+        when(mockTokenSizeMapper.getVersion()).thenReturn(1);
+
+        Integer actual = subject.getVersion();
+
+        assertThat(actual, is(1));
+    }
+
     @Test
     public void updateAccessTokenSizeShouldBeOk() {
         UUID id = UUID.randomUUID();
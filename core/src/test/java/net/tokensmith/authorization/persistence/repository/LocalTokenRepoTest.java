@@ -1,6 +1,7 @@
 package net.tokensmith.authorization.persistence.repository;
 
 
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
 import net.tokensmith.authorization.persistence.factory.DuplicateRecordExceptionFactory;
 import net.tokensmith.authorization.persistence.mapper.LocalTokenMapper;
 import net.tokensmith.repository.entity.LocalToken;
@@ -28,13 +29,15 @@ public class LocalTokenRepoTest {
     private LocalTokenMapper mockLocalTokenMapper;
     @Mock
     private DuplicateRecordExceptionFactory mockDuplicateRecordExceptionFactory;
+    @Mock
+    private LocalSessionCache mockLocalSessionCache;
 
     private LocalTokenRepository subject;
 
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        subject = new LocalTokenRepo(mockLocalTokenMapper, mockDuplicateRecordExceptionFactory);
+        subject = new LocalTokenRepo(mockLocalTokenMapper, mockDuplicateRecordExceptionFactory, mockLocalSessionCache);
     }
 
     public LocalToken localToken() {
@@ -118,5 +121,6 @@ public class LocalTokenRepoTest {
 
         subject.revokeActive(resourceOwnerId);
         verify(mockLocalTokenMapper).revokeActive(resourceOwnerId);
+        verify(mockLocalSessionCache).invalidate(resourceOwnerId);
     }
 }
\ No newline at end of file
@@ -150,6 +150,24 @@ public class RefreshTokenRepoTest {
         verify(mockRefreshTokenMapper, times(1)).revokeByTokenId(tokenId);
     }
 
+    @Test
+    public void rotateShouldBeTrue() {
+        UUID id = UUID.randomUUID();
+        when(mockRefreshTokenMapper.rotate(id)).thenReturn(1);
+
+        Boolean actual = subject.rotate(id);
+        assertThat(actual, is(true));
+    }
+
+    @Test
+    public void rotateWhenRotatedShouldBeFalse() {
+        UUID id = UUID.randomUUID();
+        when(mockRefreshTokenMapper.rotate(id)).thenReturn(0);
+
+        Boolean actual = subject.rotate(id);
+        assertThat(actual, is(false));
+    }
+
     @Test
     public void revokeActiveShouldBeOk() {
         UUID resourceOwnerId = UUID.randomUUID();
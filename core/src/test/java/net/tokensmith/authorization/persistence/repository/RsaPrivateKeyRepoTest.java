@@ -2,11 +2,13 @@ package net.tokensmith.authorization.persistence.repository;
 
 import helper.fixture.FixtureFactory;
 import net.tokensmith.authorization.persistence.mapper.RSAPrivateKeyMapper;
+import net.tokensmith.authorization.persistence.mapper.RSAPublicKeyMapper;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.SymmetricKey;
 import net.tokensmith.jwt.entity.jwk.Use;
 import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
 import org.junit.Before;
@@ -14,6 +16,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +26,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +37,8 @@ public class RsaPrivateKeyRepoTest {
 
     @Mock
     private RSAPrivateKeyMapper mockRsaPrivateKeyMapper;
+    @Mock
+    private RSAPublicKeyMapper mockRsaPublicKeyMapper;
     private RsaPrivateKeyRepository subject;
 
     @Before
@@ -40,7 +47,7 @@ public class RsaPrivateKeyRepoTest {
         SymmetricKey dbKey = new SymmetricKey(
                 Optional.of("2019117"), "LjF8D5qi24-dJQRFeAshXmJLhtQzn62iLt8f5ftDR_Q", Use.ENCRYPTION
         );
-        subject = new RsaPrivateKeyRepo(mockRsaPrivateKeyMapper, new JwtAppFactory(), dbKey);
+        subject = new RsaPrivateKeyRepo(mockRsaPrivateKeyMapper, mockRsaPublicKeyMapper, new JwtAppFactory(), dbKey);
     }
 
     @Test
@@ -49,6 +56,7 @@ public class RsaPrivateKeyRepoTest {
         subject.insert(rsaPrivateKey);
 
         verify(mockRsaPrivateKeyMapper).insert(any(RSAPrivateKeyBytes.class));
+        verify(mockRsaPublicKeyMapper).insert(any(RSAPublicKeyBytes.class));
     }
 
     @Test
@@ -118,4 +126,113 @@ public class RsaPrivateKeyRepoTest {
 
         subject.getByIdActiveSign(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getPublicKeyByIdActiveSignShouldNotDecrypt() throws Exception {
+        RSAPublicKeyBytes rsaPublicKeyBytes = FixtureFactory.makeRSAPublicKeyBytes();
+        when(mockRsaPublicKeyMapper.getByIdActiveSign(rsaPublicKeyBytes.getId())).thenReturn(rsaPublicKeyBytes);
+
+        RSAPublicKeyBytes actual = subject.getPublicKeyByIdActiveSign(rsaPublicKeyBytes.getId());
+
+        assertThat(actual, is(rsaPublicKeyBytes));
+        verify(mockRsaPrivateKeyMapper, never()).getById(any(UUID.class));
+        verify(mockRsaPublicKeyMapper, never()).insert(any(RSAPublicKeyBytes.class));
+    }
+
+    @Test
+    public void getPublicKeyByIdActiveSignWhenNoPublicPartShouldAddIt() throws Exception {
+        RSAPrivateKey rsaPrivateKey = FixtureFactory.makeRSAPrivateKey();
+        RSAPrivateKeyBytes encryptedKey = subject.encrypt(rsaPrivateKey);
+        when(mockRsaPrivateKeyMapper.getById(rsaPrivateKey.getId())).thenReturn(encryptedKey);
+
+        RSAPublicKeyBytes rsaPublicKeyBytes = new RSAPublicKeyBytes();
+        rsaPublicKeyBytes.setId(rsaPrivateKey.getId());
+        when(mockRsaPublicKeyMapper.getByIdActiveSign(rsaPrivateKey.getId())).thenReturn(rsaPublicKeyBytes);
+
+        RSAPublicKeyBytes actual = subject.getPublicKeyByIdActiveSign(rsaPrivateKey.getId());
+
+        assertThat(new BigInteger(actual.getModulus()), is(rsaPrivateKey.getModulus()));
+        assertThat(new BigInteger(actual.getPublicExponent()), is(rsaPrivateKey.getPublicExponent()));
+        verify(mockRsaPublicKeyMapper).insert(rsaPublicKeyBytes);
+    }
+
+    @Test(expected = RecordNotFoundException.class)
+    public void getPublicKeyByIdActiveSignShouldThrowRecordNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(mockRsaPublicKeyMapper.getByIdActiveSign(id)).thenReturn(null);
+
+        subject.getPublicKeyByIdActiveSign(id);
+    }
+
+    @Test
+    public void getPublicKeysWhereActiveAndUseIsSignShouldReturnList() {
+        List<RSAPublicKeyBytes> keys = List.of(FixtureFactory.makeRSAPublicKeyBytes());
+        when(mockRsaPublicKeyMapper.getWhereActiveAndUseIsSign(10, 0)).thenReturn(keys);
+
+        List<RSAPublicKeyBytes> actual = subject.getPublicKeysWhereActiveAndUseIsSign(10, 0);
+
+        assertThat(actual, is(keys));
+        verify(mockRsaPrivateKeyMapper, never()).getById(any(UUID.class));
+    }
+
+    @Test
+    public void insertWhenNoneCreatedAfterShouldInsert() {
+        OffsetDateTime createdAfter = OffsetDateTime.now();
+        RSAPrivateKeyBytes mostRecent = FixtureFactory.makeRSAPrivateKeyBytes();
+        mostRecent.setCreatedAt(createdAfter.minusMinutes(1));
+        when(mockRsaPrivateKeyMapper.tryLockForRotation()).thenReturn(true);
+        when(mockRsaPrivateKeyMapper.getMostRecentAndActive()).thenReturn(mostRecent);
+
+        Boolean actual = subject.insertWhenNoneCreatedAfter(createdAfter, FixtureFactory::makeRSAPrivateKey);
+
+        assertThat(actual, is(true));
+        verify(mockRsaPrivateKeyMapper).insert(any(RSAPrivateKeyBytes.class));
+        verify(mockRsaPublicKeyMapper).insert(any(RSAPublicKeyBytes.class));
+    }
+
+    @Test
+    public void insertWhenNoneCreatedAfterWhenNoKeyShouldInsert() {
+        when(mockRsaPrivateKeyMapper.tryLockForRotation()).thenReturn(true);
+        when(mockRsaPrivateKeyMapper.getMostRecentAndActive()).thenReturn(null);
+
+        Boolean actual = subject.insertWhenNoneCreatedAfter(OffsetDateTime.now(), FixtureFactory::makeRSAPrivateKey);
+
+        assertThat(actual, is(true));
+        verify(mockRsaPrivateKeyMapper).insert(any(RSAPrivateKeyBytes.class));
+    }
+
+    @Test
+    public void insertWhenNoneCreatedAfterWhenFreshKeyShouldNotInsert() {
+        OffsetDateTime createdAfter = OffsetDateTime.now();
+        RSAPrivateKeyBytes mostRecent = FixtureFactory.makeRSAPrivateKeyBytes();
+        mostRecent.setCreatedAt(createdAfter.plusMinutes(1));
+        when(mockRsaPrivateKeyMapper.tryLockForRotation()).thenReturn(true);
+        when(mockRsaPrivateKeyMapper.getMostRecentAndActive()).thenReturn(mostRecent);
+
+        Boolean actual = subject.insertWhenNoneCreatedAfter(createdAfter, FixtureFactory::makeRSAPrivateKey);
+
+        assertThat(actual, is(false));
+        verify(mockRsaPrivateKeyMapper, never()).insert(any(RSAPrivateKeyBytes.class));
+    }
+
+    @Test
+    public void insertWhenNoneCreatedAfterWhenLockedShouldNotInsert() {
+        when(mockRsaPrivateKeyMapper.tryLockForRotation()).thenReturn(false);
+
+        Boolean actual = subject.insertWhenNoneCreatedAfter(OffsetDateTime.now(), FixtureFactory::makeRSAPrivateKey);
+
+        assertThat(actual, is(false));
+        verify(mockRsaPrivateKeyMapper, never()).getMostRecentAndActive();
+        verify(mockRsaPrivateKeyMapper, never()).insert(any(RSAPrivateKeyBytes.class));
+    }
+
+    @Test
+    public void retireWhereSupersededBeforeShouldRetire() {
+        OffsetDateTime signedBefore = OffsetDateTime.now();
+        when(mockRsaPrivateKeyMapper.retireWhereSupersededBefore(signedBefore)).thenReturn(2);
+
+        Integer actual = subject.retireWhereSupersededBefore(signedBefore);
+
+        assertThat(actual, is(2));
+    }
+}
@@ -0,0 +1,163 @@
+package net.tokensmith.authorization.persistence.repository;
+
+import net.tokensmith.authorization.persistence.repository.ScopeRegistry.ScopeSet;
+import net.tokensmith.repository.entity.Scope;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ScopeRegistryTest {
+    private ScopeRegistry subject;
+
+    @Mock
+    private ScopeRepo mockScopeRepo;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new ScopeRegistry(mockScopeRepo);
+    }
+
+    public List<Scope> makeScopes(String... names) {
+        List<Scope> scopes = new ArrayList<>();
+        for (String name: names) {
+            scopes.add(new Scope(UUID.randomUUID(), name));
+        }
+        return scopes;
+    }
+
+    @Test
+    public void findByNamesShouldReadOnce() {
+        List<Scope> all = makeScopes("openid", "profile", "email");
+        when(mockScopeRepo.findAll()).thenReturn(all);
+
+        List<Scope> first = subject.findByNames(List.of("profile", "openid"));
+        List<Scope> second = subject.findByNames(List.of("profile", "openid"));
+
+        assertThat(first.size(), is(2));
+        assertThat(first.get(0).getId(), is(all.get(1).getId()));
+        assertThat(first.get(0).getName(), is("profile"));
+        assertThat(first.get(1).getId(), is(all.get(0).getId()));
+        assertThat(second.get(0).getId(), is(all.get(1).getId()));
+        assertThat(subject.getHits(), is(2L));
+
+        verify(mockScopeRepo, times(1)).findAll();
+        verify(mockScopeRepo, never()).findByNames(List.of("profile", "openid"));
+    }
+
+    @Test
+    public void findByNamesWhenRepeatedShouldReturnOnce() {
+        when(mockScopeRepo.findAll()).thenReturn(makeScopes("openid", "profile"));
+
+        List<Scope> actual = subject.findByNames(List.of("profile", "profile"));
+
+        assertThat(actual.size(), is(1));
+    }
+
+    @Test
+    public void findByNamesWhenUnknownShouldReadItOnce() {
+        when(mockScopeRepo.findAll()).thenReturn(makeScopes("openid"));
+        List<Scope> phone = makeScopes("phone");
+        when(mockScopeRepo.findByNames(List.of("phone"))).thenReturn(phone);
+
+        List<Scope> first = subject.findByNames(List.of("openid", "phone"));
+        List<Scope> second = subject.findByNames(List.of("openid", "phone"));
+
+        assertThat(first.size(), is(2));
+        assertThat(second.size(), is(2));
+        assertThat(second.get(1).getId(), is(phone.get(0).getId()));
+        assertThat(subject.getMisses(), is(1L));
+        verify(mockScopeRepo, times(1)).findByNames(List.of("phone"));
+    }
+
+    @Test
+    public void findByNamesWhenCallerMutatesShouldNotLeak() {
+        List<Scope> all = makeScopes("openid", "profile");
+        when(mockScopeRepo.findAll()).thenReturn(all);
+
+        List<Scope> first = subject.findByNames(List.of("openid"));
+        first.get(0).setName("changed");
+        all.get(0).setName("changed too");
+        List<Scope> second = subject.findByNames(List.of("openid"));
+
+        assertThat(second.size(), is(1));
+        assertThat(second.get(0).getName(), is("openid"));
+        assertThat(second.get(0), is(not(sameInstance(first.get(0)))));
+    }
+
+    @Test
+    public void findByNamesWhenNotFoundShouldBeEmpty() {
+        when(mockScopeRepo.findAll()).thenReturn(makeScopes("openid"));
+        when(mockScopeRepo.findByNames(List.of("nope"))).thenReturn(new ArrayList<>());
+
+        List<Scope> actual = subject.findByNames(List.of("nope"));
+
+        assertThat(actual.size(), is(0));
+        assertThat(subject.indexOf("nope"), is(ScopeRegistry.UNKNOWN));
+    }
+
+    @Test
+    public void toSetShouldIndexScopes() {
+        List<Scope> scopes = makeScopes("openid", "profile");
+
+        ScopeSet actual = subject.toSet(scopes);
+
+        assertThat(actual.size(), is(2));
+        assertThat(actual.contains(subject.indexOf("openid")), is(true));
+        assertThat(actual.contains(subject.indexOf("profile")), is(true));
+        assertThat(actual.contains(ScopeRegistry.UNKNOWN), is(false));
+    }
+
+    @Test
+    public void containsAllShouldCompareSets() {
+        List<Scope> scopes = makeScopes("openid", "profile", "email");
+        ScopeSet granted = subject.toSet(scopes);
+
+        assertThat(granted.containsAll(subject.toSet(List.of(scopes.get(2), scopes.get(0)))), is(true));
+        assertThat(granted.containsAll(subject.toSet(List.of())), is(true));
+
+        List<Scope> phone = makeScopes("phone");
+        assertThat(granted.containsAll(subject.toSet(List.of(scopes.get(2), phone.get(0)))), is(false));
+    }
+
+    @Test
+    public void containsWhenIndexedAfterShouldBeFalse() {
+        ScopeSet granted = subject.toSet(makeScopes("openid"));
+
+        subject.toSet(makeScopes("phone"));
+
+        assertThat(granted.contains(subject.indexOf("phone")), is(false));
+        assertThat(granted.contains(subject.indexOf("openid")), is(true));
+    }
+
+    @Test
+    public void toSetWhenManyShouldSpanWords() {
+        List<Scope> scopes = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            scopes.add(new Scope(UUID.randomUUID(), "scope-" + i));
+        }
+
+        ScopeSet granted = subject.toSet(scopes);
+        ScopeSet requested = subject.toSet(List.of(scopes.get(0), scopes.get(64), scopes.get(129)));
+
+        assertThat(granted.size(), is(130));
+        assertThat(requested.size(), is(3));
+        assertThat(granted.containsAll(requested), is(true));
+        assertThat(requested.containsAll(granted), is(false));
+    }
+}
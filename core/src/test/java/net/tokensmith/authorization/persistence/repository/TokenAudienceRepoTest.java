@@ -9,10 +9,14 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,6 +43,24 @@ public class TokenAudienceRepoTest {
         verify(mockClientTokenMapper, times(1)).insert(clientToken);
     }
 
+    @Test
+    public void insertAllShouldBeOk() throws Exception {
+        List<TokenAudience> clientTokens = new ArrayList<>();
+        clientTokens.add(new TokenAudience());
+        clientTokens.add(new TokenAudience());
+
+        subject.insertAll(clientTokens);
+
+        verify(mockClientTokenMapper, times(1)).insertAll(clientTokens);
+    }
+
+    @Test
+    public void insertAllWhenEmptyShouldNotInsert() throws Exception {
+        subject.insertAll(new ArrayList<>());
+
+        verify(mockClientTokenMapper, never()).insertAll(any());
+    }
+
     @Test
     public void getByTokenIdShouldBeOk() throws Exception {
         UUID clientId = UUID.randomUUID();
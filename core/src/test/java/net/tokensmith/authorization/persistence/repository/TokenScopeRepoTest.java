@@ -8,6 +8,11 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -36,4 +41,22 @@ public class TokenScopeRepoTest {
         verify(mockTokenScopeMapper, times(1)).insert(tokenScope);
     }
 
+    @Test
+    public void insertAllShouldBeOk() {
+        List<TokenScope> tokenScopes = new ArrayList<>();
+        tokenScopes.add(new TokenScope());
+        tokenScopes.add(new TokenScope());
+
+        subject.insertAll(tokenScopes);
+
+        verify(mockTokenScopeMapper, times(1)).insertAll(tokenScopes);
+    }
+
+    @Test
+    public void insertAllWhenEmptyShouldNotInsert() {
+        subject.insertAll(new ArrayList<>());
+
+        verify(mockTokenScopeMapper, never()).insertAll(any());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package net.tokensmith.authorization.reaper;
+
+import net.tokensmith.repository.repo.ReaperRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExpiredRowReaperTest {
+    private ExpiredRowReaper subject;
+
+    @Mock
+    private ReaperRepository mockReaperRepository;
+    @Mock
+    private TaskScheduler mockTaskScheduler;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        // 0 does not schedule, reap is called by the tests.
+        subject = new ExpiredRowReaper(mockReaperRepository, mockTaskScheduler, 0L, 3600L, 2, 3, 0L);
+
+        when(mockReaperRepository.deleteAuthCodes(any(OffsetDateTime.class), eq(2))).thenReturn(0);
+        when(mockReaperRepository.deleteLocalTokens(any(OffsetDateTime.class), eq(2))).thenReturn(0);
+        when(mockReaperRepository.deleteNonces(any(OffsetDateTime.class), eq(2))).thenReturn(0);
+    }
+
+    @Test
+    public void constructWhenIntervalShouldSchedule() {
+        new ExpiredRowReaper(mockReaperRepository, mockTaskScheduler, 600L, 3600L, 2, 3, 0L);
+
+        verify(mockTaskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), eq(Duration.ofSeconds(600L)));
+    }
+
+    @Test
+    public void constructWhenIntervalIsZeroShouldNotSchedule() {
+        verify(mockTaskScheduler, never()).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), any(Duration.class));
+    }
+
+    @Test
+    public void reapShouldDeleteRowsOlderThanRetention() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime before = now.minusSeconds(3600L);
+
+        when(mockReaperRepository.deleteAuthCodes(before, 2)).thenReturn(1);
+        when(mockReaperRepository.deleteLocalTokens(before, 2)).thenReturn(1);
+        when(mockReaperRepository.deleteNonces(before, 2)).thenReturn(1);
+
+        Long actual = subject.reap(now);
+
+        assertThat(actual, is(3L));
+        assertThat(subject.getAuthCodes(), is(1L));
+        assertThat(subject.getLocalTokens(), is(1L));
+        assertThat(subject.getNonces(), is(1L));
+        assertThat(subject.getBatches(), is(3L));
+        assertThat(subject.getRuns(), is(1L));
+    }
+
+    @Test
+    public void reapWhenBatchIsFullShouldDeleteAnotherBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime before = now.minusSeconds(3600L);
+
+        when(mockReaperRepository.deleteAuthCodes(before, 2)).thenReturn(2, 2, 1);
+
+        Long actual = subject.reap(now);
+
+        assertThat(actual, is(5L));
+        assertThat(subject.getAuthCodes(), is(5L));
+        verify(mockReaperRepository, times(3)).deleteAuthCodes(before, 2);
+    }
+
+    @Test
+    public void reapWhenMaxBatchesShouldStop() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime before = now.minusSeconds(3600L);
+
+        when(mockReaperRepository.deleteNonces(before, 2)).thenReturn(2);
+
+        Long actual = subject.reap(now);
+
+        assertThat(actual, is(6L));
+        verify(mockReaperRepository, times(3)).deleteNonces(before, 2);
+    }
+
+    @Test
+    public void runWhenExceptionShouldCountFailure() {
+        when(mockReaperRepository.deleteAuthCodes(any(OffsetDateTime.class), eq(2))).thenThrow(new RuntimeException());
+
+        subject.run();
+
+        assertThat(subject.getFailures(), is(1L));
+        assertThat(subject.getRuns(), is(0L));
+    }
+}
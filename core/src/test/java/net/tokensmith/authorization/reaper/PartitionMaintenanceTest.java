@@ -0,0 +1,190 @@
+package net.tokensmith.authorization.reaper;
+
+import net.tokensmith.repository.repo.PartitionRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PartitionMaintenanceTest {
+    private static Long NINETY_DAYS = 7776000L;
+    private PartitionMaintenance subject;
+
+    @Mock
+    private PartitionRepository mockPartitionRepository;
+    @Mock
+    private TaskScheduler mockTaskScheduler;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        // 0 does not schedule, maintain is called by the tests.
+        subject = new PartitionMaintenance(mockPartitionRepository, mockTaskScheduler, 0L, 3, NINETY_DAYS, 2);
+
+        for (String table: PartitionMaintenance.TABLES) {
+            when(mockPartitionRepository.getPartitions(table)).thenReturn(new ArrayList<>());
+        }
+    }
+
+    public OffsetDateTime at(int year, int month, int day) {
+        return OffsetDateTime.of(year, month, day, 0, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    @Test
+    public void constructWhenIntervalShouldScheduleRightAway() {
+        new PartitionMaintenance(mockPartitionRepository, mockTaskScheduler, 3600L, 3, NINETY_DAYS, 2);
+
+        verify(mockTaskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(3600L)));
+    }
+
+    @Test
+    public void maintainShouldCreateMonthsAhead() {
+        List<String> partitions = List.of("token_default", "token_legacy", "token_p202611");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+
+        subject.maintain(at(2026, 10, 18));
+
+        verify(mockPartitionRepository, never()).createPartition(eq("token"), eq("token_p202611"), any(OffsetDateTime.class), any(OffsetDateTime.class));
+        verify(mockPartitionRepository).createPartition("token", "token_p202612", at(2026, 12, 1), at(2027, 1, 1));
+        verify(mockPartitionRepository).createPartition("token", "token_p202701", at(2027, 1, 1), at(2027, 2, 1));
+        verify(mockPartitionRepository).createPartition("refresh_token", "refresh_token_p202611", at(2026, 11, 1), at(2026, 12, 1));
+
+        // 3 months for each of the 4 tables, less the one that was there.
+        assertThat(subject.getCreated(), is(11L));
+    }
+
+    @Test
+    public void maintainWhenDefaultHasRowsShouldCreateTheirMonths() {
+        // maintenance was off, this month and a month that was made then dropped have rows in the default partition.
+        List<String> partitions = List.of("token_default", "token_legacy", "token_p202611");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+        when(mockPartitionRepository.getDefaultMonths("token")).thenReturn(List.of(at(2026, 10, 1), at(2026, 11, 1)));
+        when(mockPartitionRepository.createPartition("token", "token_p202610", at(2026, 10, 1), at(2026, 11, 1))).thenReturn(4);
+
+        subject.maintain(at(2026, 10, 18));
+
+        verify(mockPartitionRepository).createPartition("token", "token_p202610", at(2026, 10, 1), at(2026, 11, 1));
+        verify(mockPartitionRepository, never()).createPartition(eq("token"), eq("token_p202611"), any(OffsetDateTime.class), any(OffsetDateTime.class));
+        verify(mockPartitionRepository).createPartition("token", "token_p202612", at(2026, 12, 1), at(2027, 1, 1));
+        verify(mockPartitionRepository).createPartition("token", "token_p202701", at(2027, 1, 1), at(2027, 2, 1));
+    }
+
+    @Test
+    public void maintainShouldDropPartitionsPastRetention() {
+        List<String> partitions = List.of("token_default", "token_legacy", "token_p202606", "token_p202607");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+
+        // 90 days before is 2026-07-20, june ended before it and july did not.
+        subject.maintain(at(2026, 10, 18));
+
+        InOrder inOrder = inOrder(mockPartitionRepository);
+        inOrder.verify(mockPartitionRepository).deleteReferences("token", "token_p202606", null, 2);
+        inOrder.verify(mockPartitionRepository).dropPartition("token", "token_p202606");
+        verify(mockPartitionRepository, never()).dropPartition("token", "token_p202607");
+        verify(mockPartitionRepository, never()).dropPartition("token", "token_default");
+        verify(mockPartitionRepository, never()).dropPartition("token", "token_legacy");
+        verify(mockPartitionRepository, never()).deleteReferences(eq("token"), eq("token_p202607"), any(), anyInt());
+        assertThat(subject.getDropped(), is(1L));
+    }
+
+    @Test
+    public void maintainShouldDeleteReferencesInBatchesThenDrop() {
+        List<String> partitions = List.of("token_default", "token_legacy", "token_p202606");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(mockPartitionRepository.deleteReferences("token", "token_p202606", null, 2)).thenReturn(first);
+        when(mockPartitionRepository.deleteReferences("token", "token_p202606", first, 2)).thenReturn(second);
+
+        subject.maintain(at(2026, 10, 18));
+
+        InOrder inOrder = inOrder(mockPartitionRepository);
+        inOrder.verify(mockPartitionRepository).deleteReferences("token", "token_p202606", null, 2);
+        inOrder.verify(mockPartitionRepository).deleteReferences("token", "token_p202606", first, 2);
+        inOrder.verify(mockPartitionRepository).deleteReferences("token", "token_p202606", second, 2);
+        inOrder.verify(mockPartitionRepository).dropPartition("token", "token_p202606");
+    }
+
+    @Test
+    public void maintainWhenInterruptedShouldNotDrop() {
+        List<String> partitions = List.of("token_default", "token_legacy", "token_p202606");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+
+        Thread.currentThread().interrupt();
+        try {
+            subject.maintain(at(2026, 10, 18));
+        } finally {
+            Thread.interrupted();
+        }
+
+        verify(mockPartitionRepository, never()).dropPartition(anyString(), anyString());
+        assertThat(subject.getDropped(), is(0L));
+    }
+
+    @Test
+    public void maintainWhenLegacyIsPastRetentionShouldDropIt() {
+        List<String> partitions = List.of("token_default", "token_legacy", "token_p202607");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+        when(mockPartitionRepository.getUpperBound("token_legacy")).thenReturn(at(2026, 7, 1));
+
+        subject.maintain(at(2026, 10, 18));
+
+        InOrder inOrder = inOrder(mockPartitionRepository);
+        inOrder.verify(mockPartitionRepository).deleteReferences("token", "token_legacy", null, 2);
+        inOrder.verify(mockPartitionRepository).dropPartition("token", "token_legacy");
+        verify(mockPartitionRepository, never()).getUpperBound("token_default");
+        verify(mockPartitionRepository, never()).dropPartition("token", "token_default");
+        assertThat(subject.getDropped(), is(1L));
+    }
+
+    @Test
+    public void maintainWhenLegacyIsInRetentionShouldKeepIt() {
+        List<String> partitions = List.of("token_default", "token_legacy");
+        when(mockPartitionRepository.getPartitions("token")).thenReturn(partitions);
+        when(mockPartitionRepository.getUpperBound("token_legacy")).thenReturn(at(2026, 8, 1));
+
+        subject.maintain(at(2026, 10, 18));
+
+        verify(mockPartitionRepository, never()).deleteReferences(anyString(), anyString(), any(), anyInt());
+        verify(mockPartitionRepository, never()).dropPartition(anyString(), anyString());
+    }
+
+    @Test
+    public void runWhenExceptionShouldCountFailure() {
+        when(mockPartitionRepository.getPartitions(anyString())).thenThrow(new RuntimeException());
+
+        subject.run();
+
+        assertThat(subject.getFailures(), is(1L));
+    }
+
+    @Test
+    public void monthOfShouldParseName() {
+        assertThat(subject.monthOf("token", "token_p202611"), is(YearMonth.of(2026, 11)));
+        assertThat(subject.monthOf("token", "token_legacy"), is(nullValue()));
+        assertThat(subject.monthOf("token", "token_default"), is(nullValue()));
+        assertThat(subject.monthOf("token", "token_scope_p202611"), is(nullValue()));
+    }
+}
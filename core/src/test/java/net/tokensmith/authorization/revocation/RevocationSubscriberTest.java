@@ -0,0 +1,86 @@
+package net.tokensmith.authorization.revocation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class RevocationSubscriberTest {
+    @Mock
+    private Consumer<String, String> mockConsumer;
+    @Mock
+    private LocalSessionCache mockLocalSessionCache;
+    @Mock
+    private ClientRegistry mockClientRegistry;
+
+    private RevocationSubscriber subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new RevocationSubscriber(mockConsumer, mockLocalSessionCache, mockClientRegistry, new ObjectMapper(), false);
+    }
+
+    public String makeMessage(String type, UUID id) {
+        return "{\"type\":\"" + type + "\",\"id\":\"" + id.toString() + "\",\"tokens\":\"2\"}";
+    }
+
+    @Test
+    public void handleWhenResourceOwnerShouldInvalidateSessions() {
+        UUID resourceOwnerId = UUID.randomUUID();
+
+        subject.handle(makeMessage(RevokeCredentials.RESOURCE_OWNER, resourceOwnerId));
+
+        verify(mockLocalSessionCache).invalidate(resourceOwnerId);
+        verify(mockClientRegistry, never()).invalidate(any(UUID.class));
+        assertThat(subject.getReceived(), is(1L));
+    }
+
+    @Test
+    public void handleWhenClientShouldInvalidateClient() {
+        UUID clientId = UUID.randomUUID();
+
+        subject.handle(makeMessage(RevokeCredentials.CLIENT, clientId));
+
+        verify(mockClientRegistry).invalidate(clientId);
+        verify(mockLocalSessionCache, never()).invalidate(any(UUID.class));
+        assertThat(subject.getReceived(), is(1L));
+    }
+
+    @Test
+    public void handleWhenNotJsonShouldReject() {
+        subject.handle("not json");
+
+        verify(mockLocalSessionCache, never()).invalidate(any(UUID.class));
+        verify(mockClientRegistry, never()).invalidate(any(UUID.class));
+        assertThat(subject.getRejected(), is(1L));
+    }
+
+    @Test
+    public void handleWhenUnknownTypeShouldReject() {
+        subject.handle(makeMessage("unknown", UUID.randomUUID()));
+
+        verify(mockLocalSessionCache, never()).invalidate(any(UUID.class));
+        verify(mockClientRegistry, never()).invalidate(any(UUID.class));
+        assertThat(subject.getRejected(), is(1L));
+    }
+
+    @Test
+    public void destroyWhenNotSubscribedShouldClose() {
+        subject.destroy();
+
+        verify(mockConsumer).close();
+    }
+}
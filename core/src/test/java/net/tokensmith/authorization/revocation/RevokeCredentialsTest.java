@@ -0,0 +1,98 @@
+package net.tokensmith.authorization.revocation;
+
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
+import net.tokensmith.authorization.persistence.repository.ClientRegistry;
+import net.tokensmith.pelican.Publish;
+import net.tokensmith.repository.entity.Revocation;
+import net.tokensmith.repository.repo.RevocationRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RevokeCredentialsTest {
+    @Mock
+    private RevocationRepository mockRevocationRepository;
+    @Mock
+    private LocalSessionCache mockLocalSessionCache;
+    @Mock
+    private ClientRegistry mockClientRegistry;
+    @Mock
+    private Publish mockPublish;
+
+    private RevokeCredentials subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new RevokeCredentials(mockRevocationRepository, mockLocalSessionCache, mockClientRegistry, mockPublish);
+    }
+
+    public Revocation makeRevocation() {
+        Revocation revocation = new Revocation();
+        revocation.setTokens(2);
+        revocation.setRefreshTokens(1);
+        revocation.setAuthCodes(1);
+        revocation.setLocalTokens(3);
+        revocation.setNonces(0);
+        return revocation;
+    }
+
+    @Test
+    public void forResourceOwnerShouldRevokeAndPublish() {
+        UUID resourceOwnerId = UUID.randomUUID();
+        Revocation revocation = makeRevocation();
+        when(mockRevocationRepository.revokeByResourceOwnerId(resourceOwnerId)).thenReturn(revocation);
+
+        Revocation actual = subject.forResourceOwner(resourceOwnerId);
+
+        assertThat(actual, is(revocation));
+        verify(mockLocalSessionCache).invalidate(resourceOwnerId);
+        verify(mockClientRegistry, never()).invalidate(any(UUID.class));
+
+        ArgumentCaptor<Map<String, String>> msgCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(mockPublish).send(eq("revocation"), msgCaptor.capture());
+
+        Map<String, String> msg = msgCaptor.getValue();
+        assertThat(msg.get("type"), is("resource_owner"));
+        assertThat(msg.get("id"), is(resourceOwnerId.toString()));
+        assertThat(msg.get("tokens"), is("2"));
+        assertThat(msg.get("refresh_tokens"), is("1"));
+        assertThat(msg.get("auth_codes"), is("1"));
+        assertThat(msg.get("local_tokens"), is("3"));
+        assertThat(msg.get("nonces"), is("0"));
+    }
+
+    @Test
+    public void forClientShouldRevokeAndPublish() {
+        UUID clientId = UUID.randomUUID();
+        Revocation revocation = makeRevocation();
+        when(mockRevocationRepository.revokeByClientId(clientId)).thenReturn(revocation);
+
+        Revocation actual = subject.forClient(clientId);
+
+        assertThat(actual, is(revocation));
+        verify(mockClientRegistry).invalidate(clientId);
+        verify(mockLocalSessionCache, never()).invalidate(any(UUID.class));
+
+        ArgumentCaptor<Map<String, String>> msgCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(mockPublish).send(eq("revocation"), msgCaptor.capture());
+
+        Map<String, String> msg = msgCaptor.getValue();
+        assertThat(msg.get("type"), is("client"));
+        assertThat(msg.get("id"), is(clientId.toString()));
+        assertThat(msg.get("tokens"), is("2"));
+    }
+}
@@ -0,0 +1,75 @@
+package net.tokensmith.authorization.security;
+
+import helper.fixture.FixtureFactory;
+import net.tokensmith.repository.entity.RSAPrivateKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RSAPrivateKeyPoolTest {
+    private RSAPrivateKeyPool subject;
+
+    @Mock
+    private GenerateRSAPrivateKey mockGenerateRSAPrivateKey;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new RSAPrivateKeyPool(mockGenerateRSAPrivateKey, 2048, 2);
+    }
+
+    @Test
+    public void destroyShouldShutDown() {
+        subject.destroy();
+
+        assertThat(subject.isShutdown(), is(true));
+    }
+
+    @Test
+    public void refillShouldGenerateKeys() {
+        when(mockGenerateRSAPrivateKey.generate(2048)).thenReturn(FixtureFactory.makeRSAPrivateKey(), FixtureFactory.makeRSAPrivateKey());
+
+        subject.refill();
+
+        verify(mockGenerateRSAPrivateKey, timeout(1000).times(2)).generate(2048);
+    }
+
+    @Test
+    public void takeWhenEmptyShouldGenerateKey() {
+        RSAPrivateKey key = FixtureFactory.makeRSAPrivateKey();
+        when(mockGenerateRSAPrivateKey.generate(2048)).thenReturn(key, FixtureFactory.makeRSAPrivateKey(), FixtureFactory.makeRSAPrivateKey());
+
+        RSAPrivateKey actual = subject.take();
+
+        assertThat(actual, is(key));
+        assertThat(subject.getMisses(), is(1L));
+        // the pool is filled in the background.
+        verify(mockGenerateRSAPrivateKey, timeout(1000).times(3)).generate(2048);
+    }
+
+    @Test
+    public void takeWhenFilledShouldNotGenerateOnCallingThread() throws Exception {
+        when(mockGenerateRSAPrivateKey.generate(2048)).thenReturn(FixtureFactory.makeRSAPrivateKey(), FixtureFactory.makeRSAPrivateKey(), FixtureFactory.makeRSAPrivateKey());
+
+        subject.refill();
+        verify(mockGenerateRSAPrivateKey, timeout(1000).times(2)).generate(2048);
+        while (subject.getSize() < 2) {
+            Thread.sleep(10);
+        }
+
+        RSAPrivateKey actual = subject.take();
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(subject.getMisses(), is(0L));
+        verify(mockGenerateRSAPrivateKey, timeout(1000).times(3)).generate(2048);
+    }
+}
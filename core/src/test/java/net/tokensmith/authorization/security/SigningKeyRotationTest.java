@@ -0,0 +1,129 @@
+package net.tokensmith.authorization.security;
+
+import helper.fixture.FixtureFactory;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
+import net.tokensmith.repository.entity.RSAPrivateKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.function.Supplier;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SigningKeyRotationTest {
+    private SigningKeyRotation subject;
+
+    @Mock
+    private RSAPrivateKeyPool mockRsaPrivateKeyPool;
+    @Mock
+    private CachedRsaPrivateKeyRepo mockRsaPrivateKeyRepository;
+    @Mock
+    private TaskScheduler mockTaskScheduler;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        // 0 does not schedule, rotate is called by the tests.
+        subject = new SigningKeyRotation(mockRsaPrivateKeyPool, mockRsaPrivateKeyRepository, mockTaskScheduler, 0L, 360L, 0L);
+    }
+
+    public SigningKeyRotation makeSubject(Long rotationInSeconds, Long retireInSeconds) {
+        return new SigningKeyRotation(mockRsaPrivateKeyPool, mockRsaPrivateKeyRepository, mockTaskScheduler, rotationInSeconds, 360L, retireInSeconds);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Supplier<RSAPrivateKey> captureNext(OffsetDateTime createdAfter) {
+        ArgumentCaptor<Supplier> captor = ArgumentCaptor.forClass(Supplier.class);
+        verify(mockRsaPrivateKeyRepository).insertWhenNoneCreatedAfter(eq(createdAfter), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void constructWhenRotationShouldRefillAndSchedule() {
+        makeSubject(3600L, 0L);
+
+        verify(mockRsaPrivateKeyPool).refill();
+        verify(mockTaskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), eq(Duration.ofSeconds(3600L)));
+    }
+
+    @Test
+    public void rotateWhenInsertedShouldCountRotation() throws Exception {
+        subject = makeSubject(3600L, 0L);
+        OffsetDateTime now = OffsetDateTime.now();
+        when(mockRsaPrivateKeyRepository.insertWhenNoneCreatedAfter(eq(now.minusSeconds(3600L)), any())).thenReturn(true);
+
+        Boolean actual = subject.rotate(now);
+
+        assertThat(actual, is(true));
+        assertThat(subject.getRotations(), is(1L));
+        verify(mockRsaPrivateKeyRepository, never()).retireWhereSupersededBefore(any(OffsetDateTime.class));
+    }
+
+    @Test
+    public void rotateShouldPublishPooledKeyBeforeItSigns() throws Exception {
+        subject = makeSubject(3600L, 0L);
+        OffsetDateTime now = OffsetDateTime.now();
+        when(mockRsaPrivateKeyRepository.insertWhenNoneCreatedAfter(eq(now.minusSeconds(3600L)), any())).thenReturn(true);
+
+        RSAPrivateKey pooled = FixtureFactory.makeRSAPrivateKey();
+        pooled.setActive(false);
+        when(mockRsaPrivateKeyPool.take()).thenReturn(pooled);
+
+        subject.rotate(now);
+        RSAPrivateKey actual = captureNext(now.minusSeconds(3600L)).get();
+
+        // published at once, it signs after the nodes and clients caching the public keys have it.
+        assertThat(actual, is(pooled));
+        assertThat(actual.isActive(), is(true));
+        assertThat(actual.getSignAfter(), is(now.plusSeconds(360L)));
+    }
+
+    @Test
+    public void rotateWhenSigningKeyIsYoungShouldNotRotate() throws Exception {
+        subject = makeSubject(3600L, 0L);
+        OffsetDateTime now = OffsetDateTime.now();
+        when(mockRsaPrivateKeyRepository.insertWhenNoneCreatedAfter(eq(now.minusSeconds(3600L)), any())).thenReturn(false);
+
+        Boolean actual = subject.rotate(now);
+
+        assertThat(actual, is(false));
+        assertThat(subject.getRotations(), is(0L));
+        verify(mockRsaPrivateKeyPool, never()).take();
+    }
+
+    @Test
+    public void rotateWhenRetireShouldRetireReplacedKeys() throws Exception {
+        subject = makeSubject(3600L, 86400L);
+        OffsetDateTime now = OffsetDateTime.now();
+        when(mockRsaPrivateKeyRepository.insertWhenNoneCreatedAfter(eq(now.minusSeconds(3600L)), any())).thenReturn(false);
+        when(mockRsaPrivateKeyRepository.retireWhereSupersededBefore(now.minusSeconds(86400L))).thenReturn(2);
+
+        subject.rotate(now);
+
+        assertThat(subject.getRetired(), is(2L));
+        verify(mockRsaPrivateKeyRepository).retireWhereSupersededBefore(now.minusSeconds(86400L));
+    }
+
+    @Test
+    public void runWhenRotateFailsShouldCountFailure() throws Exception {
+        subject = makeSubject(3600L, 0L);
+        when(mockRsaPrivateKeyRepository.insertWhenNoneCreatedAfter(any(OffsetDateTime.class), any())).thenThrow(new RuntimeException("db is down"));
+
+        subject.run();
+
+        assertThat(subject.getFailures(), is(1L));
+    }
+}
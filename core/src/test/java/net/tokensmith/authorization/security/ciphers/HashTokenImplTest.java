@@ -0,0 +1,98 @@
+package net.tokensmith.authorization.security.ciphers;
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+
+public class HashTokenImplTest {
+    private static String EMPTY_SHA3_512 = "a69f73cca23a9ac5c8b567dc185a756e97c982164fe25859e0d1dcc1475c80a615b2123af1f5f94c11e3e9402c3ac558f500199d95b6d3e301758586281dcd26";
+
+    private HashTokenImpl subject;
+
+    @Before
+    public void setUp() {
+        subject = new HashTokenImpl();
+    }
+
+    public String expected(String plainText) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA3-512");
+        return Hex.encodeHexString(digest.digest(plainText.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void runWhenEmptyShouldBeOk() {
+        String actual = subject.run("");
+        assertThat(actual, is(EMPTY_SHA3_512));
+    }
+
+    @Test
+    public void runShouldMatchHexOfDigest() throws Exception {
+        String plainText = "local-token";
+
+        String actual = subject.run(plainText);
+
+        assertThat(actual.length(), is(128));
+        assertThat(actual, is(expected(plainText)));
+    }
+
+    @Test
+    public void runManyTimesShouldReuseDigest() throws Exception {
+        // a reused digest must be reset between calls.
+        assertThat(subject.run("first-token"), is(expected("first-token")));
+        assertThat(subject.run("second-token"), is(expected("second-token")));
+        assertThat(subject.run("first-token"), is(expected("first-token")));
+    }
+
+    @Test
+    public void runWithBytesShouldMatchString() throws Exception {
+        String plainText = "access-token";
+
+        String actual = subject.run(plainText.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(actual, is(expected(plainText)));
+    }
+
+    @Test
+    public void runWithByteBufferShouldMatchString() throws Exception {
+        String plainText = "refresh-token";
+        ByteBuffer buffer = ByteBuffer.wrap(plainText.getBytes(StandardCharsets.UTF_8));
+
+        String actual = subject.run(buffer);
+
+        assertThat(actual, is(expected(plainText)));
+        assertThat(buffer.hasRemaining(), is(false));
+    }
+
+    @Test
+    public void runFromManyThreadsShouldBeOk() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            String plainText = "token-" + i;
+            String expected = expected(plainText);
+            tasks.add(() -> expected.equals(subject.run(plainText)));
+        }
+
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.tokensmith.authorization.security.ciphers;
+
+import net.tokensmith.authorization.exception.ServiceUnavailableException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+
+public class PasswordCheckPoolTest {
+    private PasswordCheckPool subject;
+
+    @Before
+    public void setUp() {
+        subject = new PasswordCheckPool(1, 1, 2000L);
+    }
+
+    @Test
+    public void runShouldReturnResult() {
+        Boolean actual = subject.run(() -> true);
+
+        assertThat(actual, is(true));
+        assertThat(subject.getCompleted(), is(1L));
+        assertThat(subject.getRejected(), is(0L));
+        assertThat(subject.getMaxLatencyInMicros() >= 0, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void runWhenCheckThrowsShouldThrow() {
+        subject.run(() -> {
+            throw new IllegalArgumentException("Invalid salt version");
+        });
+    }
+
+    @Test
+    public void runWhenFullShouldReject() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            // one running and one queued fills the pool.
+            callers.submit(() -> subject.run(() -> {
+                running.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            running.await(5, TimeUnit.SECONDS);
+            callers.submit(() -> subject.run(() -> true));
+            waitForQueued(1);
+
+            ServiceUnavailableException actual = null;
+            try {
+                subject.run(() -> true);
+            } catch (ServiceUnavailableException e) {
+                actual = e;
+            }
+
+            assertThat(actual, is(notNullValue()));
+            assertThat(subject.getRejected(), is(1L));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    public void runWhenTooSlowShouldTimeOut() {
+        subject = new PasswordCheckPool(1, 1, 10L);
+
+        ServiceUnavailableException actual = null;
+        try {
+            subject.run(() -> {
+                Thread.sleep(1000);
+                return true;
+            });
+        } catch (ServiceUnavailableException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(subject.getTimedOut(), is(1L));
+    }
+
+    @Test
+    public void runWhenNoQueueShouldBeOk() {
+        subject = new PasswordCheckPool(1, 0, 2000L);
+
+        Boolean actual = subject.run(() -> true);
+
+        assertThat(actual, is(true));
+    }
+
+    protected void waitForQueued(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && subject.getQueued() < expected; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void destroyShouldShutdownAndReject() {
+        subject.destroy();
+
+        assertThat(subject.isShutdown(), is(true));
+
+        ServiceUnavailableException actual = null;
+        try {
+            subject.run(() -> true);
+        } catch (ServiceUnavailableException e) {
+            actual = e;
+        }
+        assertThat(actual, is(notNullValue()));
+    }
+}
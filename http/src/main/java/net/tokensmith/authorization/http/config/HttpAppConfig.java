@@ -5,6 +5,8 @@ import net.tokensmith.authorization.http.config.props.HttpProperties;
 import net.tokensmith.authorization.http.controller.resource.html.CookieName;
 import net.tokensmith.authorization.http.response.Error;
 import net.tokensmith.authorization.http.response.Token;
+import net.tokensmith.authorization.oauth2.grant.token.entity.DeniedToken;
+import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.authorization.register.request.UserInfo;
 import net.tokensmith.config.AppConfig;
 import net.tokensmith.jwt.builder.compact.UnsecureCompactBuilder;
@@ -88,6 +90,21 @@ public class HttpAppConfig {
         return translatorAppFactory().jsonTranslator(UserInfo.class);
     }
 
+    @Bean
+    public JsonTranslator<RSAPublicKey> rsaPublicKeyJsonTranslator() {
+        return translatorAppFactory().jsonTranslator(RSAPublicKey.class);
+    }
+
+    @Bean
+    public JsonTranslator<RSAPublicKey[]> rsaPublicKeysJsonTranslator() {
+        return translatorAppFactory().jsonTranslator(RSAPublicKey[].class);
+    }
+
+    @Bean
+    public JsonTranslator<DeniedToken[]> deniedTokensJsonTranslator() {
+        return translatorAppFactory().jsonTranslator(DeniedToken[].class);
+    }
+
     @Bean
     public UnsecureCompactBuilder unsecureCompactBuilder() {
         return new UnsecureCompactBuilder();
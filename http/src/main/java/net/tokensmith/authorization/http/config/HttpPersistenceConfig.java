@@ -1,6 +1,6 @@
 package net.tokensmith.authorization.http.config;
 
-import org.apache.commons.dbcp2.BasicDataSource;
+import net.tokensmith.authorization.persistence.datasource.PooledDataSource;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
@@ -11,11 +11,13 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
 
 @Configuration
 @MapperScan("net.tokensmith.authorization.persistence.mapper")
+@EnableTransactionManagement(proxyTargetClass = true)
 @PropertySource({"classpath:application-${spring.profiles.active:default}.properties"})
 public class HttpPersistenceConfig {
 
@@ -26,15 +28,67 @@ public class HttpPersistenceConfig {
     @Value("${auth.db.url}")
     private String connectionUrl;
 
+    @Value("${auth.db.pool.initial.size:2}")
+    private Integer initialSize;
+    @Value("${auth.db.pool.max.total:20}")
+    private Integer maxTotal;
+    @Value("${auth.db.pool.max.idle:20}")
+    private Integer maxIdle;
+    @Value("${auth.db.pool.min.idle:2}")
+    private Integer minIdle;
+    @Value("${auth.db.pool.max.wait:5000}")
+    private Long maxWaitMillis;
+    @Value("${auth.db.pool.validation.query:}")
+    private String validationQuery;
+    @Value("${auth.db.pool.validation.timeout:2}")
+    private Integer validationQueryTimeout;
+    @Value("${auth.db.pool.test.on.borrow:true}")
+    private Boolean testOnBorrow;
+    @Value("${auth.db.pool.test.while.idle:true}")
+    private Boolean testWhileIdle;
+    @Value("${auth.db.pool.eviction.interval:30000}")
+    private Long timeBetweenEvictionRunsMillis;
+    @Value("${auth.db.pool.min.evictable.idle:60000}")
+    private Long minEvictableIdleTimeMillis;
+    @Value("${auth.db.pool.statements.pool:true}")
+    private Boolean poolPreparedStatements;
+    @Value("${auth.db.pool.statements.max:100}")
+    private Integer maxOpenPreparedStatements;
+    @Value("${auth.db.pool.jmx.name:net.tokensmith:type=DataSource,name=auth}")
+    private String jmxName;
+
     @Bean
     public DataSource dataSource() {
-        BasicDataSource dataSource = new BasicDataSource();
+        PooledDataSource dataSource = new PooledDataSource();
 
         dataSource.setDriverClassName("org.postgresql.Driver");
         dataSource.setUsername(userName);
         dataSource.setUrl(connectionUrl);
         dataSource.setPassword(password);
 
+        dataSource.setInitialSize(initialSize);
+        dataSource.setMaxTotal(maxTotal);
+        dataSource.setMaxIdle(maxIdle);
+        dataSource.setMinIdle(minIdle);
+        dataSource.setMaxWaitMillis(maxWaitMillis);
+
+        // without a validation query the driver's Connection.isValid is used.
+        if (!validationQuery.isBlank()) {
+            dataSource.setValidationQuery(validationQuery);
+        }
+        dataSource.setValidationQueryTimeout(validationQueryTimeout);
+        dataSource.setTestOnBorrow(testOnBorrow);
+        dataSource.setTestWhileIdle(testWhileIdle);
+        dataSource.setTimeBetweenEvictionRunsMillis(timeBetweenEvictionRunsMillis);
+        dataSource.setMinEvictableIdleTimeMillis(minEvictableIdleTimeMillis);
+
+        dataSource.setPoolPreparedStatements(poolPreparedStatements);
+        dataSource.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+
+        if (!jmxName.isBlank()) {
+            dataSource.setJmxName(jmxName);
+        }
+
         return dataSource;
     }
 
@@ -0,0 +1,56 @@
+package net.tokensmith.authorization.http.controller.resource.api.publik;
+
+import net.tokensmith.authorization.http.controller.security.APIUser;
+import net.tokensmith.authorization.http.service.DenyListService;
+import net.tokensmith.authorization.oauth2.grant.token.entity.DeniedToken;
+import net.tokensmith.otter.controller.RestResource;
+import net.tokensmith.otter.controller.entity.StatusCode;
+import net.tokensmith.otter.controller.entity.request.RestRequest;
+import net.tokensmith.otter.controller.entity.response.RestResponse;
+import net.tokensmith.otter.controller.header.ContentType;
+import net.tokensmith.otter.controller.header.Header;
+import net.tokensmith.otter.translator.exception.ToJsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * The jti and exp of every access token that was revoked and has not expired. Resource servers
+ * that verify jwt access tokens themselves poll it, see access.token.jwt.
+ */
+@Component
+public class DeniedTokensResource extends RestResource<APIUser, DeniedToken[]> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeniedTokensResource.class);
+    public static String URL = "/api/public/v1/token/denied";
+
+    private static String MAX_AGE = "public, max-age=%s";
+
+    private DenyListService denyListService;
+
+    @Autowired
+    public DeniedTokensResource(DenyListService denyListService) {
+        this.denyListService = denyListService;
+    }
+
+    @Override
+    public RestResponse<DeniedToken[]> get(RestRequest<APIUser, DeniedToken[]> request, RestResponse<DeniedToken[]> response) {
+        response.getHeaders().put(Header.CONTENT_TYPE.getValue(), ContentType.JSON_UTF_8.getValue());
+
+        byte[] denied;
+        try {
+            denied = denyListService.get();
+        } catch (ToJsonException e) {
+            LOGGER.error(e.getMessage(), e);
+            response.setStatusCode(StatusCode.SERVER_ERROR);
+            return response;
+        }
+
+        response.getHeaders().put(Header.CACHE_CONTROL.getValue(), String.format(MAX_AGE, denyListService.getMaxAgeInSeconds()));
+        response.setRawPayload(Optional.of(denied));
+        response.setStatusCode(StatusCode.OK);
+        return response;
+    }
+}
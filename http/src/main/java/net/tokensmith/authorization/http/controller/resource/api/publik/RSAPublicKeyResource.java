@@ -3,7 +3,8 @@ package net.tokensmith.authorization.http.controller.resource.api.publik;
 
 import net.tokensmith.authorization.exception.NotFoundException;
 import net.tokensmith.authorization.http.controller.security.APIUser;
-import net.tokensmith.authorization.openId.jwk.GetKeys;
+import net.tokensmith.authorization.http.service.JwksService;
+import net.tokensmith.authorization.http.service.JwksService.CachedJson;
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.otter.controller.RestResource;
 import net.tokensmith.otter.controller.builder.ClientErrorBuilder;
@@ -34,13 +35,17 @@ public class RSAPublicKeyResource extends RestResource<APIUser, RSAPublicKey> {
     private static String ID_NAME = "id";
     public static String URL = "/api/public/v1/jwk/rsa/(?<" + ID_NAME + ">" + Regex.UUID.getRegex() + ")";
 
+    private static String ETAG = "ETag";
+    private static String IF_NONE_MATCH = "If-None-Match";
+    private static String MAX_AGE = "public, max-age=%s";
+
     private JsonTranslator<ClientError> clientErrorTranslator;
-    private GetKeys getKeys;
+    private JwksService jwksService;
 
     @Autowired
-    public RSAPublicKeyResource(JsonTranslator<ClientError> clientErrorTranslator, GetKeys getKeys) {
+    public RSAPublicKeyResource(JsonTranslator<ClientError> clientErrorTranslator, JwksService jwksService) {
         this.clientErrorTranslator = clientErrorTranslator;
-        this.getKeys = getKeys;
+        this.jwksService = jwksService;
     }
 
     @Override
@@ -48,16 +53,26 @@ public class RSAPublicKeyResource extends RestResource<APIUser, RSAPublicKey> {
         setDefaultHeaders(response);
         UUID id = UUID.fromString(request.getMatcher().get().group(ID_NAME));
 
-        Optional<RSAPublicKey> key;
+        CachedJson key;
         try {
-            key = Optional.of(getKeys.getPublicKeyById(id));
+            key = jwksService.getKey(id);
         } catch (NotFoundException e) {
             response.setStatusCode(StatusCode.NOT_FOUND);
             response.setRawPayload(notFound("id", id.toString()));
             return response;
+        } catch (ToJsonException e) {
+            LOGGER.error(e.getMessage(), e);
+            response.setStatusCode(StatusCode.SERVER_ERROR);
+            return response;
         }
 
-        response.setPayload(key);
+        setCacheHeaders(response, key);
+        if (key.matches(request.getHeaders().get(IF_NONE_MATCH))) {
+            response.setStatusCode(StatusCode.NOT_MODIFIED);
+            return response;
+        }
+
+        response.setRawPayload(Optional.of(key.getPayload()));
         response.setStatusCode(StatusCode.OK);
         return response;
     }
@@ -72,6 +87,12 @@ public class RSAPublicKeyResource extends RestResource<APIUser, RSAPublicKey> {
         response.getHeaders().putAll(headers);
     }
 
+    protected void setCacheHeaders(RestResponse<RSAPublicKey> response, CachedJson key) {
+        response.getHeaders().remove(Header.PRAGMA.getValue());
+        response.getHeaders().put(Header.CACHE_CONTROL.getValue(), String.format(MAX_AGE, jwksService.getMaxAgeInSeconds()));
+        response.getHeaders().put(ETAG, key.getEtag());
+    }
+
     private Optional<byte[]> notFound(String key, String actual) {
 
         Cause cause = new Cause.Builder()
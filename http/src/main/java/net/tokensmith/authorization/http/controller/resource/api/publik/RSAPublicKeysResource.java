@@ -2,7 +2,8 @@ package net.tokensmith.authorization.http.controller.resource.api.publik;
 
 import net.tokensmith.authorization.http.controller.exception.BadRequestException;
 import net.tokensmith.authorization.http.controller.security.APIUser;
-import net.tokensmith.authorization.openId.jwk.GetKeys;
+import net.tokensmith.authorization.http.service.JwksService;
+import net.tokensmith.authorization.http.service.JwksService.CachedJson;
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.otter.controller.RestResource;
 import net.tokensmith.otter.controller.builder.ClientErrorBuilder;
@@ -32,16 +33,19 @@ public class RSAPublicKeysResource extends RestResource<APIUser, RSAPublicKey[]>
     public static String URL = "/api/public/v1/jwk/rsa(?!/)(.*)";
 
     private JsonTranslator<ClientError> clientErrorTranslator;
-    private GetKeys getKeys;
+    private JwksService jwksService;
 
     private static String PAGE_NUMBER_PARAM = "page";
     private static Integer DEFAULT_PAGE_NUMBER = 1;
     private static String BAD_REQUEST_ERROR = "page value is not a integer";
+    private static String ETAG = "ETag";
+    private static String IF_NONE_MATCH = "If-None-Match";
+    private static String MAX_AGE = "public, max-age=%s";
 
     @Autowired
-    public RSAPublicKeysResource(JsonTranslator<ClientError> clientErrorTranslator, GetKeys getKeys) {
+    public RSAPublicKeysResource(JsonTranslator<ClientError> clientErrorTranslator, JwksService jwksService) {
         this.clientErrorTranslator = clientErrorTranslator;
-        this.getKeys = getKeys;
+        this.jwksService = jwksService;
     }
 
     @Override
@@ -57,12 +61,22 @@ public class RSAPublicKeysResource extends RestResource<APIUser, RSAPublicKey[]>
             return response;
         }
 
-        List<RSAPublicKey> keys = getKeys.getPublicKeys(pageNumber);
-        RSAPublicKey[] keysArray = keys.toArray(new RSAPublicKey[keys.size()]);
+        CachedJson keys;
+        try {
+            keys = jwksService.getPage(pageNumber);
+        } catch (ToJsonException e) {
+            LOGGER.error(e.getMessage(), e);
+            response.setStatusCode(StatusCode.SERVER_ERROR);
+            return response;
+        }
 
-        Optional<RSAPublicKey[]> optKeys =  Optional.of(keysArray);
+        setCacheHeaders(response, keys);
+        if (keys.matches(request.getHeaders().get(IF_NONE_MATCH))) {
+            response.setStatusCode(StatusCode.NOT_MODIFIED);
+            return response;
+        }
 
-        response.setPayload(optKeys);
+        response.setRawPayload(Optional.of(keys.getPayload()));
         response.setStatusCode(StatusCode.OK);
         return response;
     }
@@ -113,4 +127,14 @@ public class RSAPublicKeysResource extends RestResource<APIUser, RSAPublicKey[]>
 
         response.getHeaders().putAll(headers);
     }
+
+    /**
+     * The keys change rarely so clients may keep them for jwks.max.age and then ask
+     * again with the etag.
+     */
+    protected void setCacheHeaders(RestResponse<RSAPublicKey[]> response, CachedJson keys) {
+        response.getHeaders().remove(Header.PRAGMA.getValue());
+        response.getHeaders().put(Header.CACHE_CONTROL.getValue(), String.format(MAX_AGE, jwksService.getMaxAgeInSeconds()));
+        response.getHeaders().put(ETAG, keys.getEtag());
+    }
 }
@@ -3,6 +3,7 @@ package net.tokensmith.authorization.http.controller.resource.api.publik;
 import net.tokensmith.authorization.authenticate.exception.UnauthorizedException;
 import net.tokensmith.authorization.exception.BadRequestException;
 import net.tokensmith.authorization.exception.ServerException;
+import net.tokensmith.authorization.exception.ServiceUnavailableException;
 import net.tokensmith.authorization.http.controller.security.APIUser;
 import net.tokensmith.authorization.http.controller.security.TokenSession;
 import net.tokensmith.authorization.http.factory.MakeToken;
@@ -50,6 +51,8 @@ public class TokenResource extends Resource<TokenSession, APIUser> {
     private MakeTokenFactory makeTokenFactory;
 
     private static String UNHANDLED_ERROR_DESC = "Unhandled Server Exception";
+    private static String UNAVAILABLE_ERROR = "temporarily_unavailable";
+    private static String RETRY_AFTER_SECONDS = "1";
 
     @Autowired
     public TokenResource(JsonTranslator<Error> errorTranslator, JsonTranslator<Token> tokenTranslator, RequestToken requestToken, ParseHttpBasic parseHttpBasic, MakeTokenFactory makeTokenFactory) {
@@ -107,6 +110,12 @@ public class TokenResource extends Resource<TokenSession, APIUser> {
             Error error = new Error(UNHANDLED_ERROR_DESC, UNHANDLED_ERROR_DESC);
             prepareErrorResponse(response, error, StatusCode.SERVER_ERROR);
             return response;
+        } catch (ServiceUnavailableException e) {
+            logger.warn(e.getMessage());
+            Error error = new Error(UNAVAILABLE_ERROR, null);
+            response.getHeaders().put("Retry-After", RETRY_AFTER_SECONDS);
+            prepareErrorResponse(response, error, StatusCode.SERVICE_UNAVAILABLE);
+            return response;
         }
 
         // which token should be created? OAuth or OpenId
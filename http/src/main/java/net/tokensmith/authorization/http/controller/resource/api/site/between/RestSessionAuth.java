@@ -1,6 +1,7 @@
 package net.tokensmith.authorization.http.controller.resource.api.site.between;
 
 
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
 import net.tokensmith.authorization.http.controller.security.WebSiteSession;
 import net.tokensmith.authorization.http.controller.security.WebSiteUser;
 import net.tokensmith.authorization.security.ciphers.HashToken;
@@ -12,7 +13,6 @@ import net.tokensmith.otter.router.entity.between.RestBetween;
 import net.tokensmith.otter.router.exception.HaltException;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
-import net.tokensmith.repository.repo.ResourceOwnerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,13 +25,13 @@ import java.util.Optional;
 public class RestSessionAuth implements RestBetween<WebSiteSession, WebSiteUser> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RestSessionAuth.class);
     private HashToken hashToken;
-    private ResourceOwnerRepository resourceOwnerRepo;
+    private LocalSessionCache localSessionCache;
 
 
     @Autowired
-    public RestSessionAuth(HashToken hashToken, ResourceOwnerRepository resourceOwnerRepo) {
+    public RestSessionAuth(HashToken hashToken, LocalSessionCache localSessionCache) {
         this.hashToken = hashToken;
-        this.resourceOwnerRepo = resourceOwnerRepo;
+        this.localSessionCache = localSessionCache;
     }
 
     @Override
@@ -40,7 +40,7 @@ public class RestSessionAuth implements RestBetween<WebSiteSession, WebSiteUser>
             ResourceOwner resourceOwner = null;
             try {
                 String hashedToken = hashToken.run(request.getSession().get().getToken());
-                resourceOwner = resourceOwnerRepo.getByLocalToken(hashedToken);
+                resourceOwner = localSessionCache.getByLocalToken(hashedToken);
             } catch (RecordNotFoundException e) {
                 LOGGER.debug(e.getMessage(), e);
                 fail(request, response);
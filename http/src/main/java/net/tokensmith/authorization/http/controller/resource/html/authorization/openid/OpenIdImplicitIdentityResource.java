@@ -3,6 +3,7 @@ package net.tokensmith.authorization.http.controller.resource.html.authorization
 
 import net.tokensmith.authorization.authenticate.exception.UnauthorizedException;
 import net.tokensmith.authorization.exception.ServerException;
+import net.tokensmith.authorization.exception.ServiceUnavailableException;
 import net.tokensmith.authorization.http.controller.resource.html.CookieName;
 import net.tokensmith.authorization.http.controller.resource.html.authorization.helper.AuthorizationHelper;
 import net.tokensmith.authorization.http.controller.security.WebSiteSession;
@@ -87,6 +88,11 @@ public class OpenIdImplicitIdentityResource extends Resource<WebSiteSession, Web
             AuthorizationPresenter presenter = authorizationHelper.makeAuthorizationPresenter(globalCssPath, userName, request.getCsrfChallenge().get());
             authorizationHelper.prepareResponse(response, StatusCode.FORBIDDEN, presenter, JSP_PATH);
             return response;
+        } catch (ServiceUnavailableException e) {
+            logger.warn(e.getMessage());
+            AuthorizationPresenter presenter = authorizationHelper.makeAuthorizationPresenter(globalCssPath, userName, request.getCsrfChallenge().get());
+            authorizationHelper.prepareResponse(response, StatusCode.SERVICE_UNAVAILABLE, presenter, JSP_PATH);
+            return response;
         } catch (InformResourceOwnerException e) {
             authorizationHelper.prepareNotFoundResponse(globalCssPath, response);
             response.getCookies().remove(CookieName.REDIRECT.toString());
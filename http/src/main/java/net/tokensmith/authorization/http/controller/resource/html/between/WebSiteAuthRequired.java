@@ -1,6 +1,7 @@
 package net.tokensmith.authorization.http.controller.resource.html.between;
 
 
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
 import net.tokensmith.authorization.http.controller.security.WebSiteSession;
 import net.tokensmith.authorization.http.controller.security.WebSiteUser;
 import net.tokensmith.authorization.http.presenter.AssetPresenter;
@@ -13,7 +14,6 @@ import net.tokensmith.otter.router.entity.between.Between;
 import net.tokensmith.otter.router.exception.HaltException;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
-import net.tokensmith.repository.repo.ResourceOwnerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,13 +26,13 @@ public class WebSiteAuthRequired implements Between<WebSiteSession, WebSiteUser>
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSiteAuthRequired.class);
     private static String UNAUTHORIZED_JSP_PATH = "/WEB-INF/jsp/403.jsp";
     private HashToken hashToken;
-    private ResourceOwnerRepository resourceOwnerRepo;
+    private LocalSessionCache localSessionCache;
     private String globalCssPath;
 
     @Autowired
-    public WebSiteAuthRequired(HashToken hashToken, ResourceOwnerRepository resourceOwnerRepo, String globalCssPath) {
+    public WebSiteAuthRequired(HashToken hashToken, LocalSessionCache localSessionCache, String globalCssPath) {
         this.hashToken = hashToken;
-        this.resourceOwnerRepo = resourceOwnerRepo;
+        this.localSessionCache = localSessionCache;
         this.globalCssPath = globalCssPath;
     }
 
@@ -42,7 +42,7 @@ public class WebSiteAuthRequired implements Between<WebSiteSession, WebSiteUser>
             ResourceOwner resourceOwner = null;
             try {
                 String hashedToken = hashToken.run(request.getSession().get().getToken());
-                resourceOwner = resourceOwnerRepo.getByLocalToken(hashedToken);
+                resourceOwner = localSessionCache.getByLocalToken(hashedToken);
             } catch (RecordNotFoundException e) {
                 LOGGER.debug(e.getMessage(), e);
                 fail(request, response);
@@ -2,6 +2,7 @@ package net.tokensmith.authorization.http.server;
 
 import net.tokensmith.authorization.http.config.HttpAppConfig;
 import net.tokensmith.authorization.http.config.props.HttpProperties;
+import net.tokensmith.authorization.http.controller.resource.api.publik.DeniedTokensResource;
 import net.tokensmith.authorization.http.controller.resource.api.publik.HealthResource;
 import net.tokensmith.authorization.http.controller.resource.api.publik.RSAPublicKeyResource;
 import net.tokensmith.authorization.http.controller.resource.api.publik.RSAPublicKeysResource;
@@ -29,6 +30,7 @@ import net.tokensmith.authorization.http.controller.security.TokenSession;
 import net.tokensmith.authorization.http.controller.security.WebSiteSession;
 import net.tokensmith.authorization.http.controller.security.WebSiteUser;
 import net.tokensmith.authorization.http.presenter.AssetPresenter;
+import net.tokensmith.authorization.oauth2.grant.token.entity.DeniedToken;
 import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
 import net.tokensmith.authorization.register.request.UserInfo;
 import net.tokensmith.jwt.entity.jwk.SymmetricKey;
@@ -349,6 +351,18 @@ public class TokenSmithConfig implements Configure {
 
         gateway.add(rsaPublicKeysTarget);
 
+        DeniedTokensResource deniedTokensResource = context.getBean(DeniedTokensResource.class);
+        RestTarget<DefaultSession, APIUser, DeniedToken[]> deniedTokensTarget = new RestTargetBuilder<DefaultSession, APIUser, DeniedToken[]>()
+                .groupName(API_PUBLIC_V1_GROUP)
+                .method(Method.GET)
+                .restResource(deniedTokensResource)
+                .regex(DeniedTokensResource.URL)
+                .contentType(JSON)
+                .payload(DeniedToken[].class)
+                .build();
+
+        gateway.add(deniedTokensTarget);
+
         var restNotFoundResource = new NotFoundRestResource<APIUser>();
         RestTarget<DefaultSession, APIUser, ClientError> notFoundTarget = new RestTargetBuilder<DefaultSession, APIUser, ClientError>()
                 .groupName(API_PUBLIC_V1_GROUP)
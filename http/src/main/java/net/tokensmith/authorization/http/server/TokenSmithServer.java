@@ -37,19 +37,28 @@ public class TokenSmithServer extends HttpServer {
         LOGGER.info("Request Log: {}", requestLog);
         LOGGER.info("Port: {}", port);
 
+        run(makeConfig(port, requestLog));
+    }
+
+    /**
+     * The config main starts the server with, the load test uses it too.
+     *
+     * @param port port to listen on, 0 picks a random port
+     * @param requestLog path of the request log
+     * @return config for the servlet container
+     */
+    public static HttpServerConfig makeConfig(Integer port, String requestLog) {
         List<String> gzipMimeTypes = Arrays.asList(
                 "text/html", "text/plain", "text/xml",
                 "text/css", "application/javascript", "text/javascript",
                 "application/json");
 
-        HttpServerConfig config = new HttpServerConfig.Builder()
+        return new HttpServerConfig.Builder()
                 .documentRoot(DOCUMENT_ROOT)
                 .port(port)
                 .requestLog(requestLog)
                 .clazz(HealthResource.class)
                 .gzipMimeTypes(gzipMimeTypes)
                 .build();
-
-        run(config);
     }
 }
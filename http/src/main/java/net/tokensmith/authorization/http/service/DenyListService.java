@@ -0,0 +1,85 @@
+package net.tokensmith.authorization.http.service;
+
+import net.tokensmith.authorization.oauth2.grant.token.GetDeniedTokens;
+import net.tokensmith.authorization.oauth2.grant.token.entity.DeniedToken;
+import net.tokensmith.otter.translator.JsonTranslator;
+import net.tokensmith.otter.translator.exception.ToJsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the deny list, /api/public/v1/token/denied, serialized for token.denied.max.age so
+ * resource servers polling it do not each read it from the db. A token revoked while it is
+ * kept is denied once it is read again, which is at most token.denied.max.age plus the time
+ * a resource server waits between polls.
+ */
+@Component
+public class DenyListService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DenyListService.class);
+
+    private GetDeniedTokens getDeniedTokens;
+    private JsonTranslator<DeniedToken[]> deniedTokensJsonTranslator;
+    private Long maxAgeInSeconds;
+
+    private volatile byte[] payload;
+    private volatile OffsetDateTime expiresAt = OffsetDateTime.MIN;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public DenyListService(GetDeniedTokens getDeniedTokens, JsonTranslator<DeniedToken[]> deniedTokensJsonTranslator, @Qualifier("deniedMaxAgeInSeconds") Long maxAgeInSeconds) {
+        this.getDeniedTokens = getDeniedTokens;
+        this.deniedTokensJsonTranslator = deniedTokensJsonTranslator;
+        this.maxAgeInSeconds = maxAgeInSeconds;
+    }
+
+    /**
+     * @return the serialized deny list
+     * @throws ToJsonException if the deny list could not be serialized
+     */
+    public byte[] get() throws ToJsonException {
+        if (isFresh()) {
+            hits.incrementAndGet();
+            return payload;
+        }
+
+        // only one thread should read and serialize the deny list, the others wait for it.
+        synchronized (this) {
+            if (isFresh()) {
+                hits.incrementAndGet();
+                return payload;
+            }
+            misses.incrementAndGet();
+
+            OffsetDateTime next = OffsetDateTime.now().plusSeconds(maxAgeInSeconds);
+            List<DeniedToken> found = getDeniedTokens.run();
+            payload = deniedTokensJsonTranslator.to(found.toArray(new DeniedToken[found.size()]));
+            expiresAt = next;
+            LOGGER.debug("cached deny list, {} tokens", found.size());
+        }
+        return payload;
+    }
+
+    public Long getMaxAgeInSeconds() {
+        return maxAgeInSeconds;
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    protected Boolean isFresh() {
+        return payload != null && expiresAt.isAfter(OffsetDateTime.now());
+    }
+}
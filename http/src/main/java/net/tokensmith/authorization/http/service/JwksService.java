@@ -0,0 +1,235 @@
+package net.tokensmith.authorization.http.service;
+
+import net.tokensmith.authorization.exception.NotFoundException;
+import net.tokensmith.authorization.openId.jwk.GetKeys;
+import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
+import net.tokensmith.otter.translator.JsonTranslator;
+import net.tokensmith.otter.translator.exception.ToJsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the public keys, /api/public/v1/jwk/rsa, serialized so a request does not read and
+ * decrypt the keys nor serialize them again. Each page and each key is kept with a strong
+ * etag, the sha-256 of its bytes, so every node answers with the same etag for the same keys.
+ *
+ * A page or key is rebuilt when the keys change through CachedRsaPrivateKeyRepo or once it
+ * is older than jwks.max.age, which is how keys changed by another node are picked up.
+ *
+ * Only pages that have keys are kept so made up page numbers do not grow the cache.
+ */
+@Component
+public class JwksService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksService.class);
+    private static String SHA_256 = "SHA-256";
+    private static String ETAG_FORMAT = "\"%s\"";
+    private static String ANY_ETAG = "*";
+    private static String WEAK_PREFIX = "W/";
+    private static Integer FIRST_PAGE = 1;
+
+    private GetKeys getKeys;
+    private CachedRsaPrivateKeyRepo cachedRsaPrivateKeyRepo;
+    private JsonTranslator<RSAPublicKey> rsaPublicKeyJsonTranslator;
+    private JsonTranslator<RSAPublicKey[]> rsaPublicKeysJsonTranslator;
+    private Long maxAgeInSeconds;
+
+    private final Map<Integer, CachedJson> pages = new ConcurrentHashMap<>();
+    private final Map<UUID, CachedJson> keys = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public JwksService(GetKeys getKeys, CachedRsaPrivateKeyRepo cachedRsaPrivateKeyRepo, JsonTranslator<RSAPublicKey> rsaPublicKeyJsonTranslator, JsonTranslator<RSAPublicKey[]> rsaPublicKeysJsonTranslator, @Qualifier("jwksMaxAgeInSeconds") Long maxAgeInSeconds) {
+        this.getKeys = getKeys;
+        this.cachedRsaPrivateKeyRepo = cachedRsaPrivateKeyRepo;
+        this.rsaPublicKeyJsonTranslator = rsaPublicKeyJsonTranslator;
+        this.rsaPublicKeysJsonTranslator = rsaPublicKeysJsonTranslator;
+        this.maxAgeInSeconds = maxAgeInSeconds;
+    }
+
+    /**
+     * @param page the page of keys, pages less than 1 are the first page.
+     * @return the serialized keys of the page and their etag
+     * @throws ToJsonException if the keys could not be serialized
+     */
+    public CachedJson getPage(Integer page) throws ToJsonException {
+        Integer pageNumber = Math.max(page, FIRST_PAGE);
+        CachedJson current = pages.get(pageNumber);
+        if (isFresh(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        // only one thread should read and serialize the keys, the others wait for it.
+        synchronized (pages) {
+            current = pages.get(pageNumber);
+            if (isFresh(current)) {
+                hits.incrementAndGet();
+                return current;
+            }
+            misses.incrementAndGet();
+
+            // read before the keys so a change while they are read is seen by the next request.
+            Long generation = cachedRsaPrivateKeyRepo.getGeneration();
+            List<RSAPublicKey> found = getKeys.getPublicKeys(pageNumber);
+            current = make(rsaPublicKeysJsonTranslator.to(found.toArray(new RSAPublicKey[found.size()])), generation);
+
+            if (found.size() > 0 || pageNumber.equals(FIRST_PAGE)) {
+                pages.put(pageNumber, current);
+            } else {
+                pages.remove(pageNumber);
+            }
+            LOGGER.debug("cached page {} of keys, {} keys", pageNumber, found.size());
+        }
+        return current;
+    }
+
+    /**
+     * @param id the key id
+     * @return the serialized key and its etag
+     * @throws NotFoundException if the key is not active or not used to sign
+     * @throws ToJsonException if the key could not be serialized
+     */
+    public CachedJson getKey(UUID id) throws NotFoundException, ToJsonException {
+        CachedJson current = keys.get(id);
+        if (isFresh(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        synchronized (keys) {
+            current = keys.get(id);
+            if (isFresh(current)) {
+                hits.incrementAndGet();
+                return current;
+            }
+            misses.incrementAndGet();
+
+            Long generation = cachedRsaPrivateKeyRepo.getGeneration();
+            RSAPublicKey found;
+            try {
+                found = getKeys.getPublicKeyById(id);
+            } catch (NotFoundException e) {
+                keys.remove(id);
+                throw e;
+            }
+            current = make(rsaPublicKeyJsonTranslator.to(found), generation);
+            keys.put(id, current);
+            LOGGER.debug("cached key: {}", id);
+        }
+        return current;
+    }
+
+    /**
+     * Drops every serialized page and key. The next requests will read them again.
+     */
+    public void invalidate() {
+        synchronized (pages) {
+            pages.clear();
+        }
+        synchronized (keys) {
+            keys.clear();
+        }
+    }
+
+    public Long getMaxAgeInSeconds() {
+        return maxAgeInSeconds;
+    }
+
+    public Long getHits() {
+        return hits.get();
+    }
+
+    public Long getMisses() {
+        return misses.get();
+    }
+
+    protected CachedJson make(byte[] payload, Long generation) {
+        return new CachedJson(
+                payload, etag(payload), generation, OffsetDateTime.now().plusSeconds(maxAgeInSeconds)
+        );
+    }
+
+    protected String etag(byte[] payload) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            // every jvm must have sha-256.
+            throw new IllegalStateException(e);
+        }
+        String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(payload));
+        return String.format(ETAG_FORMAT, hash);
+    }
+
+    protected Boolean isFresh(CachedJson cachedJson) {
+        return cachedJson != null
+                && cachedJson.getGeneration().equals(cachedRsaPrivateKeyRepo.getGeneration())
+                && cachedJson.getExpiresAt().isAfter(OffsetDateTime.now());
+    }
+
+    public static class CachedJson {
+        private final byte[] payload;
+        private final String etag;
+        private final Long generation;
+        private final OffsetDateTime expiresAt;
+
+        public CachedJson(byte[] payload, String etag, Long generation, OffsetDateTime expiresAt) {
+            this.payload = payload;
+            this.etag = etag;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @param ifNoneMatch the value of the If-None-Match header, may be null.
+         * @return true if the client has these bytes and may be answered with a 304
+         */
+        public Boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                // If-None-Match uses the weak comparison, RFC 7232 3.2
+                if (tag.startsWith(WEAK_PREFIX)) {
+                    tag = tag.substring(WEAK_PREFIX.length());
+                }
+                if (tag.equals(ANY_ETAG) || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public Long getGeneration() {
+            return generation;
+        }
+
+        public OffsetDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.experimental.categories.Category;
 import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
@@ -58,8 +59,9 @@ public class RSAPublicKeyResourceTest {
 
         assertThat(response.getStatusCode(), is(StatusCode.OK.getCode()));
         assertThat(response.getContentType(), is(ContentType.JSON_UTF_8.getValue()));
-        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is(HeaderValue.NO_STORE.getValue()));
-        assertThat(response.getHeader(Header.PRAGMA.getValue()), is(HeaderValue.NO_CACHE.getValue()));
+        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is("public, max-age=300"));
+        assertThat(response.getHeader(Header.PRAGMA.getValue()), is(nullValue()));
+        assertThat(response.getHeader("ETag"), is(notNullValue()));
 
         AppConfig config = new AppConfig();
         ObjectMapper om = config.objectMapper();
@@ -72,6 +74,32 @@ public class RSAPublicKeyResourceTest {
         assertThat(actual.getE(), is(notNullValue()));
     }
 
+    @Test
+    public void getKeyWhenEtagMatchesShouldReturn304() throws Exception {
+        RSAPrivateKey key = getOrCreateRSAPrivateKey.run(2048);
+
+        String subjectURI = servletURI + key.getId().toString();
+        Response first = IntegrationTestSuite.getHttpClient()
+                .prepareGet(subjectURI)
+                .setHeader(Header.ACCEPT.getValue(), ContentType.JSON_UTF_8.getValue())
+                .execute()
+                .get();
+
+        String etag = first.getHeader("ETag");
+        assertThat(etag, is(notNullValue()));
+
+        Response response = IntegrationTestSuite.getHttpClient()
+                .prepareGet(subjectURI)
+                .setHeader(Header.ACCEPT.getValue(), ContentType.JSON_UTF_8.getValue())
+                .setHeader("If-None-Match", etag)
+                .execute()
+                .get();
+
+        assertThat(response.getStatusCode(), is(StatusCode.NOT_MODIFIED.getCode()));
+        assertThat(response.getHeader("ETag"), is(etag));
+        assertThat(response.getResponseBody(), is(""));
+    }
+
     @Test
     public void getKeysWhenKeyIsNotFoundShouldReturn404() throws Exception {
 
@@ -26,6 +26,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
@@ -78,8 +79,9 @@ public class RSAPublicKeysResourceTest {
 
         assertThat(response.getStatusCode(), is(200));
         assertThat(response.getContentType(), is(ContentType.JSON_UTF_8.getValue()));
-        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is(HeaderValue.NO_STORE.getValue()));
-        assertThat(response.getHeader(Header.PRAGMA.getValue()), is(HeaderValue.NO_CACHE.getValue()));
+        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is("public, max-age=300"));
+        assertThat(response.getHeader(Header.PRAGMA.getValue()), is(nullValue()));
+        assertThat(response.getHeader("ETag"), is(notNullValue()));
 
         AppConfig config = new AppConfig();
         ObjectMapper om = config.objectMapper();
@@ -95,6 +97,32 @@ public class RSAPublicKeysResourceTest {
         assertThat(actual.get(0).getE(), is(notNullValue()));
     }
 
+    @Test
+    public void getKeysWhenEtagMatchesShouldReturn304() throws Exception {
+        RSAPrivateKey key = getOrCreateRSAPrivateKey.run(2048);
+
+        Response first = IntegrationTestSuite.getHttpClient()
+                .prepareGet(servletURI)
+                .setHeader(Header.ACCEPT.getValue(), "application/json")
+                .execute()
+                .get();
+
+        String etag = first.getHeader("ETag");
+        assertThat(etag, is(notNullValue()));
+
+        Response response = IntegrationTestSuite.getHttpClient()
+                .prepareGet(servletURI)
+                .setHeader(Header.ACCEPT.getValue(), "application/json")
+                .setHeader("If-None-Match", etag)
+                .execute()
+                .get();
+
+        assertThat(response.getStatusCode(), is(304));
+        assertThat(response.getHeader("ETag"), is(etag));
+        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is("public, max-age=300"));
+        assertThat(response.getResponseBody(), is(""));
+    }
+
     @Test
     public void getKeysWhenPageIsOutOfBoundsShouldReturn200() throws Exception {
         RSAPrivateKey key = getOrCreateRSAPrivateKey.run(2048);
@@ -110,8 +138,9 @@ public class RSAPublicKeysResourceTest {
 
         assertThat(response.getStatusCode(), is(200));
         assertThat(response.getContentType(), is(ContentType.JSON_UTF_8.getValue()));
-        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is(HeaderValue.NO_STORE.getValue()));
-        assertThat(response.getHeader(Header.PRAGMA.getValue()), is(HeaderValue.NO_CACHE.getValue()));
+        assertThat(response.getHeader(Header.CACHE_CONTROL.getValue()), is("public, max-age=300"));
+        assertThat(response.getHeader(Header.PRAGMA.getValue()), is(nullValue()));
+        assertThat(response.getHeader("ETag"), is(notNullValue()));
 
         AppConfig config = new AppConfig();
         ObjectMapper om = config.objectMapper();
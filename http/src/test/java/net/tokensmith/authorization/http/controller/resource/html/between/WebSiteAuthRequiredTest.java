@@ -1,5 +1,6 @@
 package net.tokensmith.authorization.http.controller.resource.html.between;
 
+import net.tokensmith.authorization.authenticate.LocalSessionCache;
 import net.tokensmith.authorization.http.controller.security.WebSiteSession;
 import net.tokensmith.authorization.http.controller.security.WebSiteUser;
 import net.tokensmith.authorization.http.presenter.AssetPresenter;
@@ -11,7 +12,6 @@ import net.tokensmith.otter.router.entity.Method;
 import net.tokensmith.otter.router.exception.HaltException;
 import net.tokensmith.repository.entity.ResourceOwner;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
-import net.tokensmith.repository.repo.ResourceOwnerRepository;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -35,13 +35,13 @@ public class WebSiteAuthRequiredTest {
     @Mock
     private HashToken mockHashToken;
     @Mock
-    private ResourceOwnerRepository mockResourceOwnerRepository;
+    private LocalSessionCache mockLocalSessionCache;
 
 
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        subject = new WebSiteAuthRequired(mockHashToken, mockResourceOwnerRepository, "/assets/css/global.css");
+        subject = new WebSiteAuthRequired(mockHashToken, mockLocalSessionCache, "/assets/css/global.css");
     }
 
     @Test
@@ -59,7 +59,7 @@ public class WebSiteAuthRequiredTest {
         resourceOwner.setCreatedAt(OffsetDateTime.now());
 
         when(mockHashToken.run(session.getToken())).thenReturn("hashed-token");
-        when(mockResourceOwnerRepository.getByLocalToken(eq("hashed-token"))).thenReturn(resourceOwner);
+        when(mockLocalSessionCache.getByLocalToken(eq("hashed-token"))).thenReturn(resourceOwner);
 
         subject.process(Method.GET, req, res);
 
@@ -83,7 +83,7 @@ public class WebSiteAuthRequiredTest {
 
         when(mockHashToken.run(session.getToken())).thenReturn("hashed-token");
         RecordNotFoundException rnfe = new RecordNotFoundException();
-        doThrow(rnfe).when(mockResourceOwnerRepository).getByLocalToken(eq("hashed-token"));
+        doThrow(rnfe).when(mockLocalSessionCache).getByLocalToken(eq("hashed-token"));
 
         HaltException actual = null;
         try {
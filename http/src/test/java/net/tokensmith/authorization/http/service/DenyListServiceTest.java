@@ -0,0 +1,70 @@
+package net.tokensmith.authorization.http.service;
+
+import net.tokensmith.authorization.oauth2.grant.token.GetDeniedTokens;
+import net.tokensmith.authorization.oauth2.grant.token.entity.DeniedToken;
+import net.tokensmith.otter.translator.JsonTranslator;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DenyListServiceTest {
+
+    @Mock
+    private GetDeniedTokens mockGetDeniedTokens;
+    @Mock
+    private JsonTranslator<DeniedToken[]> mockDeniedTokensJsonTranslator;
+
+    private DenyListService subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new DenyListService(mockGetDeniedTokens, mockDeniedTokensJsonTranslator, 30L);
+    }
+
+    public List<DeniedToken> makeDenied() {
+        List<DeniedToken> denied = new ArrayList<>();
+        denied.add(new DeniedToken(UUID.randomUUID().toString(), 1600000000L));
+        return denied;
+    }
+
+    @Test
+    public void getShouldReadOnce() throws Exception {
+        when(mockGetDeniedTokens.run()).thenReturn(makeDenied());
+        when(mockDeniedTokensJsonTranslator.to(any(DeniedToken[].class))).thenReturn("[{}]".getBytes());
+
+        byte[] first = subject.get();
+        byte[] second = subject.get();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(subject.getHits(), is(1L));
+        assertThat(subject.getMisses(), is(1L));
+        verify(mockGetDeniedTokens, times(1)).run();
+    }
+
+    @Test
+    public void getWhenMaxAgeIsZeroShouldReadAgain() throws Exception {
+        subject = new DenyListService(mockGetDeniedTokens, mockDeniedTokensJsonTranslator, 0L);
+        when(mockGetDeniedTokens.run()).thenReturn(makeDenied());
+        when(mockDeniedTokensJsonTranslator.to(any(DeniedToken[].class))).thenReturn("[{}]".getBytes());
+
+        subject.get();
+        subject.get();
+
+        assertThat(subject.getMisses(), is(2L));
+        verify(mockGetDeniedTokens, times(2)).run();
+    }
+}
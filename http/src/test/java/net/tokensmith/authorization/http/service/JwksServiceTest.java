@@ -0,0 +1,154 @@
+package net.tokensmith.authorization.http.service;
+
+import net.tokensmith.authorization.exception.NotFoundException;
+import net.tokensmith.authorization.http.service.JwksService.CachedJson;
+import net.tokensmith.authorization.openId.jwk.GetKeys;
+import net.tokensmith.authorization.openId.jwk.entity.RSAPublicKey;
+import net.tokensmith.authorization.persistence.repository.CachedRsaPrivateKeyRepo;
+import net.tokensmith.otter.translator.JsonTranslator;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JwksServiceTest {
+
+    @Mock
+    private GetKeys mockGetKeys;
+    @Mock
+    private CachedRsaPrivateKeyRepo mockCachedRsaPrivateKeyRepo;
+    @Mock
+    private JsonTranslator<RSAPublicKey> mockRsaPublicKeyJsonTranslator;
+    @Mock
+    private JsonTranslator<RSAPublicKey[]> mockRsaPublicKeysJsonTranslator;
+
+    private JwksService subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new JwksService(
+                mockGetKeys,
+                mockCachedRsaPrivateKeyRepo,
+                mockRsaPublicKeyJsonTranslator,
+                mockRsaPublicKeysJsonTranslator,
+                300L
+        );
+        when(mockCachedRsaPrivateKeyRepo.getGeneration()).thenReturn(0L);
+    }
+
+    public List<RSAPublicKey> makeKeys() {
+        List<RSAPublicKey> keys = new ArrayList<>();
+        keys.add(new RSAPublicKey());
+        return keys;
+    }
+
+    @Test
+    public void getPageShouldReadOnce() throws Exception {
+        when(mockGetKeys.getPublicKeys(1)).thenReturn(makeKeys());
+        when(mockRsaPublicKeysJsonTranslator.to(any(RSAPublicKey[].class))).thenReturn("[{}]".getBytes());
+
+        CachedJson first = subject.getPage(1);
+        CachedJson second = subject.getPage(1);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.getEtag(), is(notNullValue()));
+        assertThat(first.getEtag().startsWith("\""), is(true));
+        assertThat(subject.getHits(), is(1L));
+        assertThat(subject.getMisses(), is(1L));
+        verify(mockGetKeys, times(1)).getPublicKeys(1);
+    }
+
+    @Test
+    public void getPageWhenPageIsZeroShouldBeFirstPage() throws Exception {
+        when(mockGetKeys.getPublicKeys(1)).thenReturn(makeKeys());
+        when(mockRsaPublicKeysJsonTranslator.to(any(RSAPublicKey[].class))).thenReturn("[{}]".getBytes());
+
+        CachedJson first = subject.getPage(1);
+        CachedJson actual = subject.getPage(0);
+
+        assertThat(actual, is(sameInstance(first)));
+    }
+
+    @Test
+    public void getPageWhenGenerationChangesShouldReadAgain() throws Exception {
+        when(mockGetKeys.getPublicKeys(1)).thenReturn(makeKeys());
+        when(mockRsaPublicKeysJsonTranslator.to(any(RSAPublicKey[].class))).thenReturn("[{}]".getBytes(), "[{},{}]".getBytes());
+
+        CachedJson first = subject.getPage(1);
+        when(mockCachedRsaPrivateKeyRepo.getGeneration()).thenReturn(1L);
+        CachedJson second = subject.getPage(1);
+
+        assertThat(second.getEtag().equals(first.getEtag()), is(false));
+        assertThat(subject.getMisses(), is(2L));
+        verify(mockGetKeys, times(2)).getPublicKeys(1);
+    }
+
+    @Test
+    public void getPageWhenNoKeysShouldNotKeepIt() throws Exception {
+        when(mockGetKeys.getPublicKeys(100)).thenReturn(new ArrayList<>());
+        when(mockRsaPublicKeysJsonTranslator.to(any(RSAPublicKey[].class))).thenReturn("[]".getBytes());
+
+        subject.getPage(100);
+        subject.getPage(100);
+
+        assertThat(subject.getMisses(), is(2L));
+        verify(mockGetKeys, times(2)).getPublicKeys(100);
+    }
+
+    @Test
+    public void getKeyShouldReadOnce() throws Exception {
+        UUID id = UUID.randomUUID();
+        RSAPublicKey key = new RSAPublicKey();
+        when(mockGetKeys.getPublicKeyById(id)).thenReturn(key);
+        when(mockRsaPublicKeyJsonTranslator.to(key)).thenReturn("{}".getBytes());
+
+        CachedJson first = subject.getKey(id);
+        CachedJson second = subject.getKey(id);
+
+        assertThat(second, is(sameInstance(first)));
+        verify(mockGetKeys, times(1)).getPublicKeyById(id);
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void getKeyWhenNotFoundShouldThrowNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(mockGetKeys.getPublicKeyById(id)).thenThrow(NotFoundException.class);
+
+        subject.getKey(id);
+    }
+
+    @Test
+    public void etagShouldBeSameForSameBytes() {
+        String first = subject.etag("[{}]".getBytes());
+        String second = subject.etag("[{}]".getBytes());
+
+        assertThat(first, is(second));
+    }
+
+    @Test
+    public void matchesShouldCompareEtags() {
+        CachedJson cachedJson = subject.make("[{}]".getBytes(), 0L);
+        String etag = cachedJson.getEtag();
+
+        assertThat(cachedJson.matches(etag), is(true));
+        assertThat(cachedJson.matches("W/" + etag), is(true));
+        assertThat(cachedJson.matches("\"other\", " + etag), is(true));
+        assertThat(cachedJson.matches("*"), is(true));
+        assertThat(cachedJson.matches("\"other\""), is(false));
+        assertThat(cachedJson.matches(null), is(false));
+    }
+}
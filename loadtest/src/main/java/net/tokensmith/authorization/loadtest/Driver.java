@@ -0,0 +1,104 @@
+package net.tokensmith.authorization.loadtest;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs an operation a number of times with a fixed number of concurrent callers.
+ */
+public class Driver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Driver.class);
+
+    private Integer concurrency;
+    private Integer warmUp;
+    private StatementCounter statementCounter;
+
+    public Driver(Integer concurrency, Integer warmUp, StatementCounter statementCounter) {
+        this.concurrency = concurrency;
+        this.warmUp = warmUp;
+        this.statementCounter = statementCounter;
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * @param i index of the call, warm up calls come first
+         * @throws Exception if the call failed
+         */
+        void run(int i) throws Exception;
+    }
+
+    /**
+     * Runs the warm up calls, then measures the requested calls. The operation is called
+     * with indexes 0 to warmUp + requests - 1.
+     *
+     * @param name name of the flow
+     * @param requests calls to measure
+     * @param operation the call
+     * @return the measurements
+     */
+    public FlowResult run(String name, int requests, Operation operation) throws InterruptedException, SQLException {
+        if (warmUp > 0) {
+            LOGGER.info("{}: warming up with {} requests", name, warmUp);
+            calls(name, 0, warmUp, operation, new long[warmUp]);
+        }
+
+        LOGGER.info("{}: running {} requests with {} concurrent callers", name, requests, concurrency);
+        long[] latencyNanos = new long[requests];
+        long statementsBefore = statementCounter.count();
+        long start = System.nanoTime();
+        int errors = calls(name, warmUp, requests, operation, latencyNanos);
+        long elapsed = System.nanoTime() - start;
+        long statements = statementCounter.count() - statementsBefore;
+
+        return new FlowResult(name, latencyNanos, errors, elapsed, statements);
+    }
+
+    /**
+     * Calls the operation without measuring it, used to make the inputs of a flow.
+     *
+     * @param name name of the flow
+     * @param count calls to make
+     * @param operation the call
+     * @return number of calls that failed
+     */
+    public int repeat(String name, int count, Operation operation) throws InterruptedException {
+        LOGGER.info("{}: preparing with {} requests", name, count);
+        return calls(name, 0, count, operation, new long[count]);
+    }
+
+    protected int calls(String name, int offset, int count, Operation operation, long[] latencyNanos) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+
+        for (int c = 0; c < concurrency; c++) {
+            callers.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    long start = System.nanoTime();
+                    try {
+                        operation.run(offset + i);
+                    } catch (Exception e) {
+                        // only the first is logged, the rest are counted.
+                        if (errors.incrementAndGet() == 1) {
+                            LOGGER.error(name + ": request failed", e);
+                        }
+                    }
+                    latencyNanos[i] = System.nanoTime() - start;
+                }
+            });
+        }
+
+        callers.shutdown();
+        callers.awaitTermination(1, TimeUnit.HOURS);
+        return errors.get();
+    }
+}
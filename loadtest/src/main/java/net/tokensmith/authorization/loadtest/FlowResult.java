@@ -0,0 +1,71 @@
+package net.tokensmith.authorization.loadtest;
+
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency, throughput and statement count of one flow.
+ */
+public class FlowResult {
+    private static String ROW = "%-14s %8d %7d %10.1f %10.2f %10.2f %10.2f %12.1f%n";
+    public static String HEADER = String.format("%-14s %8s %7s %10s %10s %10s %10s %12s%n",
+            "flow", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "stmts/req");
+
+    private String name;
+    private long[] latencyNanos;
+    private int errors;
+    private long elapsedNanos;
+    private long statements;
+
+    public FlowResult(String name, long[] latencyNanos, int errors, long elapsedNanos, long statements) {
+        this.name = name;
+        this.latencyNanos = Arrays.copyOf(latencyNanos, latencyNanos.length);
+        Arrays.sort(this.latencyNanos);
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.statements = statements;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRequests() {
+        return latencyNanos.length;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : latencyNanos.length / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency at the percentile in milliseconds, nearest rank
+     */
+    public double percentileMillis(double percentile) {
+        if (latencyNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * latencyNanos.length);
+        int index = Math.min(Math.max(rank - 1, 0), latencyNanos.length - 1);
+        return latencyNanos[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public double getStatementsPerRequest() {
+        return latencyNanos.length == 0 ? 0 : statements / (double) latencyNanos.length;
+    }
+
+    public String toRow() {
+        return String.format(ROW, name, getRequests(), errors, getThroughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(100), getStatementsPerRequest());
+    }
+}
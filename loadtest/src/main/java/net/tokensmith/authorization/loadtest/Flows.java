@@ -0,0 +1,141 @@
+package net.tokensmith.authorization.loadtest;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import helpers.fixture.persistence.http.GetSessionAndCsrfToken;
+import helpers.fixture.persistence.http.PostAuthorizationForm;
+import helpers.fixture.persistence.http.input.AuthEndpointProps;
+import helpers.fixture.persistence.http.input.AuthEndpointPropsBuilder;
+import net.tokensmith.authorization.http.response.OpenIdToken;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import net.tokensmith.repository.entity.ResourceOwner;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The requests of each flow, they throw when the server does not answer as expected.
+ */
+public class Flows {
+    private static String CLIENT_PASSWORD = "password";
+    private static String USER_PASSWORD = "password";
+
+    private AsyncHttpClient httpClient;
+    private ObjectMapper objectMapper;
+    private PostAuthorizationForm postAuthorizationForm;
+    private String tokenURI;
+    private String authorizationURI;
+    private String userInfoURI;
+
+    private ResourceOwner resourceOwner;
+    private ConfidentialClient passwordClient;
+    private ConfidentialClient codeClient;
+
+    public Flows(AsyncHttpClient httpClient, ObjectMapper objectMapper, String baseURI, ResourceOwner resourceOwner, ConfidentialClient passwordClient, ConfidentialClient codeClient) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.postAuthorizationForm = new PostAuthorizationForm(httpClient, new GetSessionAndCsrfToken(httpClient));
+        this.tokenURI = baseURI + "api/public/v1/token";
+        this.authorizationURI = baseURI + "authorization";
+        this.userInfoURI = baseURI + "api/public/v1/userinfo";
+        this.resourceOwner = resourceOwner;
+        this.passwordClient = passwordClient;
+        this.codeClient = codeClient;
+    }
+
+    public OpenIdToken password() throws Exception {
+        String scope = passwordClient.getClient().getScopes().stream()
+                .map(s -> s.getName())
+                .collect(Collectors.joining(" "));
+
+        Response response = httpClient.preparePost(tokenURI)
+                .setHeader("Content-Type", "application/x-www-form-urlencoded")
+                .setHeader("Authorization", basic(passwordClient))
+                .setFormParams(Map.of(
+                        "grant_type", List.of("password"),
+                        "username", List.of(resourceOwner.getEmail()),
+                        "password", List.of(USER_PASSWORD),
+                        "scope", List.of(scope)))
+                .execute()
+                .get();
+
+        return token(response);
+    }
+
+    /**
+     * Logs in on /authorization and returns the authorization code.
+     */
+    public String authorization() throws Exception {
+        List<String> scopes = codeClient.getClient().getScopes().stream()
+                .map(s -> s.getName())
+                .collect(Collectors.toList());
+
+        AuthEndpointProps props = new AuthEndpointPropsBuilder()
+                .confidentialClient(codeClient)
+                .baseURI(authorizationURI)
+                .scopes(scopes)
+                .email(resourceOwner.getEmail())
+                .build();
+
+        return postAuthorizationForm.run(props);
+    }
+
+    public OpenIdToken code(String authorizationCode) throws Exception {
+        Response response = httpClient.preparePost(tokenURI)
+                .setHeader("Content-Type", "application/x-www-form-urlencoded")
+                .setHeader("Authorization", basic(codeClient))
+                .setFormParams(Map.of(
+                        "grant_type", List.of("authorization_code"),
+                        "code", List.of(authorizationCode),
+                        "redirect_uri", List.of(codeClient.getClient().getRedirectURI().toString())))
+                .execute()
+                .get();
+
+        return token(response);
+    }
+
+    public OpenIdToken refresh(String refreshToken) throws Exception {
+        Response response = httpClient.preparePost(tokenURI)
+                .setHeader("Content-Type", "application/x-www-form-urlencoded")
+                .setHeader("Authorization", basic(passwordClient))
+                .setFormParams(Map.of(
+                        "grant_type", List.of("refresh_token"),
+                        "refresh_token", List.of(refreshToken)))
+                .execute()
+                .get();
+
+        return token(response);
+    }
+
+    public void userInfo(String accessToken) throws Exception {
+        Response response = httpClient.prepareGet(userInfoURI)
+                .setHeader("Accept", "application/jwt")
+                .setHeader("Authorization", "Bearer " + accessToken)
+                .execute()
+                .get();
+
+        expect(200, response);
+    }
+
+    protected OpenIdToken token(Response response) throws Exception {
+        expect(200, response);
+        return objectMapper.readValue(response.getResponseBody(), OpenIdToken.class);
+    }
+
+    protected void expect(int statusCode, Response response) {
+        if (response.getStatusCode() != statusCode) {
+            throw new IllegalStateException(String.format(
+                    "expected %s but was %s: %s", statusCode, response.getStatusCode(), response.getResponseBody()));
+        }
+    }
+
+    protected String basic(ConfidentialClient confidentialClient) {
+        String credentials = confidentialClient.getClient().getId().toString() + ":" + CLIENT_PASSWORD;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package net.tokensmith.authorization.loadtest;
+
+
+import config.TestHttpAppConfig;
+import helpers.fixture.persistence.client.confidential.LoadOpenIdConfClientCodeResponseType;
+import helpers.fixture.persistence.client.confidential.LoadOpenIdConfClientPasswordResponseType;
+import helpers.fixture.persistence.db.GetOrCreateRSAPrivateKey;
+import helpers.fixture.persistence.db.LoadOpenIdResourceOwner;
+import net.tokensmith.authorization.http.response.OpenIdToken;
+import net.tokensmith.authorization.http.server.TokenSmithServer;
+import net.tokensmith.authorization.security.GenerateRSAPrivateKey;
+import net.tokensmith.config.AppConfig;
+import net.tokensmith.otter.config.OtterAppFactory;
+import net.tokensmith.otter.server.container.ServletContainer;
+import net.tokensmith.repository.entity.ConfidentialClient;
+import net.tokensmith.repository.entity.ResourceOwner;
+import net.tokensmith.repository.repo.RsaPrivateKeyRepository;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+
+/**
+ * Starts TokenSmithServer against a local Postgres, migrates and seeds the db, then
+ * drives the password, code, refresh and userinfo flows and reports p50/p99 latency,
+ * throughput and statements per request of each.
+ *
+ * The db is the one in application-default.properties, override it with -Dauth.db.url,
+ * -Dauth.db.user and -Dauth.db.password. See LoadTestConfig for the other settings.
+ */
+public class LoadTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+    private static String REQUEST_LOG = "logs/jetty/jetty-loadtest-yyyy_mm_dd.request.log";
+    private static int RANDOM_PORT = 0;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        Flyway.configure()
+                .dataSource(config.getDbUrl(), config.getDbUser(), config.getDbPassword())
+                .load()
+                .migrate();
+
+        ServletContainer server = new OtterAppFactory().servletContainerFactory()
+                .makeServletContainer(TokenSmithServer.makeConfig(RANDOM_PORT, REQUEST_LOG));
+        server.start();
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(TestHttpAppConfig.class);
+        context.refresh();
+
+        AsyncHttpClient httpClient = asyncHttpClient(new DefaultAsyncHttpClientConfig.Builder().setCookieStore(null).build());
+
+        try (StatementCounter statementCounter = new StatementCounter(config.getDbUrl(), config.getDbUser(), config.getDbPassword())) {
+            new GetOrCreateRSAPrivateKey(context.getBean(GenerateRSAPrivateKey.class), context.getBean(RsaPrivateKeyRepository.class)).run(2048);
+            ResourceOwner resourceOwner = context.getBean(LoadOpenIdResourceOwner.class).run();
+            ConfidentialClient passwordClient = context.getBean(LoadOpenIdConfClientPasswordResponseType.class).run();
+            ConfidentialClient codeClient = context.getBean(LoadOpenIdConfClientCodeResponseType.class).run();
+
+            Flows flows = new Flows(
+                    httpClient, new AppConfig().objectMapper(), String.valueOf(server.getURI()),
+                    resourceOwner, passwordClient, codeClient
+            );
+            Driver driver = new Driver(config.getConcurrency(), config.getWarmUp(), statementCounter);
+
+            List<FlowResult> results = run(config, flows, driver);
+            report(config, statementCounter, results);
+        } finally {
+            httpClient.close();
+            context.close();
+            server.stop();
+        }
+    }
+
+    protected static List<FlowResult> run(LoadTestConfig config, Flows flows, Driver driver) throws Exception {
+        int requests = config.getRequests();
+        int total = config.getWarmUp() + requests;
+        List<FlowResult> results = new ArrayList<>();
+
+        if (config.getFlows().contains(LoadTestConfig.PASSWORD)) {
+            results.add(driver.run("password", requests, i -> flows.password()));
+        }
+
+        if (config.getFlows().contains(LoadTestConfig.CODE)) {
+            String[] codes = new String[total];
+            results.add(driver.run("authorization", requests, i -> codes[i] = flows.authorization()));
+            results.add(driver.run("code", requests, i -> flows.code(codes[i])));
+        }
+
+        if (config.getFlows().contains(LoadTestConfig.REFRESH)) {
+            // refresh tokens can be used once.
+            String[] refreshTokens = new String[total];
+            driver.repeat("refresh", total, i -> refreshTokens[i] = flows.password().getRefreshToken());
+            results.add(driver.run("refresh", requests, i -> flows.refresh(refreshTokens[i])));
+        }
+
+        if (config.getFlows().contains(LoadTestConfig.USER_INFO)) {
+            OpenIdToken token = flows.password();
+            results.add(driver.run("userinfo", requests, i -> flows.userInfo(token.getAccessToken())));
+        }
+        return results;
+    }
+
+    protected static void report(LoadTestConfig config, StatementCounter statementCounter, List<FlowResult> results) {
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%nconcurrency: %s, warm up: %s, statements from: %s%n%n",
+                        config.getConcurrency(), config.getWarmUp(), statementCounter.getSource()))
+                .append(FlowResult.HEADER);
+
+        for (FlowResult result : results) {
+            report.append(result.toRow());
+        }
+        LOGGER.info(report.toString());
+    }
+}
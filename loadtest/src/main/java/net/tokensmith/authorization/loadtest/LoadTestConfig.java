@@ -0,0 +1,69 @@
+package net.tokensmith.authorization.loadtest;
+
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Settings of a load test run, read from system properties.
+ */
+public class LoadTestConfig {
+    public static String PASSWORD = "password";
+    public static String CODE = "code";
+    public static String REFRESH = "refresh";
+    public static String USER_INFO = "userinfo";
+
+    private Integer concurrency;
+    private Integer requests;
+    private Integer warmUp;
+    private List<String> flows;
+    private String dbUrl;
+    private String dbUser;
+    private String dbPassword;
+
+    public static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig();
+        config.concurrency = Integer.valueOf(System.getProperty("loadtest.concurrency", "16"));
+        config.requests = Integer.valueOf(System.getProperty("loadtest.requests", "1000"));
+        config.warmUp = Integer.valueOf(System.getProperty("loadtest.warmup", "100"));
+        config.flows = Arrays.stream(System.getProperty("loadtest.flows", "password,code,refresh,userinfo").split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .collect(Collectors.toList());
+
+        // the same keys the server reads, so both use the same db.
+        config.dbUrl = System.getProperty("auth.db.url", "jdbc:postgresql://127.0.0.1:5432/auth");
+        config.dbUser = System.getProperty("auth.db.user", "postgres");
+        config.dbPassword = System.getProperty("auth.db.password", "");
+        return config;
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public Integer getRequests() {
+        return requests;
+    }
+
+    public Integer getWarmUp() {
+        return warmUp;
+    }
+
+    public List<String> getFlows() {
+        return flows;
+    }
+
+    public String getDbUrl() {
+        return dbUrl;
+    }
+
+    public String getDbUser() {
+        return dbUser;
+    }
+
+    public String getDbPassword() {
+        return dbPassword;
+    }
+}
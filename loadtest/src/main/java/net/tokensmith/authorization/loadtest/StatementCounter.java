@@ -0,0 +1,67 @@
+package net.tokensmith.authorization.loadtest;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts statements Postgres ran in the db, so the count of a flow is the difference
+ * of the counts taken before and after it.
+ *
+ * Uses pg_stat_statements when the extension is installed. Otherwise it falls back to
+ * pg_stat_user_tables, where the count is the table scans plus the rows written, which
+ * is close enough to spot a flow that issues more queries than it did before.
+ */
+public class StatementCounter implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementCounter.class);
+    private static String HAS_PG_STAT_STATEMENTS = "select count(*) from pg_extension where extname = 'pg_stat_statements'";
+    private static String PG_STAT_STATEMENTS = "select coalesce(sum(calls), 0) from pg_stat_statements where dbid = (select oid from pg_database where datname = current_database())";
+    private static String PG_STAT_USER_TABLES = "select coalesce(sum(coalesce(seq_scan, 0) + coalesce(idx_scan, 0) + n_tup_ins + n_tup_upd + n_tup_del), 0) from pg_stat_user_tables";
+    private static String CLEAR_SNAPSHOT = "select pg_stat_clear_snapshot()";
+    // the stats collector publishes counts about every 500ms.
+    private static long STATS_DELAY_MILLIS = 1000;
+
+    private Connection connection;
+    private String query;
+    private String source;
+
+    public StatementCounter(String url, String user, String password) throws SQLException {
+        this.connection = DriverManager.getConnection(url, user, password);
+        if (queryForLong(HAS_PG_STAT_STATEMENTS) > 0) {
+            this.query = PG_STAT_STATEMENTS;
+            this.source = "pg_stat_statements";
+        } else {
+            this.query = PG_STAT_USER_TABLES;
+            this.source = "pg_stat_user_tables";
+            LOGGER.warn("pg_stat_statements is not installed, statement counts are table scans plus rows written");
+        }
+    }
+
+    public long count() throws SQLException, InterruptedException {
+        Thread.sleep(STATS_DELAY_MILLIS);
+        queryForLong(CLEAR_SNAPSHOT);
+        return queryForLong(query);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    protected long queryForLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getObject(1) instanceof Number ? rs.getLong(1) : 0L;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+}
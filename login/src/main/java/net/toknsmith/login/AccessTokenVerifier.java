@@ -0,0 +1,80 @@
+package net.toknsmith.login;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import net.tokensmith.jwt.entity.jwt.JsonWebToken;
+import net.tokensmith.jwt.entity.jwt.header.Algorithm;
+import net.toknsmith.login.cache.DenyListException;
+import net.toknsmith.login.endpoint.entity.response.openid.claim.AccessToken;
+import net.toknsmith.login.exception.JwtException;
+import net.toknsmith.login.exception.TranslateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+
+/**
+ * Verifies access tokens that are signed jwts without asking the id server about each one.
+ * The id server issues them when access.token.jwt is true. Use userInfo for opaque access tokens.
+ *
+ * - The signature is verified with the id server's key, keys are cached, see LoginFactory.keyCache()
+ * - It must be signed with RS256, be for this client and not be expired.
+ * - Its jti must not be on the deny list, which is polled from the id server. A revoked token is
+ *   accepted until the next poll sees it.
+ */
+public class AccessTokenVerifier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessTokenVerifier.class);
+    public static String DENY_LIST_KEY = "denied";
+
+    private LoginUtils loginUtils;
+    private LoadingCache<String, Set<String>> denyList;
+    private String clientId;
+
+    public AccessTokenVerifier(LoginUtils loginUtils, LoadingCache<String, Set<String>> denyList, String clientId) {
+        this.loginUtils = loginUtils;
+        this.denyList = denyList;
+        this.clientId = clientId;
+    }
+
+    /**
+     * @param accessToken the compact jwt from the Authorization header
+     * @return the claims of the access token, sub is the resource owner and scope are its scopes.
+     * @throws TranslateException when the access token is not a jwt.
+     * @throws JwtException when the access token is not valid or the deny list could not be fetched.
+     */
+    public AccessToken verify(String accessToken) throws TranslateException, JwtException {
+        JsonWebToken<AccessToken> jwt = loginUtils.toAccessTokenJwt(accessToken);
+
+        if (jwt.getHeader().getAlgorithm() != Algorithm.RS256) {
+            throw new JwtException("access token is not signed with RS256");
+        }
+        AccessToken claims = loginUtils.toAccessToken(jwt);
+
+        if (claims.getAudience() == null || !claims.getAudience().contains(clientId)) {
+            throw new JwtException("access token is not for this client");
+        }
+
+        if (claims.getExpirationTime().isEmpty() || claims.getExpirationTime().get() <= OffsetDateTime.now().toEpochSecond()) {
+            throw new JwtException("access token is expired");
+        }
+
+        if (claims.getJwtId().isEmpty() || isDenied(claims.getJwtId().get())) {
+            throw new JwtException("access token was revoked");
+        }
+
+        return claims;
+    }
+
+    protected Boolean isDenied(String jti) throws JwtException {
+        Set<String> denied;
+        try {
+            denied = denyList.get(DENY_LIST_KEY);
+        } catch (DenyListException e) {
+            // without a deny list a revoked token can not be told apart, so it is not accepted.
+            LOGGER.warn(e.getMessage(), e);
+            throw new JwtException("could not get deny list from id server", e);
+        }
+        return denied.contains(jti);
+    }
+}
@@ -0,0 +1,20 @@
+package net.toknsmith.login;
+
+import net.toknsmith.login.endpoint.entity.response.openid.claim.User;
+import net.toknsmith.login.model.UserWithTokens;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Login without blocking the calling thread on the id server. The futures complete exceptionally with
+ * the exceptions Login throws, CommException, ErrorResponseException, TranslateException or IdTokenException,
+ * wrapped in a CompletionException.
+ */
+public interface AsyncLogin extends Login {
+    CompletableFuture<UserWithTokens> withPasswordAsync(String username, String password, List<String> scopes);
+    CompletableFuture<UserWithTokens> withRefreshTokenAsync(String refreshToken);
+    CompletableFuture<UserWithTokens> withCodeAsync(String code, String nonce, String redirectUri);
+    CompletableFuture<User> userInfoAsync(String accessToken);
+}
@@ -7,19 +7,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.net.http.HttpResponse;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.zip.GZIPInputStream;
 
 public class HttpUtils {
@@ -53,6 +51,32 @@ public class HttpUtils {
         return body;
     }
 
+    /**
+     * Body handler for HttpClient.sendAsync. The body is read into memory before the response
+     * future completes so translating it never blocks a thread waiting on the network.
+     *
+     * @return a BodyHandler whose body is an InputStream of the bytes received.
+     */
+    public HttpResponse.BodyHandler<InputStream> ofBufferedInputStream() {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofByteArray(), ByteArrayInputStream::new
+        );
+    }
+
+    /**
+     * Futures wrap the exception that failed them in a CompletionException.
+     *
+     * @param from the exception a future completed with
+     * @return the exception that caused it.
+     */
+    public static Throwable cause(Throwable from) {
+        Throwable to = from;
+        while (to instanceof CompletionException && to.getCause() != null) {
+            to = to.getCause();
+        }
+        return to;
+    }
+
     protected Optional<InputStream> decompress(HttpResponse<InputStream> from) {
         Optional<InputStream> to = Optional.empty();
         List<String> encodings = from.headers().map().get(Header.CONTENT_ENCODING.toString());
@@ -99,23 +123,20 @@ public class HttpUtils {
     }
 
     /**
-     * Translates an InputStream to it's String representation in UTF-8
+     * Translates an InputStream to it's String representation in UTF-8. The stream is read in
+     * blocks and decoded once, bodies that are json should be given to an ObjectReader instead.
      *
      * @param from InputStream
      * @return UTF-8 encoded String
      */
     public String to(InputStream from) {
-        StringBuilder toBuilder = new StringBuilder();
-        try (Reader reader = new BufferedReader(new InputStreamReader
-                (from, Charset.forName(StandardCharsets.UTF_8.name())))) {
-            int c = 0;
-            while ((c = reader.read()) != -1) {
-                toBuilder.append((char) c);
-            }
+        String to = "";
+        try (InputStream in = from) {
+            to = new String(in.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             LOGGER.error("failed to convert input stream to string");
         }
-        return toBuilder.toString();
+        return to;
     }
 
     public String getCorrelationId() {
@@ -3,6 +3,7 @@ package net.toknsmith.login;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.tokensmith.jwt.entity.jwt.Claims;
 import net.tokensmith.jwt.entity.jwt.JsonWebToken;
 import net.tokensmith.jwt.entity.jwt.header.Algorithm;
 import net.tokensmith.jwt.exception.InvalidJWT;
@@ -12,6 +13,7 @@ import net.tokensmith.jwt.serialization.JwtSerde;
 import net.tokensmith.jwt.serialization.exception.JsonToJwtException;
 import net.toknsmith.login.cache.KeyException;
 import net.toknsmith.login.endpoint.entity.response.openid.OpenIdToken;
+import net.toknsmith.login.endpoint.entity.response.openid.claim.AccessToken;
 import net.toknsmith.login.endpoint.entity.response.openid.claim.User;
 import net.toknsmith.login.exception.CommException;
 import net.toknsmith.login.exception.JwtException;
@@ -44,7 +46,20 @@ public class LoginUtils {
      * @throws JwtException when there is something wrong with the id token (JWT).
      */
     public UserWithTokens toUserWithTokens(JsonWebToken<User> idToken, OpenIdToken openIdToken) throws JwtException {
-        Boolean isVerified = verify(idToken);
+        return toUserWithTokens(idToken, openIdToken, key(idToken));
+    }
+
+    /**
+     * Same as toUserWithTokens(idToken, openIdToken) with the key already fetched.
+     *
+     * @param idToken the id token from the id server
+     * @param openIdToken the serialized response body from the id server
+     * @param key the public key identified by the id token's key id
+     * @return A UserWithTokens instance
+     * @throws JwtException when there is something wrong with the id token (JWT).
+     */
+    public UserWithTokens toUserWithTokens(JsonWebToken<User> idToken, OpenIdToken openIdToken, RSAPublicKey key) throws JwtException {
+        Boolean isVerified = verify(idToken, key);
 
         if (!isVerified) {
             throw new JwtException("signature is invalid");
@@ -60,7 +75,11 @@ public class LoginUtils {
     }
 
     public User toUser(JsonWebToken<User> idToken) throws JwtException {
-        Boolean isVerified = verify(idToken);
+        return toUser(idToken, key(idToken));
+    }
+
+    public User toUser(JsonWebToken<User> idToken, RSAPublicKey key) throws JwtException {
+        Boolean isVerified = verify(idToken, key);
 
         if (!isVerified) {
             throw new JwtException("signature is invalid");
@@ -69,25 +88,33 @@ public class LoginUtils {
         return idToken.getClaims();
     }
 
-    protected Boolean verify(JsonWebToken<User> idToken) throws JwtException {
-        var jwtKeyId = idToken.getHeader().getKeyId();
-
-        Boolean isVerified;
+    protected <T extends Claims> RSAPublicKey key(JsonWebToken<T> idToken) throws JwtException {
         RSAPublicKey key;
+        try {
+            key = keyCache.get(keyId(idToken));
+        } catch (KeyException e) {
+            throw new JwtException("could not get key from id server", e);
+        }
+        return key;
+    }
 
-        if (jwtKeyId.isPresent()) {
-            try {
-                key = keyCache.get(jwtKeyId.get());
-            } catch (KeyException e) {
-                throw new JwtException("could not get key from id server", e);
-            }
-        } else {
+    /**
+     * @param idToken the id token from the id server
+     * @return the key id on the id token's header
+     * @throws JwtException when the id token does not have a key id
+     */
+    public <T extends Claims> String keyId(JsonWebToken<T> idToken) throws JwtException {
+        var jwtKeyId = idToken.getHeader().getKeyId();
+
+        if (jwtKeyId.isEmpty()) {
             LOGGER.debug("no key id on id_token");
             throw new JwtException("no key id on id_token");
         }
+        return jwtKeyId.get();
+    }
 
-
-        isVerified = isSignatureVerified(idToken, key);
+    protected <T extends Claims> Boolean verify(JsonWebToken<T> idToken, RSAPublicKey key) throws JwtException {
+        Boolean isVerified = isSignatureVerified(idToken, key);
         LOGGER.debug("id_token verified: {}", isVerified);
 
         if (!isVerified) {
@@ -107,6 +134,29 @@ public class LoginUtils {
         return jwt;
     }
 
+    /**
+     * Verifies the signature of a jwt access token with the id server's key.
+     *
+     * @param accessToken a jwt access token, see AccessTokenVerifier
+     * @return the claims of the access token
+     * @throws JwtException when the key could not be fetched or the signature is invalid.
+     */
+    public AccessToken toAccessToken(JsonWebToken<AccessToken> accessToken) throws JwtException {
+        verify(accessToken, key(accessToken));
+        return accessToken.getClaims();
+    }
+
+    public JsonWebToken<AccessToken> toAccessTokenJwt(String compactJwt) throws TranslateException {
+        JwtSerde jwtSerializer = jwtAppFactory.jwtSerde();
+        JsonWebToken<AccessToken> jwt;
+        try {
+            jwt = jwtSerializer.stringToJwt(compactJwt, AccessToken.class);
+        } catch (JsonToJwtException | InvalidJWT e) {
+            throw new TranslateException("Unable to serialize the access token", e);
+        }
+        return jwt;
+    }
+
     public Boolean isNonceOk(User claims, String expectedNonce) {
         if (claims.getNonce().isPresent()) {
             return expectedNonce.equals(claims.getNonce().get());
@@ -124,7 +174,7 @@ public class LoginUtils {
      * @return true/false
      * @throws JwtException if there is not sign algorithm on the JWT's header or if the public key is invalid.
      */
-    protected Boolean isSignatureVerified(JsonWebToken<User> jwt, RSAPublicKey publicKey) throws JwtException {
+    protected <T extends Claims> Boolean isSignatureVerified(JsonWebToken<T> jwt, RSAPublicKey publicKey) throws JwtException {
         Algorithm sigAlg = jwt.getHeader().getAlgorithm();
 
         if (sigAlg != Algorithm.RS256 && sigAlg != Algorithm.HS256) {
@@ -0,0 +1,166 @@
+package net.toknsmith.login;
+
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.tokensmith.jwt.entity.jwt.JsonWebToken;
+import net.toknsmith.login.endpoint.UserEndpoint;
+import net.toknsmith.login.endpoint.entity.response.openid.OpenIdToken;
+import net.toknsmith.login.endpoint.entity.response.openid.claim.User;
+import net.toknsmith.login.exception.JwtException;
+import net.toknsmith.login.exception.TranslateException;
+import net.toknsmith.login.factory.MakeRedirect;
+import net.toknsmith.login.model.UserWithTokens;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+
+public class TokenSmithAsyncLogin extends TokenSmithLogin implements AsyncLogin {
+    private static String ID_TOKEN_MSG = "Issue verifying the id_token";
+
+    private UserEndpoint userEndpoint;
+    private LoginUtils loginUtils;
+    private AsyncLoadingCache<String, RSAPublicKey> keyCache;
+
+    public TokenSmithAsyncLogin(UserEndpoint userEndpoint, MakeRedirect makeRedirect, LoginUtils loginUtils, AsyncLoadingCache<String, RSAPublicKey> keyCache) {
+        super(userEndpoint, makeRedirect, loginUtils);
+        this.userEndpoint = userEndpoint;
+        this.loginUtils = loginUtils;
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Login a resource owner with the password grant type
+     *
+     * @param username user name of resource owner
+     * @param password password of resource owner
+     * @param scopes scopes to request access to from id server
+     * @return a future of UserWithTokens that completes exceptionally with the exceptions of withPassword
+     */
+    @Override
+    public CompletableFuture<UserWithTokens> withPasswordAsync(String username, String password, List<String> scopes) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return userEndpoint.postTokenPasswordGrantAsync(username, password, scopes)
+                .thenCompose(openIdToken -> toUserWithTokens(openIdToken, Optional.empty(), context));
+    }
+
+    /**
+     * Login a resource owner with the refresh token grant type
+     *
+     * @param refreshToken a valid refresh token issued by the id server
+     * @return a future of UserWithTokens that completes exceptionally with the exceptions of withRefreshToken
+     */
+    @Override
+    public CompletableFuture<UserWithTokens> withRefreshTokenAsync(String refreshToken) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return userEndpoint.postTokenRefreshGrantAsync(refreshToken)
+                .thenCompose(openIdToken -> toUserWithTokens(openIdToken, Optional.empty(), context));
+    }
+
+    /**
+     * Login a resource owner with the authorization grant type
+     *
+     * @param code authorization code issued by id server
+     * @param nonce the nonce passed to the auth request. It's value must match the id_token's nonce value.
+     * @param redirectUri the redirect uri registered with the id server
+     * @return a future of UserWithTokens that completes exceptionally with the exceptions of withCode
+     */
+    @Override
+    public CompletableFuture<UserWithTokens> withCodeAsync(String code, String nonce, String redirectUri) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return userEndpoint.postTokenCodeGrantAsync(code, redirectUri)
+                .thenCompose(openIdToken -> toUserWithTokens(openIdToken, Optional.of(nonce), context));
+    }
+
+    /**
+     * Get the claims about the authenticated resource owner.
+     *
+     * @param accessToken an access token issued by the id server
+     * @return a future of the user that completes exceptionally with the exceptions of userInfo
+     */
+    @Override
+    public CompletableFuture<User> userInfoAsync(String accessToken) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return userEndpoint.getUserAsync(accessToken)
+                .thenCompose(idToken -> key(idToken, context).handle((key, t) -> {
+                    if (t != null) {
+                        throw new CompletionException(handleForUserInfoEndpoint(ID_TOKEN_MSG, HttpUtils.cause(t), idToken));
+                    }
+                    try {
+                        return loginUtils.toUser(idToken, key);
+                    } catch (JwtException e) {
+                        throw new CompletionException(handleForUserInfoEndpoint(ID_TOKEN_MSG, e, idToken));
+                    }
+                }));
+    }
+
+    protected CompletableFuture<UserWithTokens> toUserWithTokens(OpenIdToken openIdToken, Optional<String> nonce, Map<String, String> context) {
+        JsonWebToken<User> jwt;
+        try {
+            jwt = loginUtils.toJwt(openIdToken.getIdToken());
+        } catch (TranslateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return key(jwt, context).handle((key, t) -> {
+            if (t != null) {
+                throw new CompletionException(handleForTokenEndpoint(ID_TOKEN_MSG, HttpUtils.cause(t), openIdToken, jwt));
+            }
+
+            UserWithTokens userWithTokens;
+            try {
+                userWithTokens = loginUtils.toUserWithTokens(jwt, openIdToken, key);
+            } catch (JwtException e) {
+                throw new CompletionException(handleForTokenEndpoint(ID_TOKEN_MSG, e, openIdToken, jwt));
+            }
+
+            if (nonce.isPresent() && !loginUtils.isNonceOk(userWithTokens.getUser(), nonce.get())) {
+                throw new CompletionException(handleForTokenEndpoint("Invalid nonce", null, openIdToken, jwt));
+            }
+            return userWithTokens;
+        });
+    }
+
+    /**
+     * Gets the key that signed the id token. This runs on a thread of the http client, so the
+     * caller's MDC is used while the key is requested to keep its correlation id.
+     *
+     * @param idToken the id token from the id server
+     * @param context the caller's MDC
+     * @return a future of the key that completes exceptionally with a JwtException
+     */
+    protected CompletableFuture<RSAPublicKey> key(JsonWebToken<User> idToken, Map<String, String> context) {
+        String keyId;
+        try {
+            keyId = loginUtils.keyId(idToken);
+        } catch (JwtException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        setContext(context);
+        try {
+            return keyCache.get(keyId).handle((key, t) -> {
+                if (t != null) {
+                    throw new CompletionException(new JwtException("could not get key from id server", HttpUtils.cause(t)));
+                }
+                return key;
+            });
+        } finally {
+            setContext(previous);
+        }
+    }
+
+    protected void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
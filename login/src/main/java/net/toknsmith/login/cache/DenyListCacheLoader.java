@@ -0,0 +1,61 @@
+package net.toknsmith.login.cache;
+
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import net.toknsmith.login.endpoint.DenyEndpoint;
+import net.toknsmith.login.endpoint.entity.response.api.token.DeniedToken;
+import net.toknsmith.login.exception.CommException;
+import net.toknsmith.login.exception.TranslateException;
+import net.toknsmith.login.exception.URLException;
+import net.toknsmith.login.exception.http.api.ClientException;
+import net.toknsmith.login.exception.http.api.ServerException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads the deny list of jwt access tokens, the jti of every access token that was revoked and
+ * has not expired. The whole list is one entry of the cache so a refresh replaces it, the old
+ * list is used while the id server is asked again. A refresh that fails keeps the old list.
+ */
+public class DenyListCacheLoader implements CacheLoader<String, Set<String>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DenyListCacheLoader.class);
+    private static String DENY_LIST_MSG = "Could not get the deny list from the ID Server";
+    private DenyEndpoint denyEndpoint;
+
+    public DenyListCacheLoader(DenyEndpoint denyEndpoint) {
+        this.denyEndpoint = denyEndpoint;
+    }
+
+    @Nullable
+    @Override
+    public Set<String> load(@NonNull String key) {
+        LOGGER.debug("attempting to acquire deny list");
+        List<DeniedToken> denied;
+
+        try {
+            denied = denyEndpoint.getDenied();
+        } catch (URLException | CommException | TranslateException | ClientException | ServerException e) {
+            throw new DenyListException(DENY_LIST_MSG, e);
+        }
+        return toJtis(denied);
+    }
+
+    protected Set<String> toJtis(List<DeniedToken> denied) {
+        Long now = OffsetDateTime.now().toEpochSecond();
+        Set<String> jtis = new HashSet<>(denied.size());
+        for (DeniedToken deniedToken: denied) {
+            // an expired token is denied by its exp, it does not need to be kept.
+            if (deniedToken.getExp() > now) {
+                jtis.add(deniedToken.getJti());
+            }
+        }
+        return Set.copyOf(jtis);
+    }
+}
@@ -0,0 +1,7 @@
+package net.toknsmith.login.cache;
+
+public class DenyListException extends RuntimeException {
+    public DenyListException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,151 @@
+package net.toknsmith.login.cache;
+
+
+import com.github.benmanes.caffeine.cache.Cache;
+import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.toknsmith.login.endpoint.KeyEndpoint;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads keys from the id server's key set, /api/public/v1/jwk/rsa, instead of one key id at a time.
+ *
+ * - A miss fetches the whole set, concurrent misses share the same fetch.
+ * - Key ids that are not in the set are remembered in unknownKeyIds, tokens with made up
+ *   key ids can not make it fetch the set over and over.
+ * - A refresh of a key uses the set too, a key that is no longer in the set is removed.
+ * - Pages are fetched until one is empty or maxPages is reached, so it does not depend on
+ *   the id server's page size.
+ *
+ * prefetch() is used to load the set when the cache is made.
+ */
+public class JwksKeyCacheLoader extends KeyCacheLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksKeyCacheLoader.class);
+    private static String UNKNOWN_KEY_MSG = "Key id is not in the ID Server's key set";
+
+    private KeyEndpoint keyEndpoint;
+    private Cache<String, Boolean> unknownKeyIds;
+    private Integer maxPages;
+    private CompletableFuture<Map<String, RSAPublicKey>> inFlight;
+
+    public JwksKeyCacheLoader(KeyEndpoint keyEndpoint, Cache<String, Boolean> unknownKeyIds, Integer maxPages) {
+        super(keyEndpoint);
+        this.keyEndpoint = keyEndpoint;
+        this.unknownKeyIds = unknownKeyIds;
+        this.maxPages = maxPages;
+    }
+
+    @Nullable
+    @Override
+    public RSAPublicKey load(@NonNull String key) {
+        try {
+            return asyncLoad(key, Runnable::run).join();
+        } catch (CompletionException e) {
+            throw toKeyException(e.getCause());
+        }
+    }
+
+    @Override
+    public @NonNull CompletableFuture<RSAPublicKey> asyncLoad(@NonNull String key, @NonNull Executor executor) {
+        if (unknownKeyIds.getIfPresent(key) != null) {
+            LOGGER.debug("key id is unknown: {}", key);
+            return CompletableFuture.failedFuture(new KeyException(UNKNOWN_KEY_MSG, null));
+        }
+
+        LOGGER.debug("attempting to acquire key set for key: {}", key);
+        return fetchKeys().thenApply(keys -> {
+            RSAPublicKey publicKey = keys.get(key);
+            if (publicKey == null) {
+                unknownKeyIds.put(key, Boolean.TRUE);
+                throw new KeyException(UNKNOWN_KEY_MSG, null);
+            }
+            return publicKey;
+        });
+    }
+
+    @Override
+    public @NonNull Map<String, RSAPublicKey> loadAll(@NonNull Iterable<? extends String> keys) {
+        try {
+            return fetchKeys().join();
+        } catch (CompletionException e) {
+            throw toKeyException(e.getCause());
+        }
+    }
+
+    /**
+     * Used by refreshAfterWrite. The caller keeps the old key while the set is fetched.
+     *
+     * @return a future of the key, null when it is not in the set anymore which removes it.
+     */
+    @Override
+    public @NonNull CompletableFuture<RSAPublicKey> asyncReload(@NonNull String key, @NonNull RSAPublicKey oldValue, @NonNull Executor executor) {
+        return fetchKeys().thenApply(keys -> keys.get(key));
+    }
+
+    /**
+     * Fetches the key set, a failure is logged so an id server that is down does not stop start up.
+     *
+     * @return the active keys by key id, empty if they could not be fetched.
+     */
+    public Map<String, RSAPublicKey> prefetch() {
+        Map<String, RSAPublicKey> keys = new HashMap<>();
+        try {
+            keys = fetchKeys().join();
+            LOGGER.debug("prefetched {} keys", keys.size());
+        } catch (CompletionException e) {
+            LOGGER.warn("Could not prefetch keys from ID Server", e.getCause());
+        }
+        return keys;
+    }
+
+    /**
+     * @return a future of the active keys by key id, shared with the callers waiting on it.
+     */
+    protected CompletableFuture<Map<String, RSAPublicKey>> fetchKeys() {
+        CompletableFuture<Map<String, RSAPublicKey>> fetch;
+        synchronized (this) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            fetch = fetchPages(1, new HashMap<>());
+            inFlight = fetch;
+        }
+
+        fetch.whenComplete((keys, t) -> {
+            synchronized (this) {
+                if (inFlight == fetch) {
+                    inFlight = null;
+                }
+            }
+        });
+        return fetch;
+    }
+
+    protected CompletableFuture<Map<String, RSAPublicKey>> fetchPages(Integer page, Map<String, RSAPublicKey> keys) {
+        return keyEndpoint.getKeysAsync(page).thenCompose(found -> {
+            add(keys, found);
+            if (found.isEmpty() || page >= maxPages) {
+                return CompletableFuture.completedFuture(keys);
+            }
+            return fetchPages(page + 1, keys);
+        });
+    }
+
+    protected void add(Map<String, RSAPublicKey> keys, List<RSAPublicKey> found) {
+        for (RSAPublicKey key : found) {
+            key.getKeyId().ifPresent(keyId -> {
+                keys.put(keyId, key);
+                unknownKeyIds.invalidate(keyId);
+            });
+        }
+    }
+}
@@ -3,6 +3,7 @@ package net.toknsmith.login.cache;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.toknsmith.login.HttpUtils;
 import net.toknsmith.login.endpoint.KeyEndpoint;
 import net.toknsmith.login.exception.CommException;
 import net.toknsmith.login.exception.TranslateException;
@@ -14,6 +15,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 
 public class KeyCacheLoader implements CacheLoader<String, RSAPublicKey> {
     private static final Logger LOGGER = LoggerFactory.getLogger(KeyCacheLoader.class);
@@ -31,17 +35,49 @@ public class KeyCacheLoader implements CacheLoader<String, RSAPublicKey> {
 
         try {
             publicKey = keyEndpoint.getKey(key);
-        } catch (URLException e) {
-            throw new KeyException("Could not create URL to get key", e);
-        } catch (CommException e) {
-            throw new KeyException("Could not communicate with ID Server", e);
-        } catch (TranslateException e) {
-            throw new KeyException("Could not translate the response from the ID Server", e);
-        } catch (ClientException e) {
-            throw new KeyException("ID Server returned 4XX", e);
-        } catch (ServerException e) {
-            throw new KeyException("ID Server returned 5XX", e);
+        } catch (URLException | CommException | TranslateException | ClientException | ServerException e) {
+            throw toKeyException(e);
         }
         return publicKey;
     }
+
+    /**
+     * Used by an AsyncLoadingCache. The key is requested with HttpClient.sendAsync, so no thread
+     * of the executor waits on the id server.
+     *
+     * @param key the key id
+     * @param executor the cache's executor, not used.
+     * @return a future of the key that completes exceptionally with a KeyException.
+     */
+    @Override
+    public @NonNull CompletableFuture<RSAPublicKey> asyncLoad(@NonNull String key, @NonNull Executor executor) {
+        LOGGER.debug("attempting to acquire key async: {}", key);
+
+        return keyEndpoint.getKeyAsync(key).handle((publicKey, t) -> {
+            if (t != null) {
+                throw toKeyException(HttpUtils.cause(t));
+            }
+            return publicKey;
+        });
+    }
+
+    protected KeyException toKeyException(Throwable cause) {
+        KeyException to;
+        if (cause instanceof KeyException) {
+            to = (KeyException) cause;
+        } else if (cause instanceof URLException) {
+            to = new KeyException("Could not create URL to get key", cause);
+        } else if (cause instanceof CommException) {
+            to = new KeyException("Could not communicate with ID Server", cause);
+        } else if (cause instanceof TranslateException) {
+            to = new KeyException("Could not translate the response from the ID Server", cause);
+        } else if (cause instanceof ClientException) {
+            to = new KeyException("ID Server returned 4XX", cause);
+        } else if (cause instanceof ServerException) {
+            to = new KeyException("ID Server returned 5XX", cause);
+        } else {
+            to = new KeyException("Could not get key from ID Server", cause);
+        }
+        return to;
+    }
 }
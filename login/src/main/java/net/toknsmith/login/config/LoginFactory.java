@@ -7,20 +7,32 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import net.tokensmith.jwt.config.JwtAppFactory;
 import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.toknsmith.login.AccessTokenVerifier;
+import net.toknsmith.login.AsyncLogin;
 import net.toknsmith.login.HttpUtils;
 import net.toknsmith.login.Login;
 import net.toknsmith.login.LoginUtils;
+import net.toknsmith.login.TokenSmithAsyncLogin;
 import net.toknsmith.login.TokenSmithLogin;
+import net.toknsmith.login.cache.DenyListCacheLoader;
+import net.toknsmith.login.cache.JwksKeyCacheLoader;
 import net.toknsmith.login.cache.KeyCacheLoader;
 import net.toknsmith.login.config.exception.StartUpException;
 import net.toknsmith.login.config.props.EndpointProps;
+import net.toknsmith.login.endpoint.DenyEndpoint;
 import net.toknsmith.login.endpoint.KeyEndpoint;
 import net.toknsmith.login.endpoint.UserEndpoint;
+import net.toknsmith.login.endpoint.entity.response.api.token.DeniedToken;
 import net.toknsmith.login.endpoint.entity.response.openid.OpenIdToken;
+import net.toknsmith.login.endpoint.entity.response.openid.TokenErrorResponse;
 import net.toknsmith.login.factory.MakeRedirect;
 import net.toknsmith.login.security.RandomString;
 import net.toknsmith.login.translator.ErrorResponseExceptionFactory;
@@ -36,6 +48,7 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -51,10 +64,23 @@ public class LoginFactory {
     public static String USER_INFO_URL = "USER_INFO_URL";
     public static String AUTHORIZATION_URL = "AUTHORIZATION_URL";
     public static String PUBLIC_KEY_URL = "PUBLIC_KEY_URL";
+    public static String PUBLIC_KEYS_URL = "PUBLIC_KEYS_URL";
+    public static String DENY_LIST_URL = "DENY_LIST_URL";
     public static String CORRELATION_ID_FIELD = "CORRELATION_ID_FIELD";
     private static Map<String, String> SECRETS = new HashMap<>();
+    private static Integer KEY_CACHE_SIZE = 100;
+    private static Integer KEY_REFRESH_MINUTES = 5;
+    private static Integer KEY_SET_MAX_PAGES = 5;
+    private static Integer UNKNOWN_KEY_IDS_SIZE = 1000;
+    private static Integer UNKNOWN_KEY_IDS_TTL_MINUTES = 1;
+    private static Integer DENY_LIST_REFRESH_SECONDS = 30;
+    private static Integer DENY_LIST_EXPIRE_SECONDS = DENY_LIST_REFRESH_SECONDS * 4;
     private ObjectMapper objectMapper;
     private ObjectReader openIdTokenReader;
+    private ObjectReader tokenErrorResponseReader;
+    private ObjectReader keyReader;
+    private ObjectReader keysReader;
+    private ObjectReader deniedReader;
 
     public void setSecrets(Map<String, String> secrets) {
         SECRETS = secrets;
@@ -86,6 +112,34 @@ public class LoginFactory {
         return openIdTokenReader;
     }
 
+    public ObjectReader tokenErrorResponseReader() {
+        if (tokenErrorResponseReader == null) {
+            tokenErrorResponseReader = readerFor(TokenErrorResponse.class);
+        }
+        return tokenErrorResponseReader;
+    }
+
+    public ObjectReader keyReader() {
+        if (keyReader == null) {
+            keyReader = readerFor(net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey.class);
+        }
+        return keyReader;
+    }
+
+    public ObjectReader keysReader() {
+        if (keysReader == null) {
+            keysReader = readerFor(net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey[].class);
+        }
+        return keysReader;
+    }
+
+    public ObjectReader deniedReader() {
+        if (deniedReader == null) {
+            deniedReader = readerFor(DeniedToken[].class);
+        }
+        return deniedReader;
+    }
+
     public HttpUtils httpUtils() {
         return new HttpUtils(correlationIdField());
     }
@@ -237,7 +291,7 @@ public class LoginFactory {
 
 
     public ErrorResponseTranslator errorResponseTranslator() {
-        return new ErrorResponseTranslator(objectMapper());
+        return new ErrorResponseTranslator(tokenErrorResponseReader());
     }
 
     public ErrorResponseExceptionFactory errorResponseExceptionFactory() {
@@ -257,7 +311,7 @@ public class LoginFactory {
     }
 
     public JwtRSAPublicKeyTranslator jwtRSAPublicKeyTranslator() {
-        return new JwtRSAPublicKeyTranslator(objectMapper());
+        return new JwtRSAPublicKeyTranslator(keyReader(), keysReader());
     }
 
     public String publicKeyURL() {
@@ -281,8 +335,68 @@ public class LoginFactory {
         return publicKeyUrl;
     }
 
+    /**
+     * The id server's key set. When PUBLIC_KEYS_URL is not set it is PUBLIC_KEY_URL without the key id,
+     * /api/public/v1/jwk/rsa/%s becomes /api/public/v1/jwk/rsa
+     *
+     * @return the url of the key set
+     */
+    public String publicKeysURL() {
+        String publicKeysUrl;
+        Optional<String> secret = getSecret(PUBLIC_KEYS_URL);
+        if (secret.isEmpty()) {
+            publicKeysUrl = System.getenv(PUBLIC_KEYS_URL);
+        } else {
+            publicKeysUrl = secret.get();
+        }
+
+        if (publicKeysUrl == null || publicKeysUrl.isEmpty()) {
+            publicKeysUrl = publicKeyURL().replace("/%s", "");
+        }
+
+        try {
+            to(PUBLIC_KEYS_URL, publicKeysUrl);
+        } catch (StartUpException e) {
+            throw new StartUpException("Unable to create URL for PUBLIC_KEYS_URL", e);
+        }
+
+        return publicKeysUrl;
+    }
+
     public KeyEndpoint keyEndpoint() {
-        return new KeyEndpoint(jwtRSAPublicKeyTranslator(), httpClient(), httpUtils(), publicKeyURL());
+        return new KeyEndpoint(jwtRSAPublicKeyTranslator(), httpClient(), httpUtils(), publicKeyURL(), publicKeysURL());
+    }
+
+    /**
+     * The id server's deny list of jwt access tokens. When DENY_LIST_URL is not set it is next to the key set,
+     * /api/public/v1/jwk/rsa becomes /api/public/v1/token/denied
+     *
+     * @return the url of the deny list
+     */
+    public String denyListURL() {
+        String denyListUrl;
+        Optional<String> secret = getSecret(DENY_LIST_URL);
+        if (secret.isEmpty()) {
+            denyListUrl = System.getenv(DENY_LIST_URL);
+        } else {
+            denyListUrl = secret.get();
+        }
+
+        if (denyListUrl == null || denyListUrl.isEmpty()) {
+            denyListUrl = publicKeysURL().replace("/jwk/rsa", "/token/denied");
+        }
+
+        try {
+            to(DENY_LIST_URL, denyListUrl);
+        } catch (StartUpException e) {
+            throw new StartUpException("Unable to create URL for DENY_LIST_URL", e);
+        }
+
+        return denyListUrl;
+    }
+
+    public DenyEndpoint denyEndpoint() {
+        return new DenyEndpoint(httpClient(), httpUtils(), deniedReader(), denyListURL());
     }
 
     public MakeRedirect makeRedirect() {
@@ -297,14 +411,79 @@ public class LoginFactory {
         return new TokenSmithLogin(userEndpoint(), makeRedirect(), makeLoginUtils());
     }
 
+    public AsyncLogin tokenSmithAsyncLogin() {
+        // the blocking methods share the keys of the async ones.
+        AsyncLoadingCache<String, RSAPublicKey> keyCache = asyncKeyCache();
+        LoginUtils loginUtils = new LoginUtils(keyCache.synchronous(), jwtAppFactory());
+        return new TokenSmithAsyncLogin(userEndpoint(), makeRedirect(), loginUtils, keyCache);
+    }
+
+    /**
+     * Verifies jwt access tokens without asking the id server about each one.
+     *
+     * @return an AccessTokenVerifier
+     */
+    public AccessTokenVerifier accessTokenVerifier() {
+        return new AccessTokenVerifier(makeLoginUtils(), denyListCache(), clientId());
+    }
+
     public KeyCacheLoader keyCacheLoader() {
         return new KeyCacheLoader(keyEndpoint());
     }
 
+    public JwksKeyCacheLoader jwksKeyCacheLoader() {
+        Cache<String, Boolean> unknownKeyIds = Caffeine.newBuilder()
+                .maximumSize(UNKNOWN_KEY_IDS_SIZE)
+                .expireAfterWrite(UNKNOWN_KEY_IDS_TTL_MINUTES, TimeUnit.MINUTES)
+                .build();
+        return new JwksKeyCacheLoader(keyEndpoint(), unknownKeyIds, KEY_SET_MAX_PAGES);
+    }
+
+    /**
+     * Keys are loaded from the id server's key set when the cache is made and refreshed
+     * in the background, see JwksKeyCacheLoader.
+     *
+     * @return a cache of the id server's public keys by key id
+     */
     public LoadingCache<String, RSAPublicKey> keyCache() {
+        JwksKeyCacheLoader loader = jwksKeyCacheLoader();
+        LoadingCache<String, RSAPublicKey> keyCache = Caffeine.newBuilder()
+                .maximumSize(KEY_CACHE_SIZE)
+                .refreshAfterWrite(KEY_REFRESH_MINUTES, TimeUnit.MINUTES)
+                .expireAfterWrite(30, TimeUnit.MINUTES)
+                .build(loader);
+        keyCache.putAll(loader.prefetch());
+        return keyCache;
+    }
+
+    public AsyncLoadingCache<String, RSAPublicKey> asyncKeyCache() {
+        JwksKeyCacheLoader loader = jwksKeyCacheLoader();
+        AsyncLoadingCache<String, RSAPublicKey> keyCache = Caffeine.newBuilder()
+                .maximumSize(KEY_CACHE_SIZE)
+                .refreshAfterWrite(KEY_REFRESH_MINUTES, TimeUnit.MINUTES)
+                .expireAfterWrite(30, TimeUnit.MINUTES)
+                .buildAsync(loader);
+        keyCache.synchronous().putAll(loader.prefetch());
+        return keyCache;
+    }
+
+    /**
+     * The deny list is one entry that is refreshed in the background, a jti revoked at the id server
+     * is denied here once the refresh after it sees it. A refresh that fails keeps the old list until
+     * it expires, then the list is loaded on the next get and a failure is thrown to the caller.
+     *
+     * @return a cache of the jti of revoked jwt access tokens
+     */
+    public LoadingCache<String, Set<String>> denyListCache() {
+        return denyListCache(new DenyListCacheLoader(denyEndpoint()), Ticker.systemTicker());
+    }
+
+    public LoadingCache<String, Set<String>> denyListCache(CacheLoader<String, Set<String>> loader, Ticker ticker) {
         return Caffeine.newBuilder()
                 .maximumSize(1)
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .build(keyCacheLoader()::load);
+                .refreshAfterWrite(DENY_LIST_REFRESH_SECONDS, TimeUnit.SECONDS)
+                .expireAfterWrite(DENY_LIST_EXPIRE_SECONDS, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build(loader);
     }
 }
@@ -0,0 +1,114 @@
+package net.toknsmith.login.endpoint;
+
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import net.toknsmith.login.HttpUtils;
+import net.toknsmith.login.endpoint.entity.response.api.ClientError;
+import net.toknsmith.login.endpoint.entity.response.api.ServerError;
+import net.toknsmith.login.endpoint.entity.response.api.token.DeniedToken;
+import net.toknsmith.login.exception.CommException;
+import net.toknsmith.login.exception.TranslateException;
+import net.toknsmith.login.exception.URLException;
+import net.toknsmith.login.exception.http.api.ClientException;
+import net.toknsmith.login.exception.http.api.ServerException;
+import net.toknsmith.login.http.ContentType;
+import net.toknsmith.login.http.Header;
+import net.toknsmith.login.http.HeaderValue;
+import net.toknsmith.login.http.StatusCode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+
+/**
+ * Gets the deny list of jwt access tokens, /api/public/v1/token/denied
+ */
+public class DenyEndpoint {
+    private static String COMM_MSG = "Failed to communicate with Identity Server";
+    private static String TRANSLATE_MSG = "Failed to read the deny list from the Identity Server";
+    private HttpClient httpClient;
+    private HttpUtils httpUtils;
+    private ObjectReader deniedReader;
+    private String denyListEndpoint;
+
+    public DenyEndpoint(HttpClient httpClient, HttpUtils httpUtils, ObjectReader deniedReader, String denyListEndpoint) {
+        this.httpClient = httpClient;
+        this.httpUtils = httpUtils;
+        this.deniedReader = deniedReader;
+        this.denyListEndpoint = denyListEndpoint;
+    }
+
+    /**
+     * @return the access tokens that were revoked and have not expired.
+     */
+    public List<DeniedToken> getDenied() throws URLException, CommException, TranslateException, ServerException, ClientException {
+        URI target = makeDenyListEndpoint();
+        HttpRequest request = makeRequest(target);
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException e) {
+            throw new CommException(COMM_MSG, e);
+        }
+
+        return toDenied(response);
+    }
+
+    protected HttpRequest makeRequest(URI target) {
+        return HttpRequest.newBuilder()
+                .uri(target)
+                .timeout(Duration.ofSeconds(2))
+                .header(Header.CONTENT_TYPE.toString(), ContentType.JSON_UTF_8.toString())
+                .header(Header.ACCEPT.toString(), ContentType.JSON_UTF_8.toString())
+                .header(Header.ACCEPT_ENCODING.toString(), "gzip")
+                .header(Header.CORRELATION_ID.toString(), httpUtils.getCorrelationId())
+                .header(Header.LOGIN_SDK.toString(), HeaderValue.LOGIN_SDK.toString())
+                .header(Header.LOGIN_SDK_VERSION.toString(), HeaderValue.LOGIN_SDK_VERSION.toString())
+                .GET()
+                .build();
+    }
+
+    protected List<DeniedToken> toDenied(HttpResponse<InputStream> response) throws TranslateException, ServerException, ClientException {
+        InputStream body = httpUtils.processResponse(response);
+
+        if (response.statusCode() != StatusCode.OK.getCode()) {
+            handleNotOk(response);
+        }
+
+        DeniedToken[] denied;
+        try {
+            denied = deniedReader.readValue(body);
+        } catch (IOException e) {
+            throw new TranslateException(TRANSLATE_MSG, e);
+        }
+        return List.of(denied);
+    }
+
+    protected URI makeDenyListEndpoint() throws URLException {
+        try {
+            return new URI(denyListEndpoint);
+        } catch (URISyntaxException e) {
+            // rare this will occur b/c we check denyListEndpoint when
+            // this is created in LoginFactory.
+            throw new URLException(String.format("invalid url for: %s", denyListEndpoint), e);
+        }
+    }
+
+    protected void handleNotOk(HttpResponse<InputStream> response) throws ClientException, ServerException {
+        if (response.statusCode() >= StatusCode.BAD_REQUEST.getCode() && response.statusCode() < StatusCode.SERVER_ERROR.getCode()) {
+            ClientError clientError = new ClientError();
+            throw new ClientException("client error while communicating with id server.", response.statusCode(), clientError);
+        } else if (response.statusCode() >= StatusCode.SERVER_ERROR.getCode()) {
+            ServerError serverError = new ServerError();
+            throw new ServerException("server error while communicating with id server.", response.statusCode(), serverError);
+        }
+    }
+}
@@ -24,6 +24,9 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 
@@ -32,19 +35,92 @@ public class KeyEndpoint {
     private JwtRSAPublicKeyTranslator keyTranslator;
     private HttpClient httpClient;
     private HttpUtils httpUtils;
+    private static String PAGE_PARAM = "%s?page=%s";
     private String publicKeyEndpoint;
+    private String publicKeysEndpoint;
 
-    public KeyEndpoint(JwtRSAPublicKeyTranslator keyTranslator, HttpClient httpClient, HttpUtils httpUtils, String publicKeyEndpoint) {
+    public KeyEndpoint(JwtRSAPublicKeyTranslator keyTranslator, HttpClient httpClient, HttpUtils httpUtils, String publicKeyEndpoint, String publicKeysEndpoint) {
         this.keyTranslator = keyTranslator;
         this.httpClient = httpClient;
         this.httpUtils = httpUtils;
         this.publicKeyEndpoint = publicKeyEndpoint;
+        this.publicKeysEndpoint = publicKeysEndpoint;
     }
 
     public RSAPublicKey getKey(String keyId) throws URLException, CommException, TranslateException, ServerException, ClientException {
         URI target = makeKeyEndpoint(keyId);
+        HttpRequest request = makeRequest(target);
 
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException e) {
+            throw new CommException(COMM_MSG, e);
+        }
+
+        return toKey(response);
+    }
+
+    /**
+     * Same as getKey without blocking the calling thread. The future completes exceptionally with
+     * the exceptions getKey throws.
+     *
+     * @param keyId id of the key to get
+     * @return a future of the public key
+     */
+    public CompletableFuture<RSAPublicKey> getKeyAsync(String keyId) {
+        URI target;
+        try {
+            target = makeKeyEndpoint(keyId);
+        } catch (URLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = makeRequest(target);
+
+        return httpClient.sendAsync(request, httpUtils.ofBufferedInputStream())
+                .handle((response, t) -> {
+                    if (t != null) {
+                        throw new CompletionException(new CommException(COMM_MSG, HttpUtils.cause(t)));
+                    }
+                    try {
+                        return toKey(response);
+                    } catch (TranslateException | ServerException | ClientException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Gets a page of the active signing keys without blocking the calling thread. The future completes
+     * exceptionally with the exceptions getKey throws.
+     *
+     * @param page page to get, starts at 1
+     * @return a future of the keys on the page, it is empty after the last page.
+     */
+    public CompletableFuture<List<RSAPublicKey>> getKeysAsync(Integer page) {
+        URI target;
+        try {
+            target = makeKeysEndpoint(page);
+        } catch (URLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = makeRequest(target);
+
+        return httpClient.sendAsync(request, httpUtils.ofBufferedInputStream())
+                .handle((response, t) -> {
+                    if (t != null) {
+                        throw new CompletionException(new CommException(COMM_MSG, HttpUtils.cause(t)));
+                    }
+                    try {
+                        return toKeys(response);
+                    } catch (TranslateException | ServerException | ClientException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    protected HttpRequest makeRequest(URI target) {
+        return HttpRequest.newBuilder()
                 .uri(target)
                 .timeout(Duration.ofSeconds(2))
                 .header(Header.CONTENT_TYPE.toString(), ContentType.JSON_UTF_8.toString())
@@ -55,21 +131,35 @@ public class KeyEndpoint {
                 .header(Header.LOGIN_SDK_VERSION.toString(), HeaderValue.LOGIN_SDK_VERSION.toString())
                 .GET()
                 .build();
+    }
 
-        HttpResponse<InputStream> response;
-        try {
-            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-        } catch (IOException | InterruptedException e) {
-            throw new CommException(COMM_MSG, e);
+    protected RSAPublicKey toKey(HttpResponse<InputStream> response) throws TranslateException, ServerException, ClientException {
+        InputStream body = httpUtils.processResponse(response);
+
+        if (response.statusCode() != StatusCode.OK.getCode()) {
+            handleNotOk(response, body);
         }
 
+        return keyTranslator.toSingle(body);
+    }
+
+    protected List<RSAPublicKey> toKeys(HttpResponse<InputStream> response) throws TranslateException, ServerException, ClientException {
         InputStream body = httpUtils.processResponse(response);
 
         if (response.statusCode() != StatusCode.OK.getCode()) {
             handleNotOk(response, body);
         }
 
-        return keyTranslator.toSingle(body);
+        return keyTranslator.toList(body);
+    }
+
+    protected URI makeKeysEndpoint(Integer page) throws URLException {
+        try {
+            return new URI(String.format(PAGE_PARAM, publicKeysEndpoint, page));
+        } catch (URISyntaxException e) {
+            String msg = "invalid url for: %s with page: %s";
+            throw new URLException(String.format(msg, publicKeysEndpoint, page), e);
+        }
     }
 
     protected URI makeKeyEndpoint(String keyId) throws URLException {
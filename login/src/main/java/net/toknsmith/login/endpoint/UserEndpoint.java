@@ -35,6 +35,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 
@@ -75,9 +77,68 @@ public class UserEndpoint {
         return postToken(form);
     }
 
+    /**
+     * Same as postTokenPasswordGrant without blocking the calling thread.
+     */
+    public CompletableFuture<OpenIdToken> postTokenPasswordGrantAsync(String username, String password, List<String> scopes) {
+        Map<String, List<String>> form  = makePasswordForm(username, password, scopes);
+        return postTokenAsync(form);
+    }
+
+    /**
+     * Same as postTokenRefreshGrant without blocking the calling thread.
+     */
+    public CompletableFuture<OpenIdToken> postTokenRefreshGrantAsync(String refreshToken) {
+        Map<String, List<String>> form = makeRefreshForm(refreshToken);
+        return postTokenAsync(form);
+    }
+
+    /**
+     * Same as postTokenCodeGrant without blocking the calling thread.
+     */
+    public CompletableFuture<OpenIdToken> postTokenCodeGrantAsync(String code, String redirectUri) {
+        Map<String, List<String>> form = makeCodeForm(code, redirectUri);
+        return postTokenAsync(form);
+    }
+
     public OpenIdToken postToken(Map<String, List<String>> form) throws CommException, TranslateException, ErrorResponseException {
+        HttpRequest request = makeTokenRequest(form);
 
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException e) {
+            throw new CommException(COMM_MSG, e);
+        }
+
+        return toOpenIdToken(response);
+    }
+
+    /**
+     * Same as postToken without blocking the calling thread. The future completes exceptionally with
+     * the exceptions postToken throws.
+     *
+     * @param form the token request form
+     * @return a future of the response from the token endpoint
+     */
+    public CompletableFuture<OpenIdToken> postTokenAsync(Map<String, List<String>> form) {
+        HttpRequest request = makeTokenRequest(form);
+
+        return httpClient.sendAsync(request, httpUtils.ofBufferedInputStream())
+                .handle((response, t) -> {
+                    if (t != null) {
+                        throw new CompletionException(new CommException(COMM_MSG, HttpUtils.cause(t)));
+                    }
+                    try {
+                        return toOpenIdToken(response);
+                    } catch (TranslateException | ErrorResponseException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    protected HttpRequest makeTokenRequest(Map<String, List<String>> form) {
+        return HttpRequest.newBuilder()
                 .uri(endpointProps.getTokenEndpoint())
                 .timeout(Duration.ofSeconds(2))
                 .header(Header.CONTENT_TYPE.toString(), ContentType.FORM_URL_ENCODED.toString())
@@ -90,14 +151,9 @@ public class UserEndpoint {
                 .POST(HttpRequest.BodyPublishers.ofString(httpUtils.toBody(form)))
                 .version(HttpClient.Version.HTTP_2)
                 .build();
+    }
 
-        HttpResponse<InputStream> response;
-        try {
-            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-        } catch (IOException | InterruptedException e) {
-            throw new CommException(COMM_MSG, e);
-        }
-
+    protected OpenIdToken toOpenIdToken(HttpResponse<InputStream> response) throws TranslateException, ErrorResponseException {
         InputStream body = httpUtils.processResponse(response);
 
         if (response.statusCode() != StatusCode.OK.getCode()) {
@@ -115,8 +171,43 @@ public class UserEndpoint {
     }
 
     public JsonWebToken<User> getUser(String accessToken) throws CommException, TranslateException, ErrorResponseException {
+        HttpRequest request = makeUserRequest(accessToken);
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException e) {
+            throw new CommException(COMM_MSG, e);
+        }
+
+        return toUser(response);
+    }
+
+    /**
+     * Same as getUser without blocking the calling thread. The future completes exceptionally with
+     * the exceptions getUser throws.
+     *
+     * @param accessToken an access token issued by the id server
+     * @return a future of the id token from the userinfo endpoint
+     */
+    public CompletableFuture<JsonWebToken<User>> getUserAsync(String accessToken) {
+        HttpRequest request = makeUserRequest(accessToken);
+
+        return httpClient.sendAsync(request, httpUtils.ofBufferedInputStream())
+                .handle((response, t) -> {
+                    if (t != null) {
+                        throw new CompletionException(new CommException(COMM_MSG, HttpUtils.cause(t)));
+                    }
+                    try {
+                        return toUser(response);
+                    } catch (TranslateException | ErrorResponseException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
+    protected HttpRequest makeUserRequest(String accessToken) {
+        return HttpRequest.newBuilder()
                 .uri(endpointProps.getUserInfoEndpoint())
                 .timeout(Duration.ofSeconds(2))
                 .header(Header.ACCEPT.toString(), ContentType.JWT.toString())
@@ -128,14 +219,9 @@ public class UserEndpoint {
                 .header(Header.LOGIN_SDK_VERSION.toString(), HeaderValue.LOGIN_SDK_VERSION.toString())
                 .GET()
                 .build();
+    }
 
-        HttpResponse<InputStream> response;
-        try {
-            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-        } catch (IOException | InterruptedException e) {
-            throw new CommException(COMM_MSG, e);
-        }
-
+    protected JsonWebToken<User> toUser(HttpResponse<InputStream> response) throws TranslateException, ErrorResponseException {
         if (response.statusCode() != StatusCode.OK.getCode()) {
             throw errorResponseExceptionFactory.forUserEndpoint(response.statusCode());
         }
@@ -0,0 +1,25 @@
+package net.toknsmith.login.endpoint.entity.response.api.token;
+
+/**
+ * An access token that was revoked before it expired, see /api/public/v1/token/denied
+ */
+public class DeniedToken {
+    private String jti;
+    private Long exp;
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Long getExp() {
+        return exp;
+    }
+
+    public void setExp(Long exp) {
+        this.exp = exp;
+    }
+}
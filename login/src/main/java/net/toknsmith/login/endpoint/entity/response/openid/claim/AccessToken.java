@@ -0,0 +1,25 @@
+package net.toknsmith.login.endpoint.entity.response.openid.claim;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import net.tokensmith.jwt.entity.jwt.Claims;
+
+import java.util.Optional;
+
+/**
+ * This represents an access token that is a signed jwt.
+ * https://tools.ietf.org/html/rfc9068#section-2.2
+ */
+public class AccessToken extends Claims {
+
+    // space delimited scope names.
+    @JsonProperty(value="scope")
+    private Optional<String> scope = Optional.empty();
+
+    public Optional<String> getScope() {
+        return scope;
+    }
+
+    public void setScope(Optional<String> scope) {
+        this.scope = scope;
+    }
+}
@@ -1,6 +1,6 @@
 package net.toknsmith.login.translator;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import net.toknsmith.login.endpoint.entity.response.openid.TokenErrorResponse;
 import net.toknsmith.login.exception.TranslateException;
 
@@ -13,16 +13,16 @@ import java.net.http.HttpResponse;
  */
 public class ErrorResponseTranslator {
     private static String RESPONSE_MSG = "Unable to serialize the response from the Identity Server";
-    private ObjectMapper objectMapper;
+    private ObjectReader tokenErrorResponseReader;
 
-    public ErrorResponseTranslator(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public ErrorResponseTranslator(ObjectReader tokenErrorResponseReader) {
+        this.tokenErrorResponseReader = tokenErrorResponseReader;
     }
 
     public TokenErrorResponse to(HttpResponse<InputStream> response, InputStream body) throws TranslateException {
         TokenErrorResponse error;
         try {
-            error = objectMapper.readValue(body, TokenErrorResponse.class);
+            error = tokenErrorResponseReader.readValue(body);
         } catch (IOException e) {
             throw new TranslateException(RESPONSE_MSG, e);
         }
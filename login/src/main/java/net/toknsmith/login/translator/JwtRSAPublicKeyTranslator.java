@@ -1,35 +1,58 @@
 package net.toknsmith.login.translator;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
 import net.tokensmith.jwt.entity.jwk.Use;
 import net.toknsmith.login.exception.TranslateException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class JwtRSAPublicKeyTranslator {
     private static String TRANSLATE_MSG = "Failed to communicate with Identity Server";
-    private ObjectMapper objectMapper;
+    private ObjectReader keyReader;
+    private ObjectReader keysReader;
 
-    public JwtRSAPublicKeyTranslator(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public JwtRSAPublicKeyTranslator(ObjectReader keyReader, ObjectReader keysReader) {
+        this.keyReader = keyReader;
+        this.keysReader = keysReader;
     }
 
     public RSAPublicKey toSingle(InputStream from) throws TranslateException {
         net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey key;
         try {
-            key = objectMapper.readValue(from, net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey.class);
+            key = keyReader.readValue(from);
         } catch (IOException e) {
             throw new TranslateException(TRANSLATE_MSG, e);
         }
 
+        return to(key);
+    }
+
+    public List<RSAPublicKey> toList(InputStream from) throws TranslateException {
+        net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey[] keys;
+        try {
+            keys = keysReader.readValue(from);
+        } catch (IOException e) {
+            throw new TranslateException(TRANSLATE_MSG, e);
+        }
+
+        List<RSAPublicKey> to = new ArrayList<>(keys.length);
+        for (net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey key: keys) {
+            to.add(to(key));
+        }
+        return to;
+    }
+
+    protected RSAPublicKey to(net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey from) {
         return new RSAPublicKey(
-                Optional.of(key.getKeyId().toString()),
+                Optional.of(from.getKeyId().toString()),
                 Use.SIGNATURE,
-                key.getN(),
-                key.getE()
+                from.getN(),
+                from.getE()
         );
     }
 }
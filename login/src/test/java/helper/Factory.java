@@ -35,11 +35,17 @@ public class Factory {
     /*
      * This RSA key pair comes from, https://tools.ietf.org/html/rfc7515#appendix-A.2
      */
+    private static String KEY_PAIR_N = "ofgWCuLjybRlzo0tZWJjNiuSfb4p4fAkd_wWJcyQoTbji9k0l8W26mPddxHmfHQp-Vaw-4qPCJrcS2mJPMEzP1Pt0Bm4d4QlL-yRT-SFd2lZS-pCgNMsD1W_YpRPEwOWvG6b32690r2jZ47soMZo9wGzjb_7OMg0LOL-bSf63kpaSHSXndS5z5rexMdbBYUsLA9e-KXBdQOS-UTo7WTBEMa2R2CapHg665xsmtdVMTBQY4uDZlxvb3qCo5ZwKh9kG4LT6_I5IhlJH7aGhyxXFvUK-DWNmoudF8NAco9_h9iaGNj8q2ethFkMLs91kzk2PAcDTW9gb54h4FRWyuXpoQ";
+
     public static RSAKeyPair makeRSAKeyPair() {
+        return makeRSAKeyPair(Optional.empty());
+    }
+
+    public static RSAKeyPair makeRSAKeyPair(Optional<String> keyId) {
         return new RSAKeyPair(
-                Optional.empty(),
+                keyId,
                 Use.SIGNATURE,
-                toBigInt("ofgWCuLjybRlzo0tZWJjNiuSfb4p4fAkd_wWJcyQoTbji9k0l8W26mPddxHmfHQp-Vaw-4qPCJrcS2mJPMEzP1Pt0Bm4d4QlL-yRT-SFd2lZS-pCgNMsD1W_YpRPEwOWvG6b32690r2jZ47soMZo9wGzjb_7OMg0LOL-bSf63kpaSHSXndS5z5rexMdbBYUsLA9e-KXBdQOS-UTo7WTBEMa2R2CapHg665xsmtdVMTBQY4uDZlxvb3qCo5ZwKh9kG4LT6_I5IhlJH7aGhyxXFvUK-DWNmoudF8NAco9_h9iaGNj8q2ethFkMLs91kzk2PAcDTW9gb54h4FRWyuXpoQ"),
+                toBigInt(KEY_PAIR_N),
                 toBigInt("AQAB"),
                 toBigInt("Eq5xpGnNCivDflJsRQBXHx1hdR1k6Ulwe2JZD50LpXyWPEAeP88vLNO97IjlA7_GQ5sLKMgvfTeXZx9SE-7YwVol2NXOoAJe46sui395IW_GO-pWJ1O0BkTGoVEn2bKVRUCgu-GjBVaYLU6f3l9kJfFNS3E0QbVdxzubSu3Mkqzjkn439X0M_V51gfpRLI9JYanrC4D4qAdGcopV_0ZHHzQlBjudU2QvXt4ehNYTCBr6XCLQUShb1juUO1ZdiYoFaFQT5Tw8bGUl_x_jTj3ccPDVZFD9pIuhLhBOneufuBiB4cS98l2SR_RQyGWSeWjnczT0QU91p1DhOVRuOopznQ"),
                 toBigInt("4BzEEOtIpmVdVEZNCqS7baC4crd0pqnRH_5IB3jw3bcxGn6QLvnEtfdUdiYrqBdss1l58BQ3KhooKeQTa9AB0Hw_Py5PJdTJNPY8cQn7ouZ2KKDcmnPGBY5t7yLc1QlQ5xHdwW1VhvKn-nXqhJTBgIPgtldC-KDV5z-y2XDwGUc"),
@@ -50,6 +56,11 @@ public class Factory {
         );
     }
 
+    // the public key of makeRSAKeyPair
+    public static net.tokensmith.jwt.entity.jwk.RSAPublicKey makeRSAPublicKey(Optional<String> keyId) {
+        return new net.tokensmith.jwt.entity.jwk.RSAPublicKey(keyId, Use.SIGNATURE, toBigInt(KEY_PAIR_N), toBigInt("AQAB"));
+    }
+
     public static RSAPublicKey serverKey() {
         RSAPublicKey serverKey = new RSAPublicKey();
         serverKey.setKeyId(UUID.randomUUID());
@@ -7,6 +7,7 @@ import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.verification.NearMiss;
 import helper.Factory;
 import helper.wiremock.JettyHttpServerFactory;
+import net.toknsmith.login.AsyncLogin;
 import net.toknsmith.login.Login;
 import net.toknsmith.login.config.LoginFactory;
 import net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey;
@@ -26,12 +27,14 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -92,11 +95,10 @@ public class TokenSmithLoginTest {
         );
     }
 
-    public void stubKey(WireMockRule toStub, String keyId, com.github.tomakehurst.wiremock.http.HttpHeaders responseHeaders, byte[] response) {
-        String keyUri = String.format("/api/public/v1/jwk/rsa/%s", keyId);
+    public void stubKeys(WireMockRule toStub, com.github.tomakehurst.wiremock.http.HttpHeaders responseHeaders, byte[] response) {
         toStub.stubFor(
             get(
-                urlEqualTo(keyUri)
+                urlEqualTo("/api/public/v1/jwk/rsa?page=1")
             )
             .withHeader("Content-Type", equalTo("application/json;charset=UTF-8"))
             .withHeader("Accept", equalTo("application/json;charset=UTF-8"))
@@ -126,8 +128,8 @@ public class TokenSmithLoginTest {
         stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
 
         RSAPublicKey key = Factory.rsaPublicKey();
-        String keyResponse = loginFactory.objectMapper().writeValueAsString(key);
-        stubKey(IdServer, key.getKeyId().toString(), Factory.okTokenResponseHeaders(), keyResponse.getBytes());
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
 
         UserWithTokens actual = null;
         try {
@@ -162,8 +164,8 @@ public class TokenSmithLoginTest {
         stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
 
         RSAPublicKey key = Factory.rsaPublicKey();
-        String keyResponse = loginFactory.objectMapper().writeValueAsString(key);
-        stubKey(IdServer, key.getKeyId().toString(), Factory.okTokenResponseHeaders(), keyResponse.getBytes());
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
 
         UserWithTokens actual = null;
         try {
@@ -197,8 +199,8 @@ public class TokenSmithLoginTest {
         stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
 
         RSAPublicKey key = Factory.rsaPublicKey();
-        String keyResponse = loginFactory.objectMapper().writeValueAsString(key);
-        stubKey(IdServer, key.getKeyId().toString(), Factory.okTokenResponseHeaders(), keyResponse.getBytes());
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
 
         UserWithTokens actual = null;
         try {
@@ -230,8 +232,8 @@ public class TokenSmithLoginTest {
         stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
 
         RSAPublicKey key = Factory.rsaPublicKey();
-        String keyResponse = loginFactory.objectMapper().writeValueAsString(key);
-        stubKey(IdServer, key.getKeyId().toString(), Factory.okTokenResponseHeaders(), keyResponse.getBytes());
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
 
         IdTokenException actual = null;
         try {
@@ -300,8 +302,8 @@ public class TokenSmithLoginTest {
         );
 
         RSAPublicKey key = Factory.rsaPublicKey();
-        String keyResponse = loginFactory.objectMapper().writeValueAsString(key);
-        stubKey(IdServer, key.getKeyId().toString(), Factory.okTokenResponseHeaders(), keyResponse.getBytes());
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
 
         User actual = null;
         try {
@@ -316,4 +318,115 @@ public class TokenSmithLoginTest {
         assertThat(actual, is(notNullValue()));
     }
 
+    @Test
+    public void passwordGrantAsyncShouldReturnUser() throws Exception {
+        Map<String, String> secrets = Factory.secrets(BASE_URL, HTTP_PORT);
+        AsyncLogin subject = loginFactory.tokenSmithAsyncLogin();
+        String response = loginFactory.objectMapper().writeValueAsString(Factory.okIdToken());
+
+        List<String> scopes = Factory.scopes();
+        String form = "password=foo&grant_type=password&scope=profile openid&username=obi-wan@tokensmith.net";
+
+        stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
+
+        RSAPublicKey key = Factory.rsaPublicKey();
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
+
+        UserWithTokens actual = null;
+        try {
+            actual = subject.withPasswordAsync("obi-wan@tokensmith.net", "foo", scopes).get();
+        } catch (ExecutionException e) {
+            List<NearMiss> misses = IdServer.findNearMissesForAllUnmatchedRequests();
+            LOGGER.error("near misses: {}", misses.toString());
+
+            String message = String.format("exception encountered %s", e.getMessage());
+            fail(message);
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getAccessToken(), is(notNullValue()));
+        assertThat(actual.getRefreshToken(), is(notNullValue()));
+        assertThat(actual.getTokenType(), is(notNullValue()));
+        assertThat(actual.getExpiresIn(), is(notNullValue()));
+        assertThat(actual.getUser(), is(notNullValue()));
+    }
+
+    @Test
+    public void refreshGrantTypeAsyncShouldReturnUser() throws Exception {
+        Map<String, String> secrets = Factory.secrets(BASE_URL, HTTP_PORT);
+        AsyncLogin subject = loginFactory.tokenSmithAsyncLogin();
+        String response = loginFactory.objectMapper().writeValueAsString(Factory.okIdToken());
+
+        String form = "refresh_token=abc123&grant_type=refresh_token";
+
+        stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
+
+        RSAPublicKey key = Factory.rsaPublicKey();
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
+
+        UserWithTokens actual = subject.withRefreshTokenAsync("abc123").get();
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getAccessToken(), is(notNullValue()));
+        assertThat(actual.getUser(), is(notNullValue()));
+    }
+
+    @Test
+    public void codeGrantAsyncNonceDoesNotMatchShouldCompleteWithIdTokenException() throws Exception {
+        Map<String, String> secrets = Factory.secrets(BASE_URL, HTTP_PORT);
+        AsyncLogin subject = loginFactory.tokenSmithAsyncLogin();
+        String response = loginFactory.objectMapper().writeValueAsString(Factory.okIdToken());
+
+        String redirectUri = "http://tokensmith.net/welcome";
+        String form = "code=foo&grant_type=authorization_code&redirect_uri=" + redirectUri;
+
+        stubToken(IdServer, secrets, form, Factory.okTokenResponseHeaders(), response.getBytes());
+
+        RSAPublicKey key = Factory.rsaPublicKey();
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
+
+        ExecutionException actual = null;
+        try {
+            subject.withCodeAsync("foo", "incorrect-nonce-123", redirectUri).get();
+        } catch (ExecutionException e) {
+            actual = e;
+        }
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), is(instanceOf(IdTokenException.class)));
+
+        IdTokenException cause = (IdTokenException) actual.getCause();
+        assertThat(cause.getMessage(), is("Invalid nonce"));
+        assertThat(cause.getAccessToken(), is(notNullValue()));
+        assertThat(cause.getUser(), is(notNullValue()));
+    }
+
+    @Test
+    public void userInfoAsyncShouldReturnUser() throws Exception {
+        AsyncLogin subject = loginFactory.tokenSmithAsyncLogin();
+
+        IdServer.stubFor(
+            get(
+                urlEqualTo("/api/public/v1/userinfo")
+            )
+            .withHeader("Authorization", equalTo("Bearer foo"))
+            .withHeader("Accept", equalTo("application/jwt"))
+            .withHeader("X-Correlation-ID", equalTo(correlationId))
+            .willReturn(
+                aResponse()
+                .withStatus(200)
+                .withBody(Factory.okUserInfoResponseBody())
+            )
+        );
+
+        RSAPublicKey key = Factory.rsaPublicKey();
+        String keysResponse = loginFactory.objectMapper().writeValueAsString(List.of(key));
+        stubKeys(IdServer, Factory.okTokenResponseHeaders(), keysResponse.getBytes());
+
+        User actual = subject.userInfoAsync("foo").get();
+
+        assertThat(actual, is(notNullValue()));
+    }
 }
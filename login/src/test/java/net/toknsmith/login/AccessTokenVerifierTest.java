@@ -0,0 +1,190 @@
+package net.toknsmith.login;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import helper.Factory;
+import net.tokensmith.jwt.builder.compact.SecureCompactBuilder;
+import net.tokensmith.jwt.config.JwtAppFactory;
+import net.tokensmith.jwt.entity.jwk.RSAKeyPair;
+import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.tokensmith.jwt.entity.jwt.header.Algorithm;
+import net.toknsmith.login.cache.DenyListException;
+import net.toknsmith.login.config.LoginFactory;
+import net.toknsmith.login.endpoint.entity.response.openid.claim.AccessToken;
+import net.toknsmith.login.exception.JwtException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+public class AccessTokenVerifierTest {
+    private static String CLIENT_ID = "4679116f-d720-4e0a-9068-f7d47f3e4fc7";
+    private AccessTokenVerifier subject;
+
+    @Mock
+    private LoadingCache<String, RSAPublicKey> mockKeyCache;
+    @Mock
+    private LoadingCache<String, Set<String>> mockDenyList;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        LoginUtils loginUtils = new LoginUtils(mockKeyCache, new JwtAppFactory());
+        subject = new AccessTokenVerifier(loginUtils, mockDenyList, CLIENT_ID);
+    }
+
+    public AccessToken makeClaims(String jti, List<String> audience, Long exp) {
+        AccessToken claims = new AccessToken();
+        claims.setIssuer(Optional.of("https://sso.tokensmith.net"));
+        claims.setSubject(Optional.of(UUID.randomUUID().toString()));
+        claims.setAudience(audience);
+        claims.setScope(Optional.of("profile email"));
+        claims.setIssuedAt(Optional.of(OffsetDateTime.now().toEpochSecond()));
+        claims.setExpirationTime(Optional.of(exp));
+        claims.setJwtId(Optional.of(jti));
+        return claims;
+    }
+
+    public String sign(AccessToken claims) throws Exception {
+        String keyId = UUID.randomUUID().toString();
+        RSAKeyPair keyPair = Factory.makeRSAKeyPair(Optional.of(keyId));
+        when(mockKeyCache.get(keyId)).thenReturn(Factory.makeRSAPublicKey(Optional.of(keyId)));
+
+        return new SecureCompactBuilder()
+                .alg(Algorithm.RS256)
+                .key(keyPair)
+                .claims(claims)
+                .build()
+                .toString();
+    }
+
+    public Long inAnHour() {
+        return OffsetDateTime.now().plusHours(1).toEpochSecond();
+    }
+
+    @Test
+    public void verifyShouldBeOk() throws Exception {
+        String jti = UUID.randomUUID().toString();
+        String accessToken = sign(makeClaims(jti, List.of(CLIENT_ID), inAnHour()));
+        when(mockDenyList.get(AccessTokenVerifier.DENY_LIST_KEY)).thenReturn(Set.of(UUID.randomUUID().toString()));
+
+        AccessToken actual = subject.verify(accessToken);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getJwtId().get(), is(jti));
+        assertThat(actual.getScope().get(), is("profile email"));
+    }
+
+    @Test
+    public void verifyWhenDeniedShouldThrowJwtException() throws Exception {
+        String jti = UUID.randomUUID().toString();
+        String accessToken = sign(makeClaims(jti, List.of(CLIENT_ID), inAnHour()));
+        when(mockDenyList.get(AccessTokenVerifier.DENY_LIST_KEY)).thenReturn(Set.of(jti));
+
+        JwtException actual = null;
+        try {
+            subject.verify(accessToken);
+        } catch (JwtException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+    }
+
+    @Test
+    public void verifyWhenDenyListFailsShouldThrowJwtException() throws Exception {
+        String accessToken = sign(makeClaims(UUID.randomUUID().toString(), List.of(CLIENT_ID), inAnHour()));
+        DenyListException expected = new DenyListException("", new RuntimeException());
+        doThrow(expected).when(mockDenyList).get(AccessTokenVerifier.DENY_LIST_KEY);
+
+        JwtException actual = null;
+        try {
+            subject.verify(accessToken);
+        } catch (JwtException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), is(expected));
+    }
+
+    @Test
+    public void verifyWhenDenyListStaysDownShouldThrowJwtException() throws Exception {
+        AtomicBoolean down = new AtomicBoolean(false);
+        AtomicLong nanos = new AtomicLong(0);
+        LoadingCache<String, Set<String>> denyList = new LoginFactory().denyListCache(key -> {
+            if (down.get()) {
+                throw new DenyListException("", new RuntimeException());
+            }
+            return Set.of();
+        }, nanos::get);
+        LoginUtils loginUtils = new LoginUtils(mockKeyCache, new JwtAppFactory());
+        subject = new AccessTokenVerifier(loginUtils, denyList, CLIENT_ID);
+        String accessToken = sign(makeClaims(UUID.randomUUID().toString(), List.of(CLIENT_ID), inAnHour()));
+
+        assertThat(subject.verify(accessToken), is(notNullValue()));
+
+        // a failed refresh keeps the old list for a while.
+        down.set(true);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(subject.verify(accessToken), is(notNullValue()));
+
+        // once it expires the list is loaded again and the failure reaches the caller.
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(120));
+        JwtException actual = null;
+        try {
+            subject.verify(accessToken);
+        } catch (JwtException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), is(instanceOf(DenyListException.class)));
+    }
+
+    @Test
+    public void verifyWhenExpiredShouldThrowJwtException() throws Exception {
+        Long exp = OffsetDateTime.now().minusSeconds(1).toEpochSecond();
+        String accessToken = sign(makeClaims(UUID.randomUUID().toString(), List.of(CLIENT_ID), exp));
+        when(mockDenyList.get(AccessTokenVerifier.DENY_LIST_KEY)).thenReturn(Set.of());
+
+        JwtException actual = null;
+        try {
+            subject.verify(accessToken);
+        } catch (JwtException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+    }
+
+    @Test
+    public void verifyWhenOtherAudienceShouldThrowJwtException() throws Exception {
+        String accessToken = sign(makeClaims(UUID.randomUUID().toString(), List.of(UUID.randomUUID().toString()), inAnHour()));
+        when(mockDenyList.get(AccessTokenVerifier.DENY_LIST_KEY)).thenReturn(Set.of());
+
+        JwtException actual = null;
+        try {
+            subject.verify(accessToken);
+        } catch (JwtException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+    }
+}
@@ -6,8 +6,13 @@ import net.toknsmith.login.http.StatusCode;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -48,4 +53,40 @@ public class HttpUtilsTest {
 
         assertThat(actual.isEmpty(), is(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void causeShouldUnwrapCompletionException() {
+        IOException expected = new IOException();
+        Throwable actual = HttpUtils.cause(new CompletionException(new CompletionException(expected)));
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void causeWhenNotWrappedShouldBeSame() {
+        IOException expected = new IOException();
+        Throwable actual = HttpUtils.cause(expected);
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void toShouldDecodeUtf8() {
+        String expected = "eyJhbGciOiJSUzI1NiJ9.eyJuYW1lIjoiT2JpLVdhbiBLZW5vYmkg4pyTIn0.c2ln";
+        InputStream from = new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8));
+
+        String actual = subject.to(from);
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void toWhenMultiByteShouldDecodeUtf8() {
+        String expected = "Obi-Wan Kenobi \u2713 \u00e9";
+        InputStream from = new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8));
+
+        String actual = subject.to(from);
+
+        assertThat(actual, is(expected));
+    }
+}
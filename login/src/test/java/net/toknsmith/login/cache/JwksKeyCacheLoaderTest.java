@@ -0,0 +1,200 @@
+package net.toknsmith.login.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import helper.Factory;
+import net.tokensmith.jwt.entity.jwk.RSAPublicKey;
+import net.tokensmith.jwt.entity.jwk.Use;
+import net.toknsmith.login.endpoint.KeyEndpoint;
+import net.toknsmith.login.exception.CommException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JwksKeyCacheLoaderTest {
+    private JwksKeyCacheLoader subject;
+    private Cache<String, Boolean> unknownKeyIds;
+
+    @Mock
+    private KeyEndpoint mockKeyEndpoint;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        unknownKeyIds = Caffeine.newBuilder().build();
+        subject = new JwksKeyCacheLoader(mockKeyEndpoint, unknownKeyIds, 3);
+        // pages after the ones a test sets up are empty.
+        when(mockKeyEndpoint.getKeysAsync(anyInt())).thenReturn(CompletableFuture.completedFuture(List.of()));
+    }
+
+    public RSAPublicKey makeKey() {
+        return new RSAPublicKey(Optional.of(UUID.randomUUID().toString()), Use.SIGNATURE, new BigInteger("123"), new BigInteger("65537"));
+    }
+
+    public List<RSAPublicKey> makeKeys(Integer size) {
+        List<RSAPublicKey> keys = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            keys.add(makeKey());
+        }
+        return keys;
+    }
+
+    @Test
+    public void loadShouldReturnKeyFromKeySet() {
+        RSAPublicKey key = Factory.rsaPublicKeyTranslated();
+        List<RSAPublicKey> keys = List.of(makeKey(), key);
+
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(keys));
+
+        RSAPublicKey actual = subject.load(key.getKeyId().get());
+
+        assertThat(actual, is(key));
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(1);
+    }
+
+    @Test
+    public void loadWhenPageHasKeysShouldGetNextPage() {
+        RSAPublicKey key = makeKey();
+
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(makeKeys(2)));
+        when(mockKeyEndpoint.getKeysAsync(2)).thenReturn(CompletableFuture.completedFuture(List.of(key)));
+
+        RSAPublicKey actual = subject.load(key.getKeyId().get());
+
+        assertThat(actual, is(key));
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(1);
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(2);
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(3);
+    }
+
+    @Test
+    public void loadWhenPageIsEmptyShouldStop() {
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(makeKeys(20)));
+
+        Map<String, RSAPublicKey> actual = subject.loadAll(List.of());
+
+        assertThat(actual.size(), is(20));
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(2);
+        verify(mockKeyEndpoint, times(0)).getKeysAsync(3);
+    }
+
+    @Test
+    public void loadWhenMaxPagesShouldStop() {
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(makeKeys(20)));
+        when(mockKeyEndpoint.getKeysAsync(2)).thenReturn(CompletableFuture.completedFuture(makeKeys(20)));
+        when(mockKeyEndpoint.getKeysAsync(3)).thenReturn(CompletableFuture.completedFuture(makeKeys(20)));
+
+        Map<String, RSAPublicKey> actual = subject.loadAll(List.of());
+
+        assertThat(actual.size(), is(60));
+        verify(mockKeyEndpoint, times(0)).getKeysAsync(4);
+    }
+
+    @Test
+    public void loadWhenUnknownShouldRememberKeyId() {
+        String keyId = UUID.randomUUID().toString();
+
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(List.of(makeKey())));
+
+        KeyException actual = null;
+        try {
+            subject.load(keyId);
+        } catch (KeyException e) {
+            actual = e;
+        }
+        assertThat(actual, is(notNullValue()));
+        assertThat(unknownKeyIds.getIfPresent(keyId), is(true));
+
+        // it should not get the key set again.
+        actual = null;
+        try {
+            subject.load(keyId);
+        } catch (KeyException e) {
+            actual = e;
+        }
+        assertThat(actual, is(notNullValue()));
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(1);
+    }
+
+    @Test
+    public void loadWhenCommExceptionShouldThrowKeyException() {
+        CommException expected = new CommException("", new RuntimeException());
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.failedFuture(new CompletionException(expected)));
+
+        KeyException actual = null;
+        try {
+            subject.load(UUID.randomUUID().toString());
+        } catch (KeyException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), is(expected));
+    }
+
+    @Test
+    public void asyncLoadWhenInFlightShouldShareFetch() throws Exception {
+        RSAPublicKey key = makeKey();
+        CompletableFuture<List<RSAPublicKey>> page = new CompletableFuture<>();
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(page);
+
+        CompletableFuture<RSAPublicKey> first = subject.asyncLoad(key.getKeyId().get(), Runnable::run);
+        CompletableFuture<RSAPublicKey> second = subject.asyncLoad(key.getKeyId().get(), Runnable::run);
+        page.complete(List.of(key));
+
+        assertThat(first.get(), is(key));
+        assertThat(second.get(), is(key));
+        verify(mockKeyEndpoint, times(1)).getKeysAsync(1);
+    }
+
+    @Test
+    public void asyncReloadWhenKeyRemovedShouldBeNull() throws Exception {
+        RSAPublicKey key = makeKey();
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(List.of(makeKey())));
+
+        RSAPublicKey actual = subject.asyncReload(key.getKeyId().get(), key, Runnable::run).get();
+
+        assertThat(actual, is(nullValue()));
+    }
+
+    @Test
+    public void prefetchShouldReturnKeySet() {
+        List<RSAPublicKey> keys = makeKeys(2);
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.completedFuture(keys));
+
+        Map<String, RSAPublicKey> actual = subject.prefetch();
+
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(keys.get(0).getKeyId().get()), is(keys.get(0)));
+        assertThat(actual.get(keys.get(1).getKeyId().get()), is(keys.get(1)));
+    }
+
+    @Test
+    public void prefetchWhenCommExceptionShouldBeEmpty() {
+        CommException expected = new CommException("", new RuntimeException());
+        when(mockKeyEndpoint.getKeysAsync(1)).thenReturn(CompletableFuture.failedFuture(new CompletionException(expected)));
+
+        Map<String, RSAPublicKey> actual = subject.prefetch();
+
+        assertThat(actual.size(), is(0));
+    }
+}
@@ -16,6 +16,11 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -136,4 +141,34 @@ public class KeyCacheLoaderTest {
         assertThat(actual, is(notNullValue()));
         assertThat(actual.getCause(), is(expected));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void asyncLoadShouldReturnKey() throws Exception {
+        RSAPublicKey key = Factory.rsaPublicKeyTranslated();
+
+        when(mockKeyEndpoint.getKeyAsync(key.getKeyId().get())).thenReturn(CompletableFuture.completedFuture(key));
+
+        RSAPublicKey actual = subject.asyncLoad(key.getKeyId().get(), Runnable::run).get();
+
+        assertThat(actual, is(key));
+    }
+
+    @Test
+    public void asyncLoadWhenCommExceptionShouldCompleteWithKeyException() throws Exception {
+        RSAPublicKey key = Factory.rsaPublicKeyTranslated();
+
+        CommException expected = new CommException("", new RuntimeException());
+        when(mockKeyEndpoint.getKeyAsync(key.getKeyId().get())).thenReturn(CompletableFuture.failedFuture(new CompletionException(expected)));
+
+        ExecutionException actual = null;
+        try {
+            subject.asyncLoad(key.getKeyId().get(), Runnable::run).get();
+        } catch (ExecutionException e) {
+            actual = e;
+        }
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.getCause(), is(instanceOf(KeyException.class)));
+        assertThat(actual.getCause().getCause(), is(expected));
+    }
+}
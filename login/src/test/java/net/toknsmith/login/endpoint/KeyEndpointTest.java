@@ -38,12 +38,14 @@ public class KeyEndpointTest {
         MockitoAnnotations.initMocks(this);
 
         String publicKeyURL = "http://localhost:8009/api/public/v1/jwk/rsa/%s";
+        String publicKeysURL = "http://localhost:8009/api/public/v1/jwk/rsa";
 
         subject = new KeyEndpoint(
                 mockJwtRSAPublicKeyTranslator,
                 mockHttpClient,
                 mockHttpUtils,
-                publicKeyURL
+                publicKeyURL,
+                publicKeysURL
         );
     }
 
@@ -65,6 +67,13 @@ public class KeyEndpointTest {
         assertThat(actual, is(notNullValue()));
     }
 
+    @Test
+    public void makeKeysEndpointShouldBeOk() throws Exception {
+        URI actual = subject.makeKeysEndpoint(2);
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.toString(), is("http://localhost:8009/api/public/v1/jwk/rsa?page=2"));
+    }
+
     @Test
     public void handleNotOkWhenBadRequest() throws Exception {
         HttpResponse<InputStream> response = Factory.makeFakeResponseForApiBadRequest();
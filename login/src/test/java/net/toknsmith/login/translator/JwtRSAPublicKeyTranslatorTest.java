@@ -12,6 +12,7 @@ import org.junit.Test;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.core.IsNull.notNullValue;
@@ -24,7 +25,7 @@ public class JwtRSAPublicKeyTranslatorTest {
     @Before
     public void setUp() throws Exception {
         loginFactory = new LoginFactory();
-        subject = new JwtRSAPublicKeyTranslator(loginFactory.objectMapper());
+        subject = new JwtRSAPublicKeyTranslator(loginFactory.keyReader(), loginFactory.keysReader());
     }
 
     @Test
@@ -59,4 +60,30 @@ public class JwtRSAPublicKeyTranslatorTest {
 
         assertThat(actual, is(notNullValue()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void toList() throws Exception {
+        net.toknsmith.login.endpoint.entity.response.api.key.RSAPublicKey serverKey = Factory.serverKey();
+        String expectedBody = loginFactory.objectMapper().writeValueAsString(List.of(serverKey));
+
+        InputStream body = new ByteArrayInputStream(expectedBody.getBytes(StandardCharsets.UTF_8));
+
+        List<RSAPublicKey> actual = subject.toList(body);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get(0).getKeyId().get(), is(serverKey.getKeyId().toString()));
+        assertThat(actual.get(0).getE(), is(serverKey.getE()));
+        assertThat(actual.get(0).getN(), is(serverKey.getN()));
+    }
+
+    @Test
+    public void toListWhenEmptyShouldBeEmpty() throws Exception {
+        InputStream body = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+
+        List<RSAPublicKey> actual = subject.toList(body);
+
+        assertThat(actual, is(notNullValue()));
+        assertThat(actual.size(), is(0));
+    }
+}
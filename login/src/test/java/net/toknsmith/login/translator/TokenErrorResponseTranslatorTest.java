@@ -29,7 +29,7 @@ public class TokenErrorResponseTranslatorTest {
     @Before
     public void setUp() {
         LoginFactory factory = new LoginFactory();
-        subject = new ErrorResponseTranslator(factory.objectMapper());
+        subject = new ErrorResponseTranslator(factory.tokenErrorResponseReader());
         LoginFactory loginFactory = new LoginFactory();
         httpUtils = loginFactory.httpUtils();
     }
@@ -10,6 +10,7 @@ public class AuthCode {
     private UUID id;
     private String code;
     private Boolean revoked;
+    private Boolean redeemed = false;
     private AccessRequest accessRequest;
     private Token token;
     private OffsetDateTime expiresAt;
@@ -57,6 +58,14 @@ public class AuthCode {
         this.revoked = revoked;
     }
 
+    public Boolean isRedeemed() {
+        return redeemed;
+    }
+
+    public void setRedeemed(Boolean redeemed) {
+        this.redeemed = redeemed;
+    }
+
     public AccessRequest getAccessRequest() {
         return accessRequest;
     }
@@ -18,6 +18,7 @@ public class Configuration {
     private Long accessTokenClientSecondsToExpiry;
     private Long authorizationCodeSecondsToExpiry;
     private Long refreshTokenSecondsToExpiry;
+    private Integer version;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
@@ -109,6 +110,14 @@ public class Configuration {
         this.refreshTokenSecondsToExpiry = refreshTokenSecondsToExpiry;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -21,6 +21,7 @@ public class RSAPrivateKey {
     private BigInteger primeExponentQ;
     private BigInteger crtCoefficient;
     private Boolean active;
+    private OffsetDateTime signAfter;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
@@ -112,6 +113,14 @@ public class RSAPrivateKey {
         this.active = active;
     }
 
+    public OffsetDateTime getSignAfter() {
+        return signAfter;
+    }
+
+    public void setSignAfter(OffsetDateTime signAfter) {
+        this.signAfter = signAfter;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -20,6 +20,7 @@ public class RSAPrivateKeyBytes {
     private byte[] primeExponentQ;
     private byte[] crtCoefficient;
     private Boolean active;
+    private OffsetDateTime signAfter;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
@@ -111,6 +112,14 @@ public class RSAPrivateKeyBytes {
         this.active = active;
     }
 
+    public OffsetDateTime getSignAfter() {
+        return signAfter;
+    }
+
+    public void setSignAfter(OffsetDateTime signAfter) {
+        this.signAfter = signAfter;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
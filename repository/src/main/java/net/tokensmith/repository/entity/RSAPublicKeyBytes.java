@@ -0,0 +1,76 @@
+package net.tokensmith.repository.entity;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Represents the public part of a RSAPrivateKey stored in the database.
+ *
+ * The key fields are not encrypted, they are public. Use, active and the dates
+ * are the ones of the private key.
+ */
+public class RSAPublicKeyBytes {
+    private UUID id;
+    private KeyUse use;
+    private byte[] modulus;
+    private byte[] publicExponent;
+    private Boolean active;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public KeyUse getUse() {
+        return use;
+    }
+
+    public void setUse(KeyUse use) {
+        this.use = use;
+    }
+
+    public byte[] getModulus() {
+        return modulus;
+    }
+
+    public void setModulus(byte[] modulus) {
+        this.modulus = modulus;
+    }
+
+    public byte[] getPublicExponent() {
+        return publicExponent;
+    }
+
+    public void setPublicExponent(byte[] publicExponent) {
+        this.publicExponent = publicExponent;
+    }
+
+    public Boolean isActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
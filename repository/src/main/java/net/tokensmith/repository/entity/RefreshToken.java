@@ -13,6 +13,8 @@ public class RefreshToken {
     private String accessToken;
     private OffsetDateTime expiresAt;
     private boolean revoked;
+    private boolean rotated;
+    private UUID resourceOwnerId; // optional
     private OffsetDateTime createdAt;
 
     public UUID getId() {
@@ -63,6 +65,22 @@ public class RefreshToken {
         this.revoked = revoked;
     }
 
+    public boolean isRotated() {
+        return rotated;
+    }
+
+    public void setRotated(boolean rotated) {
+        this.rotated = rotated;
+    }
+
+    public UUID getResourceOwnerId() {
+        return resourceOwnerId;
+    }
+
+    public void setResourceOwnerId(UUID resourceOwnerId) {
+        this.resourceOwnerId = resourceOwnerId;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
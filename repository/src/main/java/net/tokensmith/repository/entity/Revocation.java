@@ -0,0 +1,56 @@
+package net.tokensmith.repository.entity;
+
+/**
+ * The number of credentials that were revoked, per credential family.
+ */
+public class Revocation {
+    private Integer tokens;
+    private Integer refreshTokens;
+    private Integer authCodes;
+    private Integer localTokens;
+    private Integer nonces;
+
+    public Integer getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(Integer tokens) {
+        this.tokens = tokens;
+    }
+
+    public Integer getRefreshTokens() {
+        return refreshTokens;
+    }
+
+    public void setRefreshTokens(Integer refreshTokens) {
+        this.refreshTokens = refreshTokens;
+    }
+
+    public Integer getAuthCodes() {
+        return authCodes;
+    }
+
+    public void setAuthCodes(Integer authCodes) {
+        this.authCodes = authCodes;
+    }
+
+    public Integer getLocalTokens() {
+        return localTokens;
+    }
+
+    public void setLocalTokens(Integer localTokens) {
+        this.localTokens = localTokens;
+    }
+
+    public Integer getNonces() {
+        return nonces;
+    }
+
+    public void setNonces(Integer nonces) {
+        this.nonces = nonces;
+    }
+
+    public Integer getTotal() {
+        return tokens + refreshTokens + authCodes + localTokens + nonces;
+    }
+}
@@ -13,5 +13,7 @@ public interface AuthCodeRepository {
     void insert(AuthCode authCode) throws DuplicateRecordException;
     AuthCode getByClientIdAndAuthCode(UUID clientUUID, String code) throws RecordNotFoundException;
     AuthCode getById(UUID id) throws RecordNotFoundException;
+    AuthCode redeem(UUID clientUUID, String code) throws RecordNotFoundException;
+    AuthCode revokeRedeemed(UUID clientUUID, String code) throws RecordNotFoundException;
     void revokeById(UUID id);
 }
@@ -11,4 +11,5 @@ import java.util.UUID;
 public interface ClientRepository {
     Client getById(UUID id) throws RecordNotFoundException;
     void insert(Client client);
+    Long getVersion();
 }
@@ -9,6 +9,7 @@ import java.util.UUID;
  */
 public interface ConfigurationRepository {
     Configuration get();
+    Integer getVersion();
     void updateAccessTokenSize(UUID id, Integer size);
     void updateAuthorizationCodeSize(UUID id, Integer size);
     void updateRefreshTokenSize(UUID id, Integer size);
@@ -0,0 +1,17 @@
+package net.tokensmith.repository.repo;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Manages the range partitions of a table partitioned on created_at.
+ */
+public interface PartitionRepository {
+    List<String> getPartitions(String table);
+    OffsetDateTime getUpperBound(String partition);
+    UUID deleteReferences(String table, String partition, UUID after, Integer limit);
+    List<OffsetDateTime> getDefaultMonths(String table);
+    Integer createPartition(String table, String partition, OffsetDateTime from, OffsetDateTime to);
+    void dropPartition(String table, String partition);
+}
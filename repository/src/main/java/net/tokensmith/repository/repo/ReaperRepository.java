@@ -0,0 +1,13 @@
+package net.tokensmith.repository.repo;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Deletes rows that expired, or were revoked, before a time. Each method deletes at most
+ * limit rows and returns how many it deleted.
+ */
+public interface ReaperRepository {
+    Integer deleteAuthCodes(OffsetDateTime before, Integer limit);
+    Integer deleteLocalTokens(OffsetDateTime before, Integer limit);
+    Integer deleteNonces(OffsetDateTime before, Integer limit);
+}
@@ -12,6 +12,7 @@ public interface RefreshTokenRepository {
     RefreshToken getByClientIdAndAccessToken(UUID clientId, String accessToken) throws RecordNotFoundException;
     RefreshToken getByTokenId(UUID tokenId) throws RecordNotFoundException;
     void revokeByAuthCodeId(UUID authCodeId);
+    Boolean rotate(UUID id);
     void revokeByTokenId(UUID tokenId);
     void revokeActive(UUID resourceOwnerId);
 }
@@ -0,0 +1,10 @@
+package net.tokensmith.repository.repo;
+
+import net.tokensmith.repository.entity.Revocation;
+
+import java.util.UUID;
+
+public interface RevocationRepository {
+    Revocation revokeByResourceOwnerId(UUID resourceOwnerId);
+    Revocation revokeByClientId(UUID clientId);
+}
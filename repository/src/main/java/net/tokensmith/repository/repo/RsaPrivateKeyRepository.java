@@ -3,18 +3,25 @@ package net.tokensmith.repository.repo;
 
 import net.tokensmith.repository.entity.RSAPrivateKey;
 import net.tokensmith.repository.entity.RSAPrivateKeyBytes;
+import net.tokensmith.repository.entity.RSAPublicKeyBytes;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Created by tommackenzie on 1/28/16.
  */
 public interface RsaPrivateKeyRepository {
     void insert(RSAPrivateKey rsaPrivateKey);
+    Boolean insertWhenNoneCreatedAfter(OffsetDateTime createdAfter, Supplier<RSAPrivateKey> next);
     RSAPrivateKey getMostRecentAndActiveForSigning() throws RecordNotFoundException;
     List<RSAPrivateKey> getWhereActiveAndUseIsSign(Integer limit, Integer offset);
     RSAPrivateKey getByIdActiveSign(UUID id) throws RecordNotFoundException;
     RSAPrivateKeyBytes encrypt(RSAPrivateKey from);
+    List<RSAPublicKeyBytes> getPublicKeysWhereActiveAndUseIsSign(Integer limit, Integer offset);
+    RSAPublicKeyBytes getPublicKeyByIdActiveSign(UUID id) throws RecordNotFoundException;
+    Integer retireWhereSupersededBefore(OffsetDateTime signedBefore);
 }
@@ -12,4 +12,5 @@ public interface ScopeRepository {
     void insert(Scope scope);
     List<Scope> findByNames(List<String> names);
     Scope findByName(String name) throws RecordNotFoundException;
+    List<Scope> findAll();
 }
@@ -3,6 +3,7 @@ package net.tokensmith.repository.repo;
 import net.tokensmith.repository.entity.TokenAudience;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -10,5 +11,6 @@ import java.util.UUID;
  */
 public interface TokenAudienceRepository {
     void insert(TokenAudience clientToken);
+    void insertAll(List<TokenAudience> clientTokens);
     TokenAudience getByTokenId(UUID tokenId) throws RecordNotFoundException;
 }
@@ -5,6 +5,7 @@ import net.tokensmith.repository.exceptions.DuplicateRecordException;
 import net.tokensmith.repository.exceptions.RecordNotFoundException;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -15,4 +16,5 @@ public interface TokenRepository {
     void revokeById(UUID id);
     void updateExpiresAtByAccessToken(OffsetDateTime expiresAt, String accessToken);
     void revokeActive(UUID resourceOwnerId);
+    List<Token> getDenied();
 }
@@ -2,9 +2,12 @@ package net.tokensmith.repository.repo;
 
 import net.tokensmith.repository.entity.TokenScope;
 
+import java.util.List;
+
 /**
  * Created by tommackenzie on 4/18/16.
  */
 public interface TokenScopeRepository {
     void insert(TokenScope tokenScope);
+    void insertAll(List<TokenScope> tokenScopes);
 }